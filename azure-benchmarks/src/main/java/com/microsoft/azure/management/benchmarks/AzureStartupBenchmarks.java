@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.AzureEnvironment;
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.credentials.ApplicationTokenCredentials;
+import com.microsoft.azure.management.Azure;
+import com.microsoft.azure.management.compute.VirtualMachines;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the creation of an {@link Azure} client, and of the first entry point used by a
+ * short-lived process.
+ * <p>
+ * No request is sent, the credentials are never used to acquire a token. Run with "-prof gc" to
+ * report the allocations per client e.g. "java -jar target/benchmarks.jar AzureStartupBenchmarks -prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AzureStartupBenchmarks {
+    private static final String TENANT_ID = "72f988bf-86f1-41af-91ab-2d7cd011db47";
+    private static final String SUBSCRIPTION_ID = "9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef";
+
+    private RestClient restClient;
+
+    @Setup
+    public void setup() {
+        ApplicationTokenCredentials credentials = new ApplicationTokenCredentials(
+                "00000000-0000-0000-0000-000000000000", TENANT_ID, "secret", AzureEnvironment.AZURE);
+        this.restClient = new RestClient.Builder()
+                .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
+                .withCredentials(credentials)
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .build();
+    }
+
+    @Benchmark
+    public Azure authenticateWithSubscription() {
+        return Azure.authenticate(restClient, TENANT_ID).withSubscription(SUBSCRIPTION_ID);
+    }
+
+    @Benchmark
+    public VirtualMachines authenticateAndGetVirtualMachines() {
+        return Azure.authenticate(restClient, TENANT_ID).withSubscription(SUBSCRIPTION_ID).virtualMachines();
+    }
+}
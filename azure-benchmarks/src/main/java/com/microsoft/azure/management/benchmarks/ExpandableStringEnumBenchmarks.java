@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.CountryIsoCode;
+import com.microsoft.azure.management.resources.fluentcore.arm.ExpandableStringEnum;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks lookup of known values with {@link ExpandableStringEnum#fromString}, listing of the values
+ * and deserialization of known values, with and without the expandable string enum deserializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpandableStringEnumBenchmarks {
+    /**
+     * A value in the declared casing and the same value in a different casing.
+     */
+    @Param({ "US", "us" })
+    public String name;
+
+    private String json;
+    private AzureJacksonAdapter defaultAdapter;
+    private AzureJacksonAdapter adapter;
+
+    @Setup
+    public void setup() {
+        json = "\"" + name + "\"";
+        defaultAdapter = new AzureJacksonAdapter();
+        adapter = Utils.newJacksonAdapter();
+    }
+
+    @Benchmark
+    public CountryIsoCode fromString() {
+        return CountryIsoCode.fromString(name);
+    }
+
+    @Benchmark
+    public Collection<CountryIsoCode> values() {
+        return CountryIsoCode.values();
+    }
+
+    @Benchmark
+    public CountryIsoCode deserializeWithCreator() throws IOException {
+        return defaultAdapter.deserialize(json, CountryIsoCode.class);
+    }
+
+    @Benchmark
+    public CountryIsoCode deserialize() throws IOException {
+        return adapter.deserialize(json, CountryIsoCode.class);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PagedListConverter#convert} followed by a full enumeration of the converted list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PagedListConverterBenchmarks {
+    /**
+     * The number of items in each page.
+     */
+    @Param({ "10", "1000" })
+    public int pageSize;
+
+    /**
+     * The number of pages in the list.
+     */
+    @Param({ "1", "20" })
+    public int pageCount;
+
+    private List<Page<String>> pages;
+    private PagedListConverter<String, Integer> converter;
+
+    @Setup
+    public void setup() {
+        this.pages = new ArrayList<>();
+        for (int p = 0; p < pageCount; p++) {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < pageSize; i++) {
+                items.add("/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Storage/storageAccounts/sa" + p + "x" + i);
+            }
+            PageImpl<String> page = new PageImpl<>();
+            page.setItems(items);
+            page.setNextPageLink(p + 1 < pageCount ? Integer.toString(p + 1) : null);
+            this.pages.add(page);
+        }
+        this.converter = new PagedListConverter<String, Integer>() {
+            @Override
+            public Observable<Integer> typeConvertAsync(String s) {
+                return Observable.just(s.length());
+            }
+        };
+    }
+
+    @Benchmark
+    public void convertAndEnumerate(Blackhole blackhole) {
+        PagedList<String> source = new PagedList<String>(pages.get(0)) {
+            @Override
+            public Page<String> nextPage(String nextPageLink) {
+                return pages.get(Integer.parseInt(nextPageLink));
+            }
+        };
+        for (Integer item : converter.convert(source)) {
+            blackhole.consume(item);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing of resource ids with {@link ResourceId} and the {@link ResourceUtils} helpers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceIdBenchmarks {
+    /**
+     * A top level resource id and a child resource id.
+     */
+    @Param({
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg-benchmark/providers/Microsoft.Compute/virtualMachines/vm1",
+        "/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/rg-benchmark/providers/Microsoft.Network/virtualNetworks/vnet1/subnets/subnet1"
+    })
+    public String id;
+
+    @Benchmark
+    public ResourceId fromString() {
+        return ResourceId.fromString(id);
+    }
+
+    @Benchmark
+    public String groupFromResourceId() {
+        return ResourceUtils.groupFromResourceId(id);
+    }
+
+    @Benchmark
+    public String subscriptionFromResourceId() {
+        return ResourceUtils.subscriptionFromResourceId(id);
+    }
+
+    @Benchmark
+    public String resourceProviderFromResourceId() {
+        return ResourceUtils.resourceProviderFromResourceId(id);
+    }
+
+    @Benchmark
+    public String resourceTypeFromResourceId() {
+        return ResourceUtils.resourceTypeFromResourceId(id);
+    }
+
+    @Benchmark
+    public String nameFromResourceId() {
+        return ResourceUtils.nameFromResourceId(id);
+    }
+
+    @Benchmark
+    public String parentResourceIdFromResourceId() {
+        return ResourceUtils.parentResourceIdFromResourceId(id);
+    }
+
+    @Benchmark
+    public String fullResourceType() {
+        return ResourceId.fromString(id).fullResourceType();
+    }
+
+    @Benchmark
+    public String extractSubscriptionFromResourceId() {
+        return ResourceUtils.extractFromResourceId(id, "subscriptions");
+    }
+}
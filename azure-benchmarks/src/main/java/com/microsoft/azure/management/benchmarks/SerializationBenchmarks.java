@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.reflect.TypeToken;
+import com.microsoft.azure.management.resources.implementation.LocationInner;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import com.microsoft.azure.management.resources.implementation.ProviderInner;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AzureJacksonAdapter} deserialization of recorded list responses.
+ * <p>
+ * The payloads are the response bodies of the session records of the azure-mgmt-resources tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmarks {
+    private static final Type PROVIDER_PAGE_TYPE = new TypeToken<PageImpl<ProviderInner>>() { }.getType();
+    private static final Type LOCATION_PAGE_TYPE = new TypeToken<PageImpl<LocationInner>>() { }.getType();
+
+    private AzureJacksonAdapter adapter;
+    private String providersBody;
+    private String locationsBody;
+
+    @Setup
+    public void setup() throws IOException {
+        this.adapter = new AzureJacksonAdapter();
+        this.providersBody = recordedBody("canUnregisterAndRegisterProvider.json", "/providers?");
+        this.locationsBody = recordedBody("canListLocations.json", "/locations?");
+    }
+
+    @Benchmark
+    public PageImpl<ProviderInner> deserializeProviders() throws IOException {
+        return adapter.deserialize(providersBody, PROVIDER_PAGE_TYPE);
+    }
+
+    @Benchmark
+    public PageImpl<LocationInner> deserializeLocations() throws IOException {
+        return adapter.deserialize(locationsBody, LOCATION_PAGE_TYPE);
+    }
+
+    /**
+     * Gets the response body of the first recorded call whose URI contains the given text.
+     *
+     * @param recordName the name of the session record
+     * @param uriPart the text to look for in the URI of the recorded calls
+     * @return the response body
+     * @throws IOException if the session record cannot be read
+     */
+    private static String recordedBody(String recordName, String uriPart) throws IOException {
+        try (InputStream stream = SerializationBenchmarks.class.getResourceAsStream("/session-records/" + recordName)) {
+            if (stream == null) {
+                throw new IOException("Session record '" + recordName + "' is not found");
+            }
+            JsonNode record = new ObjectMapper().readTree(stream);
+            for (JsonNode call : record.get("networkCallRecords")) {
+                if (call.get("Uri").asText().contains(uriPart)) {
+                    return call.get("Response").get("Body").asText();
+                }
+            }
+        }
+        throw new IOException("No call matching '" + uriPart + "' in session record '" + recordName + "'");
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.benchmarks;
+
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskItem;
+import com.microsoft.azure.management.resources.fluentcore.dag.VoidIndexable;
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import rx.Completable;
+import rx.Observable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks construction, preparation and invocation of a {@link TaskGroup} of no-op tasks.
+ * <p>
+ * The group is shaped like a deployment template: the root depends on a number of virtual
+ * machines, each virtual machine depends on it's own network interface and public IP, and
+ * all the network interfaces depend on one shared virtual network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskGroupBenchmarks {
+    /**
+     * The approximate number of tasks in the group.
+     */
+    @Param({ "100", "1000", "10000" })
+    public int taskCount;
+
+    @Benchmark
+    public TaskGroup construct() {
+        return createTaskGroup(taskCount);
+    }
+
+    @Benchmark
+    public TaskGroup constructAndPrepare() {
+        TaskGroup taskGroup = createTaskGroup(taskCount);
+        taskGroup.prepareForEnumeration();
+        return taskGroup;
+    }
+
+    @Benchmark
+    public Indexable constructAndInvoke() {
+        TaskGroup taskGroup = createTaskGroup(taskCount);
+        return taskGroup.invokeAsync(taskGroup.newInvocationContext()).toBlocking().last();
+    }
+
+    private static TaskGroup createTaskGroup(int taskCount) {
+        TaskGroup root = new TaskGroup("root", new NoOpTaskItem("root"));
+        TaskGroup network = new TaskGroup("vnet", new NoOpTaskItem("vnet"));
+        for (int i = 0; i < taskCount / 3; i++) {
+            TaskGroup publicIp = new TaskGroup("pip" + i, new NoOpTaskItem("pip" + i));
+            TaskGroup nic = new TaskGroup("nic" + i, new NoOpTaskItem("nic" + i));
+            nic.addDependencyTaskGroup(network);
+            nic.addDependencyTaskGroup(publicIp);
+            TaskGroup vm = new TaskGroup("vm" + i, new NoOpTaskItem("vm" + i));
+            vm.addDependencyTaskGroup(nic);
+            root.addDependencyTaskGroup(vm);
+        }
+        return root;
+    }
+
+    /**
+     * A task item that completes immediately.
+     */
+    private static class NoOpTaskItem implements TaskItem {
+        private final VoidIndexable result;
+
+        NoOpTaskItem(String key) {
+            this.result = new VoidIndexable(key);
+        }
+
+        @Override
+        public Indexable result() {
+            return this.result;
+        }
+
+        @Override
+        public void beforeGroupInvoke() {
+        }
+
+        @Override
+        public boolean isHot() {
+            return false;
+        }
+
+        @Override
+        public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
+            return Observable.<Indexable>just(this.result);
+        }
+
+        @Override
+        public Completable invokeAfterPostRunAsync(boolean isGroupFaulted) {
+            return Completable.complete();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License. See License.txt in the project root for
+// license information.
+
+/**
+ * This package contains the JMH benchmarks for the hot paths of the Azure management libraries.
+ * <p>
+ * Build the uber jar with "mvn package" in the azure-benchmarks directory and run it with
+ * "java -jar target/benchmarks.jar", optionally followed by a regular expression selecting the
+ * benchmarks to run e.g. "java -jar target/benchmarks.jar ResourceIdBenchmarks".
+ */
+package com.microsoft.azure.management.benchmarks;
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -31,6 +32,7 @@ public interface AppServiceCertificateOrders extends
         SupportsListingByResourceGroup<AppServiceCertificateOrder>,
         SupportsGettingByResourceGroup<AppServiceCertificateOrder>,
         SupportsListing<AppServiceCertificateOrder>,
+        SupportsListingInPages<AppServiceCertificateOrder>,
         SupportsGettingById<AppServiceCertificateOrder>,
         SupportsDeletingByResourceGroup,
         HasManager<AppServiceManager>,
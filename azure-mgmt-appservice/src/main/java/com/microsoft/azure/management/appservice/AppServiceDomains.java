@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,6 +30,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface AppServiceDomains extends
         SupportsCreating<AppServiceDomain.DefinitionStages.Blank>,
         SupportsListing<AppServiceDomain>,
+        SupportsListingInPages<AppServiceDomain>,
         SupportsListingByResourceGroup<AppServiceDomain>,
         SupportsDeletingById,
         SupportsDeletingByResourceGroup,
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import org.joda.time.DateTime;
+
+/**
+ * A line of the application log of a web app, function app or deployment slot.
+ * <p>
+ * The fields are located in the line when it is received and only extracted when accessed.
+ */
+@Fluent
+@Beta(SinceVersion.V1_15_0)
+public interface AppServiceLogRecord {
+    /**
+     * @return the web app, function app or deployment slot the line was logged by
+     */
+    WebAppBase app();
+
+    /**
+     * @return the line as received
+     */
+    String line();
+
+    /**
+     * @return the timestamp the line starts with, or null if the line does not start with a timestamp
+     */
+    DateTime timestamp();
+
+    /**
+     * @return the level of the line, such as Information or Error, or null if the line has no level
+     */
+    String level();
+
+    /**
+     * @return the process id of the line, or null if the line has no process id
+     */
+    String processId();
+
+    /**
+     * @return the message of the line, following the timestamp, process id and level
+     */
+    String message();
+}
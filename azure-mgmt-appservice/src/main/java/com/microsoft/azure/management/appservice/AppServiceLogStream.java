@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import rx.Observable;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stream of the application logs of many web apps, function apps and deployment slots.
+ * <p>
+ * Each app is streamed from its own connection, the lines of all the apps being merged into a single
+ * observable. Lines are only read from a connection as fast as the subscriber consumes them, unless
+ * an overflow strategy allowing to drop lines is selected. A connection closed by the service or lost
+ * is reconnected after a delay, growing while the reconnection attempts fail. The stream fails on an
+ * error other than an I/O error, a throttling or a server error, or when 10 connections in a row fail
+ * before receiving a line.
+ */
+@Fluent
+@Beta(SinceVersion.V1_15_0)
+public interface AppServiceLogStream {
+    /**
+     * Adds apps to stream the application logs of.
+     *
+     * @param apps the web apps, function apps or deployment slots
+     * @return the log stream
+     */
+    AppServiceLogStream withApps(WebAppBase... apps);
+
+    /**
+     * Adds apps to stream the application logs of.
+     *
+     * @param apps the web apps, function apps or deployment slots
+     * @return the log stream
+     */
+    AppServiceLogStream withApps(Collection<? extends WebAppBase> apps);
+
+    /**
+     * Specifies what to do with the lines of an app received while the subscriber is not keeping up,
+     * the default is to stop reading from the connection.
+     *
+     * @param overflowStrategy the overflow strategy
+     * @return the log stream
+     */
+    AppServiceLogStream withOverflowStrategy(LogStreamOverflowStrategy overflowStrategy);
+
+    /**
+     * Specifies the number of lines of each app buffered when dropping the oldest lines on overflow,
+     * the default is 1024.
+     *
+     * @param bufferSize the number of lines buffered per app
+     * @return the log stream
+     */
+    AppServiceLogStream withBufferSize(int bufferSize);
+
+    /**
+     * Specifies the delay before reconnecting a closed connection, the default is 5 seconds. The delay
+     * doubles with each failed reconnection attempt, up to a minute.
+     *
+     * @param delay the delay
+     * @param unit the unit of the delay
+     * @return the log stream
+     */
+    AppServiceLogStream withReconnectDelay(long delay, TimeUnit unit);
+
+    /**
+     * Specifies that a closed connection is not reconnected, the stream of the app ending instead.
+     *
+     * @return the log stream
+     */
+    @Method
+    AppServiceLogStream withoutReconnect();
+
+    /**
+     * Streams the application logs of the apps.
+     *
+     * @return an observable that emits the lines of all the apps as they are logged
+     */
+    @Method
+    Observable<AppServiceLogRecord> streamAsync();
+}
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -30,6 +31,7 @@ public interface AppServicePlans extends
         SupportsDeletingById,
         SupportsListingByResourceGroup<AppServicePlan>,
         SupportsListing<AppServicePlan>,
+        SupportsListingInPages<AppServicePlan>,
         SupportsGettingByResourceGroup<AppServicePlan>,
         SupportsGettingById<AppServicePlan>,
         SupportsDeletingByResourceGroup,
@@ -58,6 +58,7 @@ public interface DeploymentSlot extends
 
     /**
      * Deploys a WAR file onto the Azure specialized Tomcat on this web app.
+     * The stream is read to its end, but not closed, when this method is called.
      * @param warFile the WAR file to upload
      * @return a completable of the operation
      */
@@ -91,6 +92,7 @@ public interface DeploymentSlot extends
 
     /**
      * Deploys a WAR file onto the Azure specialized Tomcat on this web app.
+     * The stream is read to its end, but not closed, when this method is called.
      * @param warFile the WAR file to upload
      * @param appName the name of the app, default to "ROOT" when not provided
      * @return a completable of the operation
@@ -98,6 +100,18 @@ public interface DeploymentSlot extends
     @Beta(SinceVersion.V1_7_0)
     Completable warDeployAsync(InputStream warFile, String appName);
 
+    /**
+     * Deploys a WAR file onto the Azure specialized Tomcat on this deployment slot.
+     * <p>
+     * The file is streamed from disk and re-read when the upload is retried.
+     * @param warFile the WAR file to upload
+     * @param appName the name of the app, default to "ROOT" when not provided
+     * @param progressListener the listener to notify of the upload progress
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable warDeployAsync(File warFile, String appName, UploadProgressListener progressListener);
+
     /**************************************************************
      * Fluent interfaces to provision a deployment slot
      **************************************************************/
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,6 +30,7 @@ public interface FunctionApps extends
         SupportsCreating<FunctionApp.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListing<FunctionApp>,
+        SupportsListingInPages<FunctionApp>,
         SupportsListingByResourceGroup<FunctionApp>,
         SupportsGettingByResourceGroup<FunctionApp>,
         SupportsGettingById<FunctionApp>,
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * Defines what a log stream does with the lines received while its subscriber is not keeping up.
+ */
+@Beta(SinceVersion.V1_15_0)
+public enum LogStreamOverflowStrategy {
+    /**
+     * Stops reading from the connection until the subscriber requests more lines, holding back the service.
+     */
+    BLOCK,
+    /**
+     * Keeps reading, buffers up to the buffer size of lines and drops the oldest buffered line when full.
+     */
+    DROP_OLDEST,
+    /**
+     * Keeps reading and only keeps the latest line for the subscriber.
+     */
+    LATEST
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * A listener notified as an artifact is uploaded for deployment.
+ */
+@Beta(SinceVersion.V1_15_0)
+public interface UploadProgressListener {
+    /**
+     * Called each time a part of the artifact has been written to the connection.
+     * <p>
+     * When the upload is retried the progress restarts from zero.
+     *
+     * @param bytesWritten the number of bytes written so far
+     * @param contentLength the total number of bytes of the artifact
+     */
+    void onProgress(long bytesWritten, long contentLength);
+}
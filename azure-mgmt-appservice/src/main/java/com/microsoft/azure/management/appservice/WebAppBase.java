@@ -23,6 +23,7 @@ import rx.Observable;
 
 import java.io.File;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -383,6 +384,76 @@ public interface WebAppBase extends
     @Method
     Observable<byte[]> getContainerLogsZipAsync();
 
+    /**
+     * Copies the last lines of docker logs for a Linux web app to a stream as they are received.
+     *
+     * @param output the stream to copy to, left open
+     */
+    @Beta(SinceVersion.V1_15_0)
+    void downloadContainerLogs(OutputStream output);
+
+    /**
+     * Copies the last lines of docker logs for a Linux web app to a stream as they are received.
+     *
+     * @param output the stream to copy to, left open
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable downloadContainerLogsAsync(OutputStream output);
+
+    /**
+     * Copies the last bytes of docker logs for a Linux web app to a stream.
+     *
+     * @param output the stream to copy to, left open
+     * @param maxBytes the maximum number of bytes to copy
+     */
+    @Beta(SinceVersion.V1_15_0)
+    void downloadContainerLogsTail(OutputStream output, long maxBytes);
+
+    /**
+     * Copies the last bytes of docker logs for a Linux web app to a stream.
+     *
+     * @param output the stream to copy to, left open
+     * @param maxBytes the maximum number of bytes to copy
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable downloadContainerLogsTailAsync(OutputStream output, long maxBytes);
+
+    /**
+     * Copies the zipped archive of docker logs for a Linux web app to a stream as it is received.
+     *
+     * @param output the stream to copy to, left open
+     */
+    @Beta(SinceVersion.V1_15_0)
+    void downloadContainerLogsZip(OutputStream output);
+
+    /**
+     * Copies the zipped archive of docker logs for a Linux web app to a stream as it is received.
+     *
+     * @param output the stream to copy to, left open
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable downloadContainerLogsZipAsync(OutputStream output);
+
+    /**
+     * Saves the zipped archive of docker logs for a Linux web app to a file as it is received.
+     *
+     * @param file the file to save to, overwritten if it exists and deleted if the download fails
+     */
+    @Beta(SinceVersion.V1_15_0)
+    void downloadContainerLogsZip(File file);
+
+    /**
+     * Saves the zipped archive of docker logs for a Linux web app to a file as it is received.
+     *
+     * @param file the file to save to, overwritten if it exists and deleted if the download fails
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable downloadContainerLogsZipAsync(File file);
+
     /**
      * Verifies the ownership of the domain for a certificate order by verifying a hostname
      * of the domain is bound to this web app.
@@ -508,12 +579,24 @@ public interface WebAppBase extends
 
     /**
      * Deploys a ZIP file onto the Azure specialized Java SE image on this web app.
+     * The stream is read to its end, but not closed, when this method is called.
      * @param zipFile the ZIP file to upload
      * @return a completable of the operation
      */
     @Beta(SinceVersion.V1_14_0)
     Completable zipDeployAsync(InputStream zipFile);
 
+    /**
+     * Deploys a ZIP file onto the Azure specialized Java SE image on this web app.
+     * <p>
+     * The file is streamed from disk and re-read when the upload is retried.
+     * @param zipFile the ZIP file to upload
+     * @param progressListener the listener to notify of the upload progress
+     * @return a completable of the operation
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener);
+
     /**************************************************************
      * Fluent interfaces to provision a Web App or deployment slot.
      **************************************************************/
@@ -29,9 +29,11 @@ import rx.Observable;
 import rx.exceptions.Exceptions;
 import rx.functions.Func1;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -117,6 +119,16 @@ abstract class AppServiceBaseImpl<
         return this.manager().inner().webApps().createOrUpdateSourceControlAsync(resourceGroupName(), name(), inner);
     }
 
+    @Override
+    Observable<List<DeploymentInner>> listDeployments() {
+        return this.manager().inner().webApps().listDeploymentsAsync(resourceGroupName(), name()).map(new Func1<Page<DeploymentInner>, List<DeploymentInner>>() {
+            @Override
+            public List<DeploymentInner> call(Page<DeploymentInner> page) {
+                return page.items();
+            }
+        });
+    }
+
     @Override
     Observable<Void> deleteSourceControl() {
         return this.manager().inner().webApps().deleteSourceControlAsync(resourceGroupName(), name()).map(new Func1<Object, Void>() {
@@ -366,6 +378,50 @@ abstract class AppServiceBaseImpl<
                 });
     }
 
+    @Override
+    public void downloadContainerLogs(OutputStream output) {
+        downloadContainerLogsAsync(output).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsAsync(OutputStream output) {
+        return containerLogsClient().downloadContainerLogsAsync(output);
+    }
+
+    @Override
+    public void downloadContainerLogsTail(OutputStream output, long maxBytes) {
+        downloadContainerLogsTailAsync(output, maxBytes).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsTailAsync(OutputStream output, long maxBytes) {
+        return containerLogsClient().downloadContainerLogsTailAsync(output, maxBytes);
+    }
+
+    @Override
+    public void downloadContainerLogsZip(OutputStream output) {
+        downloadContainerLogsZipAsync(output).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsZipAsync(OutputStream output) {
+        return containerLogsClient().downloadContainerLogsZipAsync(output);
+    }
+
+    @Override
+    public void downloadContainerLogsZip(File file) {
+        downloadContainerLogsZipAsync(file).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsZipAsync(File file) {
+        return containerLogsClient().downloadContainerLogsZipAsync(file);
+    }
+
+    private ContainerLogsClient containerLogsClient() {
+        return new ContainerLogsClient(manager(), resourceGroupName(), name());
+    }
+
     @Override
     Observable<SiteLogsConfigInner> updateDiagnosticLogsConfig(SiteLogsConfigInner siteLogsConfigInner) {
         return manager().inner().webApps().updateDiagnosticLogsConfigAsync(resourceGroupName(), name(), siteLogsConfigInner);
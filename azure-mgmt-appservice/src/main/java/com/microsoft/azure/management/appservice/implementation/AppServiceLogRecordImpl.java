@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.appservice.AppServiceLogRecord;
+import com.microsoft.azure.management.appservice.WebAppBase;
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+/**
+ * Implementation for AppServiceLogRecord.
+ * <p>
+ * A line is scanned once for the offsets of its fields, such as in
+ * "2018-06-01T00:00:00.123  PID[1234] Information message" or "2018-06-01T00:00:00.123 [Info] message";
+ * the fields are extracted from the line on access.
+ */
+@LangDefinition
+final class AppServiceLogRecordImpl implements AppServiceLogRecord {
+    private static final DateTimeFormatter TIMESTAMP_PARSER = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+    private static final String PROCESS_ID_PREFIX = "PID[";
+    private static final String[] LEVELS = {
+        "Information", "Info", "Warning", "Warn", "Error", "Verbose", "Debug", "Trace", "Critical", "Fatal"
+    };
+
+    private final WebAppBase app;
+    private final String line;
+    private final int timestampEnd;
+    private final int processIdStart;
+    private final int processIdEnd;
+    private final int levelStart;
+    private final int levelEnd;
+    private final int messageStart;
+
+    AppServiceLogRecordImpl(WebAppBase app, String line) {
+        this.app = app;
+        this.line = line;
+        int length = line.length();
+        int position = 0;
+
+        int end = tokenEnd(line, 0);
+        if (isTimestamp(line, end)) {
+            this.timestampEnd = end;
+            position = skipSpaces(line, end);
+        } else {
+            this.timestampEnd = -1;
+        }
+
+        int closing = line.startsWith(PROCESS_ID_PREFIX, position) ? line.indexOf(']', position) : -1;
+        if (closing > 0) {
+            this.processIdStart = position + PROCESS_ID_PREFIX.length();
+            this.processIdEnd = closing;
+            position = skipSpaces(line, closing + 1);
+        } else {
+            this.processIdStart = -1;
+            this.processIdEnd = -1;
+        }
+
+        closing = position < length && line.charAt(position) == '[' ? line.indexOf(']', position) : -1;
+        end = tokenEnd(line, position);
+        if (closing > 0) {
+            this.levelStart = position + 1;
+            this.levelEnd = closing;
+            position = skipSpaces(line, closing + 1);
+        } else if (isLevel(line, position, end)) {
+            this.levelStart = position;
+            this.levelEnd = end;
+            position = skipSpaces(line, end);
+        } else {
+            this.levelStart = -1;
+            this.levelEnd = -1;
+        }
+        if (this.levelStart >= 0 && line.startsWith("- ", position)) {
+            position = skipSpaces(line, position + 1);
+        }
+        this.messageStart = position;
+    }
+
+    @Override
+    public WebAppBase app() {
+        return this.app;
+    }
+
+    @Override
+    public String line() {
+        return this.line;
+    }
+
+    @Override
+    public DateTime timestamp() {
+        if (this.timestampEnd < 0) {
+            return null;
+        }
+        try {
+            return TIMESTAMP_PARSER.parseDateTime(this.line.substring(0, this.timestampEnd));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String level() {
+        return this.levelStart < 0 ? null : this.line.substring(this.levelStart, this.levelEnd);
+    }
+
+    @Override
+    public String processId() {
+        return this.processIdStart < 0 ? null : this.line.substring(this.processIdStart, this.processIdEnd);
+    }
+
+    @Override
+    public String message() {
+        return this.line.substring(this.messageStart);
+    }
+
+    @Override
+    public String toString() {
+        return this.line;
+    }
+
+    private static int tokenEnd(String line, int start) {
+        int end = start;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int skipSpaces(String line, int start) {
+        int position = start;
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    // A timestamp starts with a date such as 2018-06-01
+    private static boolean isTimestamp(String line, int end) {
+        if (end < 10 || line.charAt(4) != '-' || line.charAt(7) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!Character.isDigit(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLevel(String line, int start, int end) {
+        for (String level : LEVELS) {
+            if (level.length() == end - start && line.regionMatches(true, start, level, 0, level.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.appservice.AppServiceLogRecord;
+import com.microsoft.azure.management.appservice.AppServiceLogStream;
+import com.microsoft.azure.management.appservice.FunctionApp;
+import com.microsoft.azure.management.appservice.LogStreamOverflowStrategy;
+import com.microsoft.azure.management.appservice.WebAppBase;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import rx.BackpressureOverflow;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for AppServiceLogStream.
+ */
+@LangDefinition
+class AppServiceLogStreamImpl implements AppServiceLogStream {
+    // The banner the service sends first on each connection
+    private static final String WELCOME_BANNER = "Welcome, you are now connected to log-streaming service.";
+    private static final long MAX_RECONNECT_DELAY_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    // The number of connections in a row failing before receiving a line after which the stream fails
+    private static final int MAX_FAILED_CONNECTIONS = 10;
+
+    private final List<WebAppBase> apps = new ArrayList<>();
+    private LogStreamOverflowStrategy overflowStrategy = LogStreamOverflowStrategy.BLOCK;
+    private int bufferSize = 1024;
+    private long reconnectDelayInMillis = TimeUnit.SECONDS.toMillis(5);
+    private boolean reconnect = true;
+
+    @Override
+    public AppServiceLogStreamImpl withApps(WebAppBase... apps) {
+        return withApps(Arrays.asList(apps));
+    }
+
+    @Override
+    public AppServiceLogStreamImpl withApps(Collection<? extends WebAppBase> apps) {
+        this.apps.addAll(apps);
+        return this;
+    }
+
+    @Override
+    public AppServiceLogStreamImpl withOverflowStrategy(LogStreamOverflowStrategy overflowStrategy) {
+        this.overflowStrategy = overflowStrategy;
+        return this;
+    }
+
+    @Override
+    public AppServiceLogStreamImpl withBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    @Override
+    public AppServiceLogStreamImpl withReconnectDelay(long delay, TimeUnit unit) {
+        this.reconnectDelayInMillis = unit.toMillis(delay);
+        this.reconnect = true;
+        return this;
+    }
+
+    @Override
+    public AppServiceLogStreamImpl withoutReconnect() {
+        this.reconnect = false;
+        return this;
+    }
+
+    @Override
+    public Observable<AppServiceLogRecord> streamAsync() {
+        List<Observable<AppServiceLogRecord>> streams = new ArrayList<>(this.apps.size());
+        for (WebAppBase app : this.apps) {
+            streams.add(streamAsync(app, linesAsync(app)));
+        }
+        return Observable.merge(streams);
+    }
+
+    /**
+     * Streams the records of an app from its lines, reconnecting and handling overflows as configured.
+     *
+     * @param app the app
+     * @param lines the lines of a connection to the application logs of the app
+     * @return an observable that emits the records of the app
+     */
+    Observable<AppServiceLogRecord> streamAsync(final WebAppBase app, final Observable<String> lines) {
+        final LogStreamOverflowStrategy overflowStrategy = this.overflowStrategy;
+        final int bufferSize = this.bufferSize;
+        final long reconnectDelayInMillis = this.reconnectDelayInMillis;
+        final boolean reconnect = this.reconnect;
+        Observable<String> connections = Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                final Reconnection reconnection = new Reconnection(reconnectDelayInMillis);
+                // Each connection reads on its own thread, so that a blocking read holds back no other app
+                Observable<String> connection = Observable.defer(new Func0<Observable<String>>() {
+                    @Override
+                    public Observable<String> call() {
+                        final boolean reconnected = reconnection.connect();
+                        return lines
+                                .filter(new Func1<String, Boolean>() {
+                                    private boolean first = true;
+
+                                    @Override
+                                    public Boolean call(String line) {
+                                        // The stream resumes after a reconnection without a new banner
+                                        boolean banner = reconnected && first && line.contains(WELCOME_BANNER);
+                                        first = false;
+                                        return !banner;
+                                    }
+                                })
+                                .doOnNext(new Action1<String>() {
+                                    @Override
+                                    public void call(String line) {
+                                        reconnection.received();
+                                    }
+                                });
+                    }
+                }).subscribeOn(SdkContext.getRxScheduler());
+                if (!reconnect) {
+                    return connection;
+                }
+                final Func1<Object, Observable<Long>> delay = new Func1<Object, Observable<Long>>() {
+                    @Override
+                    public Observable<Long> call(Object notification) {
+                        return Observable.timer(reconnection.nextDelay(), TimeUnit.MILLISECONDS);
+                    }
+                };
+                return connection
+                        .repeatWhen(new Func1<Observable<? extends Void>, Observable<?>>() {
+                            @Override
+                            public Observable<?> call(Observable<? extends Void> completions) {
+                                return completions.flatMap(delay);
+                            }
+                        })
+                        .retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+                            @Override
+                            public Observable<?> call(Observable<? extends Throwable> errors) {
+                                return errors.flatMap(new Func1<Throwable, Observable<Long>>() {
+                                    @Override
+                                    public Observable<Long> call(Throwable error) {
+                                        if (!WebAppBaseImpl.TRANSIENT_ERROR.call(error) || !reconnection.failed()) {
+                                            return Observable.error(error);
+                                        }
+                                        return delay.call(error);
+                                    }
+                                });
+                            }
+                        });
+            }
+        });
+        Observable<AppServiceLogRecord> records = connections.map(new Func1<String, AppServiceLogRecord>() {
+            @Override
+            public AppServiceLogRecord call(String line) {
+                return new AppServiceLogRecordImpl(app, line);
+            }
+        });
+        switch (overflowStrategy) {
+            case DROP_OLDEST:
+                return records.onBackpressureBuffer(bufferSize, null, BackpressureOverflow.ON_OVERFLOW_DROP_OLDEST);
+            case LATEST:
+                return records.onBackpressureLatest();
+            default:
+                return records;
+        }
+    }
+
+    private static Observable<String> linesAsync(WebAppBase app) {
+        if (app instanceof FunctionApp) {
+            // Wakes the function host up before connecting
+            return ((FunctionApp) app).streamApplicationLogsAsync();
+        }
+        return new KuduClient(app).streamApplicationLogsAsync();
+    }
+
+    /**
+     * The reconnection state of the stream of an app, the delay doubling with each failed
+     * reconnection and being reset once a line is received.
+     */
+    private static final class Reconnection {
+        private final long initialDelay;
+        private volatile long delay;
+        private volatile boolean connected;
+        private volatile int failures;
+
+        private Reconnection(long initialDelay) {
+            this.initialDelay = initialDelay;
+            this.delay = initialDelay;
+        }
+
+        /**
+         * @return true if this is a reconnection
+         */
+        private boolean connect() {
+            boolean reconnected = this.connected;
+            this.connected = true;
+            return reconnected;
+        }
+
+        private void received() {
+            this.delay = this.initialDelay;
+            this.failures = 0;
+        }
+
+        /**
+         * @return true if the connection is to be retried after this failure
+         */
+        private boolean failed() {
+            this.failures++;
+            return this.failures <= MAX_FAILED_CONNECTIONS;
+        }
+
+        private long nextDelay() {
+            long current = this.delay;
+            this.delay = Math.min(Math.max(current * 2, 1), Math.max(MAX_RECONNECT_DELAY_IN_MILLIS, this.initialDelay));
+            return current;
+        }
+    }
+}
@@ -10,9 +10,11 @@ import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.appservice.AppServiceCertificateOrders;
 import com.microsoft.azure.management.appservice.AppServiceCertificates;
 import com.microsoft.azure.management.appservice.AppServiceDomains;
+import com.microsoft.azure.management.appservice.AppServiceLogStream;
 import com.microsoft.azure.management.appservice.AppServicePlans;
 import com.microsoft.azure.management.appservice.FunctionApps;
 import com.microsoft.azure.management.appservice.WebApps;
@@ -23,9 +25,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure storage resource management.
@@ -44,6 +47,7 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
     private AppServiceDomains appServiceDomains;
     private FunctionApps functionApps;
     private RestClient restClient;
+    private final String tenantId;
 
     /**
      * Get a Configurable instance that can be used to create StorageManager with optional configuration.
@@ -65,7 +69,7 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
         return new AppServiceManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -112,9 +116,7 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
                 restClient,
                 subscriptionId,
                 new WebSiteManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        keyVaultManager = KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        rbacManager = GraphRbacManager.authenticate(restClient, tenantId);
+        this.tenantId = tenantId;
         this.restClient = restClient;
     }
 
@@ -122,6 +124,14 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
      * @return the Graph RBAC manager instance.
      */
     GraphRbacManager rbacManager() {
+        if (rbacManager == null) {
+            rbacManager = sharedManager(GraphRbacManager.class, tenantId, new Func0<GraphRbacManager>() {
+                @Override
+                public GraphRbacManager call() {
+                    return GraphRbacManager.authenticate(restClient, tenantId);
+                }
+            });
+        }
         return rbacManager;
     }
 
@@ -129,6 +139,14 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
      * @return the key vault manager instance.
      */
     KeyVaultManager keyVaultManager() {
+        if (keyVaultManager == null) {
+            keyVaultManager = sharedManager(KeyVaultManager.class, new Func0<KeyVaultManager>() {
+                @Override
+                public KeyVaultManager call() {
+                    return KeyVaultManager.authenticate(restClient, tenantId, subscriptionId());
+                }
+            });
+        }
         return keyVaultManager;
     }
 
@@ -136,6 +154,14 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
      * @return the storage manager instance.
      */
     StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
         return storageManager;
     }
 
@@ -202,4 +228,14 @@ public final class AppServiceManager extends Manager<AppServiceManager, WebSiteM
         }
         return functionApps;
     }
-}
\ No newline at end of file
+
+    /**
+     * Starts a stream of the application logs of many web apps, function apps and deployment slots.
+     *
+     * @return the log stream
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public AppServiceLogStream logStream() {
+        return new AppServiceLogStreamImpl();
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.reflect.TypeToken;
+import com.microsoft.azure.CloudException;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A client copying the docker logs of a Linux web app or deployment slot to a stream as they are
+ * received, instead of reading them into memory.
+ * <p>
+ * Full downloads let the HTTP client negotiate a gzip transfer and decompress it on the fly; a tail
+ * download asks the service for the last bytes only, and falls back to skipping the leading bytes
+ * if the service returns the whole logs.
+ */
+class ContainerLogsClient {
+    private static final int RANGE_NOT_SATISFIABLE = 416;
+
+    private final WebSiteManagementClientImpl client;
+    private final ContainerLogsService service;
+    private final String resourceGroupName;
+    private final String site;
+
+    /**
+     * The interface defining the container logs requests used by Retrofit, the site being either
+     * the name of a web app or the name of a web app followed by /slots/ and the name of a slot.
+     */
+    private interface ContainerLogsService {
+        @Headers({ "Content-Type: application/json; charset=utf-8", "x-ms-logging-context: com.microsoft.azure.management.appservice.WebApps getWebSiteContainerLogs", "x-ms-body-logging: false" })
+        @POST("subscriptions/{subscriptionId}/resourceGroups/{resourceGroupName}/providers/Microsoft.Web/sites/{site}/containerlogs")
+        @Streaming
+        Observable<Response<ResponseBody>> getContainerLogs(@Path("resourceGroupName") String resourceGroupName, @Path(value = "site", encoded = true) String site, @Path("subscriptionId") String subscriptionId, @Query("api-version") String apiVersion, @Header("Range") String range, @Header("accept-language") String acceptLanguage, @Header("User-Agent") String userAgent);
+
+        @Headers({ "Content-Type: application/json; charset=utf-8", "x-ms-logging-context: com.microsoft.azure.management.appservice.WebApps getContainerLogsZip", "x-ms-body-logging: false" })
+        @POST("subscriptions/{subscriptionId}/resourceGroups/{resourceGroupName}/providers/Microsoft.Web/sites/{site}/containerlogs/zip/download")
+        @Streaming
+        Observable<Response<ResponseBody>> getContainerLogsZip(@Path("resourceGroupName") String resourceGroupName, @Path(value = "site", encoded = true) String site, @Path("subscriptionId") String subscriptionId, @Query("api-version") String apiVersion, @Header("accept-language") String acceptLanguage, @Header("User-Agent") String userAgent);
+    }
+
+    /**
+     * Creates a client for the container logs of a web app.
+     *
+     * @param manager the app service manager
+     * @param resourceGroupName the resource group of the web app
+     * @param name the name of the web app
+     */
+    ContainerLogsClient(AppServiceManager manager, String resourceGroupName, String name) {
+        this(manager, resourceGroupName, name, null);
+    }
+
+    /**
+     * Creates a client for the container logs of a deployment slot.
+     *
+     * @param manager the app service manager
+     * @param resourceGroupName the resource group of the web app
+     * @param name the name of the web app
+     * @param slot the name of the deployment slot, or null for the web app itself
+     */
+    ContainerLogsClient(AppServiceManager manager, String resourceGroupName, String name, String slot) {
+        this.client = manager.inner();
+        this.service = this.client.restClient().retrofit().create(ContainerLogsService.class);
+        this.resourceGroupName = resourceGroupName;
+        this.site = slot == null ? name : name + "/slots/" + slot;
+    }
+
+    /**
+     * Copies the docker logs to a stream.
+     *
+     * @param output the stream to copy to, left open
+     * @return a completable of the operation
+     */
+    Completable downloadContainerLogsAsync(final OutputStream output) {
+        return copyAsync(service.getContainerLogs(resourceGroupName, site, client.subscriptionId(), client.apiVersion(),
+                null, client.acceptLanguage(), client.userAgent()), output, -1);
+    }
+
+    /**
+     * Copies the last bytes of the docker logs to a stream.
+     *
+     * @param output the stream to copy to, left open
+     * @param maxBytes the maximum number of bytes to copy
+     * @return a completable of the operation
+     */
+    Completable downloadContainerLogsTailAsync(final OutputStream output, final long maxBytes) {
+        if (maxBytes <= 0 || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("maxBytes must be positive and at most " + Integer.MAX_VALUE);
+        }
+        return copyAsync(service.getContainerLogs(resourceGroupName, site, client.subscriptionId(), client.apiVersion(),
+                "bytes=-" + maxBytes, client.acceptLanguage(), client.userAgent()), output, (int) maxBytes);
+    }
+
+    /**
+     * Copies the zipped archive of the docker logs to a stream.
+     *
+     * @param output the stream to copy to, left open
+     * @return a completable of the operation
+     */
+    Completable downloadContainerLogsZipAsync(final OutputStream output) {
+        return copyAsync(service.getContainerLogsZip(resourceGroupName, site, client.subscriptionId(), client.apiVersion(),
+                client.acceptLanguage(), client.userAgent()), output, -1);
+    }
+
+    /**
+     * Copies the zipped archive of the docker logs to a file, the file being deleted if the copy fails.
+     *
+     * @param file the file to copy to, overwritten if it exists
+     * @return a completable of the operation
+     */
+    Completable downloadContainerLogsZipAsync(final File file) {
+        return Completable.defer(new Func0<Completable>() {
+            @Override
+            public Completable call() {
+                final FileOutputStream output;
+                try {
+                    output = new FileOutputStream(file);
+                } catch (IOException e) {
+                    return Completable.error(e);
+                }
+                return downloadContainerLogsZipAsync(output)
+                        .doAfterTerminate(new Action0() {
+                            @Override
+                            public void call() {
+                                closeQuietly(output);
+                            }
+                        })
+                        .doOnError(new Action1<Throwable>() {
+                            @Override
+                            public void call(Throwable throwable) {
+                                closeQuietly(output);
+                                if (!file.delete()) {
+                                    file.deleteOnExit();
+                                }
+                            }
+                        });
+            }
+        });
+    }
+
+    private Completable copyAsync(Observable<Response<ResponseBody>> request, final OutputStream output, final int tailBytes) {
+        return request.flatMap(new Func1<Response<ResponseBody>, Observable<Void>>() {
+            @Override
+            public Observable<Void> call(Response<ResponseBody> response) {
+                try {
+                    if (response.code() == RANGE_NOT_SATISFIABLE) {
+                        // There is nothing to tail
+                        response.errorBody().close();
+                        return Observable.empty();
+                    }
+                    if (!response.isSuccessful()) {
+                        client.restClient().responseBuilderFactory().<InputStream, CloudException>newInstance(client.serializerAdapter())
+                                .register(200, new TypeToken<InputStream>() { }.getType())
+                                .registerError(CloudException.class)
+                                .build(response);
+                    }
+                    try (ResponseBody body = response.body()) {
+                        if (body == null) {
+                            return Observable.empty();
+                        }
+                        if (tailBytes < 0 || response.code() == 206) {
+                            ByteStreams.copy(body.byteStream(), output);
+                        } else {
+                            copyTail(body, output, tailBytes);
+                        }
+                        output.flush();
+                    }
+                    return Observable.empty();
+                } catch (Throwable t) {
+                    return Observable.error(t);
+                }
+            }
+        }).toCompletable();
+    }
+
+    /**
+     * Copies the last bytes of a response that was not restricted to the range requested.
+     */
+    private static void copyTail(ResponseBody body, OutputStream output, int tailBytes) throws IOException {
+        InputStream input = body.byteStream();
+        long contentLength = body.contentLength();
+        if (contentLength >= 0) {
+            ByteStreams.skipFully(input, Math.max(0, contentLength - tailBytes));
+            ByteStreams.copy(input, output);
+            return;
+        }
+        // Of unknown length, the logs are read through a ring of the last bytes
+        byte[] ring = new byte[tailBytes];
+        long total = 0;
+        int read;
+        while ((read = input.read(ring, (int) (total % tailBytes), tailBytes - (int) (total % tailBytes))) != -1) {
+            total += read;
+        }
+        if (total <= tailBytes) {
+            output.write(ring, 0, (int) total);
+        } else {
+            int start = (int) (total % tailBytes);
+            output.write(ring, start, tailBytes - start);
+            output.write(ring, 0, start);
+        }
+    }
+
+    private static void closeQuietly(OutputStream output) {
+        try {
+            output.close();
+        } catch (IOException e) {
+            // Ignored, the copy has already completed or failed
+        }
+    }
+}
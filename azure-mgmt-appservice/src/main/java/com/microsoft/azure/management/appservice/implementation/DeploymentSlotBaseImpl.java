@@ -26,9 +26,11 @@ import rx.Observable;
 import rx.exceptions.Exceptions;
 import rx.functions.Func1;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -337,6 +339,16 @@ abstract class DeploymentSlotBaseImpl<
                 }).toCompletable();
     }
 
+    @Override
+    Observable<List<DeploymentInner>> listDeployments() {
+        return manager().inner().webApps().listDeploymentsSlotAsync(resourceGroupName(), parent().name(), name()).map(new Func1<Page<DeploymentInner>, List<DeploymentInner>>() {
+            @Override
+            public List<DeploymentInner> call(Page<DeploymentInner> page) {
+                return page.items();
+            }
+        });
+    }
+
     @Override
     Observable<Void> deleteSourceControl() {
         return manager().inner().webApps().deleteSourceControlSlotAsync(resourceGroupName(), parent().name(), name()).map(new Func1<Object, Void>() {
@@ -419,6 +431,50 @@ abstract class DeploymentSlotBaseImpl<
                 });
     }
 
+    @Override
+    public void downloadContainerLogs(OutputStream output) {
+        downloadContainerLogsAsync(output).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsAsync(OutputStream output) {
+        return containerLogsClient().downloadContainerLogsAsync(output);
+    }
+
+    @Override
+    public void downloadContainerLogsTail(OutputStream output, long maxBytes) {
+        downloadContainerLogsTailAsync(output, maxBytes).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsTailAsync(OutputStream output, long maxBytes) {
+        return containerLogsClient().downloadContainerLogsTailAsync(output, maxBytes);
+    }
+
+    @Override
+    public void downloadContainerLogsZip(OutputStream output) {
+        downloadContainerLogsZipAsync(output).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsZipAsync(OutputStream output) {
+        return containerLogsClient().downloadContainerLogsZipAsync(output);
+    }
+
+    @Override
+    public void downloadContainerLogsZip(File file) {
+        downloadContainerLogsZipAsync(file).await();
+    }
+
+    @Override
+    public Completable downloadContainerLogsZipAsync(File file) {
+        return containerLogsClient().downloadContainerLogsZipAsync(file);
+    }
+
+    private ContainerLogsClient containerLogsClient() {
+        return new ContainerLogsClient(manager(), resourceGroupName(), parent().name(), name());
+    }
+
     @Override
     Observable<SiteLogsConfigInner> updateDiagnosticLogsConfig(SiteLogsConfigInner siteLogsConfigInner) {
         return manager().inner().webApps().updateDiagnosticLogsConfigSlotAsync(resourceGroupName(), parent().name(), name(), siteLogsConfigInner);
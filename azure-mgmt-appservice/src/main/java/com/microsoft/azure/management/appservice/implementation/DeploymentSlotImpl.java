@@ -8,12 +8,11 @@ package com.microsoft.azure.management.appservice.implementation;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.DeploymentSlot;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
 import com.microsoft.azure.management.appservice.WebApp;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -73,11 +72,12 @@ class DeploymentSlotImpl
 
     @Override
     public Completable warDeployAsync(File warFile, String appName) {
-        try {
-            return warDeployAsync(new FileInputStream(warFile), appName);
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return warDeployAsync(warFile, appName, null);
+    }
+
+    @Override
+    public Completable warDeployAsync(File warFile, String appName, UploadProgressListener progressListener) {
+        return kuduClient.warDeployAsync(warFile, appName, progressListener);
     }
 
     @Override
@@ -112,10 +112,11 @@ class DeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener).concatWith(stopAsync()).concatWith(startAsync());
     }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.UploadProgressListener;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A request body streaming the content of a file.
+ * <p>
+ * The file is opened each time the body is written, so a retried request uploads the file again
+ * without the content ever being held in memory.
+ */
+final class FileRequestBody extends RequestBody {
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+    private static final long SEGMENT_SIZE = 64 * 1024;
+
+    private final File file;
+    private final UploadProgressListener progressListener;
+
+    /**
+     * Creates FileRequestBody.
+     *
+     * @param file the file to upload
+     * @param progressListener the listener to notify of the upload progress, may be null
+     */
+    FileRequestBody(File file, UploadProgressListener progressListener) {
+        this.file = file;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return OCTET_STREAM;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.length();
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        long contentLength = contentLength();
+        long bytesWritten = 0;
+        try (Source source = Okio.source(file)) {
+            long read;
+            while ((read = source.read(sink.buffer(), SEGMENT_SIZE)) != -1) {
+                sink.emitCompleteSegments();
+                bytesWritten += read;
+                if (progressListener != null) {
+                    progressListener.onProgress(bytesWritten, contentLength);
+                }
+            }
+        }
+    }
+}
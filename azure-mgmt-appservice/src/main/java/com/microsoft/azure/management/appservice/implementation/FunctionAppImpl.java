@@ -17,6 +17,7 @@ import com.microsoft.azure.management.appservice.NameValuePair;
 import com.microsoft.azure.management.appservice.OperatingSystem;
 import com.microsoft.azure.management.appservice.PricingTier;
 import com.microsoft.azure.management.appservice.SkuDescription;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
@@ -45,7 +46,6 @@ import rx.functions.Func1;
 import rx.schedulers.Schedulers;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
@@ -346,11 +346,12 @@ class FunctionAppImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener);
     }
 
     @Override
@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.FunctionApp;
@@ -92,6 +93,11 @@ class FunctionAppsImpl
         return converter.convert(pagedList);
     }
 
+    @Override
+    protected Observable<Page<FunctionApp>> wrapPagesAsync(Observable<Page<SiteInner>> innerPages) {
+        return converter.convertPagesAsync(innerPages);
+    }
+
 
     @Override
     public FunctionAppImpl define(String name) {
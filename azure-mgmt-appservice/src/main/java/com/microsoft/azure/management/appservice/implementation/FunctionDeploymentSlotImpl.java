@@ -9,12 +9,11 @@ package com.microsoft.azure.management.appservice.implementation;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.FunctionApp;
 import com.microsoft.azure.management.appservice.FunctionDeploymentSlot;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
 import com.microsoft.azure.management.appservice.FunctionDeploymentSlot.DefinitionStages.WithCreate;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -68,10 +67,11 @@ class FunctionDeploymentSlotImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener);
     }
 }
\ No newline at end of file
@@ -9,8 +9,8 @@ package com.microsoft.azure.management.appservice.implementation;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.google.common.io.ByteStreams;
 import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
 import com.microsoft.azure.management.appservice.WebAppBase;
-import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
 import okio.BufferedSource;
@@ -21,16 +21,22 @@ import retrofit2.http.POST;
 import retrofit2.http.Query;
 import retrofit2.http.Streaming;
 import rx.Completable;
-import rx.Emitter;
-import rx.Emitter.BackpressureMode;
 import rx.Observable;
+import rx.Observer;
 import rx.exceptions.Exceptions;
+import rx.functions.Action0;
 import rx.functions.Action1;
+import rx.functions.Action2;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
+import rx.observables.SyncOnSubscribe;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -67,45 +73,118 @@ class KuduClient {
         Observable<Void> zipDeploy(@Body RequestBody zipFile);
     }
 
+    /**
+     * Streams the application logs line by line.
+     * <p>
+     * A line is only read from the connection once requested by the subscriber, so that a slow subscriber
+     * holds back the connection instead of lines piling up in memory. The connection is closed once the
+     * subscriber unsubscribes.
+     *
+     * @return an observable that emits the lines of the application logs
+     */
     Observable<String> streamApplicationLogsAsync() {
         return service.streamApplicationLogs()
-                .flatMap(new Func1<ResponseBody, Observable<String>>() {
+                .concatMap(new Func1<ResponseBody, Observable<String>>() {
                     @Override
-                    public Observable<String> call(ResponseBody responseBody) {
-                        final BufferedSource source = responseBody.source();
-                        return Observable.create(new Action1<Emitter<String>>() {
+                    public Observable<String> call(final ResponseBody responseBody) {
+                        return Observable.create(SyncOnSubscribe.createSingleState(new Func0<BufferedSource>() {
                             @Override
-                            public void call(Emitter<String> stringEmitter) {
+                            public BufferedSource call() {
+                                return responseBody.source();
+                            }
+                        }, new Action2<BufferedSource, Observer<? super String>>() {
+                            @Override
+                            public void call(BufferedSource source, Observer<? super String> observer) {
                                 try {
-                                    while (!source.exhausted()) {
-                                        stringEmitter.onNext(source.readUtf8Line());
+                                    String line = source.readUtf8Line();
+                                    if (line == null) {
+                                        observer.onCompleted();
+                                    } else {
+                                        observer.onNext(line);
                                     }
-                                    stringEmitter.onCompleted();
                                 } catch (IOException e) {
-                                    stringEmitter.onError(e);
+                                    observer.onError(e);
                                 }
                             }
-                        }, BackpressureMode.BUFFER);
+                        }, new Action1<BufferedSource>() {
+                            @Override
+                            public void call(BufferedSource source) {
+                                responseBody.close();
+                            }
+                        }));
                     }
                 });
     }
 
-    Completable warDeployAsync(InputStream warFile, String appName) {
-        try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(warFile));
-            return getCompletable(service.warDeploy(body, appName));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+    Completable warDeployAsync(InputStream warFile, final String appName) {
+        return deployFromStream(warFile, "war", new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                return warDeployAsync(file, appName, null);
+            }
+        });
+    }
+
+    Completable warDeployAsync(File warFile, String appName, UploadProgressListener progressListener) {
+        return getCompletable(service.warDeploy(new FileRequestBody(warFile, progressListener), appName));
     }
 
     Completable zipDeployAsync(InputStream zipFile) {
+        return deployFromStream(zipFile, "zip", new Func1<File, Completable>() {
+            @Override
+            public Completable call(File file) {
+                return zipDeployAsync(file, null);
+            }
+        });
+    }
+
+    Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener) {
+        return getCompletable(service.zipDeploy(new FileRequestBody(zipFile, progressListener)));
+    }
+
+    /**
+     * Deploys the content of a stream by spooling it to a temporary file first, so that the
+     * content is not held in memory. The stream is read when this method is called, the
+     * returned completable deploying the spooled file each time it is subscribed until a
+     * deployment succeeds, after which the file is deleted.
+     *
+     * @param stream the stream with the artifact content, read to its end but not closed
+     * @param extension the file extension of the artifact
+     * @param deployFile the function deploying the spooled file
+     * @return a completable of the operation
+     */
+    private static Completable deployFromStream(InputStream stream, String extension, final Func1<File, Completable> deployFile) {
+        final File file;
         try {
-            RequestBody body = RequestBody.create(MediaType.parse("application/octet-stream"), ByteStreams.toByteArray(zipFile));
-            return getCompletable(service.zipDeploy(body));
+            file = File.createTempFile("deploy", "." + extension);
+        } catch (IOException e) {
+            return Completable.error(e);
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            ByteStreams.copy(stream, out);
         } catch (IOException e) {
+            deleteQuietly(file);
             return Completable.error(e);
         }
+        // Kept for a subscription retrying a failed deployment, at the latest until the JVM exits
+        file.deleteOnExit();
+        return Completable.defer(new Func0<Completable>() {
+            @Override
+            public Completable call() {
+                return deployFile.call(file);
+            }
+        }).doOnCompleted(new Action0() {
+            @Override
+            public void call() {
+                deleteQuietly(file);
+            }
+        });
+    }
+
+    private static void deleteQuietly(File file) {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
     }
 
     private Completable getCompletable(Observable<Void> observable) {
@@ -52,15 +52,18 @@ import com.microsoft.azure.management.resources.fluentcore.dag.FunctionalTaskIte
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import com.microsoft.azure.management.resources.fluentcore.utils.WaitUntil;
 import com.microsoft.rest.RestException;
 import org.joda.time.DateTime;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Action0;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.Func2;
 import rx.functions.FuncN;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,7 +72,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The implementation for WebAppBase.
@@ -90,6 +93,39 @@ abstract class WebAppBaseImpl<
             WebAppBase.Definition<FluentT>,
             WebAppBase.Update<FluentT>,
             WebAppBase.UpdateStages.WithWebContainer<FluentT> {
+    private static final int DEPLOYMENT_MAX_ATTEMPTS = 8;
+    private static final int DEPLOYMENT_STATUS_FAILED = 3;
+    private static final int DEPLOYMENT_STATUS_SUCCESS = 4;
+    private static final Func1<List<DeploymentInner>, Boolean> DEPLOYMENTS_SETTLED = new Func1<List<DeploymentInner>, Boolean>() {
+        @Override
+        public Boolean call(List<DeploymentInner> deployments) {
+            // No deployment, e.g. when the source control triggers none, is settled
+            for (DeploymentInner deployment : deployments) {
+                Integer status = deployment.status();
+                if (status == null || (status != DEPLOYMENT_STATUS_FAILED && status != DEPLOYMENT_STATUS_SUCCESS)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    };
+
+    /**
+     * The errors worth retrying the request for: I/O errors, throttling and server errors.
+     */
+    static final Func1<Throwable, Boolean> TRANSIENT_ERROR = new Func1<Throwable, Boolean>() {
+        @Override
+        public Boolean call(Throwable throwable) {
+            if (throwable instanceof IOException) {
+                return true;
+            }
+            if (throwable instanceof RestException && ((RestException) throwable).response() != null) {
+                int code = ((RestException) throwable).response().code();
+                return code == 429 || code >= 500;
+            }
+            return false;
+        }
+    };
 
     SiteConfigResourceInner siteConfig;
 
@@ -587,6 +623,8 @@ abstract class WebAppBaseImpl<
 
     abstract Observable<Void> deleteSourceControl();
 
+    abstract Observable<List<DeploymentInner>> listDeployments();
+
     abstract Observable<SiteAuthSettingsInner> updateAuthentication(SiteAuthSettingsInner inner);
 
     abstract Observable<SiteAuthSettingsInner> getAuthentication();
@@ -913,22 +951,28 @@ abstract class WebAppBaseImpl<
                         return createOrUpdateSourceControl(sourceControl.inner());
                     }
                 })
-                .delay(new Func1<SiteSourceControlInner, Observable<Long>>() {
+                .flatMap(new Func1<SiteSourceControlInner, Observable<Indexable>>() {
                     @Override
-                    public Observable<Long> call(SiteSourceControlInner siteSourceControlInner) {
-                        return Observable.fromCallable(new Callable<Long>() {
+                    public Observable<Indexable> call(SiteSourceControlInner siteSourceControlInner) {
+                        // The source control triggers a deployment, wait for it to settle
+                        // so that the following operations do not race with it.
+                        //
+                        return WaitUntil.polling(new Func0<Observable<List<DeploymentInner>>>() {
                             @Override
-                            public Long call() throws Exception {
-                                SdkContext.sleep(30000);
-                                return 30000L;
+                            public Observable<List<DeploymentInner>> call() {
+                                return listDeployments();
                             }
-                        });
-                    }
-                })
-                .map(new Func1<SiteSourceControlInner, Indexable>() {
-                    @Override
-                    public Indexable call(SiteSourceControlInner siteSourceControlInner) {
-                        return WebAppBaseImpl.this;
+                        })
+                                .until(DEPLOYMENTS_SETTLED)
+                                .withDelays(2, 8, TimeUnit.SECONDS)
+                                .withMaxAttempts(DEPLOYMENT_MAX_ATTEMPTS)
+                                .withTimeout(30, TimeUnit.SECONDS)
+                                .ignoringErrors(TRANSIENT_ERROR)
+                                // Proceeds after as long as the fixed wait this replaces
+                                .continueOnTimeout()
+                                .toObservable()
+                                .toCompletable()
+                                .andThen(Observable.just((Indexable) WebAppBaseImpl.this));
                     }
                 });
     }
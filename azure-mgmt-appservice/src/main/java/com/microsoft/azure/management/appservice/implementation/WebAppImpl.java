@@ -12,13 +12,12 @@ import com.microsoft.azure.management.appservice.DeploymentSlots;
 import com.microsoft.azure.management.appservice.OperatingSystem;
 import com.microsoft.azure.management.appservice.PricingTier;
 import com.microsoft.azure.management.appservice.RuntimeStack;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
 import com.microsoft.azure.management.appservice.WebApp;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
 import rx.Completable;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.io.InputStream;
 
 /**
@@ -204,11 +203,12 @@ class WebAppImpl
 
     @Override
     public Completable warDeployAsync(File warFile, String appName) {
-        try {
-            return warDeployAsync(new FileInputStream(warFile), appName);
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return warDeployAsync(warFile, appName, null);
+    }
+
+    @Override
+    public Completable warDeployAsync(File warFile, String appName, UploadProgressListener progressListener) {
+        return kuduClient.warDeployAsync(warFile, appName, progressListener);
     }
 
     @Override
@@ -227,11 +227,12 @@ class WebAppImpl
 
     @Override
     public Completable zipDeployAsync(File zipFile) {
-        try {
-            return zipDeployAsync(new FileInputStream(zipFile));
-        } catch (IOException e) {
-            return Completable.error(e);
-        }
+        return zipDeployAsync(zipFile, null);
+    }
+
+    @Override
+    public Completable zipDeployAsync(File zipFile, UploadProgressListener progressListener) {
+        return kuduClient.zipDeployAsync(zipFile, progressListener).concatWith(WebAppImpl.this.stopAsync()).concatWith(WebAppImpl.this.startAsync());
     }
 
     @Override
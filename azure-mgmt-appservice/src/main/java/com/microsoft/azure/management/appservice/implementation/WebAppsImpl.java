@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.appservice.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.appservice.WebApp;
@@ -96,6 +97,11 @@ class WebAppsImpl
         return converter.convert(pagedList);
     }
 
+    @Override
+    protected Observable<Page<WebApp>> wrapPagesAsync(Observable<Page<SiteInner>> innerPages) {
+        return converter.convertPagesAsync(innerPages);
+    }
+
 
     @Override
     public WebAppImpl define(String name) {
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.AppServiceLogRecord;
+import com.microsoft.azure.management.appservice.LogStreamOverflowStrategy;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.Observer;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.observables.SyncOnSubscribe;
+import rx.observers.TestSubscriber;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test AppServiceLogStream class.
+ */
+public class AppServiceLogStreamTests {
+    @Test
+    public void canParseLogRecords() {
+        AppServiceLogRecord record = new AppServiceLogRecordImpl(null, "2018-06-01T10:20:30.123  PID[1234] Information Hello world");
+        Assert.assertEquals(new DateTime(2018, 6, 1, 10, 20, 30, 123, DateTimeZone.UTC).getMillis(), record.timestamp().getMillis());
+        Assert.assertEquals("1234", record.processId());
+        Assert.assertEquals("Information", record.level());
+        Assert.assertEquals("Hello world", record.message());
+
+        record = new AppServiceLogRecordImpl(null, "2018-06-01T10:20:30.123Z [Info]   Function started (Id=42)");
+        Assert.assertNotNull(record.timestamp());
+        Assert.assertNull(record.processId());
+        Assert.assertEquals("Info", record.level());
+        Assert.assertEquals("Function started (Id=42)", record.message());
+
+        record = new AppServiceLogRecordImpl(null, "2018-06-01T10:20:30.123Z ERROR - Container failed");
+        Assert.assertEquals("ERROR", record.level());
+        Assert.assertEquals("Container failed", record.message());
+
+        record = new AppServiceLogRecordImpl(null, "Informational message");
+        Assert.assertNull(record.timestamp());
+        Assert.assertNull(record.level());
+        Assert.assertEquals("Informational message", record.message());
+        Assert.assertEquals("Informational message", record.line());
+    }
+
+    @Test
+    public void canReconnectAndResume() {
+        final AtomicInteger connections = new AtomicInteger();
+        Observable<String> lines = Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                int connection = connections.incrementAndGet();
+                Observable<String> banner = Observable.just("2018-06-01T10:20:30  Welcome, you are now connected to log-streaming service.");
+                if (connection == 1) {
+                    return banner.concatWith(Observable.just("first")).concatWith(Observable.<String>error(new IOException("reset")));
+                }
+                return banner.concatWith(Observable.just("second"));
+            }
+        });
+        List<AppServiceLogRecord> records = new AppServiceLogStreamImpl()
+                .withReconnectDelay(10, TimeUnit.MILLISECONDS)
+                .streamAsync(null, lines)
+                .take(3)
+                .toList().toBlocking().single();
+
+        Assert.assertTrue(records.get(0).message().startsWith("Welcome"));
+        Assert.assertEquals("first", records.get(1).line());
+        Assert.assertEquals("second", records.get(2).line());
+        Assert.assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void canFailOnNonTransientError() {
+        final AtomicInteger connections = new AtomicInteger();
+        Observable<String> lines = Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                connections.incrementAndGet();
+                return Observable.just("first").concatWith(Observable.<String>error(new IllegalStateException("denied")));
+            }
+        });
+        TestSubscriber<AppServiceLogRecord> subscriber = new TestSubscriber<>();
+        new AppServiceLogStreamImpl()
+                .withReconnectDelay(1, TimeUnit.MILLISECONDS)
+                .streamAsync(null, lines)
+                .subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertError(IllegalStateException.class);
+        subscriber.assertValueCount(1);
+        Assert.assertEquals(1, connections.get());
+    }
+
+    @Test
+    public void canStopReconnectingAfterFailedConnections() {
+        final AtomicInteger connections = new AtomicInteger();
+        Observable<String> lines = Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                if (connections.incrementAndGet() == 1) {
+                    return Observable.just("first").concatWith(Observable.<String>error(new IOException("reset")));
+                }
+                return Observable.error(new IOException("refused"));
+            }
+        });
+        TestSubscriber<AppServiceLogRecord> subscriber = new TestSubscriber<>();
+        new AppServiceLogStreamImpl()
+                .withReconnectDelay(1, TimeUnit.MILLISECONDS)
+                .streamAsync(null, lines)
+                .subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(10, TimeUnit.SECONDS);
+        subscriber.assertError(IOException.class);
+        Assert.assertEquals("refused", subscriber.getOnErrorEvents().get(0).getMessage());
+        subscriber.assertValueCount(1);
+        // The connection failing after the line received, then 10 reconnections failing in a row
+        Assert.assertEquals(11, connections.get());
+    }
+
+    @Test
+    public void canHoldBackSlowSubscriber() throws InterruptedException {
+        final AtomicInteger read = new AtomicInteger();
+        Observable<String> lines = Observable.create(SyncOnSubscribe.createStateless(new Action1<Observer<? super String>>() {
+            @Override
+            public void call(Observer<? super String> observer) {
+                observer.onNext(String.valueOf(read.incrementAndGet()));
+            }
+        }));
+        TestSubscriber<AppServiceLogRecord> subscriber = new TestSubscriber<>(2L);
+        new AppServiceLogStreamImpl()
+                .withoutReconnect()
+                .streamAsync(null, lines)
+                .subscribe(subscriber);
+
+        subscriber.awaitValueCount(2, 5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        Assert.assertEquals(2, read.get());
+        subscriber.unsubscribe();
+    }
+
+    @Test
+    public void canDropOldestLines() throws InterruptedException {
+        final CountDownLatch read = new CountDownLatch(1);
+        Observable<String> lines = Observable.range(1, 100)
+                .map(new Func1<Integer, String>() {
+                    @Override
+                    public String call(Integer line) {
+                        return String.valueOf(line);
+                    }
+                })
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        read.countDown();
+                    }
+                });
+        TestSubscriber<AppServiceLogRecord> subscriber = new TestSubscriber<>(0L);
+        new AppServiceLogStreamImpl()
+                .withoutReconnect()
+                .withOverflowStrategy(LogStreamOverflowStrategy.DROP_OLDEST)
+                .withBufferSize(10)
+                .streamAsync(null, lines)
+                .subscribe(subscriber);
+
+        Assert.assertTrue(read.await(5, TimeUnit.SECONDS));
+        subscriber.requestMore(100);
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        List<String> received = new ArrayList<>();
+        for (AppServiceLogRecord record : subscriber.getOnNextEvents()) {
+            received.add(record.line());
+        }
+        Assert.assertEquals(10, received.size());
+        Assert.assertEquals("91", received.get(0));
+        Assert.assertEquals("100", received.get(9));
+    }
+}
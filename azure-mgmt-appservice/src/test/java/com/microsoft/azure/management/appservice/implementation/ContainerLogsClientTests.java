@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Test class to test ContainerLogsClient class.
+ */
+public class ContainerLogsClientTests {
+    private static final String LOGS = "line 1\nline 2\nline 3\nline 4\n";
+
+    private AppServiceManager manager;
+    // How the fake service answers: honoring ranges, with or without a content length, or failing
+    private boolean honorRange;
+    private boolean chunked;
+    private boolean fail;
+    private Request lastRequest;
+
+    @Before
+    public void setup() {
+        Interceptor containerLogsService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                lastRequest = request;
+                if (fail) {
+                    return OfflineService.response(request, 404, "{\"error\":{\"code\":\"NotFound\",\"message\":\"Not found\"}}");
+                }
+                String content = request.url().encodedPath().endsWith("/zip/download") ? "PK-zip-content" : LOGS;
+                String range = request.header("Range");
+                int code = 200;
+                if (range != null && honorRange) {
+                    int length = Integer.parseInt(range.substring("bytes=-".length()));
+                    content = content.substring(Math.max(0, content.length() - length));
+                    code = 206;
+                }
+                Buffer buffer = new Buffer().writeUtf8(content);
+                ResponseBody body = ResponseBody.create(MediaType.parse("application/octet-stream"),
+                        chunked ? -1 : buffer.size(), buffer);
+                return OfflineService.response(request, code, body);
+            }
+        };
+        RestClient restClient = OfflineService.restClient(containerLogsService);
+        manager = AppServiceManager.authenticate(restClient, "tenant", "sub");
+    }
+
+    @Test
+    public void canDownloadContainerLogs() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ContainerLogsClient(manager, "rg", "app", "staging").downloadContainerLogsAsync(output).await();
+
+        Assert.assertEquals(LOGS, new String(output.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertTrue(lastRequest.url().encodedPath().endsWith("/sites/app/slots/staging/containerlogs"));
+        Assert.assertNull(lastRequest.header("Range"));
+    }
+
+    @Test
+    public void canDownloadContainerLogsTail() {
+        // Restricted by the service
+        honorRange = true;
+        Assert.assertEquals("line 4\n", tail(7));
+        Assert.assertEquals("bytes=-7", lastRequest.header("Range"));
+
+        // Skipped from a response of known length
+        honorRange = false;
+        Assert.assertEquals("line 4\n", tail(7));
+
+        // Kept in a ring from a response of unknown length
+        chunked = true;
+        Assert.assertEquals("line 4\n", tail(7));
+        Assert.assertEquals("3\nline 4\n", tail(9));
+        Assert.assertEquals(LOGS, tail(1000));
+    }
+
+    @Test
+    public void canDownloadContainerLogsZipToFile() throws IOException {
+        File file = File.createTempFile("logs", ".zip");
+        try {
+            new ContainerLogsClient(manager, "rg", "app").downloadContainerLogsZipAsync(file).await();
+            Assert.assertEquals("PK-zip-content", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+
+            fail = true;
+            try {
+                new ContainerLogsClient(manager, "rg", "app").downloadContainerLogsZipAsync(file).await();
+                Assert.fail();
+            } catch (CloudException e) {
+                Assert.assertEquals(404, e.response().code());
+            }
+            Assert.assertFalse(file.exists());
+        } finally {
+            file.delete();
+        }
+    }
+
+    private String tail(long maxBytes) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new ContainerLogsClient(manager, "rg", "app").downloadContainerLogsTailAsync(output, maxBytes).await();
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
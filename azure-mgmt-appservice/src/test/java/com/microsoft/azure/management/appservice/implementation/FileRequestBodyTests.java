@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.microsoft.azure.management.appservice.UploadProgressListener;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class to test FileRequestBody class.
+ */
+public class FileRequestBodyTests {
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final int FILE_SIZE = 10 * SEGMENT_SIZE + 123;
+
+    private File file;
+    private byte[] content;
+
+    @Before
+    public void setup() throws IOException {
+        content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        file = File.createTempFile("artifact", ".zip");
+        Files.write(file.toPath(), content);
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void canStreamFileInSegments() throws IOException {
+        final Buffer received = new Buffer();
+        // The size of each write reaching the connection
+        final List<Long> writes = new ArrayList<>();
+        BufferedSink sink = Okio.buffer(new ForwardingSink(received) {
+            @Override
+            public void write(Buffer source, long byteCount) throws IOException {
+                writes.add(byteCount);
+                super.write(source, byteCount);
+            }
+        });
+
+        FileRequestBody body = new FileRequestBody(file, null);
+        Assert.assertEquals(FILE_SIZE, body.contentLength());
+        Assert.assertEquals("application/octet-stream", body.contentType().toString());
+        body.writeTo(sink);
+        sink.flush();
+
+        Assert.assertArrayEquals(content, received.readByteArray());
+        Assert.assertTrue(writes.toString(), writes.size() > 10);
+        for (long write : writes) {
+            Assert.assertTrue(writes.toString(), write <= SEGMENT_SIZE);
+        }
+    }
+
+    @Test
+    public void canReportProgress() throws IOException {
+        final List<Long> progress = new ArrayList<>();
+        FileRequestBody body = new FileRequestBody(file, new UploadProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                Assert.assertEquals(FILE_SIZE, contentLength);
+                progress.add(bytesWritten);
+            }
+        });
+
+        body.writeTo(new Buffer());
+        assertProgress(progress);
+
+        // Written again from the start when the request is retried
+        progress.clear();
+        Buffer retried = new Buffer();
+        body.writeTo(retried);
+        assertProgress(progress);
+        Assert.assertArrayEquals(content, retried.readByteArray());
+    }
+
+    private static void assertProgress(List<Long> progress) {
+        Assert.assertTrue(progress.toString(), progress.size() > 10);
+        long previous = 0;
+        for (long bytesWritten : progress) {
+            Assert.assertTrue(progress.toString(), bytesWritten > previous && bytesWritten - previous <= SEGMENT_SIZE);
+            previous = bytesWritten;
+        }
+        Assert.assertEquals(FILE_SIZE, previous);
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.appservice.implementation;
+
+import com.google.common.collect.ImmutableMap;
+import com.microsoft.azure.management.appservice.UploadProgressListener;
+import com.microsoft.azure.management.appservice.WebAppBase;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Completable;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Test class to test KuduClient class.
+ */
+public class KuduClientTests {
+    private static final int FILE_SIZE = 200 * 1024 + 7;
+
+    private KuduClient client;
+    private byte[] content;
+    private File file;
+    // The uploads received, as path and query
+    private final List<String> uploads = new ArrayList<>();
+    private Buffer lastUpload;
+    // How the fake service answers: with a status code of 200 or the failing one
+    private int statusCode;
+    private Set<String> spooledFiles;
+
+    @Before
+    public void setup() throws IOException {
+        content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7);
+        }
+        file = File.createTempFile("artifact", ".zip");
+        Files.write(file.toPath(), content);
+        statusCode = 200;
+        spooledFiles = spooledFiles();
+
+        Interceptor kuduService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                Assert.assertEquals("app.scm.azurewebsites.net", request.url().host());
+                Assert.assertEquals(FILE_SIZE, request.body().contentLength());
+                lastUpload = new Buffer();
+                request.body().writeTo(lastUpload);
+                uploads.add(request.url().encodedPath() + (request.url().encodedQuery() == null ? "" : "?" + request.url().encodedQuery()));
+                return OfflineService.response(request, statusCode, "");
+            }
+        };
+        RestClient restClient = OfflineService.restClient(kuduService);
+        AppServiceManager manager = AppServiceManager.authenticate(restClient, "tenant", "sub");
+        // Only the manager and the host name of the web app are used
+        WebAppBase webApp = OfflineService.stub(WebAppBase.class,
+                ImmutableMap.of("manager", manager, "name", "app", "defaultHostName", "app.azurewebsites.net"));
+        client = new KuduClient(webApp);
+    }
+
+    @After
+    public void cleanup() {
+        file.delete();
+    }
+
+    @Test
+    public void canZipDeployFile() {
+        final List<Long> progress = new ArrayList<>();
+        client.zipDeployAsync(file, new UploadProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                Assert.assertEquals(FILE_SIZE, contentLength);
+                progress.add(bytesWritten);
+            }
+        }).await();
+
+        Assert.assertEquals(Arrays.asList("/api/zipdeploy"), uploads);
+        Assert.assertArrayEquals(content, lastUpload.readByteArray());
+        Assert.assertTrue(progress.size() > 1);
+        for (int i = 1; i < progress.size(); i++) {
+            Assert.assertTrue(progress.toString(), progress.get(i) > progress.get(i - 1));
+        }
+        Assert.assertEquals(FILE_SIZE, progress.get(progress.size() - 1).longValue());
+    }
+
+    @Test
+    public void canWarDeployFile() {
+        final List<Long> progress = new ArrayList<>();
+        client.warDeployAsync(file, "ROOT", new UploadProgressListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                progress.add(bytesWritten);
+            }
+        }).await();
+
+        Assert.assertEquals(Arrays.asList("/api/wardeploy?name=ROOT"), uploads);
+        Assert.assertArrayEquals(content, lastUpload.readByteArray());
+        Assert.assertEquals(FILE_SIZE, progress.get(progress.size() - 1).longValue());
+
+        // Without a listener
+        client.warDeployAsync(file, "app", null).await();
+        Assert.assertEquals("/api/wardeploy?name=app", uploads.get(1));
+    }
+
+    @Test
+    public void canDeployStreamThroughTemporaryFile() throws IOException {
+        // Read when the deployment is defined, the stream being closed by the caller before subscribing
+        InputStream zip = new FilterInputStream(new ByteArrayInputStream(content)) {
+            private boolean closed;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+                return super.read(b, off, len);
+            }
+
+            @Override
+            public void close() {
+                closed = true;
+            }
+        };
+        Completable zipDeployment = client.zipDeployAsync(zip);
+        zip.close();
+        zipDeployment.await();
+        client.warDeployAsync(new ByteArrayInputStream(content), "ROOT").await();
+
+        Assert.assertEquals(Arrays.asList("/api/zipdeploy", "/api/wardeploy?name=ROOT"), uploads);
+        Assert.assertArrayEquals(content, lastUpload.readByteArray());
+        Assert.assertEquals(spooledFiles, spooledFiles());
+    }
+
+    @Test
+    public void canRetryFailedDeploymentFromTemporaryFile() {
+        statusCode = 400;
+        Completable deployment = client.zipDeployAsync(new ByteArrayInputStream(content));
+        try {
+            deployment.await();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // Expected, the deployment was rejected
+        }
+        Assert.assertEquals(1, uploads.size());
+        // Kept for the retry
+        Assert.assertEquals(spooledFiles.size() + 1, spooledFiles().size());
+
+        statusCode = 200;
+        deployment.await();
+        Assert.assertEquals(2, uploads.size());
+        Assert.assertArrayEquals(content, lastUpload.readByteArray());
+        Assert.assertEquals(spooledFiles, spooledFiles());
+    }
+
+    @Test
+    public void canDeleteTemporaryFileOnFailedSpooling() {
+        // Fails half way through the content
+        InputStream failing = new FilterInputStream(new ByteArrayInputStream(content, 0, FILE_SIZE / 2)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read == -1) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+        };
+        Completable deployment = client.warDeployAsync(failing, "ROOT");
+        // Spooled, and failed, before subscribing
+        Assert.assertEquals(spooledFiles, spooledFiles());
+        try {
+            deployment.await();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+        Assert.assertTrue(uploads.isEmpty());
+        Assert.assertEquals(spooledFiles, spooledFiles());
+    }
+
+    private static Set<String> spooledFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir")).list(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.startsWith("deploy") && (name.endsWith(".zip") || name.endsWith(".war"));
+            }
+        });
+        return new HashSet<>(Arrays.asList(names));
+    }
+}
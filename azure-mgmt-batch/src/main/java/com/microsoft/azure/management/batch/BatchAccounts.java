@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,6 +30,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface BatchAccounts extends
         SupportsCreating<BatchAccount.DefinitionStages.Blank>,
         SupportsListing<BatchAccount>,
+        SupportsListingInPages<BatchAccount>,
         SupportsListingByResourceGroup<BatchAccount>,
         SupportsGettingByResourceGroup<BatchAccount>,
         SupportsGettingById<BatchAccount>,
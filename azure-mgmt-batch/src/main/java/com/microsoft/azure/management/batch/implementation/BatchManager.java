@@ -15,9 +15,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure Batch service management.
@@ -26,6 +27,7 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
 
     private BatchAccounts batchAccounts;
     private StorageManager storageManager;
+    private final RestClient restClient;
 
     protected BatchManager(RestClient restClient, String subscriptionId) {
         super(
@@ -33,7 +35,7 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
                 subscriptionId,
                 new BatchManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
 
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
+        this.restClient = restClient;
     }
 
     /**
@@ -56,7 +58,7 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
         return new BatchManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -103,9 +105,21 @@ public class BatchManager extends Manager<BatchManager, BatchManagementClientImp
      */
     public BatchAccounts batchAccounts() {
         if (batchAccounts == null) {
-            batchAccounts = new BatchAccountsImpl(this, this.storageManager);
+            batchAccounts = new BatchAccountsImpl(this, storageManager());
         }
 
         return batchAccounts;
     }
+
+    private StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return storageManager;
+    }
 }
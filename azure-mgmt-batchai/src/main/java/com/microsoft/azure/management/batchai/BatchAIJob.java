@@ -21,6 +21,7 @@ import org.joda.time.DateTime;
 import rx.Completable;
 import rx.Observable;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -102,6 +103,17 @@ public interface BatchAIJob extends
     @Method
     Observable<RemoteLoginInformation> listRemoteLoginInformationAsync();
 
+    /**
+     * Prepares the bulk download of the files of the given output directory (Only if the output directory is on Azure File Share or Azure Storage container).
+     * @param outputDirectoryId Id of the job output directory. This is the OutputDirectory--&gt;id
+     * parameter that is given by the user during Create Job.
+     * @param destination the local directory to download the files to
+     * @return the download, to be started with download() or downloadAsync()
+     */
+    @Method
+    @Beta(Beta.SinceVersion.V1_15_0)
+    OutputFilesDownload downloadFiles(String outputDirectoryId, File destination);
+
     /**
      * @return priority associated with the job. Priority values can range from -1000
      * to 1000, with -1000 being the lowest priority and 1000 being the highest
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.batchai;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import rx.Observable;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A bulk download of the files of a Batch AI job output directory to a local directory.
+ * <p>
+ * The files are downloaded with bounded concurrency while the output directory is still being
+ * listed, files larger than the range size being downloaded in ranges. A download interrupted
+ * before completion is resumed by downloading again to the same local directory: the files
+ * already downloaded are skipped and the ranges already written are kept. Download links
+ * expiring during the download are refreshed by listing their directory again.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface OutputFilesDownload {
+    /**
+     * Specifies the directory of the output directory to download, the whole output directory
+     * being downloaded by default.
+     *
+     * @param directory the path of the directory, relative to the output directory
+     * @return the download itself
+     */
+    OutputFilesDownload fromDirectory(String directory);
+
+    /**
+     * Specifies the maximum number of concurrent requests, 8 by default.
+     *
+     * @param maxConcurrency the maximum number of concurrent requests, positive
+     * @return the download itself
+     */
+    OutputFilesDownload withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Specifies the size of the ranges large files are downloaded in, 16 MB by default.
+     *
+     * @param rangeSizeInBytes the size of the ranges, in bytes, positive
+     * @return the download itself
+     */
+    OutputFilesDownload withRangeSize(long rangeSizeInBytes);
+
+    /**
+     * Specifies the number of minutes after which the download links expire, 60 by default.
+     *
+     * @param linkExpiryMinutes the number of minutes after which the download links expire, positive
+     * @return the download itself
+     */
+    OutputFilesDownload withLinkExpiryMinutes(int linkExpiryMinutes);
+
+    /**
+     * Downloads the files. The files already up to date in the local directory are skipped: they are
+     * not downloaded again and not returned.
+     *
+     * @return the local files downloaded, the files already up to date excepted
+     */
+    @Method
+    List<File> download();
+
+    /**
+     * Downloads the files asynchronously. The files already up to date in the local directory are
+     * skipped: they are not downloaded again and not emitted.
+     *
+     * @return an observable emitting each local file once downloaded, the files already up to date
+     * excepted
+     */
+    @Method
+    Observable<File> downloadAsync();
+}
@@ -41,6 +41,7 @@ import com.microsoft.azure.management.batchai.MountVolumes;
 import com.microsoft.azure.management.batchai.OutputDirectory;
 import com.microsoft.azure.management.batchai.OutputDirectorySettings;
 import com.microsoft.azure.management.batchai.OutputFile;
+import com.microsoft.azure.management.batchai.OutputFilesDownload;
 import com.microsoft.azure.management.batchai.ProvisioningState;
 import com.microsoft.azure.management.batchai.PyTorchSettings;
 import com.microsoft.azure.management.batchai.RemoteLoginInformation;
@@ -60,6 +61,7 @@ import rx.Completable;
 import rx.Observable;
 import rx.functions.Func1;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -445,6 +447,12 @@ class BatchAIJobImpl
                 });
     }
 
+    @Override
+    public OutputFilesDownload downloadFiles(String outputDirectoryId, File destination) {
+        return new OutputFilesDownloadImpl(workspace.manager(), workspace.resourceGroupName(), workspace.name(),
+                experiment.name(), name(), outputDirectoryId, destination);
+    }
+
     @Override
     public PagedList<RemoteLoginInformation> listRemoteLoginInformation() {
         PagedListConverter<RemoteLoginInformationInner, RemoteLoginInformation> converter = new PagedListConverter<RemoteLoginInformationInner, RemoteLoginInformation>() {
@@ -22,7 +22,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -55,7 +55,7 @@ public final class BatchAIManager extends Manager<BatchAIManager, BatchAIManagem
         return new BatchAIManager(new RestClient.Builder()
             .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
             .withCredentials(credentials)
-            .withSerializerAdapter(new AzureJacksonAdapter())
+            .withSerializerAdapter(Utils.newJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
             .withInterceptor(new ProviderRegistrationInterceptor(credentials))
             .build(), subscriptionId);
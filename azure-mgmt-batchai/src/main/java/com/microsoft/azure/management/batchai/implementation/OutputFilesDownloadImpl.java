@@ -0,0 +1,604 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.batchai.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.batchai.FileType;
+import com.microsoft.azure.management.batchai.JobsListOutputFilesOptions;
+import com.microsoft.azure.management.batchai.OutputFilesDownload;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * The implementation of OutputFilesDownload.
+ * <p>
+ * A file is downloaded to a ".download" file next to its local file, renamed once complete. The
+ * ranges of a file downloaded in ranges are written in place, the ranges completed being recorded
+ * in a ".ranges" file for an interrupted download to be resumed.
+ */
+@LangDefinition
+class OutputFilesDownloadImpl implements OutputFilesDownload {
+    private static final String DOWNLOAD_SUFFIX = ".download";
+    private static final String RANGES_SUFFIX = ".ranges";
+    private static final String ROOT_DIRECTORY = ".";
+    private static final int MAX_RESULTS = 1000;
+    private static final int MAX_LINK_REFRESHES = 3;
+    // The tolerated difference between the clocks of the client and of the storage service
+    private static final long CLOCK_SKEW_IN_MILLIS = 5 * 60 * 1000;
+
+    private final JobsInner jobs;
+    // Download links are signed URLs, not to be sent the credentials of the management client
+    private final OkHttpClient httpClient;
+    private final String resourceGroupName;
+    private final String workspaceName;
+    private final String experimentName;
+    private final String jobName;
+    private final String outputDirectoryId;
+    private final File destination;
+    private String directory = ROOT_DIRECTORY;
+    private int maxConcurrency = 8;
+    private long rangeSize = 16 * 1024 * 1024;
+    private int linkExpiryMinutes = 60;
+
+    OutputFilesDownloadImpl(BatchAIManager manager, String resourceGroupName, String workspaceName,
+                            String experimentName, String jobName, String outputDirectoryId, File destination) {
+        this(manager.inner().jobs(), withoutInterceptors(manager.inner().restClient().httpClient()),
+                resourceGroupName, workspaceName, experimentName, jobName, outputDirectoryId, destination);
+    }
+
+    OutputFilesDownloadImpl(JobsInner jobs, OkHttpClient httpClient, String resourceGroupName, String workspaceName,
+                            String experimentName, String jobName, String outputDirectoryId, File destination) {
+        this.jobs = jobs;
+        this.httpClient = httpClient;
+        this.resourceGroupName = resourceGroupName;
+        this.workspaceName = workspaceName;
+        this.experimentName = experimentName;
+        this.jobName = jobName;
+        this.outputDirectoryId = outputDirectoryId;
+        this.destination = destination;
+    }
+
+    @Override
+    public OutputFilesDownloadImpl fromDirectory(String directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    @Override
+    public OutputFilesDownloadImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public OutputFilesDownloadImpl withRangeSize(long rangeSizeInBytes) {
+        if (rangeSizeInBytes <= 0) {
+            throw new IllegalArgumentException("rangeSizeInBytes must be positive");
+        }
+        this.rangeSize = rangeSizeInBytes;
+        return this;
+    }
+
+    @Override
+    public OutputFilesDownloadImpl withLinkExpiryMinutes(int linkExpiryMinutes) {
+        if (linkExpiryMinutes <= 0) {
+            throw new IllegalArgumentException("linkExpiryMinutes must be positive");
+        }
+        this.linkExpiryMinutes = linkExpiryMinutes;
+        return this;
+    }
+
+    @Override
+    public List<File> download() {
+        return this.downloadAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<File> downloadAsync() {
+        return Observable.defer(new Func0<Observable<File>>() {
+            @Override
+            public Observable<File> call() {
+                return new Transfer().downloadAsync();
+            }
+        });
+    }
+
+    /**
+     * The state of a download, from the listing of the output directory to the last range.
+     */
+    private final class Transfer {
+        private final Map<String, Links> links = new HashMap<>();
+        private final Set<LocalFile> open = new HashSet<>();
+
+        private Observable<File> downloadAsync() {
+            return listAsync(directory, "")
+                    .concatMap(new Func1<RemoteFile, Observable<Range>>() {
+                        @Override
+                        public Observable<Range> call(final RemoteFile file) {
+                            return Observable.defer(new Func0<Observable<Range>>() {
+                                @Override
+                                public Observable<Range> call() {
+                                    try {
+                                        return Observable.from(prepare(file));
+                                    } catch (IOException e) {
+                                        return Observable.error(e);
+                                    }
+                                }
+                            });
+                        }
+                    })
+                    .flatMap(new Func1<Range, Observable<File>>() {
+                        @Override
+                        public Observable<File> call(Range range) {
+                            return downloadAsync(range, 0).subscribeOn(SdkContext.getRxScheduler());
+                        }
+                    }, maxConcurrency)
+                    .doOnUnsubscribe(new Action0() {
+                        @Override
+                        public void call() {
+                            closeAll();
+                        }
+                    });
+        }
+
+        /**
+         * Lists the files of a directory and of its subdirectories, page by page.
+         */
+        private Observable<RemoteFile> listAsync(final String remoteDirectory, final String localDirectory) {
+            return listPagesAsync(remoteDirectory)
+                    .concatMapIterable(new Func1<Page<FileInner>, List<FileInner>>() {
+                        @Override
+                        public List<FileInner> call(Page<FileInner> page) {
+                            return page.items();
+                        }
+                    })
+                    .concatMap(new Func1<FileInner, Observable<RemoteFile>>() {
+                        @Override
+                        public Observable<RemoteFile> call(FileInner inner) {
+                            String localPath = localDirectory + inner.name();
+                            if (FileType.DIRECTORY.equals(inner.fileType())) {
+                                return listAsync(childDirectory(remoteDirectory, inner.name()), localPath + "/");
+                            }
+                            return Observable.just(new RemoteFile(remoteDirectory, localPath, inner));
+                        }
+                    });
+        }
+
+        private Observable<Page<FileInner>> listPagesAsync(String remoteDirectory) {
+            return jobs.listOutputFilesAsync(resourceGroupName, workspaceName, experimentName, jobName,
+                    new JobsListOutputFilesOptions()
+                            .withOutputdirectoryid(outputDirectoryId)
+                            .withDirectory(remoteDirectory)
+                            .withLinkexpiryinminutes(linkExpiryMinutes)
+                            .withMaxResults(MAX_RESULTS));
+        }
+
+        /**
+         * Opens the local file of a remote file.
+         *
+         * @return the ranges left to download, none if the local file is up to date
+         */
+        private List<Range> prepare(RemoteFile file) throws IOException {
+            File target = new File(destination, file.localPath);
+            if (!target.getCanonicalPath().startsWith(destination.getCanonicalPath() + File.separator)) {
+                throw new IOException("The output file " + file.localPath + " is outside of " + destination);
+            }
+            List<Range> ranges = new ArrayList<>();
+            if (target.isFile() && file.length >= 0 && target.length() == file.length
+                    && (file.lastModified == 0 || target.lastModified() / 1000 == file.lastModified / 1000)) {
+                return ranges;
+            }
+            File parent = target.getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+                throw new IOException("Failed to create the directory " + parent);
+            }
+
+            LocalFile local = new LocalFile(file, target, file.length > rangeSize);
+            Set<Long> completed = local.ranged ? local.completedRanges(rangeSize) : new HashSet<Long>();
+            local.channel = FileChannel.open(local.download.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            synchronized (open) {
+                open.add(local);
+            }
+            if (completed.isEmpty()) {
+                local.channel.truncate(0);
+                if (local.ranged) {
+                    // Ranges are written past the end of the file while the previous ones are downloaded
+                    local.channel.write(ByteBuffer.wrap(new byte[1]), file.length - 1);
+                    local.startRanges(rangeSize);
+                }
+            }
+            if (!local.ranged) {
+                ranges.add(new Range(local, 0, file.length < 0 ? Long.MAX_VALUE : file.length));
+            } else {
+                for (long start = 0; start < file.length; start += rangeSize) {
+                    if (!completed.contains(start)) {
+                        ranges.add(new Range(local, start, Math.min(start + rangeSize, file.length)));
+                    }
+                }
+                if (ranges.isEmpty()) {
+                    // Interrupted once all ranges were written
+                    ranges.add(new Range(local, -1, -1));
+                }
+            }
+            local.remaining = ranges.size();
+            return ranges;
+        }
+
+        /**
+         * Downloads a range, refreshing the download link of the file if expired.
+         *
+         * @return an observable emitting the local file if complete once the range is downloaded
+         */
+        private Observable<File> downloadAsync(final Range range, final int refreshes) {
+            return Observable.fromCallable(new Callable<File>() {
+                @Override
+                public File call() throws Exception {
+                    if (range.start >= 0) {
+                        transfer(range);
+                    }
+                    return range.file.rangeCompleted(range.start) ? complete(range.file) : null;
+                }
+            }).filter(new Func1<File, Boolean>() {
+                @Override
+                public Boolean call(File file) {
+                    return file != null;
+                }
+            }).onErrorResumeNext(new Func1<Throwable, Observable<File>>() {
+                @Override
+                public Observable<File> call(Throwable throwable) {
+                    // A link denied before its expiry is not refreshed, e.g. on an authorization failure
+                    if (!(throwable instanceof ForbiddenLinkException)
+                            || !((ForbiddenLinkException) throwable).link.mayHaveExpired()
+                            || refreshes >= MAX_LINK_REFRESHES) {
+                        return Observable.error(throwable);
+                    }
+                    return refreshAsync(range.file.remote, (ForbiddenLinkException) throwable).flatMap(new Func1<Link, Observable<File>>() {
+                        @Override
+                        public Observable<File> call(Link link) {
+                            return downloadAsync(range, refreshes + 1);
+                        }
+                    });
+                }
+            });
+        }
+
+        private void transfer(Range range) throws IOException {
+            LocalFile file = range.file;
+            Link link = file.remote.link;
+            Request.Builder request = new Request.Builder().url(link.url);
+            if (file.ranged) {
+                request.header("Range", "bytes=" + range.start + "-" + (range.end - 1));
+            }
+            Response response = httpClient.newCall(request.build()).execute();
+            try {
+                if (response.code() == 403) {
+                    throw new ForbiddenLinkException(file.remote.localPath, link);
+                }
+                if (!response.isSuccessful() || (file.ranged && response.code() != 206)) {
+                    throw new IOException("Failed to download " + file.remote.localPath + ": status code " + response.code());
+                }
+                ReadableByteChannel source = Channels.newChannel(response.body().byteStream());
+                long position = range.start;
+                while (position < range.end) {
+                    long transferred = file.channel.transferFrom(source, position, range.end - position);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                }
+                if (range.end != Long.MAX_VALUE && position != range.end) {
+                    throw new IOException("Failed to download " + file.remote.localPath + ": "
+                            + (position - range.start) + " of " + (range.end - range.start) + " bytes received");
+                }
+            } finally {
+                response.close();
+            }
+        }
+
+        private File complete(LocalFile file) throws IOException {
+            file.channel.close();
+            synchronized (open) {
+                open.remove(file);
+            }
+            Files.move(file.download.toPath(), file.target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(file.ranges.toPath());
+            if (file.remote.lastModified != 0) {
+                file.target.setLastModified(file.remote.lastModified);
+            }
+            return file.target;
+        }
+
+        /**
+         * Refreshes the download link of a file, the directory of the file being listed again at most
+         * once per expiry of its links.
+         *
+         * @return an observable emitting the new download link, or failing with the denial of the link
+         * if listed again unchanged
+         */
+        private Observable<Link> refreshAsync(final RemoteFile file, final ForbiddenLinkException denial) {
+            Link expired = denial.link;
+            final int generation;
+            Observable<Map<String, String>> urls;
+            synchronized (links) {
+                Links directoryLinks = links.get(file.directory);
+                if (directoryLinks == null) {
+                    directoryLinks = new Links();
+                    links.put(file.directory, directoryLinks);
+                }
+                // Unless already listed again since the expired link was listed
+                if (directoryLinks.generation == expired.generation) {
+                    directoryLinks.generation++;
+                    directoryLinks.urls = listUrlsAsync(file.directory).cache();
+                }
+                generation = directoryLinks.generation;
+                urls = directoryLinks.urls;
+            }
+            return urls.flatMap(new Func1<Map<String, String>, Observable<Link>>() {
+                @Override
+                public Observable<Link> call(Map<String, String> urls) {
+                    String url = urls.get(file.name);
+                    if (url == null) {
+                        return Observable.error(new IllegalStateException("The output file " + file.localPath + " no longer exists"));
+                    }
+                    if (url.equals(denial.link.url)) {
+                        return Observable.error(denial);
+                    }
+                    file.link = new Link(url, generation);
+                    return Observable.just(file.link);
+                }
+            });
+        }
+
+        private Observable<Map<String, String>> listUrlsAsync(String remoteDirectory) {
+            return listPagesAsync(remoteDirectory)
+                    .concatMapIterable(new Func1<Page<FileInner>, List<FileInner>>() {
+                        @Override
+                        public List<FileInner> call(Page<FileInner> page) {
+                            return page.items();
+                        }
+                    })
+                    .filter(new Func1<FileInner, Boolean>() {
+                        @Override
+                        public Boolean call(FileInner inner) {
+                            return inner.downloadUrl() != null;
+                        }
+                    })
+                    .toMap(new Func1<FileInner, String>() {
+                        @Override
+                        public String call(FileInner inner) {
+                            return inner.name();
+                        }
+                    }, new Func1<FileInner, String>() {
+                        @Override
+                        public String call(FileInner inner) {
+                            return inner.downloadUrl();
+                        }
+                    });
+        }
+
+        private void closeAll() {
+            List<LocalFile> files;
+            synchronized (open) {
+                files = new ArrayList<>(open);
+                open.clear();
+            }
+            for (LocalFile file : files) {
+                try {
+                    file.channel.close();
+                } catch (IOException e) {
+                    continue;
+                }
+            }
+        }
+    }
+
+    private static OkHttpClient withoutInterceptors(OkHttpClient httpClient) {
+        OkHttpClient.Builder builder = httpClient.newBuilder();
+        builder.interceptors().clear();
+        builder.networkInterceptors().clear();
+        return builder.build();
+    }
+
+    private static String childDirectory(String directory, String name) {
+        return ROOT_DIRECTORY.equals(directory) ? name : directory + "/" + name;
+    }
+
+    /**
+     * An output file as listed.
+     */
+    private static final class RemoteFile {
+        private final String directory;
+        private final String name;
+        private final String localPath;
+        private final long length;
+        private final long lastModified;
+        private volatile Link link;
+
+        private RemoteFile(String directory, String localPath, FileInner inner) {
+            this.directory = directory;
+            this.name = inner.name();
+            this.localPath = localPath;
+            this.length = inner.contentLength() == null ? -1 : inner.contentLength();
+            this.lastModified = inner.lastModified() == null ? 0 : inner.lastModified().getMillis();
+            this.link = new Link(inner.downloadUrl(), 0);
+        }
+    }
+
+    /**
+     * A download link.
+     */
+    private static final class Link {
+        private final String url;
+        // The number of times the links of the directory were listed again when the link was listed
+        private final int generation;
+
+        private Link(String url, int generation) {
+            this.url = url;
+            this.generation = generation;
+        }
+
+        /**
+         * @return false if the link is a shared access signature not expired yet, true otherwise
+         */
+        private boolean mayHaveExpired() {
+            HttpUrl httpUrl = HttpUrl.parse(url);
+            String expiry = httpUrl == null ? null : httpUrl.queryParameter("se");
+            if (expiry == null) {
+                return true;
+            }
+            try {
+                return DateTime.parse(expiry).getMillis() < System.currentTimeMillis() + CLOCK_SKEW_IN_MILLIS;
+            } catch (IllegalArgumentException e) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The download links of a directory, as last listed.
+     */
+    private static final class Links {
+        private int generation;
+        private Observable<Map<String, String>> urls;
+    }
+
+    /**
+     * The local file an output file is downloaded to.
+     */
+    private static final class LocalFile {
+        private final RemoteFile remote;
+        private final File target;
+        private final File download;
+        private final File ranges;
+        private final boolean ranged;
+        private FileChannel channel;
+        private int remaining;
+
+        private LocalFile(RemoteFile remote, File target, boolean ranged) {
+            this.remote = remote;
+            this.target = target;
+            this.download = new File(target.getPath() + DOWNLOAD_SUFFIX);
+            this.ranges = new File(target.getPath() + RANGES_SUFFIX);
+            this.ranged = ranged;
+        }
+
+        /**
+         * @return the header of the ranges file, identifying the version of the file and the ranges
+         */
+        private String header(long rangeSize) {
+            return remote.length + " " + remote.lastModified + " " + rangeSize;
+        }
+
+        /**
+         * @return the starts of the ranges completed by a previous download of the same version of
+         * the file, if any
+         */
+        private Set<Long> completedRanges(long rangeSize) throws IOException {
+            Set<Long> completed = new HashSet<>();
+            if (!download.isFile() || download.length() != remote.length) {
+                return completed;
+            }
+            String[] lines;
+            try {
+                lines = new String(Files.readAllBytes(ranges.toPath()), StandardCharsets.UTF_8).split("\n", -1);
+            } catch (NoSuchFileException e) {
+                return completed;
+            }
+            if (!header(rangeSize).equals(lines[0])) {
+                return completed;
+            }
+            // The last line is either empty or cut short by an interruption
+            for (int i = 1; i < lines.length - 1; i++) {
+                try {
+                    completed.add(Long.parseLong(lines[i]));
+                } catch (NumberFormatException e) {
+                    completed.clear();
+                    return completed;
+                }
+            }
+            return completed;
+        }
+
+        private void startRanges(long rangeSize) throws IOException {
+            Files.write(ranges.toPath(), (header(rangeSize) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Records a range as completed.
+         *
+         * @return true if the file is complete
+         */
+        private synchronized boolean rangeCompleted(long start) throws IOException {
+            if (ranged && start >= 0) {
+                try (OutputStream stream = Files.newOutputStream(ranges.toPath(), StandardOpenOption.APPEND)) {
+                    stream.write((start + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return --remaining == 0;
+        }
+    }
+
+    /**
+     * A range of an output file to download, from start inclusive to end exclusive.
+     */
+    private static final class Range {
+        private final LocalFile file;
+        private final long start;
+        private final long end;
+
+        private Range(LocalFile file, long start, long end) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * The denial of a download link, expired or not.
+     */
+    private static final class ForbiddenLinkException extends IOException {
+        private static final long serialVersionUID = 1L;
+        private final transient Link link;
+
+        private ForbiddenLinkException(String path, Link link) {
+            super("Failed to download " + path + ": status code 403");
+            this.link = link;
+        }
+    }
+}
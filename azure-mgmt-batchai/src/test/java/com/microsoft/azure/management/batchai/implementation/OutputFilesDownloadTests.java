@@ -0,0 +1,301 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.batchai.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.batchai.JobsListOutputFilesOptions;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test OutputFilesDownload class.
+ */
+public class OutputFilesDownloadTests {
+    private static final String STORAGE = "https://storage.blob.core.windows.net/output/";
+    private static final String EXPIRED = "se=2000-01-01T00%3A00%3A00Z&sig=expired";
+    private static final String VALID = "se=2100-01-01T00%3A00%3A00Z&sig=valid";
+    private static final long LAST_MODIFIED = 1500000000000L;
+    private static final byte[] LARGE = new byte[100];
+    private static final byte[] SMALL = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LOG = "log line\n".getBytes(StandardCharsets.UTF_8);
+
+    // The download requests, as path, query and range
+    private final List<String> downloads = Collections.synchronizedList(new ArrayList<String>());
+    // The number of listings per directory
+    private final Map<String, AtomicInteger> listings = new ConcurrentHashMap<>();
+    // The query of the download links of the large file, per listing of the root directory
+    private List<String> largeFileLinks;
+    private String rootDirectoryFile;
+    private File destination;
+    private OutputFilesDownloadImpl download;
+
+    @Before
+    public void setup() throws IOException {
+        for (int i = 0; i < LARGE.length; i++) {
+            LARGE[i] = (byte) i;
+        }
+        largeFileLinks = Arrays.asList(VALID);
+        rootDirectoryFile = "small.txt";
+        destination = Files.createTempDirectory("output").toFile();
+
+        RestClient restClient = OfflineService.restClient();
+        JobsInner jobs = new JobsInner(restClient.retrofit(), new BatchAIManagementClientImpl(restClient)) {
+            @Override
+            public Observable<Page<FileInner>> listOutputFilesAsync(String resourceGroupName, String workspaceName, String experimentName,
+                                                                    String jobName, JobsListOutputFilesOptions options) {
+                Assert.assertEquals("out", options.outputdirectoryid());
+                Assert.assertEquals(1000, options.maxResults().intValue());
+                Assert.assertEquals(30, options.linkexpiryinminutes().intValue());
+                return Observable.<Page<FileInner>>just(new FilePage(list(options.directory())));
+            }
+        };
+        Interceptor storageService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                String range = request.header("Range");
+                downloads.add(request.url().encodedPath() + "?" + request.url().encodedQuery() + " " + range);
+                if (!request.url().encodedQuery().endsWith("sig=valid")) {
+                    return OfflineService.response(request, 403, MediaType.parse("application/xml"), "<Error/>".getBytes(StandardCharsets.UTF_8));
+                }
+                byte[] content = request.url().encodedPath().endsWith("large.bin") ? LARGE
+                        : request.url().encodedPath().endsWith("log.txt") ? LOG : SMALL;
+                int code = 200;
+                if (range != null) {
+                    String[] bounds = range.substring("bytes=".length()).split("-");
+                    content = Arrays.copyOfRange(content, Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]) + 1);
+                    code = 206;
+                }
+                return OfflineService.response(request, code, MediaType.parse("application/octet-stream"), content);
+            }
+        };
+        download = new OutputFilesDownloadImpl(jobs, new OkHttpClient.Builder().addInterceptor(storageService).build(),
+                "rg", "workspace", "experiment", "job", "out", destination)
+                .withRangeSize(16)
+                .withMaxConcurrency(3)
+                .withLinkExpiryMinutes(30);
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        delete(destination);
+    }
+
+    @Test
+    public void canDownloadInRanges() throws IOException {
+        List<File> files = download.download();
+
+        Assert.assertEquals(3, files.size());
+        assertDownloaded();
+        // The small files are downloaded whole, the large one in ranges of 16 bytes
+        Assert.assertEquals(9, downloads.size());
+        Assert.assertTrue(downloads.contains("/output/small.txt?" + VALID + " null"));
+        Assert.assertTrue(downloads.contains("/output/logs/log.txt?" + VALID + " null"));
+        Assert.assertTrue(downloads.contains("/output/large.bin?" + VALID + " bytes=0-15"));
+        Assert.assertTrue(downloads.contains("/output/large.bin?" + VALID + " bytes=96-99"));
+        Assert.assertEquals(1, listings.get(".").get());
+        Assert.assertEquals(1, listings.get("logs").get());
+    }
+
+    @Test
+    public void canResumeFromRangesFile() throws IOException {
+        byte[] partial = new byte[LARGE.length];
+        System.arraycopy(LARGE, 0, partial, 0, 16);
+        System.arraycopy(LARGE, 32, partial, 32, 16);
+        Files.write(new File(destination, "large.bin.download").toPath(), partial);
+        // The last line, cut short by an interruption, is ignored
+        Files.write(new File(destination, "large.bin.ranges").toPath(),
+                ("100 " + LAST_MODIFIED + " 16\n0\n32\n6").getBytes(StandardCharsets.UTF_8));
+
+        download.download();
+
+        assertDownloaded();
+        Assert.assertFalse(downloads.contains("/output/large.bin?" + VALID + " bytes=0-15"));
+        Assert.assertFalse(downloads.contains("/output/large.bin?" + VALID + " bytes=32-47"));
+        Assert.assertTrue(downloads.contains("/output/large.bin?" + VALID + " bytes=64-79"));
+        Assert.assertEquals(7, downloads.size());
+    }
+
+    @Test
+    public void canSkipUpToDateFiles() throws IOException {
+        download.download();
+        downloads.clear();
+
+        Assert.assertTrue(download.download().isEmpty());
+        Assert.assertTrue(downloads.isEmpty());
+
+        // Downloaded again once modified
+        Assert.assertTrue(new File(destination, "small.txt").setLastModified(LAST_MODIFIED - 60 * 1000));
+        Assert.assertEquals(Arrays.asList(new File(destination, "small.txt")), download.download());
+        assertDownloaded();
+    }
+
+    @Test
+    public void canRefreshExpiredLinks() throws IOException {
+        largeFileLinks = Arrays.asList(EXPIRED, VALID);
+
+        download.download();
+
+        assertDownloaded();
+        // Listed again once for all the ranges denied
+        Assert.assertEquals(2, listings.get(".").get());
+        Assert.assertTrue(downloads.contains("/output/large.bin?" + EXPIRED + " bytes=0-15"));
+    }
+
+    @Test
+    public void canFailOnDeniedLinks() {
+        // Not expired yet
+        largeFileLinks = Arrays.asList("se=2100-01-01T00%3A00%3A00Z&sig=denied", VALID);
+        assertDenied();
+        Assert.assertEquals(1, listings.get(".").get());
+
+        // Listed again unchanged
+        listings.clear();
+        largeFileLinks = Arrays.asList("sig=denied");
+        assertDenied();
+        Assert.assertEquals(2, listings.get(".").get());
+    }
+
+    @Test
+    public void canRejectPathsOutsideDestination() {
+        rootDirectoryFile = "../escaped.txt";
+        try {
+            download.download();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+            Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("is outside of"));
+        }
+        Assert.assertFalse(new File(destination.getParentFile(), "escaped.txt").exists());
+    }
+
+    @Test
+    public void canRejectInvalidSettings() {
+        try {
+            download.withMaxConcurrency(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("maxConcurrency must be positive", e.getMessage());
+        }
+        try {
+            download.withRangeSize(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("rangeSizeInBytes must be positive", e.getMessage());
+        }
+        try {
+            download.withLinkExpiryMinutes(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("linkExpiryMinutes must be positive", e.getMessage());
+        }
+    }
+
+    private void assertDenied() {
+        try {
+            download.download();
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+            Assert.assertEquals("Failed to download large.bin: status code 403", e.getCause().getMessage());
+        }
+    }
+
+    private void assertDownloaded() throws IOException {
+        File large = new File(destination, "large.bin");
+        Assert.assertArrayEquals(LARGE, Files.readAllBytes(large.toPath()));
+        Assert.assertArrayEquals(SMALL, Files.readAllBytes(new File(destination, "small.txt").toPath()));
+        Assert.assertArrayEquals(LOG, Files.readAllBytes(new File(destination, "logs/log.txt").toPath()));
+        Assert.assertEquals(LAST_MODIFIED, large.lastModified());
+        Assert.assertFalse(new File(destination, "large.bin.download").exists());
+        Assert.assertFalse(new File(destination, "large.bin.ranges").exists());
+    }
+
+    private List<FileInner> list(String directory) {
+        AtomicInteger count = listings.get(directory);
+        if (count == null) {
+            listings.put(directory, new AtomicInteger());
+            count = listings.get(directory);
+        }
+        int listing = count.getAndIncrement();
+        List<FileInner> files = new ArrayList<>();
+        if (".".equals(directory)) {
+            String query = largeFileLinks.get(Math.min(listing, largeFileLinks.size() - 1));
+            files.add(file(rootDirectoryFile, "file", SMALL.length, STORAGE + "small.txt?" + VALID));
+            files.add(file("large.bin", "file", LARGE.length, STORAGE + "large.bin?" + query));
+            files.add(file("logs", "directory", 0, null));
+        } else {
+            Assert.assertEquals("logs", directory);
+            files.add(file("log.txt", "file", LOG.length, STORAGE + "logs/log.txt?" + VALID));
+        }
+        return files;
+    }
+
+    private static FileInner file(String name, String fileType, long length, String downloadUrl) {
+        try {
+            return new AzureJacksonAdapter().deserialize("{\"name\":\"" + name + "\",\"fileType\":\"" + fileType + "\","
+                    + (downloadUrl == null ? "" : "\"downloadUrl\":\"" + downloadUrl + "\",")
+                    + "\"properties\":{\"lastModified\":\"2017-07-14T02:40:00Z\",\"contentLength\":" + length + "}}", FileInner.class);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void delete(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        Files.deleteIfExists(file.toPath());
+    }
+
+    /**
+     * A single page of files.
+     */
+    private static final class FilePage implements Page<FileInner> {
+        private final List<FileInner> items;
+
+        private FilePage(List<FileInner> items) {
+            this.items = items;
+        }
+
+        @Override
+        public String nextPageLink() {
+            return null;
+        }
+
+        @Override
+        public List<FileInner> items() {
+            return items;
+        }
+    }
+}
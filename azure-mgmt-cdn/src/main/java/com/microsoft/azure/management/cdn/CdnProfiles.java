@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -34,6 +35,7 @@ import java.util.List;
 public interface CdnProfiles extends
         SupportsCreating<CdnProfile.DefinitionStages.Blank>,
         SupportsListing<CdnProfile>,
+        SupportsListingInPages<CdnProfile>,
         SupportsListingByResourceGroup<CdnProfile>,
         SupportsGettingByResourceGroup<CdnProfile>,
         SupportsGettingById<CdnProfile>,
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.cdn;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import rx.Completable;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A coordinator of the purges and pre-loads of the content of CDN endpoints, coalescing the content
+ * paths requested for the same endpoint over a short window into as few requests as possible.
+ * <p>
+ * The paths requested for an endpoint during the window are deduplicated, paths covered by a
+ * directory wild card being dropped. To purge, many paths in the same directory are replaced with
+ * a wild card for the directory. The remaining paths are sent in parallel requests of up to the
+ * maximum number of paths per request. The completion returned for a request completes when the
+ * requests covering all its paths complete.
+ */
+@Fluent
+@Beta(SinceVersion.V1_15_0)
+public interface CdnPurgeCoordinator {
+    /**
+     * Specifies the duration the paths requested for an endpoint are coalesced for before being sent,
+     * the default is 1 second.
+     *
+     * @param window the duration
+     * @param unit the unit of the duration
+     * @return the purge coordinator
+     */
+    CdnPurgeCoordinator withCoalescingWindow(long window, TimeUnit unit);
+
+    /**
+     * Specifies the maximum number of content paths sent in one request, the default is 100.
+     *
+     * @param maxContentPaths the maximum number of content paths per request, positive
+     * @return the purge coordinator
+     */
+    CdnPurgeCoordinator withMaxContentPathsPerRequest(int maxContentPaths);
+
+    /**
+     * Specifies the number of paths in the same directory replaced with a wild card for the directory
+     * when purging, the default is 20.
+     *
+     * @param threshold the number of paths in a directory
+     * @return the purge coordinator
+     */
+    CdnPurgeCoordinator withWildcardThreshold(int threshold);
+
+    /**
+     * Specifies that paths are never replaced with directory wild cards, so that no more content than
+     * requested is purged.
+     *
+     * @return the purge coordinator
+     */
+    @Method
+    CdnPurgeCoordinator withoutWildcards();
+
+    /**
+     * Specifies the maximum number of requests sent in parallel for an endpoint, the default is 4.
+     *
+     * @param maxConcurrency the maximum number of requests in parallel, positive
+     * @return the purge coordinator
+     */
+    CdnPurgeCoordinator withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Forcibly purges CDN endpoint content, coalesced with the other purges of the endpoint.
+     *
+     * @param profile the CDN profile
+     * @param endpointName a name of the endpoint under the profile
+     * @param contentPaths the paths to the content to be purged, which can be file paths or directory wild cards
+     */
+    void purgeEndpointContent(CdnProfile profile, String endpointName, Set<String> contentPaths);
+
+    /**
+     * Forcibly purges CDN endpoint content asynchronously, coalesced with the other purges of the endpoint.
+     * The purge is queued when the completion is subscribed to.
+     *
+     * @param profile the CDN profile
+     * @param endpointName a name of the endpoint under the profile
+     * @param contentPaths the paths to the content to be purged, which can be file paths or directory wild cards
+     * @return a completion for the purge of all the paths
+     */
+    Completable purgeEndpointContentAsync(CdnProfile profile, String endpointName, Set<String> contentPaths);
+
+    /**
+     * Forcibly pre-loads CDN endpoint content, coalesced with the other pre-loads of the endpoint.
+     * <p>
+     * Note, this is Available for Verizon Profiles only.
+     *
+     * @param profile the CDN profile
+     * @param endpointName a name of the endpoint under the profile
+     * @param contentPaths the file paths to the content to be pre-loaded
+     */
+    void loadEndpointContent(CdnProfile profile, String endpointName, Set<String> contentPaths);
+
+    /**
+     * Forcibly pre-loads CDN endpoint content asynchronously, coalesced with the other pre-loads of the
+     * endpoint. The pre-load is queued when the completion is subscribed to.
+     * <p>
+     * Note, this is Available for Verizon Profiles only.
+     *
+     * @param profile the CDN profile
+     * @param endpointName a name of the endpoint under the profile
+     * @param contentPaths the file paths to the content to be pre-loaded
+     * @return a completion for the pre-load of all the paths
+     */
+    Completable loadEndpointContentAsync(CdnProfile profile, String endpointName, Set<String> contentPaths);
+
+    /**
+     * Sends the queued paths of all the endpoints without waiting for the end of their window.
+     */
+    @Method
+    void flush();
+}
@@ -9,13 +9,16 @@ package com.microsoft.azure.management.cdn.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.cdn.CdnProfiles;
+import com.microsoft.azure.management.cdn.CdnPurgeCoordinator;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -24,6 +27,7 @@ import com.microsoft.rest.RestClient;
 public final class CdnManager extends Manager<CdnManager, CdnManagementClientImpl> {
     // Collections
     private CdnProfiles profiles;
+    private CdnPurgeCoordinator purgeCoordinator;
 
     /**
      * Get a Configurable instance that can be used to create {@link CdnManager}
@@ -46,7 +50,7 @@ public final class CdnManager extends Manager<CdnManager, CdnManagementClientImp
         return new CdnManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -105,4 +109,15 @@ public final class CdnManager extends Manager<CdnManager, CdnManagementClientImp
         }
         return this.profiles;
     }
+
+    /**
+     * @return the coordinator coalescing the purges and pre-loads of CDN endpoint content
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public synchronized CdnPurgeCoordinator purgeCoordinator() {
+        if (this.purgeCoordinator == null) {
+            this.purgeCoordinator = new CdnPurgeCoordinatorImpl(this.inner().endpoints());
+        }
+        return this.purgeCoordinator;
+    }
 }
\ No newline at end of file
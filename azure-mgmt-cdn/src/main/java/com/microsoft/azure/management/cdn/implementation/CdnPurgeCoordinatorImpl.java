@@ -0,0 +1,344 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.cdn.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.cdn.CdnProfile;
+import com.microsoft.azure.management.cdn.CdnPurgeCoordinator;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.subjects.AsyncSubject;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The implementation of CdnPurgeCoordinator.
+ */
+@LangDefinition
+class CdnPurgeCoordinatorImpl implements CdnPurgeCoordinator {
+    private static final String WILDCARD = "*";
+
+    private final EndpointsInner endpoints;
+    // The paths queued per operation and endpoint
+    private final Map<String, Batch> batches = new HashMap<>();
+    private long windowInMillis = 1000;
+    private int maxContentPathsPerRequest = 100;
+    private int wildcardThreshold = 20;
+    private int maxConcurrency = 4;
+
+    CdnPurgeCoordinatorImpl(EndpointsInner endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    @Override
+    public synchronized CdnPurgeCoordinatorImpl withCoalescingWindow(long window, TimeUnit unit) {
+        this.windowInMillis = unit.toMillis(window);
+        return this;
+    }
+
+    @Override
+    public synchronized CdnPurgeCoordinatorImpl withMaxContentPathsPerRequest(int maxContentPaths) {
+        if (maxContentPaths <= 0) {
+            throw new IllegalArgumentException("maxContentPaths must be positive");
+        }
+        this.maxContentPathsPerRequest = maxContentPaths;
+        return this;
+    }
+
+    @Override
+    public synchronized CdnPurgeCoordinatorImpl withWildcardThreshold(int threshold) {
+        this.wildcardThreshold = threshold;
+        return this;
+    }
+
+    @Override
+    public synchronized CdnPurgeCoordinatorImpl withoutWildcards() {
+        this.wildcardThreshold = 0;
+        return this;
+    }
+
+    @Override
+    public synchronized CdnPurgeCoordinatorImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public void purgeEndpointContent(CdnProfile profile, String endpointName, Set<String> contentPaths) {
+        this.purgeEndpointContentAsync(profile, endpointName, contentPaths).await();
+    }
+
+    @Override
+    public Completable purgeEndpointContentAsync(CdnProfile profile, String endpointName, Set<String> contentPaths) {
+        return this.enqueueOnSubscribe(profile, endpointName, true, contentPaths);
+    }
+
+    @Override
+    public void loadEndpointContent(CdnProfile profile, String endpointName, Set<String> contentPaths) {
+        this.loadEndpointContentAsync(profile, endpointName, contentPaths).await();
+    }
+
+    @Override
+    public Completable loadEndpointContentAsync(CdnProfile profile, String endpointName, Set<String> contentPaths) {
+        return this.enqueueOnSubscribe(profile, endpointName, false, contentPaths);
+    }
+
+    @Override
+    public void flush() {
+        List<Batch> flushed;
+        synchronized (this) {
+            flushed = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch batch : flushed) {
+            send(batch);
+        }
+    }
+
+    private Completable enqueueOnSubscribe(final CdnProfile profile, final String endpointName, final boolean purge,
+                                           final Set<String> contentPaths) {
+        return Completable.defer(new Func0<Completable>() {
+            @Override
+            public Completable call() {
+                return enqueue(profile, endpointName, purge, contentPaths);
+            }
+        });
+    }
+
+    private Completable enqueue(CdnProfile profile, String endpointName, boolean purge, Set<String> contentPaths) {
+        if (contentPaths == null || contentPaths.isEmpty()) {
+            return Completable.complete();
+        }
+        List<Observable<Void>> completions = new ArrayList<>();
+        synchronized (this) {
+            final String key = ((purge ? "purge/" : "load/") + profile.resourceGroupName() + "/" + profile.name()
+                    + "/" + endpointName).toLowerCase(Locale.ROOT);
+            Batch batch = batches.get(key);
+            if (batch == null) {
+                batch = new Batch(profile.resourceGroupName(), profile.name(), endpointName, purge,
+                        maxContentPathsPerRequest, purge ? wildcardThreshold : 0, maxConcurrency);
+                batches.put(key, batch);
+                final Batch scheduled = batch;
+                Observable.timer(windowInMillis, TimeUnit.MILLISECONDS).subscribe(new Action1<Long>() {
+                    @Override
+                    public void call(Long ignored) {
+                        synchronized (CdnPurgeCoordinatorImpl.this) {
+                            // Unless already flushed
+                            if (batches.get(key) != scheduled) {
+                                return;
+                            }
+                            batches.remove(key);
+                        }
+                        send(scheduled);
+                    }
+                });
+            }
+            for (String contentPath : contentPaths) {
+                // A path already queued shares the completion of the queued one
+                AsyncSubject<Void> completion = batch.contentPaths.get(contentPath);
+                if (completion == null) {
+                    completion = AsyncSubject.create();
+                    batch.contentPaths.put(contentPath, completion);
+                }
+                completions.add(completion);
+            }
+        }
+        return Observable.merge(completions).toCompletable();
+    }
+
+    private void send(final Batch batch) {
+        Observable.from(batch.requests())
+                .flatMap(new Func1<Map<String, List<AsyncSubject<Void>>>, Observable<Void>>() {
+                    @Override
+                    public Observable<Void> call(final Map<String, List<AsyncSubject<Void>>> request) {
+                        final List<String> contentPaths = new ArrayList<>(request.keySet());
+                        // Deferred for a failure to validate the parameters to fail the completions as well
+                        Observable<Void> call = Observable.defer(new Func0<Observable<Void>>() {
+                            @Override
+                            public Observable<Void> call() {
+                                return batch.purge
+                                        ? endpoints.purgeContentAsync(batch.resourceGroupName, batch.profileName, batch.endpointName, contentPaths)
+                                        : endpoints.loadContentAsync(batch.resourceGroupName, batch.profileName, batch.endpointName, contentPaths);
+                            }
+                        });
+                        return call
+                                .subscribeOn(SdkContext.getRxScheduler())
+                                .doOnCompleted(new Action0() {
+                                    @Override
+                                    public void call() {
+                                        for (List<AsyncSubject<Void>> completions : request.values()) {
+                                            for (AsyncSubject<Void> completion : completions) {
+                                                completion.onCompleted();
+                                            }
+                                        }
+                                    }
+                                })
+                                .onErrorResumeNext(new Func1<Throwable, Observable<Void>>() {
+                                    @Override
+                                    public Observable<Void> call(Throwable throwable) {
+                                        // Fails the paths of this request only
+                                        for (List<AsyncSubject<Void>> completions : request.values()) {
+                                            for (AsyncSubject<Void> completion : completions) {
+                                                completion.onError(throwable);
+                                            }
+                                        }
+                                        return Observable.empty();
+                                    }
+                                });
+                    }
+                }, batch.maxConcurrency)
+                .subscribe();
+    }
+
+    /**
+     * The paths queued for an operation on an endpoint during a window.
+     */
+    private static final class Batch {
+        private final String resourceGroupName;
+        private final String profileName;
+        private final String endpointName;
+        private final boolean purge;
+        private final int maxContentPathsPerRequest;
+        private final int wildcardThreshold;
+        private final int maxConcurrency;
+        private final Map<String, AsyncSubject<Void>> contentPaths = new LinkedHashMap<>();
+
+        private Batch(String resourceGroupName, String profileName, String endpointName, boolean purge,
+                      int maxContentPathsPerRequest, int wildcardThreshold, int maxConcurrency) {
+            this.resourceGroupName = resourceGroupName;
+            this.profileName = profileName;
+            this.endpointName = endpointName;
+            this.purge = purge;
+            this.maxContentPathsPerRequest = maxContentPathsPerRequest;
+            this.wildcardThreshold = wildcardThreshold;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        /**
+         * Computes the requests for the paths, as the paths of each request mapped to the completions
+         * of the queued paths they cover.
+         */
+        private List<Map<String, List<AsyncSubject<Void>>>> requests() {
+            Map<String, List<AsyncSubject<Void>>> coalesced = new LinkedHashMap<>();
+            // The batch is no longer updated once removed from the queue
+            for (Map.Entry<String, AsyncSubject<Void>> entry : contentPaths.entrySet()) {
+                List<AsyncSubject<Void>> completions = new ArrayList<>();
+                completions.add(entry.getValue());
+                coalesced.put(entry.getKey(), completions);
+            }
+            absorbCoveredPaths(coalesced);
+            if (wildcardThreshold > 0) {
+                while (collapseDirectories(coalesced)) {
+                    continue;
+                }
+            }
+
+            List<Map<String, List<AsyncSubject<Void>>>> requests = new ArrayList<>();
+            Map<String, List<AsyncSubject<Void>>> request = null;
+            for (Map.Entry<String, List<AsyncSubject<Void>>> entry : coalesced.entrySet()) {
+                if (request == null || request.size() >= maxContentPathsPerRequest) {
+                    request = new LinkedHashMap<>();
+                    requests.add(request);
+                }
+                request.put(entry.getKey(), entry.getValue());
+            }
+            return requests;
+        }
+
+        /**
+         * Moves the paths under a directory wild card, e.g. /images/logo.png under /images/*, to the wild card.
+         */
+        private static void absorbCoveredPaths(Map<String, List<AsyncSubject<Void>>> coalesced) {
+            List<String> covered = new ArrayList<>();
+            for (String contentPath : coalesced.keySet()) {
+                String wildcard = coveringWildcard(coalesced, contentPath);
+                if (wildcard != null) {
+                    coalesced.get(wildcard).addAll(coalesced.get(contentPath));
+                    covered.add(contentPath);
+                }
+            }
+            coalesced.keySet().removeAll(covered);
+        }
+
+        /**
+         * @return the outermost queued wild card covering a path, or null if none
+         */
+        private static String coveringWildcard(Map<String, List<AsyncSubject<Void>>> coalesced, String contentPath) {
+            for (int slash = contentPath.indexOf('/'); slash >= 0; slash = contentPath.indexOf('/', slash + 1)) {
+                String wildcard = contentPath.substring(0, slash + 1) + WILDCARD;
+                if (!wildcard.equals(contentPath) && coalesced.containsKey(wildcard)) {
+                    return wildcard;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Replaces the paths of the directories with as many entries as the threshold with a wild card for
+         * the directory, the root excepted.
+         *
+         * @return true if a directory was replaced
+         */
+        private boolean collapseDirectories(Map<String, List<AsyncSubject<Void>>> coalesced) {
+            Map<String, Integer> counts = new HashMap<>();
+            String collapsed = null;
+            for (String contentPath : coalesced.keySet()) {
+                String directory = parentDirectory(contentPath);
+                if (directory != null) {
+                    Integer count = counts.get(directory);
+                    count = count == null ? 1 : count + 1;
+                    counts.put(directory, count);
+                    if (count >= wildcardThreshold) {
+                        collapsed = directory;
+                        break;
+                    }
+                }
+            }
+            if (collapsed == null) {
+                return false;
+            }
+            List<AsyncSubject<Void>> completions = new ArrayList<>();
+            for (Iterator<Map.Entry<String, List<AsyncSubject<Void>>>> it = coalesced.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, List<AsyncSubject<Void>>> entry = it.next();
+                if (entry.getKey().startsWith(collapsed)) {
+                    completions.addAll(entry.getValue());
+                    it.remove();
+                }
+            }
+            coalesced.put(collapsed + WILDCARD, completions);
+            return true;
+        }
+
+        /**
+         * @return the directory of a path or wild card other than the root, e.g. /images/ for both
+         * /images/logo.png and /images/icons/*, or null if none
+         */
+        private static String parentDirectory(String contentPath) {
+            String path = contentPath.endsWith("/" + WILDCARD)
+                    ? contentPath.substring(0, contentPath.length() - 2)
+                    : contentPath;
+            int slash = path.lastIndexOf('/');
+            return slash > 0 ? path.substring(0, slash + 1) : null;
+        }
+    }
+}
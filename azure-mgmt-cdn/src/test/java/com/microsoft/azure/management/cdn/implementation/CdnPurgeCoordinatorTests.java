@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.cdn.implementation;
+
+import com.google.common.collect.ImmutableMap;
+import com.microsoft.azure.management.cdn.CdnProfile;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Completable;
+import rx.Observable;
+import rx.observers.AssertableSubscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class to test CdnPurgeCoordinator class.
+ */
+public class CdnPurgeCoordinatorTests {
+    private static final String FAILING_PATH = "/fail.png";
+
+    // The requests sent, as operation, endpoint and paths
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+    private CdnProfile profile;
+    private CdnPurgeCoordinatorImpl coordinator;
+
+    @Before
+    public void setup() {
+        RestClient restClient = OfflineService.restClient();
+        // Only the resource group and the name of the profile are used
+        profile = OfflineService.stub(CdnProfile.class, ImmutableMap.of("resourceGroupName", "rg", "name", "profile"));
+        EndpointsInner endpoints = new EndpointsInner(restClient.retrofit(), new CdnManagementClientImpl(restClient)) {
+            @Override
+            public Observable<Void> purgeContentAsync(String resourceGroupName, String profileName, String endpointName, List<String> contentPaths) {
+                return request("purge", resourceGroupName, profileName, endpointName, contentPaths);
+            }
+
+            @Override
+            public Observable<Void> loadContentAsync(String resourceGroupName, String profileName, String endpointName, List<String> contentPaths) {
+                return request("load", resourceGroupName, profileName, endpointName, contentPaths);
+            }
+        };
+        coordinator = new CdnPurgeCoordinatorImpl(endpoints).withCoalescingWindow(1, TimeUnit.HOURS);
+    }
+
+    @Test
+    public void canDeduplicatePaths() {
+        AssertableSubscriber<Void> first = purge("endpoint", "/a.png", "/b.png");
+        AssertableSubscriber<Void> second = purge("endpoint", "/b.png", "/c.png");
+        coordinator.flush();
+
+        first.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        second.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        Assert.assertEquals(Arrays.asList("purge rg/profile/endpoint [/a.png, /b.png, /c.png]"), requests);
+    }
+
+    @Test
+    public void canAbsorbAndCollapsePaths() {
+        coordinator.withWildcardThreshold(3);
+        AssertableSubscriber<Void> purged = purge("endpoint",
+                "/images/logo.png", "/images/*", "/images/icons/home.png",
+                "/css/1.css", "/css/2.css", "/css/3.css",
+                "/1.html", "/2.html", "/3.html");
+        AssertableSubscriber<Void> loaded = load("endpoint", "/css/1.css", "/css/2.css", "/css/3.css");
+        coordinator.flush();
+
+        purged.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        loaded.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        Assert.assertEquals(2, requests.size());
+        // Covered by the queued wild card, then collapsed, the root excepted
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint [/images/*, /1.html, /2.html, /3.html, /css/*]"));
+        // Pre-loads do not support wild cards
+        Assert.assertTrue(requests.toString(), requests.contains("load rg/profile/endpoint [/css/1.css, /css/2.css, /css/3.css]"));
+    }
+
+    @Test
+    public void canShardRequests() {
+        coordinator.withMaxContentPathsPerRequest(2).withoutWildcards();
+        AssertableSubscriber<Void> purged = purge("endpoint", "/1.css", "/2.css", "/3.css", "/4.css", "/5.css");
+        coordinator.flush();
+
+        purged.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        Assert.assertEquals(3, requests.size());
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint [/1.css, /2.css]"));
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint [/3.css, /4.css]"));
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint [/5.css]"));
+    }
+
+    @Test
+    public void canIsolateFailedRequests() {
+        coordinator.withMaxContentPathsPerRequest(2);
+        AssertableSubscriber<Void> failed = purge("endpoint", "/a.png", FAILING_PATH);
+        AssertableSubscriber<Void> succeeded = purge("endpoint", "/c.png", "/d.png");
+        AssertableSubscriber<Void> partlyFailed = purge("endpoint", "/a.png", "/d.png");
+        coordinator.flush();
+
+        failed.awaitTerminalEvent(10, TimeUnit.SECONDS).assertError(IllegalStateException.class);
+        succeeded.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        partlyFailed.awaitTerminalEvent(10, TimeUnit.SECONDS).assertError(IllegalStateException.class);
+        Assert.assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void canFlushQueuedPaths() {
+        AssertableSubscriber<Void> first = purge("endpoint1", "/a.png");
+        AssertableSubscriber<Void> second = purge("endpoint2", "/a.png");
+        // Not queued until subscribed to
+        Completable notSubscribed = coordinator.purgeEndpointContentAsync(profile, "endpoint3", Collections.singleton("/a.png"));
+        Assert.assertNotNull(notSubscribed);
+        first.assertNoTerminalEvent();
+        Assert.assertTrue(requests.isEmpty());
+        coordinator.flush();
+
+        first.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        second.awaitTerminalEvent(10, TimeUnit.SECONDS).assertCompleted();
+        Assert.assertEquals(2, requests.size());
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint1 [/a.png]"));
+        Assert.assertTrue(requests.toString(), requests.contains("purge rg/profile/endpoint2 [/a.png]"));
+
+        // Nothing left to send
+        coordinator.flush();
+        Assert.assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void canSendAtEndOfWindow() {
+        coordinator.withCoalescingWindow(10, TimeUnit.MILLISECONDS);
+        coordinator.purgeEndpointContent(profile, "endpoint", new LinkedHashSet<>(Arrays.asList("/a.png", "/b.png")));
+
+        Assert.assertEquals(Arrays.asList("purge rg/profile/endpoint [/a.png, /b.png]"), requests);
+    }
+
+    @Test
+    public void canRejectInvalidLimits() {
+        try {
+            coordinator.withMaxContentPathsPerRequest(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("maxContentPaths must be positive", e.getMessage());
+        }
+        try {
+            coordinator.withMaxConcurrency(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("maxConcurrency must be positive", e.getMessage());
+        }
+    }
+
+    private AssertableSubscriber<Void> purge(String endpointName, String... contentPaths) {
+        return coordinator.purgeEndpointContentAsync(profile, endpointName, paths(contentPaths)).test();
+    }
+
+    private AssertableSubscriber<Void> load(String endpointName, String... contentPaths) {
+        return coordinator.loadEndpointContentAsync(profile, endpointName, paths(contentPaths)).test();
+    }
+
+    private static Set<String> paths(String... contentPaths) {
+        return new LinkedHashSet<>(Arrays.asList(contentPaths));
+    }
+
+    private Observable<Void> request(String operation, String resourceGroupName, String profileName, String endpointName, List<String> contentPaths) {
+        requests.add(operation + " " + resourceGroupName + "/" + profileName + "/" + endpointName + " " + contentPaths);
+        if (contentPaths.contains(FAILING_PATH)) {
+            return Observable.error(new IllegalStateException("Purge failed"));
+        }
+        return Observable.just(null);
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import com.microsoft.azure.management.resources.fluentcore.arm.AvailabilityZoneId;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import rx.Completable;
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point to an in-memory catalog of the compute service SKUs available to the subscription.
+ * <p>
+ * The catalog lists the SKUs once and indexes them by region, availability zone, resource type
+ * and capabilities. The SKUs are listed again on the first query after the refresh interval
+ * elapsed.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface ComputeSkuCatalog {
+    /**
+     * Specifies the duration after which the SKUs are listed again, the default is one hour.
+     *
+     * @param refreshInterval the duration
+     * @param unit the unit of the duration
+     * @return the catalog
+     */
+    ComputeSkuCatalog withRefreshInterval(long refreshInterval, TimeUnit unit);
+
+    /**
+     * Lists the SKUs and rebuilds the catalog.
+     */
+    @Method
+    void refresh();
+
+    /**
+     * Lists the SKUs and rebuilds the catalog asynchronously.
+     *
+     * @return a completable that completes once the catalog is rebuilt
+     */
+    @Method
+    Completable refreshAsync();
+
+    /**
+     * @return a new query over the SKUs in the catalog
+     */
+    @Method
+    Query query();
+
+    /**
+     * Writes the SKUs in the catalog to a stream, so that a catalog can be loaded from it later
+     * instead of listing the SKUs.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if the SKUs cannot be written
+     */
+    @Method
+    void saveSnapshot(OutputStream outputStream) throws IOException;
+
+    /**
+     * Replaces the SKUs in the catalog with the ones read from a stream written by
+     * {@link #saveSnapshot(OutputStream)}. The age of the snapshot counts towards the refresh interval.
+     *
+     * @param inputStream the stream to read from
+     * @throws IOException if the SKUs cannot be read
+     */
+    @Method
+    void loadSnapshot(InputStream inputStream) throws IOException;
+
+    /**
+     * A query over the SKUs in the catalog, all the specified conditions must be satisfied.
+     */
+    interface Query {
+        /**
+         * Specifies the region the SKUs must be available in.
+         *
+         * @param region the region
+         * @return the query
+         */
+        Query inRegion(Region region);
+
+        /**
+         * Specifies the availability zone the SKUs must be available in, in the region of the
+         * query if specified, else in any region.
+         *
+         * @param availabilityZoneId the availability zone
+         * @return the query
+         */
+        Query inAvailabilityZone(AvailabilityZoneId availabilityZoneId);
+
+        /**
+         * Specifies the resource type of the SKUs.
+         *
+         * @param resourceType the resource type
+         * @return the query
+         */
+        Query withResourceType(ComputeResourceType resourceType);
+
+        /**
+         * Specifies the minimum number of virtual CPUs of the SKUs.
+         *
+         * @param vCPUs the number of virtual CPUs
+         * @return the query
+         */
+        Query withMinimumVCPUs(int vCPUs);
+
+        /**
+         * Specifies the minimum memory of the SKUs.
+         *
+         * @param memoryInGB the memory in GB
+         * @return the query
+         */
+        Query withMinimumMemoryInGB(double memoryInGB);
+
+        /**
+         * Specifies that the SKUs must support accelerated networking.
+         *
+         * @return the query
+         */
+        Query withAcceleratedNetworking();
+
+        /**
+         * Specifies that the SKUs must not be restricted for the subscription, in the region and
+         * availability zone of the query if specified, else anywhere.
+         *
+         * @return the query
+         */
+        Query withoutRestrictions();
+
+        /**
+         * @return the SKUs satisfying the query
+         */
+        List<ComputeSku> list();
+
+        /**
+         * @return an observable that emits the SKUs satisfying the query
+         */
+        Observable<ComputeSku> listAsync();
+    }
+}
@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -33,6 +34,7 @@ import rx.Observable;
 public interface Snapshots extends
         SupportsCreating<Snapshot.DefinitionStages.Blank>,
         SupportsListing<Snapshot>,
+        SupportsListingInPages<Snapshot>,
         SupportsListingByResourceGroup<Snapshot>,
         SupportsGettingByResourceGroup<Snapshot>,
         SupportsGettingById<Snapshot>,
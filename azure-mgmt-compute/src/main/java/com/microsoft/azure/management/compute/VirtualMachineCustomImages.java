@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -27,6 +28,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Fluent
 public interface VirtualMachineCustomImages extends
         SupportsListing<VirtualMachineCustomImage>,
+        SupportsListingInPages<VirtualMachineCustomImage>,
         SupportsCreating<VirtualMachineCustomImage.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<VirtualMachineCustomImage>,
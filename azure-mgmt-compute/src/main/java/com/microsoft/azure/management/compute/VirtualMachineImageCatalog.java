@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import rx.Observable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Entry point to a local catalog of the virtual machine marketplace images.
+ * <p>
+ * The catalog crawls the publishers, offers, SKUs and image versions of a region with bounded
+ * concurrency, and keeps the image versions of every SKU in memory so that image lookups do not
+ * require any request. Crawling a region again only reports the image versions that were added
+ * since the previous crawl.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface VirtualMachineImageCatalog {
+    /**
+     * Specifies the maximum number of concurrent requests at each level of a crawl, the default is 16.
+     *
+     * @param maxConcurrency the maximum number of concurrent requests
+     * @return the catalog
+     */
+    VirtualMachineImageCatalog withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Crawls the images of a region and updates the catalog.
+     *
+     * @param region the region
+     */
+    @Method
+    void refresh(Region region);
+
+    /**
+     * Crawls the images of a region and updates the catalog asynchronously.
+     * <p>
+     * The catalog is updated SKU by SKU as the image versions are listed. Once the crawl completes,
+     * the SKUs of the region that no longer exist are removed from the catalog.
+     *
+     * @param region the region
+     * @return an observable that emits the images added to the catalog, as they are discovered
+     */
+    @Method
+    Observable<ImageReference> refreshAsync(Region region);
+
+    /**
+     * Lists the versions of an image SKU in the catalog.
+     *
+     * @param region the region
+     * @param publisherName the publisher name
+     * @param offerName the offer name
+     * @param skuName the SKU name
+     * @return the images, from the oldest to the latest version, empty if the SKU is not in the catalog
+     */
+    List<ImageReference> listImages(Region region, String publisherName, String offerName, String skuName);
+
+    /**
+     * Gets the latest version of an image SKU in the catalog.
+     *
+     * @param region the region
+     * @param publisherName the publisher name
+     * @param offerName the offer name
+     * @param skuName the SKU name
+     * @return the image, null if the SKU is not in the catalog
+     */
+    ImageReference getLatestImage(Region region, String publisherName, String offerName, String skuName);
+
+    /**
+     * Checks whether an image version is in the catalog.
+     *
+     * @param region the region
+     * @param publisherName the publisher name
+     * @param offerName the offer name
+     * @param skuName the SKU name
+     * @param version the image version
+     * @return true if the image version is in the catalog
+     */
+    boolean containsImage(Region region, String publisherName, String offerName, String skuName, String version);
+
+    /**
+     * Writes the images in the catalog to a stream, so that a catalog can be loaded from it later
+     * instead of crawling the regions.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if the images cannot be written
+     */
+    @Method
+    void saveSnapshot(OutputStream outputStream) throws IOException;
+
+    /**
+     * Replaces the images in the catalog with the ones read from a stream written by
+     * {@link #saveSnapshot(OutputStream)}.
+     *
+     * @param inputStream the stream to read from
+     * @throws IOException if the images cannot be read
+     */
+    @Method
+    void loadSnapshot(InputStream inputStream) throws IOException;
+}
@@ -21,6 +21,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -36,6 +37,7 @@ import java.util.List;
 @Fluent
 public interface VirtualMachineScaleSets extends
         SupportsListing<VirtualMachineScaleSet>,
+        SupportsListingInPages<VirtualMachineScaleSet>,
         SupportsListingByResourceGroup<VirtualMachineScaleSet>,
         SupportsGettingByResourceGroup<VirtualMachineScaleSet>,
         SupportsGettingById<VirtualMachineScaleSet>,
@@ -11,6 +11,7 @@ import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.apigeneration.Beta;
 import com.microsoft.azure.management.compute.AvailabilitySets;
+import com.microsoft.azure.management.compute.ComputeSkuCatalog;
 import com.microsoft.azure.management.compute.ComputeSkus;
 import com.microsoft.azure.management.compute.ComputeUsages;
 import com.microsoft.azure.management.compute.Disks;
@@ -20,6 +21,7 @@ import com.microsoft.azure.management.compute.GalleryImages;
 import com.microsoft.azure.management.compute.Snapshots;
 import com.microsoft.azure.management.compute.VirtualMachineCustomImages;
 import com.microsoft.azure.management.compute.VirtualMachineExtensionImages;
+import com.microsoft.azure.management.compute.VirtualMachineImageCatalog;
 import com.microsoft.azure.management.compute.VirtualMachineImages;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSets;
 import com.microsoft.azure.management.compute.VirtualMachines;
@@ -30,9 +32,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure compute resource management.
@@ -42,11 +45,13 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
     private StorageManager storageManager;
     private NetworkManager networkManager;
     private GraphRbacManager rbacManager;
+    private final RestClient restClient;
 
     // The collections
     private AvailabilitySets availabilitySets;
     private VirtualMachines virtualMachines;
     private VirtualMachineImages virtualMachineImages;
+    private VirtualMachineImageCatalog virtualMachineImageCatalog;
     private VirtualMachineExtensionImages virtualMachineExtensionImages;
     private VirtualMachineScaleSets virtualMachineScaleSets;
     private ComputeUsages computeUsages;
@@ -54,6 +59,7 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
     private Disks disks;
     private Snapshots snapshots;
     private ComputeSkus computeSkus;
+    private ComputeSkuCatalog computeSkuCatalog;
     private Galleries galleries;
     private GalleryImages galleryImages;
     private GalleryImageVersions galleryImageVersions;
@@ -78,7 +84,7 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         return new ComputeManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -125,9 +131,7 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
                 restClient,
                 subscriptionId,
                 new ComputeManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        networkManager = NetworkManager.authenticate(restClient, subscriptionId);
-        rbacManager = GraphRbacManager.authenticate(restClient, ((AzureTokenCredentials) (restClient.credentials())).domain());
+        this.restClient = restClient;
     }
 
     /**
@@ -147,9 +151,9 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         if (virtualMachines == null) {
             virtualMachines = new VirtualMachinesImpl(
                     this,
-                    storageManager,
-                    networkManager,
-                    rbacManager);
+                    storageManager(),
+                    networkManager(),
+                    rbacManager());
         }
         return virtualMachines;
     }
@@ -166,6 +170,17 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         return virtualMachineImages;
     }
 
+    /**
+     * @return the local virtual machine image catalog entry point
+     */
+    @Beta(Beta.SinceVersion.V1_15_0)
+    public VirtualMachineImageCatalog virtualMachineImageCatalog() {
+        if (virtualMachineImageCatalog == null) {
+            virtualMachineImageCatalog = new VirtualMachineImageCatalogImpl(super.innerManagementClient.virtualMachineImages());
+        }
+        return virtualMachineImageCatalog;
+    }
+
     /**
      * @return the virtual machine extension image resource management API entry point
      */
@@ -184,9 +199,9 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         if (virtualMachineScaleSets == null) {
             virtualMachineScaleSets = new VirtualMachineScaleSetsImpl(
                     this,
-                    storageManager,
-                    networkManager,
-                    this.rbacManager);
+                    storageManager(),
+                    networkManager(),
+                    rbacManager());
         }
         return virtualMachineScaleSets;
     }
@@ -241,6 +256,17 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         return computeSkus;
     }
 
+    /**
+     * @return the indexed catalog of the compute service SKUs available to the subscription
+     */
+    @Beta(Beta.SinceVersion.V1_15_0)
+    public ComputeSkuCatalog computeSkuCatalog() {
+        if (computeSkuCatalog == null) {
+            computeSkuCatalog = new ComputeSkuCatalogImpl(this);
+        }
+        return computeSkuCatalog;
+    }
+
     /**
      * @return the compute service gallery management entry point
      */
@@ -273,4 +299,44 @@ public final class ComputeManager extends Manager<ComputeManager, ComputeManagem
         }
         return galleryImageVersions;
     }
-}
\ No newline at end of file
+
+    private StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return storageManager;
+    }
+
+    private NetworkManager networkManager() {
+        if (networkManager == null) {
+            networkManager = sharedManager(NetworkManager.class, new Func0<NetworkManager>() {
+                @Override
+                public NetworkManager call() {
+                    return NetworkManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return networkManager;
+    }
+
+    private GraphRbacManager rbacManager() {
+        if (rbacManager == null) {
+            rbacManager = sharedManager(GraphRbacManager.class, tenantId(), new Func0<GraphRbacManager>() {
+                @Override
+                public GraphRbacManager call() {
+                    return GraphRbacManager.authenticate(restClient, tenantId());
+                }
+            });
+        }
+        return rbacManager;
+    }
+
+    private String tenantId() {
+        return ((AzureTokenCredentials) (restClient.credentials())).domain();
+    }
+}
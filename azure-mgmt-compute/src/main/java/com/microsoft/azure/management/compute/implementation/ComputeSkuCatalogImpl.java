@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.compute.ComputeResourceType;
+import com.microsoft.azure.management.compute.ComputeSku;
+import com.microsoft.azure.management.compute.ComputeSkuCatalog;
+import com.microsoft.azure.management.resources.fluentcore.arm.AvailabilityZoneId;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The implementation for {@link ComputeSkuCatalog}.
+ */
+@LangDefinition
+final class ComputeSkuCatalogImpl implements ComputeSkuCatalog {
+    private final ComputeManager manager;
+    private volatile ComputeSkuIndex index;
+    private volatile long refreshIntervalInMillis = TimeUnit.HOURS.toMillis(1);
+    private Observable<ComputeSkuIndex> refreshing;
+
+    ComputeSkuCatalogImpl(ComputeManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public ComputeSkuCatalogImpl withRefreshInterval(long refreshInterval, TimeUnit unit) {
+        this.refreshIntervalInMillis = unit.toMillis(refreshInterval);
+        return this;
+    }
+
+    @Override
+    public void refresh() {
+        refreshAsync().await();
+    }
+
+    @Override
+    public Completable refreshAsync() {
+        return Observable.defer(new Func0<Observable<ComputeSkuIndex>>() {
+            @Override
+            public Observable<ComputeSkuIndex> call() {
+                return listSkusAsync();
+            }
+        }).toCompletable();
+    }
+
+    @Override
+    public Query query() {
+        return new QueryImpl();
+    }
+
+    @Override
+    public void saveSnapshot(OutputStream outputStream) throws IOException {
+        indexAsync().toBlocking().single().write(outputStream);
+    }
+
+    @Override
+    public void loadSnapshot(InputStream inputStream) throws IOException {
+        this.index = ComputeSkuIndex.read(inputStream);
+    }
+
+    private Observable<ComputeSkuIndex> indexAsync() {
+        return Observable.defer(new Func0<Observable<ComputeSkuIndex>>() {
+            @Override
+            public Observable<ComputeSkuIndex> call() {
+                ComputeSkuIndex current = index;
+                if (current != null
+                        && System.currentTimeMillis() - current.createdAtMillis() < refreshIntervalInMillis) {
+                    return Observable.just(current);
+                }
+                return listSkusAsync();
+            }
+        });
+    }
+
+    /**
+     * Lists the SKUs and replaces the index, concurrent callers share a single listing.
+     *
+     * @return an observable that emits the new index
+     */
+    private synchronized Observable<ComputeSkuIndex> listSkusAsync() {
+        if (refreshing != null) {
+            return refreshing;
+        }
+        final AtomicReference<Observable<ComputeSkuIndex>> self = new AtomicReference<>();
+        Observable<ComputeSkuIndex> source = manager.inner().resourceSkus().listAsync()
+                .concatMap(new Func1<Page<ResourceSkuInner>, Observable<ResourceSkuInner>>() {
+                    @Override
+                    public Observable<ResourceSkuInner> call(Page<ResourceSkuInner> page) {
+                        return Observable.from(page.items());
+                    }
+                })
+                .toList()
+                .map(new Func1<List<ResourceSkuInner>, ComputeSkuIndex>() {
+                    @Override
+                    public ComputeSkuIndex call(List<ResourceSkuInner> inners) {
+                        ComputeSkuIndex newIndex = new ComputeSkuIndex(inners, System.currentTimeMillis());
+                        index = newIndex;
+                        return newIndex;
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        synchronized (ComputeSkuCatalogImpl.this) {
+                            if (refreshing == self.get()) {
+                                refreshing = null;
+                            }
+                        }
+                    }
+                })
+                .cache();
+        self.set(source);
+        refreshing = source;
+        return source;
+    }
+
+    /**
+     * The implementation for {@link ComputeSkuCatalog.Query}.
+     */
+    private final class QueryImpl implements ComputeSkuCatalog.Query {
+        private String region;
+        private String zone;
+        private String resourceType;
+        private double minVCPUs;
+        private double minMemoryInGB;
+        private boolean acceleratedNetworking;
+        private boolean unrestricted;
+
+        @Override
+        public QueryImpl inRegion(Region region) {
+            this.region = region.name();
+            return this;
+        }
+
+        @Override
+        public QueryImpl inAvailabilityZone(AvailabilityZoneId availabilityZoneId) {
+            this.zone = availabilityZoneId.toString();
+            return this;
+        }
+
+        @Override
+        public QueryImpl withResourceType(ComputeResourceType resourceType) {
+            this.resourceType = resourceType.toString();
+            return this;
+        }
+
+        @Override
+        public QueryImpl withMinimumVCPUs(int vCPUs) {
+            this.minVCPUs = vCPUs;
+            return this;
+        }
+
+        @Override
+        public QueryImpl withMinimumMemoryInGB(double memoryInGB) {
+            this.minMemoryInGB = memoryInGB;
+            return this;
+        }
+
+        @Override
+        public QueryImpl withAcceleratedNetworking() {
+            this.acceleratedNetworking = true;
+            return this;
+        }
+
+        @Override
+        public QueryImpl withoutRestrictions() {
+            this.unrestricted = true;
+            return this;
+        }
+
+        @Override
+        public List<ComputeSku> list() {
+            return listAsync().toList().toBlocking().single();
+        }
+
+        @Override
+        public Observable<ComputeSku> listAsync() {
+            return indexAsync().concatMap(new Func1<ComputeSkuIndex, Observable<ComputeSku>>() {
+                @Override
+                public Observable<ComputeSku> call(ComputeSkuIndex index) {
+                    return Observable.from(index.find(region,
+                            zone,
+                            resourceType,
+                            minVCPUs,
+                            minMemoryInGB,
+                            acceleratedNetworking,
+                            unrestricted));
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.microsoft.azure.management.compute.ComputeSku;
+import com.microsoft.azure.management.compute.ResourceSkuCapabilities;
+import com.microsoft.azure.management.compute.ResourceSkuLocationInfo;
+import com.microsoft.azure.management.compute.ResourceSkuRestrictionInfo;
+import com.microsoft.azure.management.compute.ResourceSkuRestrictions;
+import com.microsoft.azure.management.compute.ResourceSkuRestrictionsType;
+import com.microsoft.azure.management.resources.fluentcore.utils.SnapshotSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable index of compute SKUs.
+ * <p>
+ * The regions, availability zones and resource types are mapped to dense integer ids, the SKUs
+ * matching each of them are kept in bit sets, so that a query is a few bit set intersections.
+ * The numeric capabilities are kept in primitive arrays indexed by SKU.
+ */
+final class ComputeSkuIndex {
+    private static final String CAPABILITY_VCPUS = "vCPUs";
+    private static final String CAPABILITY_MEMORY_GB = "MemoryGB";
+    private static final String CAPABILITY_ACCELERATED_NETWORKING = "AcceleratedNetworkingEnabled";
+    private static final BitSet EMPTY = new BitSet();
+
+    private final List<ResourceSkuInner> inners;
+    private final ComputeSku[] skus;
+    private final long createdAtMillis;
+
+    private final Map<String, Integer> regionIds = new HashMap<>();
+    private final Map<String, Integer> zoneIds = new HashMap<>();
+    private final Map<String, Integer> resourceTypeIds = new HashMap<>();
+    private final List<BitSet> skusByRegion = new ArrayList<>();
+    private final List<BitSet> skusByZone = new ArrayList<>();
+    private final Map<Long, BitSet> skusByRegionAndZone = new HashMap<>();
+    private final List<BitSet> skusByResourceType = new ArrayList<>();
+    private final List<BitSet> restrictedSkusByRegion = new ArrayList<>();
+    private final Map<Long, BitSet> restrictedSkusByRegionAndZone = new HashMap<>();
+    private final BitSet restrictedSkus = new BitSet();
+    private final BitSet acceleratedNetworkingSkus = new BitSet();
+    private final float[] vCPUs;
+    private final float[] memoryInGB;
+
+    /**
+     * Creates ComputeSkuIndex.
+     *
+     * @param inners the SKUs to index
+     * @param createdAtMillis the time the SKUs were listed
+     */
+    ComputeSkuIndex(List<ResourceSkuInner> inners, long createdAtMillis) {
+        this.inners = Collections.unmodifiableList(new ArrayList<>(inners));
+        this.createdAtMillis = createdAtMillis;
+        this.skus = new ComputeSku[this.inners.size()];
+        this.vCPUs = new float[this.inners.size()];
+        this.memoryInGB = new float[this.inners.size()];
+        for (int i = 0; i < this.skus.length; i++) {
+            ResourceSkuInner inner = this.inners.get(i);
+            this.skus[i] = new ComputeSkuImpl(inner);
+            index(i, inner);
+        }
+    }
+
+    /**
+     * @return the time the SKUs were listed
+     */
+    long createdAtMillis() {
+        return this.createdAtMillis;
+    }
+
+    /**
+     * @return the number of SKUs in the index
+     */
+    int size() {
+        return this.skus.length;
+    }
+
+    /**
+     * Finds the SKUs satisfying all the given conditions.
+     *
+     * @param region the region name, null for any
+     * @param zone the availability zone, null for any
+     * @param resourceType the resource type, null for any
+     * @param minVCPUs the minimum number of virtual CPUs, 0 for any
+     * @param minMemoryInGB the minimum memory in GB, 0 for any
+     * @param acceleratedNetworking true if the SKUs must support accelerated networking
+     * @param unrestricted true if the SKUs must not be restricted in the region and zone
+     * @return the SKUs
+     */
+    List<ComputeSku> find(String region,
+                          String zone,
+                          String resourceType,
+                          double minVCPUs,
+                          double minMemoryInGB,
+                          boolean acceleratedNetworking,
+                          boolean unrestricted) {
+        BitSet matches = new BitSet(skus.length);
+        matches.set(0, skus.length);
+        Integer regionId = null;
+        if (region != null) {
+            regionId = regionIds.get(normalize(region));
+            matches.and(get(skusByRegion, regionId));
+        }
+        Integer zoneId = null;
+        if (zone != null) {
+            zoneId = zoneIds.get(normalize(zone));
+            if (region != null) {
+                matches.and(get(skusByRegionAndZone, regionId, zoneId));
+            } else {
+                matches.and(get(skusByZone, zoneId));
+            }
+        }
+        if (resourceType != null) {
+            matches.and(get(skusByResourceType, resourceTypeIds.get(normalize(resourceType))));
+        }
+        if (acceleratedNetworking) {
+            matches.and(acceleratedNetworkingSkus);
+        }
+        if (unrestricted) {
+            if (region == null) {
+                matches.andNot(restrictedSkus);
+            } else {
+                matches.andNot(get(restrictedSkusByRegion, regionId));
+                if (zone != null) {
+                    matches.andNot(get(restrictedSkusByRegionAndZone, regionId, zoneId));
+                }
+            }
+        }
+
+        List<ComputeSku> result = new ArrayList<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            // NaN, i.e. unknown capabilities, never satisfy a minimum
+            if (minVCPUs > 0 && !(vCPUs[i] >= minVCPUs)) {
+                continue;
+            }
+            if (minMemoryInGB > 0 && !(memoryInGB[i] >= minMemoryInGB)) {
+                continue;
+            }
+            result.add(skus[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the SKUs in the index to a stream.
+     *
+     * @param outputStream the stream
+     * @throws IOException if the SKUs cannot be written
+     */
+    void write(OutputStream outputStream) throws IOException {
+        Snapshot snapshot = new Snapshot();
+        snapshot.createdAtMillis = this.createdAtMillis;
+        snapshot.skus = this.inners;
+        SnapshotSerializer.mapper()
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(outputStream, snapshot);
+    }
+
+    /**
+     * Reads an index from a stream written by {@link #write(OutputStream)}.
+     *
+     * @param inputStream the stream
+     * @return the index
+     * @throws IOException if the SKUs cannot be read
+     */
+    static ComputeSkuIndex read(InputStream inputStream) throws IOException {
+        Snapshot snapshot = SnapshotSerializer.mapper()
+                .readerFor(Snapshot.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                .readValue(inputStream);
+        if (snapshot.skus == null) {
+            throw new IOException("The stream does not contain a compute SKU snapshot");
+        }
+        return new ComputeSkuIndex(snapshot.skus, snapshot.createdAtMillis);
+    }
+
+    private void index(int sku, ResourceSkuInner inner) {
+        if (inner.resourceType() != null) {
+            set(skusByResourceType, id(resourceTypeIds, inner.resourceType()), sku);
+        }
+        if (inner.locations() != null) {
+            for (String location : inner.locations()) {
+                set(skusByRegion, id(regionIds, location), sku);
+            }
+        }
+        if (inner.locationInfo() != null) {
+            for (ResourceSkuLocationInfo locationInfo : inner.locationInfo()) {
+                if (locationInfo.location() == null || locationInfo.zones() == null) {
+                    continue;
+                }
+                int regionId = id(regionIds, locationInfo.location());
+                set(skusByRegion, regionId, sku);
+                for (String zone : locationInfo.zones()) {
+                    int zoneId = id(zoneIds, zone);
+                    set(skusByZone, zoneId, sku);
+                    set(skusByRegionAndZone, regionId, zoneId, sku);
+                }
+            }
+        }
+        if (inner.restrictions() != null) {
+            for (ResourceSkuRestrictions restriction : inner.restrictions()) {
+                indexRestriction(sku, restriction);
+            }
+        }
+        vCPUs[sku] = Float.NaN;
+        memoryInGB[sku] = Float.NaN;
+        if (inner.capabilities() != null) {
+            for (ResourceSkuCapabilities capability : inner.capabilities()) {
+                if (CAPABILITY_VCPUS.equalsIgnoreCase(capability.name())) {
+                    vCPUs[sku] = parse(capability.value());
+                } else if (CAPABILITY_MEMORY_GB.equalsIgnoreCase(capability.name())) {
+                    memoryInGB[sku] = parse(capability.value());
+                } else if (CAPABILITY_ACCELERATED_NETWORKING.equalsIgnoreCase(capability.name())
+                        && Boolean.parseBoolean(capability.value())) {
+                    acceleratedNetworkingSkus.set(sku);
+                }
+            }
+        }
+    }
+
+    private void indexRestriction(int sku, ResourceSkuRestrictions restriction) {
+        restrictedSkus.set(sku);
+        ResourceSkuRestrictionInfo info = restriction.restrictionInfo();
+        List<String> locations = new ArrayList<>();
+        if (info != null && info.locations() != null) {
+            locations.addAll(info.locations());
+        } else if (restriction.values() != null) {
+            locations.addAll(restriction.values());
+        }
+        for (String location : locations) {
+            int regionId = id(regionIds, location);
+            if (restriction.type() == ResourceSkuRestrictionsType.ZONE && info != null && info.zones() != null) {
+                for (String zone : info.zones()) {
+                    set(restrictedSkusByRegionAndZone, regionId, id(zoneIds, zone), sku);
+                }
+            } else {
+                set(restrictedSkusByRegion, regionId, sku);
+            }
+        }
+    }
+
+    private static int id(Map<String, Integer> ids, String value) {
+        String key = normalize(value);
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = ids.size();
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    private static void set(List<BitSet> bitSets, int id, int sku) {
+        while (bitSets.size() <= id) {
+            bitSets.add(new BitSet());
+        }
+        bitSets.get(id).set(sku);
+    }
+
+    private static void set(Map<Long, BitSet> bitSets, int regionId, int zoneId, int sku) {
+        Long key = key(regionId, zoneId);
+        BitSet bitSet = bitSets.get(key);
+        if (bitSet == null) {
+            bitSet = new BitSet();
+            bitSets.put(key, bitSet);
+        }
+        bitSet.set(sku);
+    }
+
+    private static BitSet get(List<BitSet> bitSets, Integer id) {
+        return id == null || id >= bitSets.size() ? EMPTY : bitSets.get(id);
+    }
+
+    private static BitSet get(Map<Long, BitSet> bitSets, Integer regionId, Integer zoneId) {
+        if (regionId == null || zoneId == null) {
+            return EMPTY;
+        }
+        BitSet bitSet = bitSets.get(key(regionId, zoneId));
+        return bitSet == null ? EMPTY : bitSet;
+    }
+
+    private static long key(int regionId, int zoneId) {
+        return ((long) regionId << 32) | zoneId;
+    }
+
+    private static float parse(String value) {
+        try {
+            return value == null ? Float.NaN : Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            return Float.NaN;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The serialized form of the index.
+     */
+    private static final class Snapshot {
+        @JsonProperty(value = "createdAtMillis")
+        private long createdAtMillis;
+
+        @JsonProperty(value = "skus")
+        private List<ResourceSkuInner> skus;
+    }
+}
@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.compute.ImageReference;
+import com.microsoft.azure.management.compute.VirtualMachineImageCatalog;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import com.microsoft.azure.management.resources.fluentcore.utils.SnapshotSerializer;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The implementation for {@link VirtualMachineImageCatalog}.
+ */
+@LangDefinition
+final class VirtualMachineImageCatalogImpl implements VirtualMachineImageCatalog {
+    /**
+     * Orders image versions by their dot separated segments, numerically when both segments are numbers.
+     */
+    static final Comparator<String> VERSION_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String left, String right) {
+            String[] leftSegments = left.split("\\.");
+            String[] rightSegments = right.split("\\.");
+            for (int i = 0; i < Math.min(leftSegments.length, rightSegments.length); i++) {
+                int result = compareSegments(leftSegments[i], rightSegments[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return leftSegments.length - rightSegments.length;
+        }
+
+        private int compareSegments(String left, String right) {
+            try {
+                return Long.compare(Long.parseLong(left), Long.parseLong(right));
+            } catch (NumberFormatException e) {
+                return left.compareToIgnoreCase(right);
+            }
+        }
+    };
+
+    private final VirtualMachineImagesInner client;
+    private final Map<String, SkuImages> skus = new ConcurrentHashMap<>();
+    private volatile int maxConcurrency = 16;
+
+    VirtualMachineImageCatalogImpl(VirtualMachineImagesInner client) {
+        this.client = client;
+    }
+
+    @Override
+    public VirtualMachineImageCatalogImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public void refresh(Region region) {
+        refreshAsync(region).toCompletable().await();
+    }
+
+    @Override
+    public Observable<ImageReference> refreshAsync(Region region) {
+        final String location = region.name();
+        final int concurrency = this.maxConcurrency;
+        // The keys of the SKUs listed by this crawl, and of the nodes whose children could not be listed
+        final Set<String> listed = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final Set<String> failed = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        return client.listPublishersAsync(location)
+                .flatMapIterable(new Func1<List<VirtualMachineImageResourceInner>, Iterable<String[]>>() {
+                    @Override
+                    public Iterable<String[]> call(List<VirtualMachineImageResourceInner> publishers) {
+                        return children(new String[0], publishers);
+                    }
+                })
+                .flatMap(new Func1<String[], Observable<String[]>>() {
+                    @Override
+                    public Observable<String[]> call(String[] publisher) {
+                        return listChildren(location, publisher, client.listOffersAsync(location, publisher[0]), failed);
+                    }
+                }, concurrency)
+                .flatMap(new Func1<String[], Observable<String[]>>() {
+                    @Override
+                    public Observable<String[]> call(String[] offer) {
+                        return listChildren(location, offer, client.listSkusAsync(location, offer[0], offer[1]), failed);
+                    }
+                }, concurrency)
+                .flatMap(new Func1<String[], Observable<ImageReference>>() {
+                    @Override
+                    public Observable<ImageReference> call(final String[] sku) {
+                        return client.listAsync(location, sku[0], sku[1], sku[2])
+                                .flatMapIterable(new Func1<List<VirtualMachineImageResourceInner>, Iterable<ImageReference>>() {
+                                    @Override
+                                    public Iterable<ImageReference> call(List<VirtualMachineImageResourceInner> versions) {
+                                        listed.add(key(location, sku));
+                                        return update(location, sku, versions);
+                                    }
+                                })
+                                .onErrorResumeNext(skip(key(location, sku), failed, ImageReference.class));
+                    }
+                }, concurrency)
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        removeUnlisted(location, listed, failed);
+                    }
+                });
+    }
+
+    @Override
+    public List<ImageReference> listImages(Region region, String publisherName, String offerName, String skuName) {
+        SkuImages images = skus.get(key(region.name(), publisherName, offerName, skuName));
+        if (images == null) {
+            return Collections.emptyList();
+        }
+        List<ImageReference> result = new ArrayList<>(images.versions.length);
+        for (String version : images.versions) {
+            result.add(images.imageReference(version));
+        }
+        return result;
+    }
+
+    @Override
+    public ImageReference getLatestImage(Region region, String publisherName, String offerName, String skuName) {
+        SkuImages images = skus.get(key(region.name(), publisherName, offerName, skuName));
+        if (images == null || images.versions.length == 0) {
+            return null;
+        }
+        return images.imageReference(images.versions[images.versions.length - 1]);
+    }
+
+    @Override
+    public boolean containsImage(Region region, String publisherName, String offerName, String skuName, String version) {
+        SkuImages images = skus.get(key(region.name(), publisherName, offerName, skuName));
+        return images != null && Arrays.binarySearch(images.versions, version, VERSION_ORDER) >= 0;
+    }
+
+    @Override
+    public void saveSnapshot(OutputStream outputStream) throws IOException {
+        Snapshot snapshot = new Snapshot();
+        snapshot.skus = new ArrayList<>(skus.values());
+        SnapshotSerializer.mapper()
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValue(outputStream, snapshot);
+    }
+
+    @Override
+    public void loadSnapshot(InputStream inputStream) throws IOException {
+        Snapshot snapshot = SnapshotSerializer.mapper()
+                .readerFor(Snapshot.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                .readValue(inputStream);
+        if (snapshot.skus == null) {
+            throw new IOException("The stream does not contain a virtual machine image snapshot");
+        }
+        skus.clear();
+        for (SkuImages images : snapshot.skus) {
+            Arrays.sort(images.versions, VERSION_ORDER);
+            skus.put(key(images.region, images.publisher, images.offer, images.sku), images);
+        }
+    }
+
+    /**
+     * Replaces the versions of a SKU in the catalog.
+     *
+     * @return the images that were not in the catalog
+     */
+    private List<ImageReference> update(String location, String[] sku, List<VirtualMachineImageResourceInner> inners) {
+        SkuImages images = new SkuImages();
+        images.region = location;
+        images.publisher = sku[0];
+        images.offer = sku[1];
+        images.sku = sku[2];
+        List<String> versions = names(inners);
+        images.versions = versions.toArray(new String[versions.size()]);
+        Arrays.sort(images.versions, VERSION_ORDER);
+
+        SkuImages previous = skus.put(key(location, sku), images);
+        Set<String> previousVersions = previous == null
+                ? Collections.<String>emptySet()
+                : new HashSet<>(Arrays.asList(previous.versions));
+        List<ImageReference> added = new ArrayList<>();
+        for (String version : images.versions) {
+            if (!previousVersions.contains(version)) {
+                added.add(images.imageReference(version));
+            }
+        }
+        return added;
+    }
+
+    private void removeUnlisted(String location, Set<String> listed, Set<String> failed) {
+        String regionPrefix = key(location) + "/";
+        Iterator<String> keys = skus.keySet().iterator();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (key.startsWith(regionPrefix) && !listed.contains(key) && !isUnder(key, failed)) {
+                keys.remove();
+            }
+        }
+    }
+
+    private Observable<String[]> listChildren(String location,
+                                              final String[] parent,
+                                              Observable<List<VirtualMachineImageResourceInner>> children,
+                                              Set<String> failed) {
+        return children
+                .flatMapIterable(new Func1<List<VirtualMachineImageResourceInner>, Iterable<String[]>>() {
+                    @Override
+                    public Iterable<String[]> call(List<VirtualMachineImageResourceInner> inners) {
+                        return children(parent, inners);
+                    }
+                })
+                .onErrorResumeNext(skip(key(location, parent), failed, String[].class));
+    }
+
+    /**
+     * Skips a node whose children cannot be listed, its SKUs already in the catalog are kept.
+     */
+    private static <T> Func1<Throwable, Observable<T>> skip(final String key, final Set<String> failed, Class<T> type) {
+        return new Func1<Throwable, Observable<T>>() {
+            @Override
+            public Observable<T> call(Throwable throwable) {
+                failed.add(key);
+                return Observable.empty();
+            }
+        };
+    }
+
+    private static boolean isUnder(String key, Set<String> failed) {
+        for (String failedKey : failed) {
+            if (key.equals(failedKey) || key.startsWith(failedKey + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String[]> children(String[] parent, List<VirtualMachineImageResourceInner> inners) {
+        List<String[]> result = new ArrayList<>();
+        for (String name : names(inners)) {
+            String[] child = Arrays.copyOf(parent, parent.length + 1);
+            child[parent.length] = name;
+            result.add(child);
+        }
+        return result;
+    }
+
+    private static List<String> names(List<VirtualMachineImageResourceInner> inners) {
+        List<String> names = new ArrayList<>();
+        if (inners != null) {
+            for (VirtualMachineImageResourceInner inner : inners) {
+                if (inner.name() != null) {
+                    names.add(inner.name());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String key(String location, String... names) {
+        StringBuilder key = new StringBuilder(location.replace(" ", ""));
+        for (String name : names) {
+            key.append('/').append(name);
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The image versions of a SKU.
+     */
+    private static final class SkuImages {
+        @JsonProperty(value = "region")
+        private String region;
+
+        @JsonProperty(value = "publisher")
+        private String publisher;
+
+        @JsonProperty(value = "offer")
+        private String offer;
+
+        @JsonProperty(value = "sku")
+        private String sku;
+
+        @JsonProperty(value = "versions")
+        private String[] versions;
+
+        ImageReference imageReference(String version) {
+            return new ImageReference()
+                    .withPublisher(publisher)
+                    .withOffer(offer)
+                    .withSku(sku)
+                    .withVersion(version);
+        }
+    }
+
+    /**
+     * The serialized form of the catalog.
+     */
+    private static final class Snapshot {
+        @JsonProperty(value = "skus")
+        private List<SkuImages> skus;
+    }
+}
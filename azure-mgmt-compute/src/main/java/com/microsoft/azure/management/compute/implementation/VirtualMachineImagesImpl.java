@@ -25,6 +25,8 @@ import java.util.List;
 @LangDefinition
 class VirtualMachineImagesImpl
         implements VirtualMachineImages {
+    private static final int MAX_CONCURRENT_REQUESTS = 16;
+
     private final VirtualMachinePublishers publishers;
     private final VirtualMachineImagesInner client;
 
@@ -116,17 +118,17 @@ class VirtualMachineImagesImpl
                     public Observable<VirtualMachineOffer> call(VirtualMachinePublisher virtualMachinePublisher) {
                         return virtualMachinePublisher.offers().listAsync();
                     }
-                }).flatMap(new Func1<VirtualMachineOffer, Observable<VirtualMachineSku>>() {
+                }, MAX_CONCURRENT_REQUESTS).flatMap(new Func1<VirtualMachineOffer, Observable<VirtualMachineSku>>() {
                     @Override
                     public Observable<VirtualMachineSku> call(VirtualMachineOffer virtualMachineExtensionImageType) {
                         return virtualMachineExtensionImageType.skus().listAsync();
                     }
-                }).flatMap(new Func1<VirtualMachineSku, Observable<VirtualMachineImage>>() {
+                }, MAX_CONCURRENT_REQUESTS).flatMap(new Func1<VirtualMachineSku, Observable<VirtualMachineImage>>() {
                     @Override
                     public Observable<VirtualMachineImage> call(VirtualMachineSku virtualMachineSku) {
                         return virtualMachineSku.images().listAsync();
                     }
-                });
+                }, MAX_CONCURRENT_REQUESTS);
     }
 
     @Override
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.microsoft.azure.management.compute.ComputeResourceType;
+import com.microsoft.azure.management.compute.ComputeSku;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class to test ComputeSkuIndex class.
+ */
+public class ComputeSkuIndexTests {
+    private static final String VM = ComputeResourceType.VIRTUALMACHINES.toString();
+    private static List<ResourceSkuInner> recordedSkus;
+
+    @BeforeClass
+    public static void loadRecordedSkus() throws Exception {
+        AzureJacksonAdapter adapter = new AzureJacksonAdapter();
+        try (InputStream stream = ComputeSkuIndexTests.class.getResourceAsStream("/session-records/canListSkus.json")) {
+            JsonNode record = adapter.serializer().readTree(stream);
+            String body = record.get("networkCallRecords").get(0).get("Response").get("Body").asText();
+            recordedSkus = new ArrayList<>();
+            for (JsonNode sku : adapter.serializer().readTree(body).get("value")) {
+                recordedSkus.add(adapter.<ResourceSkuInner>deserialize(sku.toString(), ResourceSkuInner.class));
+            }
+        }
+    }
+
+    @Test
+    public void canQueryByRegionZoneAndType() {
+        ComputeSkuIndex index = new ComputeSkuIndex(recordedSkus, 0);
+        Assert.assertEquals(3586, index.size());
+        Assert.assertEquals(3586, index.find(null, null, null, 0, 0, false, false).size());
+        Assert.assertEquals(3416, index.find(null, null, VM, 0, 0, false, false).size());
+        Assert.assertEquals(148, index.find("East US", null, VM, 0, 0, false, false).size());
+        Assert.assertEquals(117, index.find("eastus2", "2", VM, 0, 0, false, false).size());
+        Assert.assertEquals(0, index.find("unknownregion", null, VM, 0, 0, false, false).size());
+        for (ComputeSku sku : index.find("eastus2", "2", VM, 0, 0, false, false)) {
+            Assert.assertEquals(ComputeResourceType.VIRTUALMACHINES, sku.resourceType());
+        }
+    }
+
+    @Test
+    public void canExcludeRestrictedSkus() {
+        ComputeSkuIndex index = new ComputeSkuIndex(recordedSkus, 0);
+        Assert.assertEquals(137, index.find("eastus", null, VM, 0, 0, false, true).size());
+        Assert.assertEquals(148, index.find("westus", null, VM, 0, 0, false, true).size());
+        Assert.assertEquals(3447, index.find(null, null, null, 0, 0, false, true).size());
+    }
+
+    @Test
+    public void canQueryByCapabilities() throws Exception {
+        AzureJacksonAdapter adapter = new AzureJacksonAdapter();
+        List<ResourceSkuInner> skus = new ArrayList<>();
+        skus.add(adapter.<ResourceSkuInner>deserialize(vmSku("Standard_D2s_v3", "2", "8", "False"), ResourceSkuInner.class));
+        skus.add(adapter.<ResourceSkuInner>deserialize(vmSku("Standard_D8s_v3", "8", "32", "True"), ResourceSkuInner.class));
+        skus.add(adapter.<ResourceSkuInner>deserialize(vmSku("Standard_E16s_v3", "16", "128", "True"), ResourceSkuInner.class));
+        ComputeSkuIndex index = new ComputeSkuIndex(skus, 0);
+
+        Assert.assertEquals(2, index.find("eastus2", "2", VM, 8, 0, false, false).size());
+        Assert.assertEquals(1, index.find("eastus2", "2", VM, 8, 64, false, false).size());
+        Assert.assertEquals(2, index.find(null, null, null, 0, 0, true, false).size());
+        // capabilities absent from the recorded SKUs never satisfy a minimum
+        Assert.assertEquals(0, new ComputeSkuIndex(recordedSkus, 0).find(null, null, VM, 1, 0, false, false).size());
+    }
+
+    @Test
+    public void canRoundTripSnapshot() throws Exception {
+        ComputeSkuIndex index = new ComputeSkuIndex(recordedSkus, 42);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        index.write(outputStream);
+
+        ComputeSkuIndex loaded = ComputeSkuIndex.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        Assert.assertEquals(42, loaded.createdAtMillis());
+        Assert.assertEquals(index.size(), loaded.size());
+        Assert.assertEquals(117, loaded.find("eastus2", "2", VM, 0, 0, false, false).size());
+        Assert.assertEquals(137, loaded.find("eastus", null, VM, 0, 0, false, true).size());
+    }
+
+    private static String vmSku(String name, String vCPUs, String memoryInGB, String acceleratedNetworking) {
+        return "{\"resourceType\":\"virtualMachines\",\"name\":\"" + name + "\",\"locations\":[\"eastus2\"],"
+                + "\"locationInfo\":[{\"location\":\"eastus2\",\"zones\":[\"1\",\"2\"]}],"
+                + "\"capabilities\":[{\"name\":\"vCPUs\",\"value\":\"" + vCPUs + "\"},"
+                + "{\"name\":\"MemoryGB\",\"value\":\"" + memoryInGB + "\"},"
+                + "{\"name\":\"AcceleratedNetworkingEnabled\",\"value\":\"" + acceleratedNetworking + "\"}],"
+                + "\"restrictions\":[]}";
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.compute.implementation;
+
+import com.microsoft.azure.management.compute.ImageReference;
+import com.microsoft.azure.management.resources.fluentcore.arm.Region;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Test class to test VirtualMachineImageCatalogImpl class.
+ */
+public class VirtualMachineImageCatalogTests {
+    private static final String SNAPSHOT = "{\"skus\":["
+            + "{\"region\":\"westus\",\"publisher\":\"Canonical\",\"offer\":\"UbuntuServer\",\"sku\":\"16.04-LTS\","
+            + "\"versions\":[\"16.04.201810050\",\"16.04.201809120\",\"16.04.201810100\"]},"
+            + "{\"region\":\"westus\",\"publisher\":\"MicrosoftWindowsServer\",\"offer\":\"WindowsServer\",\"sku\":\"2016-Datacenter\","
+            + "\"versions\":[\"2016.127.20180912\",\"2016.127.20181010\",\"2016.127.9\"]}]}";
+
+    @Test
+    public void canLookUpImagesLocally() throws Exception {
+        VirtualMachineImageCatalogImpl catalog = new VirtualMachineImageCatalogImpl(null);
+        catalog.loadSnapshot(new ByteArrayInputStream(SNAPSHOT.getBytes(StandardCharsets.UTF_8)));
+
+        List<ImageReference> images = catalog.listImages(Region.US_WEST, "canonical", "ubuntuserver", "16.04-lts");
+        Assert.assertEquals(3, images.size());
+        Assert.assertEquals("16.04.201809120", images.get(0).version());
+        Assert.assertEquals("Canonical", images.get(0).publisher());
+
+        ImageReference latest = catalog.getLatestImage(Region.US_WEST, "MicrosoftWindowsServer", "WindowsServer", "2016-Datacenter");
+        Assert.assertEquals("2016.127.20181010", latest.version());
+
+        Assert.assertTrue(catalog.containsImage(Region.US_WEST, "Canonical", "UbuntuServer", "16.04-LTS", "16.04.201810050"));
+        Assert.assertFalse(catalog.containsImage(Region.US_WEST, "Canonical", "UbuntuServer", "16.04-LTS", "16.04.201701010"));
+        Assert.assertNull(catalog.getLatestImage(Region.US_EAST, "Canonical", "UbuntuServer", "16.04-LTS"));
+        Assert.assertTrue(catalog.listImages(Region.US_EAST, "Canonical", "UbuntuServer", "16.04-LTS").isEmpty());
+    }
+
+    @Test
+    public void canRoundTripSnapshot() throws Exception {
+        VirtualMachineImageCatalogImpl catalog = new VirtualMachineImageCatalogImpl(null);
+        catalog.loadSnapshot(new ByteArrayInputStream(SNAPSHOT.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        catalog.saveSnapshot(outputStream);
+
+        VirtualMachineImageCatalogImpl loaded = new VirtualMachineImageCatalogImpl(null);
+        loaded.loadSnapshot(new ByteArrayInputStream(outputStream.toByteArray()));
+        Assert.assertEquals(3, loaded.listImages(Region.US_WEST, "Canonical", "UbuntuServer", "16.04-LTS").size());
+        Assert.assertEquals("16.04.201810100",
+                loaded.getLatestImage(Region.US_WEST, "Canonical", "UbuntuServer", "16.04-LTS").version());
+    }
+
+    @Test
+    public void canOrderVersionsNumerically() {
+        Assert.assertTrue(VirtualMachineImageCatalogImpl.VERSION_ORDER.compare("1.10.0", "1.9.2") > 0);
+        Assert.assertTrue(VirtualMachineImageCatalogImpl.VERSION_ORDER.compare("1.0", "1.0.1") < 0);
+        Assert.assertEquals(0, VirtualMachineImageCatalogImpl.VERSION_ORDER.compare("2.0.0", "2.0.0"));
+    }
+}
@@ -17,9 +17,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure container instance management.
@@ -30,6 +31,7 @@ public final class ContainerInstanceManager extends Manager<ContainerInstanceMan
     // The service managers
     private ContainerGroupsImpl containerGroups;
     private StorageManager storageManager;
+    private final RestClient restClient;
 
     /**
      * Get a Configurable instance that can be used to create ContainerInstanceManager with optional configuration.
@@ -51,7 +53,7 @@ public final class ContainerInstanceManager extends Manager<ContainerInstanceMan
         return new ContainerInstanceManager(new RestClient.Builder()
             .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
             .withCredentials(credentials)
-            .withSerializerAdapter(new AzureJacksonAdapter())
+            .withSerializerAdapter(Utils.newJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
             .withInterceptor(new ProviderRegistrationInterceptor(credentials))
             .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -99,7 +101,7 @@ public final class ContainerInstanceManager extends Manager<ContainerInstanceMan
             subscriptionId,
             new ContainerInstanceManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
 
-        this.storageManager = StorageManager.authenticate(restClient, subscriptionId);
+        this.restClient = restClient;
     }
 
     /**
@@ -107,9 +109,21 @@ public final class ContainerInstanceManager extends Manager<ContainerInstanceMan
      */
     public ContainerGroups containerGroups() {
         if (containerGroups == null) {
-            containerGroups = new ContainerGroupsImpl(this, this.storageManager);
+            containerGroups = new ContainerGroupsImpl(this, storageManager());
         }
 
         return containerGroups;
     }
+
+    private StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return storageManager;
+    }
 }
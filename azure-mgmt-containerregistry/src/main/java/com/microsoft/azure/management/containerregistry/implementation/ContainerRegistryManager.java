@@ -17,9 +17,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure container registry management.
@@ -29,6 +30,7 @@ public final class ContainerRegistryManager extends Manager<ContainerRegistryMan
     // The service managers
     private RegistriesImpl registries;
     private StorageManager storageManager;
+    private final RestClient restClient;
 
     /**
      * Get a Configurable instance that can be used to create ContainerRegistryManager with optional configuration.
@@ -50,7 +52,7 @@ public final class ContainerRegistryManager extends Manager<ContainerRegistryMan
         return new ContainerRegistryManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -98,7 +100,7 @@ public final class ContainerRegistryManager extends Manager<ContainerRegistryMan
                 subscriptionId,
                 new ContainerRegistryManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
 
-        this.storageManager = StorageManager.authenticate(restClient, subscriptionId);
+        this.restClient = restClient;
     }
 
 
@@ -107,8 +109,20 @@ public final class ContainerRegistryManager extends Manager<ContainerRegistryMan
      */
     public Registries containerRegistries() {
         if (registries == null) {
-            registries = new RegistriesImpl(this, this.storageManager);
+            registries = new RegistriesImpl(this, storageManager());
         }
         return registries;
     }
-}
\ No newline at end of file
+
+    private StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return storageManager;
+    }
+}
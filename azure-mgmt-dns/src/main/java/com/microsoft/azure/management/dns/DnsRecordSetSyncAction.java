@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+
+/**
+ * The change applied to a record set to synchronize a DNS zone.
+ */
+@Beta(SinceVersion.V1_15_0)
+public enum DnsRecordSetSyncAction {
+    /**
+     * The record set is missing from the zone and is created.
+     */
+    CREATE,
+
+    /**
+     * The record set differs from the desired one and is replaced.
+     */
+    UPDATE,
+
+    /**
+     * The record set is not desired and is deleted.
+     */
+    DELETE
+}
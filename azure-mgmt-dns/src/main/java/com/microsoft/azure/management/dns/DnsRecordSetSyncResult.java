@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The outcome of the change of a record set synchronizing a DNS zone.
+ */
+@Fluent
+@Beta(SinceVersion.V1_15_0)
+public interface DnsRecordSetSyncResult {
+    /**
+     * @return the name of the record set relative to the zone
+     */
+    String name();
+
+    /**
+     * @return the type of the record set
+     */
+    RecordType recordType();
+
+    /**
+     * @return the change applied to the record set
+     */
+    DnsRecordSetSyncAction action();
+
+    /**
+     * @return true if the change was applied, false if it failed
+     */
+    boolean succeeded();
+
+    /**
+     * @return the error the change failed with, e.g. a CloudException with a 412 status code if the record
+     * set was modified after being listed, or null if the change was applied
+     */
+    Throwable error();
+
+    /**
+     * @return the ETag of the record set once created or updated, or null
+     */
+    String eTag();
+}
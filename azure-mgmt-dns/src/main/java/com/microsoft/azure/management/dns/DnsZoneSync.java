@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import rx.Observable;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A synchronization of the record sets of a DNS zone with a desired state.
+ * <p>
+ * The record sets of the zone are listed page by page and compared with the desired ones, then the
+ * missing record sets are created, the different ones replaced and the others deleted, in parallel.
+ * A record set is only replaced or deleted if it was not modified since being listed, and only created
+ * if it still does not exist. The SOA record set and the NS record set of the zone apex are managed by
+ * Azure DNS and never synchronized.
+ */
+@Fluent
+@Beta(SinceVersion.V1_15_0)
+public interface DnsZoneSync {
+    /**
+     * Adds a record to the desired state.
+     *
+     * @param name the name of the record set relative to the zone, @ for the zone apex
+     * @param recordType the type of the record
+     * @param timeToLive the TTL of the record set in seconds
+     * @param data the data of the record in zone file format, e.g. "10 mail.contoso.com" for a MX record,
+     *             domain names being fully qualified whether or not ending with a dot
+     * @return the zone synchronization
+     */
+    DnsZoneSync withRecord(String name, RecordType recordType, long timeToLive, String data);
+
+    /**
+     * Adds the records of an RFC 1035 zone file to the desired state, names being relative to the zone
+     * unless $ORIGIN is specified.
+     *
+     * @param zoneFile the zone file
+     * @return the zone synchronization
+     */
+    DnsZoneSync withZoneFile(File zoneFile);
+
+    /**
+     * Adds the records of the content of an RFC 1035 zone file to the desired state, names being relative
+     * to the zone unless $ORIGIN is specified.
+     *
+     * @param zoneFileContent the content of the zone file
+     * @return the zone synchronization
+     */
+    DnsZoneSync withZoneFileContent(String zoneFileContent);
+
+    /**
+     * Specifies the number of record sets listed per page, the default is 1000.
+     *
+     * @param pageSize the number of record sets per page, positive
+     * @return the zone synchronization
+     */
+    DnsZoneSync withPageSize(int pageSize);
+
+    /**
+     * Specifies the maximum number of record sets changed in parallel, the default is 8.
+     *
+     * @param maxConcurrency the maximum number of changes in parallel
+     * @return the zone synchronization
+     */
+    DnsZoneSync withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Specifies that the record sets of the zone missing from the desired state are kept.
+     *
+     * @return the zone synchronization
+     */
+    @Method
+    DnsZoneSync withoutDeletes();
+
+    /**
+     * Synchronizes the zone with the desired state.
+     *
+     * @return the outcomes of the changes, the record sets already in the desired state being omitted
+     */
+    @Method
+    List<DnsRecordSetSyncResult> sync();
+
+    /**
+     * Synchronizes the zone with the desired state asynchronously.
+     *
+     * @return an observable that emits the outcome of each change as it completes, the record sets
+     * already in the desired state being omitted
+     */
+    @Method
+    Observable<DnsRecordSetSyncResult> syncAsync();
+}
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import rx.Completable;
 
@@ -28,6 +29,7 @@ import rx.Completable;
 public interface DnsZones extends
         SupportsCreating<DnsZone.DefinitionStages.Blank>,
         SupportsListing<DnsZone>,
+        SupportsListingInPages<DnsZone>,
         SupportsListingByResourceGroup<DnsZone>,
         SupportsGettingByResourceGroup<DnsZone>,
         SupportsGettingById<DnsZone>,
@@ -0,0 +1,382 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.ARecord;
+import com.microsoft.azure.management.dns.AaaaRecord;
+import com.microsoft.azure.management.dns.CaaRecord;
+import com.microsoft.azure.management.dns.CnameRecord;
+import com.microsoft.azure.management.dns.MxRecord;
+import com.microsoft.azure.management.dns.NsRecord;
+import com.microsoft.azure.management.dns.PtrRecord;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.dns.SrvRecord;
+import com.microsoft.azure.management.dns.TxtRecord;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The state of a record set compared by a zone synchronization: its TTL and its records, each record
+ * held as its data in canonical zone file format, e.g. "10 mail.contoso.com" for a MX record.
+ */
+final class DnsRecordSetState {
+    private final String name;
+    private final RecordType recordType;
+    private final long timeToLive;
+    // Sorted, for record sets with the same records to have the same fingerprint
+    private Set<String> records = new TreeSet<>();
+    private String fingerprint;
+    private String eTag;
+    private Map<String, String> metadata;
+
+    DnsRecordSetState(String name, RecordType recordType, long timeToLive) {
+        this.name = name;
+        this.recordType = recordType;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Creates the state of an existing record set, only its fingerprint being kept for comparison.
+     *
+     * @param inner the record set
+     * @return the state of the record set
+     */
+    static DnsRecordSetState fromInner(RecordSetInner inner) {
+        RecordType recordType = recordType(inner);
+        DnsRecordSetState state = new DnsRecordSetState(inner.name(), recordType,
+                inner.tTL() == null ? 0 : inner.tTL());
+        for (List<String> data : data(inner, recordType)) {
+            state.records.add(canonical(recordType, data, null));
+        }
+        state.fingerprint();
+        state.records = null;
+        state.eTag = inner.etag();
+        state.metadata = inner.metadata();
+        return state;
+    }
+
+    /**
+     * Computes the key of a record set, names being case insensitive.
+     *
+     * @param name the name of the record set relative to the zone
+     * @param recordType the type of the record set
+     * @return the key
+     */
+    static String key(String name, RecordType recordType) {
+        return name.toLowerCase(Locale.ROOT) + " " + recordType;
+    }
+
+    /**
+     * @return true for the record sets managed by Azure DNS: the SOA record set and the NS record set
+     * of the zone apex
+     */
+    static boolean isManaged(String name, RecordType recordType) {
+        return recordType == RecordType.SOA || (recordType == RecordType.NS && "@".equals(name));
+    }
+
+    static RecordType recordType(RecordSetInner inner) {
+        return RecordType.fromString(inner.type().substring(inner.type().lastIndexOf('/') + 1));
+    }
+
+    String name() {
+        return name;
+    }
+
+    RecordType recordType() {
+        return recordType;
+    }
+
+    String key() {
+        return key(name, recordType);
+    }
+
+    String eTag() {
+        return eTag;
+    }
+
+    Map<String, String> metadata() {
+        return metadata;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @param data the tokens of the data of the record
+     * @param origin the domain relative names in the data are relative to, or null if all are absolute
+     */
+    void addRecord(List<String> data, String origin) {
+        records.add(canonical(recordType, data, origin));
+        fingerprint = null;
+    }
+
+    /**
+     * @return a text equal for record sets with the same TTL and records
+     */
+    String fingerprint() {
+        if (fingerprint == null) {
+            StringBuilder builder = new StringBuilder().append(timeToLive);
+            for (String record : records) {
+                builder.append('\n').append(record);
+            }
+            fingerprint = builder.toString();
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Creates the record set to send to the service.
+     *
+     * @param metadata the metadata of the record set
+     * @return the record set
+     */
+    RecordSetInner toInner(Map<String, String> metadata) {
+        RecordSetInner inner = new RecordSetInner()
+                .withTTL(timeToLive)
+                .withMetadata(metadata);
+        List<ARecord> aRecords = new ArrayList<>();
+        List<AaaaRecord> aaaaRecords = new ArrayList<>();
+        List<CaaRecord> caaRecords = new ArrayList<>();
+        List<MxRecord> mxRecords = new ArrayList<>();
+        List<NsRecord> nsRecords = new ArrayList<>();
+        List<PtrRecord> ptrRecords = new ArrayList<>();
+        List<SrvRecord> srvRecords = new ArrayList<>();
+        List<TxtRecord> txtRecords = new ArrayList<>();
+        for (String record : records) {
+            List<String> data = DnsZoneFileParser.tokenize(record);
+            switch (recordType) {
+                case A:
+                    aRecords.add(new ARecord().withIpv4Address(data.get(0)));
+                    break;
+                case AAAA:
+                    aaaaRecords.add(new AaaaRecord().withIpv6Address(data.get(0)));
+                    break;
+                case CAA:
+                    caaRecords.add(new CaaRecord().withFlags(Integer.parseInt(data.get(0))).withTag(data.get(1)).withValue(data.get(2)));
+                    break;
+                case CNAME:
+                    inner.withCnameRecord(new CnameRecord().withCname(data.get(0)));
+                    break;
+                case MX:
+                    mxRecords.add(new MxRecord().withPreference(Integer.parseInt(data.get(0))).withExchange(data.get(1)));
+                    break;
+                case NS:
+                    nsRecords.add(new NsRecord().withNsdname(data.get(0)));
+                    break;
+                case PTR:
+                    ptrRecords.add(new PtrRecord().withPtrdname(data.get(0)));
+                    break;
+                case SRV:
+                    srvRecords.add(new SrvRecord()
+                            .withPriority(Integer.parseInt(data.get(0)))
+                            .withWeight(Integer.parseInt(data.get(1)))
+                            .withPort(Integer.parseInt(data.get(2)))
+                            .withTarget(data.get(3)));
+                    break;
+                case TXT:
+                    txtRecords.add(new TxtRecord().withValue(data));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Record sets of type " + recordType + " cannot be synchronized");
+            }
+        }
+        switch (recordType) {
+            case A:
+                return inner.withARecords(aRecords);
+            case AAAA:
+                return inner.withAaaaRecords(aaaaRecords);
+            case CAA:
+                return inner.withCaaRecords(caaRecords);
+            case MX:
+                return inner.withMxRecords(mxRecords);
+            case NS:
+                return inner.withNsRecords(nsRecords);
+            case PTR:
+                return inner.withPtrRecords(ptrRecords);
+            case SRV:
+                return inner.withSrvRecords(srvRecords);
+            case TXT:
+                return inner.withTxtRecords(txtRecords);
+            default:
+                return inner;
+        }
+    }
+
+    /**
+     * @return the data of the records of an existing record set, as tokens
+     */
+    private static List<List<String>> data(RecordSetInner inner, RecordType recordType) {
+        List<List<String>> data = new ArrayList<>();
+        if (recordType == null) {
+            return data;
+        }
+        switch (recordType) {
+            case A:
+                if (inner.aRecords() != null) {
+                    for (ARecord record : inner.aRecords()) {
+                        data.add(Collections.singletonList(record.ipv4Address()));
+                    }
+                }
+                break;
+            case AAAA:
+                if (inner.aaaaRecords() != null) {
+                    for (AaaaRecord record : inner.aaaaRecords()) {
+                        data.add(Collections.singletonList(record.ipv6Address()));
+                    }
+                }
+                break;
+            case CAA:
+                if (inner.caaRecords() != null) {
+                    for (CaaRecord record : inner.caaRecords()) {
+                        data.add(Arrays.asList(String.valueOf(record.flags()), record.tag(), record.value()));
+                    }
+                }
+                break;
+            case CNAME:
+                if (inner.cnameRecord() != null) {
+                    data.add(Collections.singletonList(inner.cnameRecord().cname()));
+                }
+                break;
+            case MX:
+                if (inner.mxRecords() != null) {
+                    for (MxRecord record : inner.mxRecords()) {
+                        data.add(Arrays.asList(String.valueOf(record.preference()), record.exchange()));
+                    }
+                }
+                break;
+            case NS:
+                if (inner.nsRecords() != null) {
+                    for (NsRecord record : inner.nsRecords()) {
+                        data.add(Collections.singletonList(record.nsdname()));
+                    }
+                }
+                break;
+            case PTR:
+                if (inner.ptrRecords() != null) {
+                    for (PtrRecord record : inner.ptrRecords()) {
+                        data.add(Collections.singletonList(record.ptrdname()));
+                    }
+                }
+                break;
+            case SRV:
+                if (inner.srvRecords() != null) {
+                    for (SrvRecord record : inner.srvRecords()) {
+                        data.add(Arrays.asList(String.valueOf(record.priority()), String.valueOf(record.weight()),
+                                String.valueOf(record.port()), record.target()));
+                    }
+                }
+                break;
+            case TXT:
+                if (inner.txtRecords() != null) {
+                    for (TxtRecord record : inner.txtRecords()) {
+                        data.add(record.value() == null ? Collections.<String>emptyList() : record.value());
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+        return data;
+    }
+
+    /**
+     * Formats the data of a record in canonical zone file format: domain names fully qualified in
+     * lower case without the final dot, IPv6 addresses uncompressed and strings quoted.
+     */
+    private static String canonical(RecordType recordType, List<String> data, String origin) {
+        switch (recordType) {
+            case A:
+                checkSize(recordType, data, 1);
+                return data.get(0);
+            case AAAA:
+                checkSize(recordType, data, 1);
+                return ipv6Address(data.get(0));
+            case CAA:
+                checkSize(recordType, data, 3);
+                return number(recordType, data.get(0)) + " " + data.get(1).toLowerCase(Locale.ROOT) + " " + quote(data.get(2));
+            case CNAME:
+            case NS:
+            case PTR:
+                checkSize(recordType, data, 1);
+                return domainName(data.get(0), origin);
+            case MX:
+                checkSize(recordType, data, 2);
+                return number(recordType, data.get(0)) + " " + domainName(data.get(1), origin);
+            case SRV:
+                checkSize(recordType, data, 4);
+                return number(recordType, data.get(0)) + " " + number(recordType, data.get(1)) + " "
+                        + number(recordType, data.get(2)) + " " + domainName(data.get(3), origin);
+            case TXT:
+                if (data.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid TXT record data: no string");
+                }
+                StringBuilder builder = new StringBuilder();
+                for (String value : data) {
+                    builder.append(builder.length() == 0 ? "" : " ").append(quote(value));
+                }
+                return builder.toString();
+            default:
+                throw new IllegalArgumentException("Record sets of type " + recordType + " cannot be synchronized");
+        }
+    }
+
+    private static void checkSize(RecordType recordType, List<String> data, int size) {
+        if (data.size() != size) {
+            throw new IllegalArgumentException("Invalid " + recordType + " record data: " + data);
+        }
+    }
+
+    private static String number(RecordType recordType, String value) {
+        try {
+            return String.valueOf(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + recordType + " record data: " + value + " is not a number");
+        }
+    }
+
+    private static String ipv6Address(String value) {
+        if (value.indexOf(':') < 0) {
+            throw new IllegalArgumentException("Invalid AAAA record data: " + value);
+        }
+        try {
+            // A literal, never resolved
+            return InetAddress.getByName(value).getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Invalid AAAA record data: " + value);
+        }
+    }
+
+    /**
+     * Qualifies a domain name, relative to the origin unless ending with a dot.
+     */
+    static String domainName(String name, String origin) {
+        String absolute;
+        if ("@".equals(name) && origin != null) {
+            absolute = origin;
+        } else if (name.endsWith(".") || origin == null) {
+            absolute = name;
+        } else {
+            absolute = name + "." + origin;
+        }
+        if (absolute.endsWith(".")) {
+            absolute = absolute.substring(0, absolute.length() - 1);
+        }
+        return absolute.toLowerCase(Locale.ROOT);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.dns.DnsRecordSetSyncAction;
+import com.microsoft.azure.management.dns.DnsRecordSetSyncResult;
+import com.microsoft.azure.management.dns.RecordType;
+
+/**
+ * The implementation of DnsRecordSetSyncResult.
+ */
+@LangDefinition
+class DnsRecordSetSyncResultImpl implements DnsRecordSetSyncResult {
+    private final String name;
+    private final RecordType recordType;
+    private final DnsRecordSetSyncAction action;
+    private final Throwable error;
+    private final String eTag;
+
+    DnsRecordSetSyncResultImpl(String name, RecordType recordType, DnsRecordSetSyncAction action, Throwable error, String eTag) {
+        this.name = name;
+        this.recordType = recordType;
+        this.action = action;
+        this.error = error;
+        this.eTag = eTag;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public RecordType recordType() {
+        return recordType;
+    }
+
+    @Override
+    public DnsRecordSetSyncAction action() {
+        return action;
+    }
+
+    @Override
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    @Override
+    public Throwable error() {
+        return error;
+    }
+
+    @Override
+    public String eTag() {
+        return eTag;
+    }
+
+    @Override
+    public String toString() {
+        return action + " " + name + " " + recordType + (error == null ? "" : " failed: " + error.getMessage());
+    }
+}
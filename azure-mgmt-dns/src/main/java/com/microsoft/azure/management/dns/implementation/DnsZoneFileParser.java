@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.management.dns.RecordType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parser of RFC 1035 zone files, supporting the $ORIGIN and $TTL directives, parentheses, comments,
+ * quoted strings and TTLs with units, e.g. 1h30m.
+ */
+final class DnsZoneFileParser {
+    private static final Set<String> CLASSES = new HashSet<>(Arrays.asList("IN", "CS", "CH", "HS"));
+    private static final Pattern TTL = Pattern.compile("([0-9]+)([smhdw]?)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * A record of a zone file.
+     */
+    static final class Record {
+        private final String name;
+        private final RecordType recordType;
+        private final long timeToLive;
+        private final List<String> data;
+        private final String origin;
+
+        private Record(String name, RecordType recordType, long timeToLive, List<String> data, String origin) {
+            this.name = name;
+            this.recordType = recordType;
+            this.timeToLive = timeToLive;
+            this.data = data;
+            this.origin = origin;
+        }
+
+        /**
+         * @return the name of the record relative to the zone, @ for the zone apex
+         */
+        String name() {
+            return name;
+        }
+
+        RecordType recordType() {
+            return recordType;
+        }
+
+        long timeToLive() {
+            return timeToLive;
+        }
+
+        /**
+         * @return the tokens of the data of the record
+         */
+        List<String> data() {
+            return data;
+        }
+
+        /**
+         * @return the domain relative names in the data are relative to, ending with a dot
+         */
+        String origin() {
+            return origin;
+        }
+    }
+
+    private DnsZoneFileParser() {
+    }
+
+    /**
+     * Parses the records of a zone file.
+     *
+     * @param content the content of the zone file
+     * @param zoneName the name of the zone, the default origin
+     * @return the records, the SOA record excepted
+     */
+    static List<Record> parse(String content, String zoneName) {
+        String zone = absolute(zoneName, ".");
+        String origin = zone;
+        Long defaultTimeToLive = null;
+        Long lastTimeToLive = null;
+        String lastOwner = null;
+        List<Record> records = new ArrayList<>();
+        for (Entry entry : entries(content)) {
+            List<String> tokens = entry.tokens;
+            if (tokens.get(0).startsWith("$")) {
+                String directive = tokens.get(0).toUpperCase(Locale.ROOT);
+                if ("$ORIGIN".equals(directive) && tokens.size() == 2) {
+                    origin = absolute(tokens.get(1), origin);
+                } else if ("$TTL".equals(directive) && tokens.size() == 2) {
+                    defaultTimeToLive = timeToLive(tokens.get(1));
+                } else {
+                    throw error(entry, "unsupported directive " + tokens.get(0));
+                }
+                continue;
+            }
+
+            int index = 0;
+            String owner;
+            if (entry.ownerOmitted) {
+                if (lastOwner == null) {
+                    throw error(entry, "no owner name");
+                }
+                owner = lastOwner;
+            } else {
+                owner = absolute(tokens.get(index++), origin);
+            }
+            Long timeToLive = null;
+            while (index < tokens.size()) {
+                String token = tokens.get(index);
+                if (timeToLive == null && Character.isDigit(token.charAt(0))) {
+                    timeToLive = timeToLive(token);
+                } else if (CLASSES.contains(token.toUpperCase(Locale.ROOT))) {
+                    if (!"IN".equalsIgnoreCase(token)) {
+                        throw error(entry, "unsupported class " + token);
+                    }
+                } else {
+                    break;
+                }
+                index++;
+            }
+            if (index >= tokens.size()) {
+                throw error(entry, "no record type");
+            }
+            RecordType recordType = RecordType.fromString(tokens.get(index));
+            if (recordType == null) {
+                throw error(entry, "unsupported record type " + tokens.get(index));
+            }
+            List<String> data = new ArrayList<>(tokens.subList(index + 1, tokens.size()));
+            if (timeToLive == null) {
+                timeToLive = defaultTimeToLive != null ? defaultTimeToLive : lastTimeToLive;
+            }
+            if (timeToLive == null && recordType == RecordType.SOA && data.size() == 7) {
+                // The minimum TTL of the SOA record, as before $TTL was introduced
+                timeToLive = timeToLive(data.get(6));
+            }
+            if (timeToLive == null) {
+                throw error(entry, "no TTL");
+            }
+            lastOwner = owner;
+            lastTimeToLive = timeToLive;
+            if (recordType == RecordType.SOA) {
+                continue;
+            }
+            records.add(new Record(relativeName(entry, owner, zone), recordType, timeToLive, data, origin));
+        }
+        return records;
+    }
+
+    /**
+     * Splits a text into tokens, unquoting quoted strings and resolving escapes.
+     *
+     * @param text the text, e.g. the data of a record
+     * @return the tokens
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (Entry entry : entries(text)) {
+            tokens.addAll(entry.tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * An entry of a zone file: the tokens of a line, or of the lines in parentheses.
+     */
+    private static final class Entry {
+        private final int line;
+        private final boolean ownerOmitted;
+        private final List<String> tokens = new ArrayList<>();
+
+        private Entry(int line, boolean ownerOmitted) {
+            this.line = line;
+            this.ownerOmitted = ownerOmitted;
+        }
+    }
+
+    private static List<Entry> entries(String content) {
+        List<Entry> entries = new ArrayList<>();
+        Entry entry = null;
+        int line = 1;
+        int depth = 0;
+        boolean lineStart = true;
+        int i = 0;
+        while (i < content.length()) {
+            char c = content.charAt(i);
+            if (c == '\n') {
+                line++;
+                lineStart = true;
+                i++;
+                continue;
+            }
+            if (lineStart && depth == 0) {
+                entry = new Entry(line, c == ' ' || c == '\t');
+                entries.add(entry);
+            }
+            lineStart = false;
+            if (c == ' ' || c == '\t' || c == '\r') {
+                i++;
+            } else if (c == ';') {
+                while (i < content.length() && content.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '(') {
+                depth++;
+                i++;
+            } else if (c == ')') {
+                if (--depth < 0) {
+                    throw error(entry, "unbalanced parentheses");
+                }
+                i++;
+            } else {
+                StringBuilder token = new StringBuilder();
+                boolean quoted = c == '"';
+                if (quoted) {
+                    i++;
+                }
+                while (i < content.length()) {
+                    c = content.charAt(i);
+                    if (quoted ? c == '"' : (Character.isWhitespace(c) || c == ';' || c == '(' || c == ')' || c == '"')) {
+                        break;
+                    }
+                    if (c == '\n') {
+                        line++;
+                    }
+                    if (c == '\\' && i + 1 < content.length()) {
+                        i = unescape(content, i + 1, token);
+                    } else {
+                        token.append(c);
+                        i++;
+                    }
+                }
+                if (quoted) {
+                    if (i >= content.length()) {
+                        throw error(entry, "unterminated string");
+                    }
+                    i++;
+                }
+                entry.tokens.add(token.toString());
+            }
+        }
+        if (depth != 0) {
+            throw error(entry, "unbalanced parentheses");
+        }
+        List<Entry> nonEmpty = new ArrayList<>();
+        for (Entry e : entries) {
+            if (!e.tokens.isEmpty()) {
+                nonEmpty.add(e);
+            }
+        }
+        return nonEmpty;
+    }
+
+    /**
+     * Appends an escaped character, either \X or \DDD in decimal.
+     *
+     * @return the index following the escape
+     */
+    private static int unescape(String content, int start, StringBuilder token) {
+        if (start + 3 <= content.length()
+                && Character.isDigit(content.charAt(start))
+                && Character.isDigit(content.charAt(start + 1))
+                && Character.isDigit(content.charAt(start + 2))) {
+            token.append((char) Integer.parseInt(content.substring(start, start + 3)));
+            return start + 3;
+        }
+        token.append(content.charAt(start));
+        return start + 1;
+    }
+
+    private static long timeToLive(String value) {
+        Matcher matcher = TTL.matcher(value);
+        long seconds = 0;
+        int end = 0;
+        while (matcher.lookingAt()) {
+            long amount = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+                case "w":
+                    amount *= 7 * 24 * 3600;
+                    break;
+                case "d":
+                    amount *= 24 * 3600;
+                    break;
+                case "h":
+                    amount *= 3600;
+                    break;
+                case "m":
+                    amount *= 60;
+                    break;
+                default:
+                    break;
+            }
+            seconds += amount;
+            end = matcher.end();
+            matcher.region(end, value.length());
+        }
+        if (end != value.length()) {
+            throw new IllegalArgumentException("Invalid TTL " + value);
+        }
+        return seconds;
+    }
+
+    private static String absolute(String name, String origin) {
+        if ("@".equals(name)) {
+            return origin;
+        }
+        String absolute;
+        if (name.endsWith(".")) {
+            absolute = name;
+        } else {
+            absolute = ".".equals(origin) ? name + "." : name + "." + origin;
+        }
+        return absolute.toLowerCase(Locale.ROOT);
+    }
+
+    private static String relativeName(Entry entry, String owner, String zone) {
+        if (owner.equals(zone)) {
+            return "@";
+        }
+        if (owner.endsWith("." + zone)) {
+            return owner.substring(0, owner.length() - zone.length() - 1);
+        }
+        throw error(entry, owner + " is not in the zone " + zone);
+    }
+
+    private static IllegalArgumentException error(Entry entry, String message) {
+        return new IllegalArgumentException("Invalid zone file" + (entry == null ? "" : " at line " + entry.line) + ": " + message);
+    }
+}
@@ -9,13 +9,16 @@ package com.microsoft.azure.management.dns.implementation;
 import com.microsoft.azure.AzureEnvironment;
 import com.microsoft.azure.AzureResponseBuilder;
 import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.dns.DnsZoneSync;
 import com.microsoft.azure.management.dns.DnsZones;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -46,7 +49,7 @@ public final class DnsZoneManager extends Manager<DnsZoneManager, DnsManagementC
         return new DnsZoneManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -105,4 +108,16 @@ public final class DnsZoneManager extends Manager<DnsZoneManager, DnsManagementC
         }
         return this.zones;
     }
+
+    /**
+     * Starts a synchronization of the record sets of a DNS zone with a desired state.
+     *
+     * @param resourceGroupName the name of the resource group of the zone
+     * @param zoneName the name of the zone, e.g. contoso.com
+     * @return the zone synchronization
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public DnsZoneSync zoneSync(String resourceGroupName, String zoneName) {
+        return new DnsZoneSyncImpl(this, resourceGroupName, zoneName);
+    }
 }
@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns.implementation;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.dns.DnsRecordSetSyncAction;
+import com.microsoft.azure.management.dns.DnsRecordSetSyncResult;
+import com.microsoft.azure.management.dns.DnsZoneSync;
+import com.microsoft.azure.management.dns.RecordType;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The implementation of DnsZoneSync.
+ */
+@LangDefinition
+class DnsZoneSyncImpl implements DnsZoneSync {
+    private static final String IF_NONE_MATCH_ANY = "*";
+    private static final Func1<RecordSetInner, String> ETAG = new Func1<RecordSetInner, String>() {
+        @Override
+        public String call(RecordSetInner inner) {
+            return inner.etag();
+        }
+    };
+
+    private final DnsZoneManager manager;
+    private final String resourceGroupName;
+    private final String zoneName;
+    // The desired record sets by key
+    private final Map<String, DnsRecordSetState> desired = new LinkedHashMap<>();
+    private int pageSize = 1000;
+    private int maxConcurrency = 8;
+    private boolean deletes = true;
+
+    DnsZoneSyncImpl(DnsZoneManager manager, String resourceGroupName, String zoneName) {
+        this.manager = manager;
+        this.resourceGroupName = resourceGroupName;
+        this.zoneName = zoneName;
+    }
+
+    @Override
+    public DnsZoneSyncImpl withRecord(String name, RecordType recordType, long timeToLive, String data) {
+        this.addRecord(name, recordType, timeToLive, DnsZoneFileParser.tokenize(data), null);
+        return this;
+    }
+
+    @Override
+    public DnsZoneSyncImpl withZoneFile(File zoneFile) {
+        try {
+            return this.withZoneFileContent(new String(Files.readAllBytes(zoneFile.toPath()), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public DnsZoneSyncImpl withZoneFileContent(String zoneFileContent) {
+        for (DnsZoneFileParser.Record record : DnsZoneFileParser.parse(zoneFileContent, zoneName)) {
+            this.addRecord(record.name(), record.recordType(), record.timeToLive(), record.data(), record.origin());
+        }
+        return this;
+    }
+
+    @Override
+    public DnsZoneSyncImpl withPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    @Override
+    public DnsZoneSyncImpl withMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public DnsZoneSyncImpl withoutDeletes() {
+        this.deletes = false;
+        return this;
+    }
+
+    private void addRecord(String name, RecordType recordType, long timeToLive, List<String> data, String origin) {
+        if (DnsRecordSetState.isManaged(name, recordType)) {
+            return;
+        }
+        String key = DnsRecordSetState.key(name, recordType);
+        DnsRecordSetState recordSet = desired.get(key);
+        if (recordSet == null) {
+            // The TTL of the first record of a record set is the TTL of the record set
+            recordSet = new DnsRecordSetState(name, recordType, timeToLive);
+            desired.put(key, recordSet);
+        }
+        recordSet.addRecord(data, origin);
+    }
+
+    @Override
+    public List<DnsRecordSetSyncResult> sync() {
+        return this.syncAsync().toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<DnsRecordSetSyncResult> syncAsync() {
+        final RecordSetsInner client = this.manager.inner().recordSets();
+        final int maxConcurrency = this.maxConcurrency;
+        return client.listByDnsZoneAsync(resourceGroupName, zoneName, pageSize, null)
+                .concatMapIterable(new Func1<Page<RecordSetInner>, List<RecordSetInner>>() {
+                    @Override
+                    public List<RecordSetInner> call(Page<RecordSetInner> page) {
+                        return page.items();
+                    }
+                })
+                // Only the fingerprints of the current record sets are kept, not the pages
+                .map(new Func1<RecordSetInner, DnsRecordSetState>() {
+                    @Override
+                    public DnsRecordSetState call(RecordSetInner inner) {
+                        return DnsRecordSetState.fromInner(inner);
+                    }
+                })
+                .filter(new Func1<DnsRecordSetState, Boolean>() {
+                    @Override
+                    public Boolean call(DnsRecordSetState current) {
+                        return current.recordType() != null && !DnsRecordSetState.isManaged(current.name(), current.recordType());
+                    }
+                })
+                .toMap(new Func1<DnsRecordSetState, String>() {
+                    @Override
+                    public String call(DnsRecordSetState current) {
+                        return current.key();
+                    }
+                })
+                .concatMapIterable(new Func1<Map<String, DnsRecordSetState>, List<Change>>() {
+                    @Override
+                    public List<Change> call(Map<String, DnsRecordSetState> current) {
+                        return diff(current);
+                    }
+                })
+                .flatMap(new Func1<Change, Observable<DnsRecordSetSyncResult>>() {
+                    @Override
+                    public Observable<DnsRecordSetSyncResult> call(Change change) {
+                        return apply(client, change).subscribeOn(SdkContext.getRxScheduler());
+                    }
+                }, maxConcurrency);
+    }
+
+    /**
+     * Computes the changes turning the current record sets into the desired ones.
+     */
+    private List<Change> diff(Map<String, DnsRecordSetState> current) {
+        List<Change> changes = new ArrayList<>();
+        for (DnsRecordSetState recordSet : desired.values()) {
+            DnsRecordSetState existing = current.remove(recordSet.key());
+            if (existing == null) {
+                changes.add(new Change(DnsRecordSetSyncAction.CREATE, recordSet, null));
+            } else if (!existing.fingerprint().equals(recordSet.fingerprint())) {
+                changes.add(new Change(DnsRecordSetSyncAction.UPDATE, recordSet, existing));
+            }
+        }
+        if (deletes) {
+            for (DnsRecordSetState existing : current.values()) {
+                changes.add(new Change(DnsRecordSetSyncAction.DELETE, null, existing));
+            }
+        }
+        return changes;
+    }
+
+    private Observable<DnsRecordSetSyncResult> apply(final RecordSetsInner client, final Change change) {
+        final DnsRecordSetState recordSet = change.desired != null ? change.desired : change.current;
+        // Deferred for a failure to build or validate the request to be reported as the outcome
+        return Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                switch (change.action) {
+                    case CREATE:
+                        return client.createOrUpdateAsync(resourceGroupName, zoneName, recordSet.name(), recordSet.recordType(),
+                                recordSet.toInner(null), null, IF_NONE_MATCH_ANY).map(ETAG);
+                    case UPDATE:
+                        // The metadata are kept, as they are not part of the desired state
+                        return client.createOrUpdateAsync(resourceGroupName, zoneName, change.current.name(), recordSet.recordType(),
+                                recordSet.toInner(change.current.metadata()), change.current.eTag(), null).map(ETAG);
+                    default:
+                        return client.deleteAsync(resourceGroupName, zoneName, recordSet.name(), recordSet.recordType(),
+                                recordSet.eTag()).map(new Func1<Void, String>() {
+                                    @Override
+                                    public String call(Void ignored) {
+                                        return null;
+                                    }
+                                });
+                }
+            }
+        }).lastOrDefault(null).map(new Func1<String, DnsRecordSetSyncResult>() {
+            @Override
+            public DnsRecordSetSyncResult call(String eTag) {
+                return new DnsRecordSetSyncResultImpl(recordSet.name(), recordSet.recordType(), change.action, null, eTag);
+            }
+        }).onErrorReturn(new Func1<Throwable, DnsRecordSetSyncResult>() {
+            @Override
+            public DnsRecordSetSyncResult call(Throwable throwable) {
+                return new DnsRecordSetSyncResultImpl(recordSet.name(), recordSet.recordType(), change.action, throwable, null);
+            }
+        });
+    }
+
+    /**
+     * A change of a record set.
+     */
+    private static final class Change {
+        private final DnsRecordSetSyncAction action;
+        private final DnsRecordSetState desired;
+        private final DnsRecordSetState current;
+
+        private Change(DnsRecordSetSyncAction action, DnsRecordSetState desired, DnsRecordSetState current) {
+            this.action = action;
+            this.desired = desired;
+            this.current = current;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.dns;
+
+import com.microsoft.azure.CloudException;
+import com.microsoft.azure.management.dns.implementation.DnsZoneManager;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test class to test DnsZoneSync class.
+ */
+public class DnsZoneSyncTests {
+    private static final String ZONE = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/dnsZones/contoso.com";
+    private static final String CURRENT = "{\"value\":["
+            + recordSet("@", "SOA", "soa", "\"SOARecord\":{\"host\":\"ns1-01.azure-dns.com.\",\"email\":\"admin.contoso.com\"}")
+            + "," + recordSet("@", "NS", "ns", "\"NSRecords\":[{\"nsdname\":\"ns1-01.azure-dns.com.\"}]")
+            + "," + recordSet("www", "A", "www-etag", "\"ARecords\":[{\"ipv4Address\":\"1.1.1.1\"}]")
+            + "," + recordSet("Mail", "MX", "mail-etag", "\"MXRecords\":[{\"preference\":10,\"exchange\":\"mx1.contoso.com.\"}]")
+            + "," + recordSet("txt", "TXT", "txt-etag", "\"TXTRecords\":[{\"value\":[\"hello world\"]}]")
+            + "," + recordSet("old", "CNAME", "old-etag", "\"CNAMERecord\":{\"cname\":\"legacy.contoso.com\"}")
+            + "," + recordSet("v6", "AAAA", "v6-etag", "\"AAAARecords\":[{\"ipv6Address\":\"2001:db8::1\"}]")
+            + "]}";
+    private static final String ZONE_FILE = "$ORIGIN contoso.com.\n"
+            + "$TTL 1h\n"
+            + "@        IN SOA ns1 admin ( 1 ; serial\n"
+            + "                             3600 600 86400 300 )\n"
+            + "@        IN NS  ns1.other.net.\n"
+            + "www      300 IN A 2.2.2.2\n"
+            + "         IN A 1.1.1.1\n"
+            + "MAIL     MX 10 mx1 ; unchanged, relative to the origin\n"
+            + "txt      TXT \"hello world\"\n"
+            + "api      CNAME www\n"
+            + "v6       AAAA 2001:0db8:0:0::1\n"
+            + "_sip._tcp SRV 10 60 5060 sip.contoso.com.\n"
+            + "multi    60 IN TXT ( \"part \\\"1\\\"\"\n"
+            + "                    \"part 2\" )\n";
+
+    // The requests changing record sets, by method and record set
+    private final Map<String, String> changes = new ConcurrentHashMap<>();
+    private DnsZoneManager manager;
+
+    @Before
+    public void setup() {
+        Interceptor recordSetsService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                String path = request.url().encodedPath();
+                if (request.method().equals("GET")) {
+                    Assert.assertEquals(ZONE + "/recordsets", path);
+                    Assert.assertEquals("500", request.url().queryParameter("$top"));
+                    return OfflineService.response(request, 200, CURRENT);
+                }
+                String recordSet = path.substring(ZONE.length() + 1);
+                Buffer body = new Buffer();
+                if (request.body() != null) {
+                    request.body().writeTo(body);
+                }
+                changes.put(request.method() + " " + recordSet, "If-Match=" + request.header("If-Match")
+                        + " If-None-Match=" + request.header("If-None-Match") + " " + body.readUtf8());
+                if (recordSet.startsWith("TXT/multi")) {
+                    // Modified since listed
+                    return OfflineService.response(request, 412, "{\"error\":{\"code\":\"PreconditionFailed\",\"message\":\"etag\"}}");
+                }
+                return OfflineService.response(request, 200, request.method().equals("PUT") ? "{\"etag\":\"new-etag\"}" : "");
+            }
+        };
+        RestClient restClient = OfflineService.restClient(recordSetsService);
+        manager = DnsZoneManager.authenticate(restClient, "sub");
+    }
+
+    @Test
+    public void canSyncZoneWithZoneFile() {
+        List<DnsRecordSetSyncResult> results = manager.zoneSync("rg", "contoso.com")
+                .withZoneFileContent(ZONE_FILE)
+                .withRecord("caa", RecordType.CAA, 3600, "0 issue \"letsencrypt.org\"")
+                .withPageSize(500)
+                .withMaxConcurrency(3)
+                .sync();
+
+        Assert.assertEquals(6, results.size());
+        Assert.assertEquals(6, changes.size());
+        for (DnsRecordSetSyncResult result : results) {
+            if (result.name().equals("multi")) {
+                Assert.assertFalse(result.succeeded());
+                Assert.assertEquals(412, ((CloudException) result.error()).response().code());
+            } else {
+                Assert.assertTrue(result.error() == null ? "" : result.error().toString(), result.succeeded());
+                Assert.assertEquals(result.action() == DnsRecordSetSyncAction.DELETE ? null : "new-etag", result.eTag());
+            }
+        }
+
+        String www = changes.get("PUT A/www");
+        Assert.assertTrue(www, www.startsWith("If-Match=www-etag If-None-Match=null "));
+        Assert.assertTrue(www, www.contains("\"TTL\":300") && www.contains("2.2.2.2") && www.contains("1.1.1.1"));
+        String api = changes.get("PUT CNAME/api");
+        Assert.assertTrue(api, api.startsWith("If-Match=null If-None-Match=* "));
+        Assert.assertTrue(api, api.contains("\"TTL\":3600") && api.contains("\"cname\":\"www.contoso.com\""));
+        Assert.assertTrue(changes.get("PUT SRV/_sip._tcp").contains("\"port\":5060"));
+        Assert.assertTrue(changes.get("PUT TXT/multi").contains("[\"part \\\"1\\\"\",\"part 2\"]"));
+        Assert.assertTrue(changes.get("PUT CAA/caa").contains("\"value\":\"letsencrypt.org\""));
+        Assert.assertTrue(changes.get("DELETE CNAME/old").startsWith("If-Match=old-etag "));
+        // The AAAA, MX and TXT record sets are unchanged, as compared in canonical format
+        Assert.assertFalse(changes.containsKey("PUT AAAA/v6") || changes.containsKey("PUT MX/Mail") || changes.containsKey("PUT TXT/txt"));
+    }
+
+    @Test
+    public void canSyncZoneWithoutDeletes() {
+        List<DnsRecordSetSyncResult> results = manager.zoneSync("rg", "contoso.com")
+                .withRecord("www", RecordType.A, 3600, "1.1.1.1")
+                .withRecord("Mail", RecordType.MX, 3600, "10 mx1.contoso.com.")
+                .withPageSize(500)
+                .withoutDeletes()
+                .sync();
+
+        Assert.assertEquals(0, results.size());
+        Assert.assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void canReportZoneFileErrors() {
+        try {
+            manager.zoneSync("rg", "contoso.com").withZoneFileContent("$TTL 300\nwww A 1.1.1.1\nwww.other.net. A 2.2.2.2\n");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid zone file at line 3: "));
+        }
+    }
+
+    @Test
+    public void canRejectInvalidPageSize() {
+        try {
+            manager.zoneSync("rg", "contoso.com").withPageSize(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("pageSize must be positive", e.getMessage());
+        }
+    }
+
+    private static String recordSet(String name, String type, String etag, String records) {
+        return "{\"id\":\"" + ZONE + "/" + type + "/" + name + "\",\"name\":\"" + name + "\","
+                + "\"type\":\"Microsoft.Network/dnszones/" + type + "\",\"etag\":\"" + etag + "\","
+                + "\"properties\":{\"TTL\":3600," + records + "}}";
+    }
+}
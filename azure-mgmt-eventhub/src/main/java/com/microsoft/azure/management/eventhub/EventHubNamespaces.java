@@ -21,6 +21,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -31,6 +32,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface EventHubNamespaces extends
         SupportsCreating<EventHubNamespace.DefinitionStages.Blank>,
         SupportsListing<EventHubNamespace>,
+        SupportsListingInPages<EventHubNamespace>,
         SupportsListingByResourceGroup<EventHubNamespace>,
         SupportsGettingByResourceGroup<EventHubNamespace>,
         SupportsGettingById<EventHubNamespace>,
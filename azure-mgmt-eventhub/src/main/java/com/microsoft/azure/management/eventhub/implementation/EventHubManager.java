@@ -24,9 +24,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure EventHub resource management.
@@ -42,6 +43,7 @@ public final class EventHubManager extends Manager<EventHubManager, EventHubMana
     private DisasterRecoveryPairingAuthorizationRules disasterRecoveryPairingAuthorizationRules;
 
     private StorageManager storageManager;
+    private final RestClient restClient;
     /**
      * Get a Configurable instance that can be used to create EventHubManager with optional configuration.
      *
@@ -61,7 +63,7 @@ public final class EventHubManager extends Manager<EventHubManager, EventHubMana
         return new EventHubManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -103,7 +105,7 @@ public final class EventHubManager extends Manager<EventHubManager, EventHubMana
                 restClient,
                 subscriptionId,
                 new EventHubManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        storageManager = StorageManager.authenticate(restClient, subscriptionId);
+        this.restClient = restClient;
 
     }
 
@@ -124,7 +126,7 @@ public final class EventHubManager extends Manager<EventHubManager, EventHubMana
     @Beta(SinceVersion.V2_0_0)
     public EventHubs eventHubs() {
         if (this.eventHubs == null) {
-            this.eventHubs = new EventHubsImpl(this, this.storageManager);
+            this.eventHubs = new EventHubsImpl(this, storageManager());
         }
         return this.eventHubs;
     }
@@ -183,4 +185,16 @@ public final class EventHubManager extends Manager<EventHubManager, EventHubMana
         }
         return this.disasterRecoveryPairingAuthorizationRules;
     }
-}
\ No newline at end of file
+
+    private StorageManager storageManager() {
+        if (storageManager == null) {
+            storageManager = sharedManager(StorageManager.class, new Func0<StorageManager>() {
+                @Override
+                public StorageManager call() {
+                    return StorageManager.authenticate(restClient, subscriptionId());
+                }
+            });
+        }
+        return storageManager;
+    }
+}
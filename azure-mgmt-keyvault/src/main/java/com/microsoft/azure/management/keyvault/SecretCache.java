@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import rx.Observable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A read-through cache of the secrets of a vault.
+ * <p>
+ * Getting a secret returns the cached secret as long as it is not older than the time to live, a secret
+ * read shortly before it expires is refreshed in the background. Concurrent gets of the same secret share a
+ * single request. The secrets set or deleted through the vault are evicted from the cache.
+ */
+@Beta(SinceVersion.V1_15_0)
+@Fluent(ContainerName = "/Microsoft.Azure.Management.Fluent.KeyVault")
+public interface SecretCache {
+    /**
+     * Sets the duration a secret is served from the cache before being fetched again.
+     * The default is five minutes.
+     *
+     * @param timeToLive the duration
+     * @param unit the unit of the duration
+     * @return the cache
+     */
+    SecretCache withTimeToLive(long timeToLive, TimeUnit unit);
+
+    /**
+     * Sets how long before its expiry a secret read from the cache is refreshed in the background.
+     * The default is thirty seconds, zero disables the background refresh.
+     *
+     * @param refreshAhead the duration before the expiry
+     * @param unit the unit of the duration
+     * @return the cache
+     */
+    SecretCache withRefreshAhead(long refreshAhead, TimeUnit unit);
+
+    /**
+     * Sets the maximum number of secrets in the cache, the least recently used secrets are
+     * evicted first. The default is 1024.
+     *
+     * @param maxSize the maximum number of secrets
+     * @return the cache
+     */
+    SecretCache withMaxSize(int maxSize);
+
+    /**
+     * Gets a secret by its identifier, with or without a version.
+     *
+     * @param id the secret identifier
+     * @return the secret
+     */
+    Secret getById(String id);
+
+    /**
+     * Gets a secret by its identifier, with or without a version.
+     *
+     * @param id the secret identifier
+     * @return an observable that emits the secret
+     */
+    Observable<Secret> getByIdAsync(String id);
+
+    /**
+     * Gets the current version of a secret by its name.
+     *
+     * @param name the secret name
+     * @return the secret
+     */
+    Secret getByName(String name);
+
+    /**
+     * Gets the current version of a secret by its name.
+     *
+     * @param name the secret name
+     * @return an observable that emits the secret
+     */
+    Observable<Secret> getByNameAsync(String name);
+
+    /**
+     * Evicts all the versions of a secret from the cache.
+     *
+     * @param id the identifier of the secret or of one of its versions
+     */
+    void invalidate(String id);
+
+    /**
+     * Evicts all the secrets from the cache.
+     */
+    void invalidateAll();
+
+    /**
+     * @return the number of secrets in the cache
+     */
+    int size();
+
+    /**
+     * @return the number of gets served from the cache
+     */
+    long hitCount();
+
+    /**
+     * @return the number of gets that required a request
+     */
+    long missCount();
+}
@@ -47,6 +47,14 @@ public interface Vault extends
     @Beta(SinceVersion.V1_6_0)
     Secrets secrets();
 
+    /**
+     * Gets the read-through cache of the vault secrets, created on first use.
+     *
+     * @return the secret cache
+     */
+    @Beta(SinceVersion.V1_15_0)
+    SecretCache secretCache();
+
     /**
      * @return the URI of the vault for performing operations on keys and secrets.
      */
@@ -16,8 +16,9 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure KeyVault resource management.
@@ -29,6 +30,7 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
     private Vaults vaults;
     // Variables
     private final String tenantId;
+    private final RestClient restClient;
 
     /**
      * Get a Configurable instance that can be used to create KeyVaultManager with optional configuration.
@@ -50,7 +52,7 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
         return new KeyVaultManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -100,7 +102,7 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
                 restClient,
                 subscriptionId,
                 new KeyVaultManagementClientImpl(restClient).withSubscriptionId(subscriptionId));
-        graphRbacManager = GraphRbacManager.authenticate(restClient, tenantId);
+        this.restClient = restClient;
         this.tenantId = tenantId;
     }
 
@@ -111,9 +113,21 @@ public final class KeyVaultManager extends Manager<KeyVaultManager, KeyVaultMana
         if (vaults == null) {
             vaults = new VaultsImpl(
                     this,
-                    graphRbacManager,
+                    graphRbacManager(),
                     tenantId);
         }
         return vaults;
     }
+
+    private GraphRbacManager graphRbacManager() {
+        if (graphRbacManager == null) {
+            graphRbacManager = sharedManager(GraphRbacManager.class, tenantId, new Func0<GraphRbacManager>() {
+                @Override
+                public GraphRbacManager call() {
+                    return GraphRbacManager.authenticate(restClient, tenantId);
+                }
+            });
+        }
+        return graphRbacManager;
+    }
 }
@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault.implementation;
+
+import com.microsoft.azure.keyvault.SecretIdentifier;
+import com.microsoft.azure.keyvault.models.SecretBundle;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.keyvault.Secret;
+import com.microsoft.azure.management.keyvault.SecretCache;
+import com.microsoft.azure.management.keyvault.Vault;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.functions.Actions;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Implementation for SecretCache.
+ */
+@LangDefinition
+class SecretCacheImpl implements SecretCache {
+    private static final Func0<Long> SYSTEM_TICKER = new Func0<Long>() {
+        @Override
+        public Long call() {
+            return System.nanoTime();
+        }
+    };
+
+    private final Vault vault;
+    private final Func1<String, Observable<SecretBundle>> loader;
+    private final Func0<Long> ticker;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Observable<SecretBundle>> inFlight = new HashMap<>();
+    private int maxSize = 1024;
+    private long timeToLiveInNanos = TimeUnit.MINUTES.toNanos(5);
+    private long refreshAheadInNanos = TimeUnit.SECONDS.toNanos(30);
+    private long generation;
+    private long hitCount;
+    private long missCount;
+
+    SecretCacheImpl(Vault vault, Func1<String, Observable<SecretBundle>> loader) {
+        this(vault, loader, SYSTEM_TICKER);
+    }
+
+    /**
+     * Creates a cache reading the time the secrets are stored and read at from a ticker.
+     *
+     * @param vault the vault of the secrets
+     * @param loader the function fetching a secret by its identifier
+     * @param ticker the function returning the current time in nanoseconds, from an arbitrary origin
+     */
+    SecretCacheImpl(Vault vault, Func1<String, Observable<SecretBundle>> loader, Func0<Long> ticker) {
+        this.vault = vault;
+        this.loader = loader;
+        this.ticker = ticker;
+    }
+
+    @Override
+    public SecretCacheImpl withTimeToLive(long timeToLive, TimeUnit unit) {
+        synchronized (this) {
+            this.timeToLiveInNanos = unit.toNanos(timeToLive);
+        }
+        return this;
+    }
+
+    @Override
+    public SecretCacheImpl withRefreshAhead(long refreshAhead, TimeUnit unit) {
+        synchronized (this) {
+            this.refreshAheadInNanos = unit.toNanos(refreshAhead);
+        }
+        return this;
+    }
+
+    @Override
+    public SecretCacheImpl withMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        synchronized (this) {
+            this.maxSize = maxSize;
+            trim();
+        }
+        return this;
+    }
+
+    @Override
+    public Secret getById(String id) {
+        return getByIdAsync(id).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Secret> getByIdAsync(final String id) {
+        final String key = normalize(id);
+        return Observable.defer(new Func0<Observable<Secret>>() {
+            @Override
+            public Observable<Secret> call() {
+                Observable<SecretBundle> source;
+                Observable<SecretBundle> refresh = null;
+                synchronized (SecretCacheImpl.this) {
+                    Entry entry = entries.get(key);
+                    long age = entry == null ? 0 : ticker.call() - entry.storedAt;
+                    if (entry != null && age < timeToLiveInNanos) {
+                        hitCount++;
+                        source = Observable.just(entry.bundle);
+                        if (refreshAheadInNanos > 0
+                                && age >= timeToLiveInNanos - refreshAheadInNanos
+                                && !inFlight.containsKey(key)) {
+                            refresh = fetch(key, id);
+                        }
+                    } else {
+                        if (entry != null) {
+                            entries.remove(key);
+                        }
+                        source = inFlight.get(key);
+                        if (source == null) {
+                            missCount++;
+                            source = fetch(key, id);
+                        }
+                    }
+                }
+                if (refresh != null) {
+                    // The cached secret stays until it expires if the refresh fails
+                    refresh.subscribeOn(SdkContext.getRxScheduler())
+                            .subscribe(Actions.empty(), new Action1<Throwable>() {
+                                @Override
+                                public void call(Throwable throwable) {
+                                }
+                            });
+                }
+                return source.map(new Func1<SecretBundle, Secret>() {
+                    @Override
+                    public Secret call(SecretBundle bundle) {
+                        return new SecretImpl(bundle.secretIdentifier().name(), bundle, vault);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public Secret getByName(String name) {
+        return getByNameAsync(name).toBlocking().single();
+    }
+
+    @Override
+    public Observable<Secret> getByNameAsync(String name) {
+        return getByIdAsync(new SecretIdentifier(vault.vaultUri(), name).identifier());
+    }
+
+    @Override
+    public void invalidate(String id) {
+        if (id == null) {
+            return;
+        }
+        String name = new SecretIdentifier(normalize(id)).name();
+        synchronized (this) {
+            generation++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (name.equals(iterator.next().name)) {
+                    iterator.remove();
+                }
+            }
+            Iterator<String> keys = inFlight.keySet().iterator();
+            while (keys.hasNext()) {
+                if (name.equals(new SecretIdentifier(keys.next()).name())) {
+                    keys.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (this) {
+            generation++;
+            entries.clear();
+            inFlight.clear();
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    @Override
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Starts sharing the request of a secret, must be called while holding the lock.
+     */
+    private Observable<SecretBundle> fetch(final String key, String id) {
+        final String name = new SecretIdentifier(key).name();
+        final long fetchGeneration = generation;
+        final AtomicReference<Observable<SecretBundle>> self = new AtomicReference<>();
+        Observable<SecretBundle> source = loader.call(id)
+                .doOnNext(new Action1<SecretBundle>() {
+                    @Override
+                    public void call(SecretBundle bundle) {
+                        if (bundle != null) {
+                            store(key, new Entry(bundle, name, ticker.call()), fetchGeneration);
+                        }
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        synchronized (SecretCacheImpl.this) {
+                            if (inFlight.get(key) == self.get()) {
+                                inFlight.remove(key);
+                            }
+                        }
+                    }
+                })
+                .cache();
+        self.set(source);
+        inFlight.put(key, source);
+        return source;
+    }
+
+    private synchronized void store(String key, Entry entry, long fetchGeneration) {
+        if (fetchGeneration != generation) {
+            // The secret was invalidated while it was being fetched
+            return;
+        }
+        entries.put(key, entry);
+        trim();
+    }
+
+    private void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String normalize(String id) {
+        String key = id.toLowerCase(Locale.ROOT);
+        return key.endsWith("/") ? key.substring(0, key.length() - 1) : key;
+    }
+
+    /**
+     * A cached secret.
+     */
+    private static final class Entry {
+        private final SecretBundle bundle;
+        private final String name;
+        private final long storedAt;
+
+        private Entry(SecretBundle bundle, String name, long storedAt) {
+            this.bundle = bundle;
+            this.name = name;
+            this.storedAt = storedAt;
+        }
+    }
+}
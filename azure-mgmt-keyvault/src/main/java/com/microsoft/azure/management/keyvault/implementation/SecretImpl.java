@@ -168,6 +168,7 @@ class SecretImpl
                     public void call() {
                         setSecretRequest = null;
                         updateSecretRequest = new UpdateSecretRequest.Builder(vault.vaultUri(), name());
+                        invalidateCachedSecret();
                     }
                 });
     }
@@ -193,6 +194,7 @@ class SecretImpl
             public void call() {
                 setSecretRequest = null;
                 updateSecretRequest = new UpdateSecretRequest.Builder(vault.vaultUri(), name());
+                invalidateCachedSecret();
             }
         });
     }
@@ -222,4 +224,10 @@ class SecretImpl
         updateSecretRequest.withContentType(contentType);
         return this;
     }
+
+    private void invalidateCachedSecret() {
+        if (vault instanceof VaultImpl) {
+            ((VaultImpl) vault).invalidateCachedSecret(id());
+        }
+    }
 }
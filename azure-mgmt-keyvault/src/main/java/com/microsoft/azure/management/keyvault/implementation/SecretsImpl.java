@@ -20,11 +20,9 @@ import com.microsoft.azure.management.resources.fluentcore.arm.collection.implem
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
-import com.microsoft.rest.protocol.SerializerAdapter;
 import rx.Completable;
 import rx.Observable;
-
-import java.io.IOException;
+import rx.functions.Action0;
 
 /**
  * The implementation of Secrets and its parent interfaces.
@@ -99,18 +97,21 @@ class SecretsImpl
         if (inner == null) {
             return null;
         }
-        SerializerAdapter<?> serializer = vault.manager().inner().restClient().serializerAdapter();
-        try {
-            return wrapModel(serializer.<SecretBundle>deserialize(serializer.serialize(inner), SecretBundle.class));
-        } catch (IOException e) {
-            return null;
-        }
+        return wrapModel(new ListedSecretBundle(inner));
     }
 
     @Override
     public Completable deleteByIdAsync(String id) {
-        SecretIdentifier identifier = new SecretIdentifier(id);
-        return Completable.fromFuture(inner.deleteSecretAsync(identifier.vault(), identifier.name(), null));
+        final SecretIdentifier identifier = new SecretIdentifier(id);
+        return Completable.fromFuture(inner.deleteSecretAsync(identifier.vault(), identifier.name(), null))
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        if (vault instanceof VaultImpl) {
+                            ((VaultImpl) vault).invalidateCachedSecret(identifier.identifier());
+                        }
+                    }
+                });
     }
 
     @Override
@@ -132,4 +133,25 @@ class SecretsImpl
             }
         }.toObservable();
     }
+
+    /**
+     * The secret bundle of a listed secret, mapped from the secret item without its value.
+     */
+    private static final class ListedSecretBundle extends SecretBundle {
+        private final Boolean managed;
+
+        private ListedSecretBundle(SecretItem item) {
+            withId(item.id());
+            withAttributes(item.attributes());
+            withTags(item.tags());
+            withContentType(item.contentType());
+            // The managed flag of a secret bundle is read-only
+            this.managed = item.managed();
+        }
+
+        @Override
+        public Boolean managed() {
+            return managed;
+        }
+    }
 }
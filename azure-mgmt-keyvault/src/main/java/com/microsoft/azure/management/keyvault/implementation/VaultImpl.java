@@ -13,6 +13,7 @@ import java.util.NoSuchElementException;
 
 import com.microsoft.azure.CloudException;
 import com.microsoft.azure.keyvault.KeyVaultClient;
+import com.microsoft.azure.keyvault.models.SecretBundle;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.graphrbac.ActiveDirectoryUser;
 import com.microsoft.azure.management.graphrbac.ServicePrincipal;
@@ -25,6 +26,7 @@ import com.microsoft.azure.management.keyvault.Keys;
 import com.microsoft.azure.management.keyvault.NetworkRuleAction;
 import com.microsoft.azure.management.keyvault.NetworkRuleBypassOptions;
 import com.microsoft.azure.management.keyvault.NetworkRuleSet;
+import com.microsoft.azure.management.keyvault.SecretCache;
 import com.microsoft.azure.management.keyvault.Secrets;
 import com.microsoft.azure.management.keyvault.Sku;
 import com.microsoft.azure.management.keyvault.SkuName;
@@ -38,6 +40,7 @@ import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 
 import rx.Observable;
 import rx.functions.Action1;
+import rx.functions.Func0;
 import rx.functions.Func1;
 import rx.functions.FuncN;
 
@@ -53,6 +56,7 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
     private KeyVaultClient client;
     private Keys keys;
     private Secrets secrets;
+    private SecretCacheImpl secretCache;
 
     VaultImpl(String key, VaultInner innerObject, KeyVaultManager manager, GraphRbacManager graphRbacManager) {
         super(key, innerObject, manager);
@@ -89,6 +93,35 @@ class VaultImpl extends GroupableResourceImpl<Vault, VaultInner, VaultImpl, KeyV
         return secrets;
     }
 
+    @Override
+    public synchronized SecretCache secretCache() {
+        if (secretCache == null) {
+            secretCache = new SecretCacheImpl(this, new Func1<String, Observable<SecretBundle>>() {
+                @Override
+                public Observable<SecretBundle> call(final String id) {
+                    return Observable.defer(new Func0<Observable<SecretBundle>>() {
+                        @Override
+                        public Observable<SecretBundle> call() {
+                            return Observable.from(client.getSecretAsync(id, null));
+                        }
+                    });
+                }
+            });
+        }
+        return secretCache;
+    }
+
+    /**
+     * Evicts a secret from the secret cache, if the cache is used.
+     *
+     * @param id the identifier of the secret or of one of its versions
+     */
+    synchronized void invalidateCachedSecret(String id) {
+        if (secretCache != null) {
+            secretCache.invalidate(id);
+        }
+    }
+
     @Override
     public String vaultUri() {
         if (inner().properties() == null) {
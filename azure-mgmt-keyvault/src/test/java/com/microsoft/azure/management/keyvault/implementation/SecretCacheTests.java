@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.keyvault.implementation;
+
+import com.microsoft.azure.AzureEnvironment;
+import com.microsoft.azure.credentials.ApplicationTokenCredentials;
+import com.microsoft.azure.keyvault.models.SecretBundle;
+import com.microsoft.azure.management.keyvault.Secret;
+import com.microsoft.azure.management.keyvault.VaultProperties;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class to test SecretCacheImpl class.
+ */
+public class SecretCacheTests {
+    private static final String VAULT_URI = "https://myvault.vault.azure.net";
+
+    private final AtomicInteger loads = new AtomicInteger();
+    // The time read by the cache, in nanoseconds, only advanced by the tests
+    private final AtomicLong now = new AtomicLong();
+    private VaultImpl vault;
+
+    @Before
+    public void setup() {
+        KeyVaultManager manager = KeyVaultManager.authenticate(new ApplicationTokenCredentials(
+                "00000000-0000-0000-0000-000000000000",
+                "00000000-0000-0000-0000-000000000000",
+                "secret",
+                AzureEnvironment.AZURE), "00000000-0000-0000-0000-000000000000");
+        vault = new VaultImpl("myvault",
+                new VaultInner().withProperties(new VaultProperties().withVaultUri(VAULT_URI)),
+                manager,
+                null);
+    }
+
+    @Test
+    public void canShareConcurrentLoadsAndServeFromCache() {
+        // Loaded asynchronously, so that both gets wait on the same load
+        SecretCacheImpl cache = newCache(50);
+        String id = VAULT_URI + "/secrets/secret1";
+
+        List<Secret> secrets = Observable.merge(cache.getByIdAsync(id), cache.getByIdAsync(id.toUpperCase()))
+                .toList().toBlocking().single();
+        Assert.assertEquals(2, secrets.size());
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals("secret1", secrets.get(0).name());
+        Assert.assertEquals("value1", secrets.get(0).value());
+
+        Assert.assertEquals("value1", cache.getByName("secret1").value());
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.missCount());
+        Assert.assertEquals(1, cache.hitCount());
+    }
+
+    @Test
+    public void canEvictLeastRecentlyUsedAndInvalidatedSecrets() {
+        SecretCacheImpl cache = newCache(0).withMaxSize(2);
+        cache.getByName("secret1");
+        cache.getByName("secret2");
+        cache.getByName("secret1");
+        cache.getByName("secret3");
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(3, loads.get());
+
+        cache.getByName("secret1");
+        Assert.assertEquals(3, loads.get());
+        cache.getByName("secret2");
+        Assert.assertEquals(4, loads.get());
+
+        // Invalidating a version evicts the current version as well
+        cache.invalidate(VAULT_URI + "/secrets/secret2/0123456789abcdef");
+        Assert.assertEquals(1, cache.size());
+        cache.getByName("secret2");
+        Assert.assertEquals(5, loads.get());
+
+        cache.invalidateAll();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void canExpireAndRefreshBeforeExpiry() {
+        // Refreshes in the background synchronously
+        Scheduler scheduler = SdkContext.getRxScheduler();
+        SdkContext.setRxScheduler(Schedulers.trampoline());
+        try {
+            SecretCacheImpl cache = newCache(0).withTimeToLive(1, TimeUnit.SECONDS).withRefreshAhead(0, TimeUnit.SECONDS);
+            Assert.assertEquals("value1", cache.getByName("secret1").value());
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+            Assert.assertEquals("value1", cache.getByName("secret1").value());
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            Assert.assertEquals("value2", cache.getByName("secret1").value());
+            Assert.assertEquals(2, cache.missCount());
+
+            cache.withTimeToLive(2, TimeUnit.SECONDS).withRefreshAhead(1700, TimeUnit.MILLISECONDS);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(299));
+            Assert.assertEquals("value2", cache.getByName("secret1").value());
+            Assert.assertEquals(2, loads.get());
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            // Served from the cache while being refreshed in the background
+            Assert.assertEquals("value2", cache.getByName("secret1").value());
+            Assert.assertEquals(3, loads.get());
+            Assert.assertEquals("value3", cache.getByName("secret1").value());
+            Assert.assertEquals(2, cache.missCount());
+        } finally {
+            SdkContext.setRxScheduler(scheduler);
+        }
+    }
+
+    private SecretCacheImpl newCache(final long loadDelayInMillis) {
+        return new SecretCacheImpl(vault, new Func1<String, Observable<SecretBundle>>() {
+            @Override
+            public Observable<SecretBundle> call(final String id) {
+                return Observable.defer(new Func0<Observable<SecretBundle>>() {
+                    @Override
+                    public Observable<SecretBundle> call() {
+                        SecretBundle bundle = new SecretBundle()
+                                .withId(id)
+                                .withValue("value" + loads.incrementAndGet());
+                        return loadDelayInMillis == 0
+                                ? Observable.just(bundle)
+                                : Observable.just(bundle).delay(loadDelayInMillis, TimeUnit.MILLISECONDS);
+                    }
+                });
+            }
+        }, new Func0<Long>() {
+            @Override
+            public Long call() {
+                return now.get();
+            }
+        });
+    }
+}
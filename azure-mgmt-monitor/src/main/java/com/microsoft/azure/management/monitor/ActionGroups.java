@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -30,6 +31,7 @@ import rx.Completable;
 public interface ActionGroups extends
         SupportsCreating<ActionGroup.DefinitionStages.Blank>,
         SupportsListing<ActionGroup>,
+        SupportsListingInPages<ActionGroup>,
         SupportsListingByResourceGroup<ActionGroup>,
         SupportsGettingById<ActionGroup>,
         SupportsDeletingById,
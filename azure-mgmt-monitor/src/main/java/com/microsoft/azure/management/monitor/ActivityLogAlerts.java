@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -27,6 +28,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface ActivityLogAlerts extends
         SupportsCreating<ActivityLogAlert.DefinitionStages.Blank>,
         SupportsListing<ActivityLogAlert>,
+        SupportsListingInPages<ActivityLogAlert>,
         SupportsListingByResourceGroup<ActivityLogAlert>,
         SupportsGettingById<ActivityLogAlert>,
         SupportsDeletingById,
@@ -6,7 +6,10 @@
 
 package com.microsoft.azure.management.monitor;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.apigeneration.Method;
 import com.microsoft.azure.management.monitor.implementation.ActivityLogsInner;
@@ -14,6 +17,7 @@ import com.microsoft.azure.management.monitor.implementation.MonitorManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import org.joda.time.DateTime;
+import org.joda.time.Period;
 import rx.Observable;
 
 import java.util.List;
@@ -173,6 +177,47 @@ public interface ActivityLogs extends
             @Method
             Observable<EventData> executeAsync();
 
+            /**
+             * Executes the query, page by page.
+             * <p>
+             * The pages are not retained once consumed and the next page is fetched while the current
+             * one is processed, so that walking a large number of events keeps the memory used flat.
+             *
+             * @return an observable that emits the pages of Activity Log events
+             */
+            @Method
+            @Beta(SinceVersion.V1_15_0)
+            Observable<Page<EventData>> executeInPagesAsync();
+
+            /**
+             * Executes the query, the time range being split into shards queried concurrently.
+             * <p>
+             * The events are emitted in the order of their timestamps, an event reported by two adjacent
+             * shards being emitted once.
+             *
+             * @param shardDuration the time range queried by each shard
+             * @param maxConcurrency the maximum number of shards queried concurrently
+             * @return an observable that emits the Activity Log events
+             */
+            @Method
+            @Beta(SinceVersion.V1_15_0)
+            Observable<EventData> executeInShardsAsync(Period shardDuration, int maxConcurrency);
+
+            /**
+             * Follows the Activity Log, polling for the events that occurred since the previous poll.
+             * <p>
+             * As events can be reported late, each poll goes back by the overlap before the end of the previous
+             * poll; only the events not already emitted are emitted. The observable completes once a poll reaches
+             * the end time of the query, so an end time in the future follows the log until then.
+             *
+             * @param pollingInterval the delay between two polls
+             * @param overlap how far before the end of the previous poll each poll goes back
+             * @return an observable that emits the Activity Log events as they are found
+             */
+            @Method
+            @Beta(SinceVersion.V1_15_0)
+            Observable<EventData> followAsync(Period pollingInterval, Period overlap);
+
             /**
              * Filters events that were generated at the Tenant level.
              *
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+/**
+ * The statistics of a metric across resources, at each timestamp of the queried time range.
+ * <p>
+ * The i-th statistic of each kind is the statistic at the i-th timestamp. Timestamps at which no resource
+ * has a value have a count of zero and {@link Double#NaN} statistics.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface MetricAggregate {
+    /**
+     * @return the metric name
+     */
+    String metricName();
+
+    /**
+     * @return the aggregation of the values of each resource the statistics are computed from
+     */
+    AggregationType aggregation();
+
+    /**
+     * @return the timestamps, in milliseconds since the epoch, one interval apart
+     */
+    long[] timestamps();
+
+    /**
+     * @return the number of values at each timestamp
+     */
+    int[] counts();
+
+    /**
+     * @return the minimum value at each timestamp
+     */
+    double[] minimums();
+
+    /**
+     * @return the maximum value at each timestamp
+     */
+    double[] maximums();
+
+    /**
+     * @return the average value at each timestamp
+     */
+    double[] averages();
+
+    /**
+     * Gets a percentile of the values at each timestamp, using the nearest rank method. The percentile
+     * is estimated within 1% of the actual value, the 0th and 100th percentiles being exact.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile at each timestamp
+     */
+    double[] percentiles(double percentile);
+}
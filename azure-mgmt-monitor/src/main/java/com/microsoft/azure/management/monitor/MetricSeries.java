@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+
+import java.util.Map;
+
+/**
+ * The values of a metric of a resource over a time window, stored in primitive arrays.
+ * <p>
+ * The i-th value of each aggregation is the value at the i-th timestamp.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface MetricSeries {
+    /**
+     * @return the resource id
+     */
+    String resourceId();
+
+    /**
+     * @return the metric name
+     */
+    String metricName();
+
+    /**
+     * @return the unit of the metric
+     */
+    Unit unit();
+
+    /**
+     * @return the dimension values of the series, empty if the metric is not split by dimension
+     */
+    Map<String, String> metadata();
+
+    /**
+     * @return the number of timestamps in the series
+     */
+    int size();
+
+    /**
+     * @return the timestamps of the values, in milliseconds since the epoch
+     */
+    long[] timestamps();
+
+    /**
+     * Gets the values of an aggregation, {@link Double#NaN} where the aggregation has no value.
+     *
+     * @param aggregation the aggregation
+     * @return the values, null if the aggregation was not queried
+     */
+    double[] values(AggregationType aggregation);
+}
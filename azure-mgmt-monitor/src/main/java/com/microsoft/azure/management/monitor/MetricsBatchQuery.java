@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Fluent;
+import com.microsoft.azure.management.apigeneration.Method;
+import org.joda.time.DateTime;
+import org.joda.time.Period;
+import rx.Observable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A query of metrics over many resources.
+ * <p>
+ * The metrics of each resource are queried window by window, with a bounded number of concurrent requests.
+ * Throttled requests are retried once the delay requested by the service has elapsed. The responses are
+ * decoded straight into primitive arrays, without materializing a model object per metric value.
+ */
+@Fluent
+@Beta(Beta.SinceVersion.V1_15_0)
+public interface MetricsBatchQuery {
+    /**
+     * Specifies the resources to query the metrics of.
+     *
+     * @param resourceIds the resource ids
+     * @return the query
+     */
+    MetricsBatchQuery withResourceIds(Collection<String> resourceIds);
+
+    /**
+     * Specifies the metrics to query.
+     *
+     * @param metricNames the metric names
+     * @return the query
+     */
+    MetricsBatchQuery withMetricNames(String... metricNames);
+
+    /**
+     * Specifies the aggregations to query, the default is the average.
+     *
+     * @param aggregations the aggregations
+     * @return the query
+     */
+    MetricsBatchQuery withAggregations(AggregationType... aggregations);
+
+    /**
+     * Specifies the start of the time range to query.
+     *
+     * @param startTime the start time, inclusive
+     * @return the query
+     */
+    MetricsBatchQuery startingFrom(DateTime startTime);
+
+    /**
+     * Specifies the end of the time range to query.
+     *
+     * @param endTime the end time, exclusive
+     * @return the query
+     */
+    MetricsBatchQuery endsBefore(DateTime endTime);
+
+    /**
+     * Specifies the interval between the values of the metrics, the default is one minute.
+     *
+     * @param interval the interval
+     * @return the query
+     */
+    MetricsBatchQuery withInterval(Period interval);
+
+    /**
+     * Specifies the longest time range queried by a single request, the default is one day.
+     * Longer time ranges are split into windows queried separately.
+     *
+     * @param window the longest time range of a request
+     * @return the query
+     */
+    MetricsBatchQuery withWindow(Period window);
+
+    /**
+     * Specifies the OData filter on the metric dimensions.
+     *
+     * @param odataFilter the filter
+     * @return the query
+     */
+    MetricsBatchQuery withOdataFilter(String odataFilter);
+
+    /**
+     * Specifies the maximum number of concurrent requests, the default is 16.
+     *
+     * @param maxConcurrency the maximum number of concurrent requests
+     * @return the query
+     */
+    MetricsBatchQuery withMaxConcurrency(int maxConcurrency);
+
+    /**
+     * Queries the metrics.
+     *
+     * @return an observable that emits the series of each resource, metric, dimension values and window,
+     * as the responses arrive
+     */
+    @Method
+    Observable<MetricSeries> executeAsync();
+
+    /**
+     * Queries the metrics and computes the statistics of each metric across the resources.
+     *
+     * @param aggregation the queried aggregation the statistics are computed from
+     * @return the statistics of each metric
+     */
+    @Method
+    List<MetricAggregate> aggregate(AggregationType aggregation);
+
+    /**
+     * Queries the metrics and computes the statistics of each metric across the resources, the series
+     * being folded into the statistics as they arrive.
+     *
+     * @param aggregation the queried aggregation the statistics are computed from
+     * @return an observable that emits the statistics of each metric once all the series are received
+     */
+    @Method
+    Observable<MetricAggregate> aggregateAsync(AggregationType aggregation);
+}
@@ -16,16 +16,31 @@ import com.microsoft.azure.management.monitor.ActivityLogs;
 import com.microsoft.azure.management.monitor.EventData;
 import com.microsoft.azure.management.monitor.LocalizableString;
 import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
 import org.joda.time.format.ISODateTimeFormat;
 import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.schedulers.Schedulers;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation for {@link ActivityLogs}.
@@ -34,8 +49,20 @@ import java.util.TreeSet;
 class ActivityLogsImpl
     implements ActivityLogs,
         ActivityLogs.ActivityLogsQueryDefinition {
+    // Orders the events by timestamp, then by id so that the order of events at the same time is stable
+    private static final Func2<EventData, EventData, Integer> EVENT_ORDER = new Func2<EventData, EventData, Integer>() {
+        @Override
+        public Integer call(EventData left, EventData right) {
+            int compare = Long.compare(timestampOf(left), timestampOf(right));
+            if (compare != 0) {
+                return compare;
+            }
+            return ObjectUtils.compare(left.eventDataId(), right.eventDataId());
+        }
+    };
 
     private final MonitorManager myManager;
+    private final Scheduler scheduler;
     private DateTime queryStartTime;
     private DateTime queryEndTime;
     private TreeSet<String> responsePropertySelector;
@@ -43,7 +70,18 @@ class ActivityLogsImpl
     private boolean filterForTenant;
 
     ActivityLogsImpl(final MonitorManager monitorManager) {
+        this(monitorManager, Schedulers.computation());
+    }
+
+    /**
+     * Creates the Activity Logs entry point timing the polls of the followed logs on a scheduler.
+     *
+     * @param monitorManager the manager
+     * @param scheduler the scheduler the polls are delayed on, its clock being the current time
+     */
+    ActivityLogsImpl(final MonitorManager monitorManager, final Scheduler scheduler) {
         this.myManager = monitorManager;
+        this.scheduler = scheduler;
         this.responsePropertySelector = new TreeSet<>();
         this.filterString = "";
         this.filterForTenant = false;
@@ -170,10 +208,160 @@ class ActivityLogsImpl
         }
         return listEventDataAsync(getOdataFilterString() + this.filterString);
     }
+
+    @Override
+    public Observable<Page<EventData>> executeInPagesAsync() {
+        PagedListConverter<EventDataInner, EventData> converter = new PagedListConverter<EventDataInner, EventData>() {
+            @Override
+            public Observable<EventData> typeConvertAsync(EventDataInner inner) {
+                return Observable.just((EventData) new EventDataImpl(inner));
+            }
+        };
+        if (this.filterForTenant) {
+            return converter.convertPagesAsync(this.manager().inner().tenantActivityLogs()
+                    .listAsync(getOdataFilterString() + this.filterString + " eventChannels eq 'Admin, Operation'", createPropertyFilter()));
+        }
+        return converter.convertPagesAsync(this.inner().listAsync(getOdataFilterString() + this.filterString, createPropertyFilter()));
+    }
+
+    @Override
+    public Observable<EventData> executeInShardsAsync(Period shardDuration, final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        final String filterSuffix = getFilterSuffix();
+        final String propertyFilter = createOrderedPropertyFilter();
+        final List<DateTime[]> shards = new ArrayList<>();
+        DateTime shardStart = this.queryStartTime;
+        while (shardStart.isBefore(this.queryEndTime)) {
+            DateTime shardEnd = shardStart.plus(shardDuration);
+            if (!shardEnd.isAfter(shardStart) || shardEnd.isAfter(this.queryEndTime)) {
+                shardEnd = this.queryEndTime;
+            }
+            shards.add(new DateTime[] {shardStart, shardEnd});
+            shardStart = shardEnd;
+        }
+        if (shards.isEmpty()) {
+            return Observable.empty();
+        }
+        return Observable.defer(new Func0<Observable<EventData>>() {
+            @Override
+            public Observable<EventData> call() {
+                // Shards are inclusive of both ends, so an event at the boundary of two shards is reported
+                // twice; the events being ordered, the duplicates are among the events at the same time
+                final EventDataDeduplicator deduplicator = new EventDataDeduplicator();
+                return Observable.from(shards)
+                        .concatMapEager(new Func1<DateTime[], Observable<EventData>>() {
+                            @Override
+                            public Observable<EventData> call(DateTime[] shard) {
+                                return listOrderedEventDataAsync(getOdataFilterString(shard[0], shard[1]) + filterSuffix, propertyFilter)
+                                        .subscribeOn(SdkContext.getRxScheduler());
+                            }
+                        }, shards.size(), maxConcurrency)
+                        .filter(new Func1<EventData, Boolean>() {
+                            @Override
+                            public Boolean call(EventData eventData) {
+                                return deduplicator.isNew(eventData);
+                            }
+                        });
+            }
+        });
+    }
+
+    @Override
+    public Observable<EventData> followAsync(Period pollingInterval, Period overlap) {
+        final String filterSuffix = getFilterSuffix();
+        final String propertyFilter = createOrderedPropertyFilter();
+        final DateTime startTime = this.queryStartTime;
+        final DateTime endTime = this.queryEndTime;
+        final long pollingIntervalInMillis = pollingInterval.toStandardDuration().getMillis();
+        final long overlapInMillis = overlap.toStandardDuration().getMillis();
+        return Observable.defer(new Func0<Observable<EventData>>() {
+            @Override
+            public Observable<EventData> call() {
+                final EventDataFollower follower = new EventDataFollower(startTime, endTime, overlapInMillis, scheduler);
+                return Observable.defer(new Func0<Observable<EventData>>() {
+                    @Override
+                    public Observable<EventData> call() {
+                        final DateTime pollStart = follower.pollStart();
+                        final DateTime pollEnd = follower.pollEnd();
+                        return listOrderedEventDataAsync(getOdataFilterString(pollStart, pollEnd) + filterSuffix, propertyFilter)
+                                .filter(new Func1<EventData, Boolean>() {
+                                    @Override
+                                    public Boolean call(EventData eventData) {
+                                        return follower.isNew(eventData);
+                                    }
+                                })
+                                .doOnCompleted(new Action0() {
+                                    @Override
+                                    public void call() {
+                                        follower.polled(pollEnd);
+                                    }
+                                })
+                                .subscribeOn(SdkContext.getRxScheduler());
+                    }
+                }).repeatWhen(new Func1<Observable<? extends Void>, Observable<?>>() {
+                    @Override
+                    public Observable<?> call(Observable<? extends Void> polls) {
+                        return polls
+                                .takeWhile(new Func1<Object, Boolean>() {
+                                    @Override
+                                    public Boolean call(Object poll) {
+                                        return !follower.isDone();
+                                    }
+                                })
+                                .delay(pollingIntervalInMillis, TimeUnit.MILLISECONDS, scheduler);
+                    }
+                });
+            }
+        });
+    }
+
     private String getOdataFilterString() {
+        return getOdataFilterString(this.queryStartTime, this.queryEndTime);
+    }
+
+    private static String getOdataFilterString(DateTime startTime, DateTime endTime) {
         return String.format("eventTimestamp ge '%s' and eventTimestamp le '%s'",
-                this.queryStartTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
-                this.queryEndTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+                startTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                endTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+    }
+
+    private String getFilterSuffix() {
+        if (this.filterForTenant) {
+            return this.filterString + " eventChannels eq 'Admin, Operation'";
+        }
+        return this.filterString;
+    }
+
+    private Observable<EventData> listOrderedEventDataAsync(String filter, String propertyFilter) {
+        Observable<Page<EventDataInner>> pages = this.filterForTenant
+                ? this.manager().inner().tenantActivityLogs().listAsync(filter, propertyFilter)
+                : this.inner().listAsync(filter, propertyFilter);
+        return pages
+                .concatMapIterable(new Func1<Page<EventDataInner>, Iterable<EventDataInner>>() {
+                    @Override
+                    public Iterable<EventDataInner> call(Page<EventDataInner> page) {
+                        return page.items();
+                    }
+                })
+                .map(new Func1<EventDataInner, EventData>() {
+                    @Override
+                    public EventData call(EventDataInner eventDataInner) {
+                        return new EventDataImpl(eventDataInner);
+                    }
+                })
+                .toSortedList(EVENT_ORDER)
+                .concatMapIterable(new Func1<List<EventData>, Iterable<EventData>>() {
+                    @Override
+                    public Iterable<EventData> call(List<EventData> events) {
+                        return events;
+                    }
+                });
+    }
+
+    private static long timestampOf(EventData eventData) {
+        return eventData.eventTimestamp() == null ? Long.MIN_VALUE : eventData.eventTimestamp().getMillis();
     }
 
     private PagedList<EventData> listEventData(String filter) {
@@ -233,4 +421,89 @@ class ActivityLogsImpl
         }
         return propertyFilter;
     }
+
+    private String createOrderedPropertyFilter() {
+        // The events are ordered and de-duplicated by their timestamp and id, which must then be in the response
+        if (this.responsePropertySelector.isEmpty()) {
+            return null;
+        }
+        TreeSet<String> properties = new TreeSet<>(this.responsePropertySelector);
+        properties.add(EventDataPropertyName.EVENTDATAID.toString());
+        properties.add(EventDataPropertyName.EVENTTIMESTAMP.toString());
+        return StringUtils.join(properties, ',');
+    }
+
+    /**
+     * Drops the duplicates from events ordered by timestamp, remembering only the ids of the events
+     * at the latest timestamp.
+     */
+    private static final class EventDataDeduplicator {
+        private final Set<String> ids = new HashSet<>();
+        private long timestamp = Long.MIN_VALUE;
+
+        private boolean isNew(EventData eventData) {
+            long eventTimestamp = timestampOf(eventData);
+            if (eventTimestamp != this.timestamp) {
+                this.timestamp = eventTimestamp;
+                this.ids.clear();
+            }
+            return eventData.eventDataId() == null || this.ids.add(eventData.eventDataId());
+        }
+    }
+
+    /**
+     * The state of an Activity Log being followed: the time range of the next poll and the ids of the
+     * events emitted that the next poll may report again.
+     */
+    private static final class EventDataFollower {
+        private final DateTime startTime;
+        private final DateTime endTime;
+        private final long overlap;
+        private final Scheduler clock;
+        private final Map<String, Long> emitted = new LinkedHashMap<>();
+        private DateTime pollStart;
+        private boolean done;
+
+        private EventDataFollower(DateTime startTime, DateTime endTime, long overlap, Scheduler clock) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.overlap = overlap;
+            this.clock = clock;
+            this.pollStart = startTime;
+        }
+
+        private DateTime pollStart() {
+            return this.pollStart;
+        }
+
+        private DateTime pollEnd() {
+            DateTime now = new DateTime(this.clock.now());
+            return now.isBefore(this.endTime) ? now : this.endTime;
+        }
+
+        private boolean isNew(EventData eventData) {
+            if (eventData.eventDataId() == null) {
+                return true;
+            }
+            return this.emitted.put(eventData.eventDataId(), timestampOf(eventData)) == null;
+        }
+
+        private void polled(DateTime pollEnd) {
+            this.done = !pollEnd.isBefore(this.endTime);
+            DateTime nextPollStart = pollEnd.minus(this.overlap);
+            this.pollStart = nextPollStart.isAfter(this.startTime) ? nextPollStart : this.startTime;
+            // The events before the next poll will not be reported again
+            long horizon = this.pollStart.getMillis();
+            Iterator<Long> timestamps = this.emitted.values().iterator();
+            while (timestamps.hasNext()) {
+                if (timestamps.next() < horizon) {
+                    timestamps.remove();
+                }
+            }
+        }
+
+        private boolean isDone() {
+            return this.done;
+        }
+    }
 }
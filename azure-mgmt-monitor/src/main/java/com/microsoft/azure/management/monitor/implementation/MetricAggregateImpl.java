@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.MetricAggregate;
+import com.microsoft.azure.management.monitor.MetricSeries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation for MetricAggregate, folding the series of a metric into the statistics of each timestamp
+ * as they are added, the percentiles being estimated from a sketch of bounded size.
+ */
+@LangDefinition
+final class MetricAggregateImpl implements MetricAggregate {
+    private final String metricName;
+    private final AggregationType aggregation;
+    private final long startTime;
+    private final long interval;
+    private final int[] counts;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final double[] sums;
+    // The sketch of the values at each timestamp, for the percentiles
+    private final Sketch[] sketches;
+
+    /**
+     * Creates an empty aggregate.
+     *
+     * @param metricName the metric name
+     * @param aggregation the aggregation of the series values
+     * @param startTime the first timestamp, in milliseconds since the epoch
+     * @param endTime the end of the time range, exclusive, in milliseconds since the epoch
+     * @param interval the interval between timestamps, in milliseconds
+     */
+    MetricAggregateImpl(String metricName, AggregationType aggregation, long startTime, long endTime, long interval) {
+        this.metricName = metricName;
+        this.aggregation = aggregation;
+        this.startTime = startTime;
+        this.interval = interval;
+        int length = (int) ((endTime - startTime + interval - 1) / interval);
+        this.counts = new int[length];
+        this.minimums = new double[length];
+        this.maximums = new double[length];
+        this.sums = new double[length];
+        this.sketches = new Sketch[length];
+        Arrays.fill(this.minimums, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.maximums, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Folds a series into the statistics.
+     *
+     * @param series the series
+     */
+    void add(MetricSeries series) {
+        double[] values = series.values(aggregation);
+        if (values == null) {
+            return;
+        }
+        long[] timestamps = series.timestamps();
+        for (int i = 0; i < series.size(); i++) {
+            double value = values[i];
+            long offset = timestamps[i] - startTime;
+            if (Double.isNaN(value) || offset < 0 || offset / interval >= counts.length) {
+                continue;
+            }
+            int index = (int) (offset / interval);
+            if (sketches[index] == null) {
+                sketches[index] = new Sketch();
+            }
+            sketches[index].add(value);
+            counts[index]++;
+            minimums[index] = Math.min(minimums[index], value);
+            maximums[index] = Math.max(maximums[index], value);
+            sums[index] += value;
+        }
+    }
+
+    @Override
+    public String metricName() {
+        return this.metricName;
+    }
+
+    @Override
+    public AggregationType aggregation() {
+        return this.aggregation;
+    }
+
+    @Override
+    public long[] timestamps() {
+        long[] timestamps = new long[counts.length];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = startTime + i * interval;
+        }
+        return timestamps;
+    }
+
+    @Override
+    public int[] counts() {
+        return Arrays.copyOf(counts, counts.length);
+    }
+
+    @Override
+    public double[] minimums() {
+        return statistics(minimums);
+    }
+
+    @Override
+    public double[] maximums() {
+        return statistics(maximums);
+    }
+
+    @Override
+    public double[] averages() {
+        double[] averages = new double[counts.length];
+        for (int i = 0; i < averages.length; i++) {
+            averages[i] = counts[i] == 0 ? Double.NaN : sums[i] / counts[i];
+        }
+        return averages;
+    }
+
+    @Override
+    public double[] percentiles(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        double[] percentiles = new double[counts.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int count = counts[i];
+            int rank = Math.max((int) Math.ceil(percentile / 100 * count), 1);
+            if (count == 0) {
+                percentiles[i] = Double.NaN;
+            } else if (rank == 1) {
+                percentiles[i] = minimums[i];
+            } else if (rank == count) {
+                percentiles[i] = maximums[i];
+            } else {
+                percentiles[i] = Math.min(Math.max(sketches[i].valueAt(rank), minimums[i]), maximums[i]);
+            }
+        }
+        return percentiles;
+    }
+
+    private double[] statistics(double[] statistics) {
+        double[] copy = Arrays.copyOf(statistics, statistics.length);
+        for (int i = 0; i < copy.length; i++) {
+            if (counts[i] == 0) {
+                copy[i] = Double.NaN;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * The sketch of the values at a timestamp, counting them in buckets growing exponentially, so that
+     * the value at a rank is estimated within 1% of the actual value whatever the number of values.
+     * Past 2048 buckets of a sign, the buckets of the values closest to zero are merged.
+     */
+    private static final class Sketch {
+        private static final double RELATIVE_ACCURACY = 0.01;
+        private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+        private static final double LOG_GAMMA = Math.log(GAMMA);
+        private static final int MAX_BUCKETS = 2048;
+
+        // The counts by bucket index of the absolute values, the bucket i covering (GAMMA^(i-1), GAMMA^i]
+        private final TreeMap<Integer, Integer> positives = new TreeMap<>();
+        private final TreeMap<Integer, Integer> negatives = new TreeMap<>();
+        private int zeros;
+
+        private void add(double value) {
+            if (value == 0) {
+                zeros++;
+            } else {
+                add(value > 0 ? positives : negatives, (int) Math.ceil(Math.log(Math.abs(value)) / LOG_GAMMA));
+            }
+        }
+
+        private static void add(TreeMap<Integer, Integer> buckets, int index) {
+            Integer count = buckets.get(index);
+            buckets.put(index, count == null ? 1 : count + 1);
+            if (buckets.size() > MAX_BUCKETS) {
+                Map.Entry<Integer, Integer> lowest = buckets.pollFirstEntry();
+                Map.Entry<Integer, Integer> next = buckets.firstEntry();
+                buckets.put(next.getKey(), next.getValue() + lowest.getValue());
+            }
+        }
+
+        /**
+         * @param rank the rank of the value, from 1
+         * @return the estimate of the value at the rank
+         */
+        private double valueAt(int rank) {
+            int remaining = rank;
+            for (Map.Entry<Integer, Integer> bucket : negatives.descendingMap().entrySet()) {
+                remaining -= bucket.getValue();
+                if (remaining <= 0) {
+                    return -value(bucket.getKey());
+                }
+            }
+            remaining -= zeros;
+            if (remaining <= 0) {
+                return 0;
+            }
+            for (Map.Entry<Integer, Integer> bucket : positives.entrySet()) {
+                remaining -= bucket.getValue();
+                if (remaining <= 0) {
+                    return value(bucket.getKey());
+                }
+            }
+            return Double.NaN;
+        }
+
+        private static double value(int index) {
+            // The value of the bucket within the relative accuracy of both its bounds
+            return 2 * Math.pow(GAMMA, index) / (GAMMA + 1);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.Unit;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Implementation for MetricSeries.
+ */
+@LangDefinition
+final class MetricSeriesImpl implements MetricSeries {
+    private final String resourceId;
+    private final String metricName;
+    private final Unit unit;
+    private final Map<String, String> metadata;
+    private final int size;
+    private final long[] timestamps;
+    // The values by aggregation ordinal, null for the aggregations not queried
+    private final double[][] values;
+
+    MetricSeriesImpl(String resourceId, String metricName, Unit unit, Map<String, String> metadata,
+                     int size, long[] timestamps, double[][] values) {
+        this.resourceId = resourceId;
+        this.metricName = metricName;
+        this.unit = unit;
+        this.metadata = metadata;
+        this.size = size;
+        this.timestamps = timestamps.length == size ? timestamps : Arrays.copyOf(timestamps, size);
+        this.values = values;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && values[i].length != size) {
+                values[i] = Arrays.copyOf(values[i], size);
+            }
+        }
+    }
+
+    @Override
+    public String resourceId() {
+        return this.resourceId;
+    }
+
+    @Override
+    public String metricName() {
+        return this.metricName;
+    }
+
+    @Override
+    public Unit unit() {
+        return this.unit;
+    }
+
+    @Override
+    public Map<String, String> metadata() {
+        return this.metadata;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public long[] timestamps() {
+        return this.timestamps;
+    }
+
+    @Override
+    public double[] values(AggregationType aggregation) {
+        return this.values[aggregation.ordinal()];
+    }
+}
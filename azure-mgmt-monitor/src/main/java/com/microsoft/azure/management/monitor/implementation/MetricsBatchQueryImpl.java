@@ -0,0 +1,370 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.google.common.reflect.TypeToken;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.ErrorResponseException;
+import com.microsoft.azure.management.monitor.MetricAggregate;
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.MetricsBatchQuery;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import okhttp3.ResponseBody;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.ISODateTimeFormat;
+import retrofit2.Response;
+import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import rx.Observable;
+import rx.functions.Action2;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for MetricsBatchQuery.
+ */
+@LangDefinition
+class MetricsBatchQueryImpl implements MetricsBatchQuery {
+    private static final String API_VERSION = "2018-01-01";
+    private static final int MAX_THROTTLED_RETRIES = 3;
+
+    private final MonitorManager manager;
+    private final MetricsBatchService service;
+    private final List<String> resourceIds = new ArrayList<>();
+    private final List<String> metricNames = new ArrayList<>();
+    private final List<AggregationType> aggregations = new ArrayList<>(Arrays.asList(AggregationType.AVERAGE));
+    private DateTime startTime;
+    private DateTime endTime;
+    private Period interval = Period.minutes(1);
+    private Period window = Period.days(1);
+    private String odataFilter;
+    private int maxConcurrency = 16;
+
+    /**
+     * The interface defining the metrics request used by Retrofit, the response body being decoded
+     * by {@link MetricsResponseDecoder} rather than bound to ResponseInner.
+     */
+    interface MetricsBatchService {
+        @Headers({ "Content-Type: application/json; charset=utf-8", "x-ms-logging-context: com.microsoft.azure.management.monitor.Metrics list" })
+        @GET("{resourceUri}/providers/microsoft.insights/metrics")
+        Observable<Response<ResponseBody>> list(@Path(value = "resourceUri", encoded = true) String resourceUri, @Query("timespan") String timespan, @Query("interval") Period interval, @Query("metricnames") String metricnames, @Query("aggregation") String aggregation, @Query("$filter") String filter, @Query("api-version") String apiVersion, @Header("accept-language") String acceptLanguage, @Header("User-Agent") String userAgent);
+    }
+
+    MetricsBatchQueryImpl(MonitorManager manager) {
+        this.manager = manager;
+        this.service = manager.inner().restClient().retrofit().create(MetricsBatchService.class);
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withResourceIds(Collection<String> resourceIds) {
+        this.resourceIds.clear();
+        this.resourceIds.addAll(resourceIds);
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMetricNames(String... metricNames) {
+        this.metricNames.clear();
+        this.metricNames.addAll(Arrays.asList(metricNames));
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withAggregations(AggregationType... aggregations) {
+        this.aggregations.clear();
+        this.aggregations.addAll(Arrays.asList(aggregations));
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl startingFrom(DateTime startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl endsBefore(DateTime endTime) {
+        this.endTime = endTime;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withInterval(Period interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withWindow(Period window) {
+        this.window = window;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withOdataFilter(String odataFilter) {
+        this.odataFilter = odataFilter;
+        return this;
+    }
+
+    @Override
+    public MetricsBatchQueryImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public Observable<MetricSeries> executeAsync() {
+        return executeAsync(new ArrayList<>(this.aggregations));
+    }
+
+    @Override
+    public List<MetricAggregate> aggregate(AggregationType aggregation) {
+        return aggregateAsync(aggregation).toList().toBlocking().single();
+    }
+
+    @Override
+    public Observable<MetricAggregate> aggregateAsync(final AggregationType aggregation) {
+        IllegalArgumentException invalid = validate();
+        if (invalid != null) {
+            return Observable.error(invalid);
+        }
+        final List<AggregationType> queried = new ArrayList<>(this.aggregations);
+        if (!queried.contains(aggregation)) {
+            queried.add(aggregation);
+        }
+        final long start = startTime.getMillis();
+        final long end = endTime.getMillis();
+        final long intervalInMillis = interval.toStandardDuration().getMillis();
+        final List<String> names = new ArrayList<>(this.metricNames);
+        return executeAsync(queried)
+                .collect(new Func0<Map<String, MetricAggregateImpl>>() {
+                    @Override
+                    public Map<String, MetricAggregateImpl> call() {
+                        Map<String, MetricAggregateImpl> aggregates = new LinkedHashMap<>();
+                        for (String name : names) {
+                            aggregates.put(name.toLowerCase(Locale.ROOT),
+                                    new MetricAggregateImpl(name, aggregation, start, end, intervalInMillis));
+                        }
+                        return aggregates;
+                    }
+                }, new Action2<Map<String, MetricAggregateImpl>, MetricSeries>() {
+                    @Override
+                    public void call(Map<String, MetricAggregateImpl> aggregates, MetricSeries series) {
+                        MetricAggregateImpl aggregate = series.metricName() == null
+                                ? null
+                                : aggregates.get(series.metricName().toLowerCase(Locale.ROOT));
+                        if (aggregate != null) {
+                            aggregate.add(series);
+                        }
+                    }
+                })
+                .flatMapIterable(new Func1<Map<String, MetricAggregateImpl>, Iterable<MetricAggregate>>() {
+                    @Override
+                    public Iterable<MetricAggregate> call(Map<String, MetricAggregateImpl> aggregates) {
+                        return new ArrayList<MetricAggregate>(aggregates.values());
+                    }
+                });
+    }
+
+    private IllegalArgumentException validate() {
+        if (startTime == null || endTime == null) {
+            return new IllegalArgumentException("The start and end times of the query are required.");
+        }
+        if (metricNames.isEmpty()) {
+            return new IllegalArgumentException("At least one metric name is required.");
+        }
+        return null;
+    }
+
+    private Observable<MetricSeries> executeAsync(final List<AggregationType> queried) {
+        IllegalArgumentException invalid = validate();
+        if (invalid != null) {
+            return Observable.error(invalid);
+        }
+        final String metricNamesParameter = join(metricNames);
+        final String aggregationParameter = join(queried);
+        final Period queryInterval = this.interval;
+        final String filter = this.odataFilter;
+        final List<DateTime[]> windows = windows(startTime, endTime, window);
+        return Observable.from(new ArrayList<>(resourceIds))
+                .concatMapIterable(new Func1<String, Iterable<Request>>() {
+                    @Override
+                    public Iterable<Request> call(String resourceId) {
+                        List<Request> requests = new ArrayList<>(windows.size());
+                        for (DateTime[] window : windows) {
+                            requests.add(new Request(resourceId, window[0], window[1]));
+                        }
+                        return requests;
+                    }
+                })
+                .flatMap(new Func1<Request, Observable<MetricSeries>>() {
+                    @Override
+                    public Observable<MetricSeries> call(Request request) {
+                        return requestAsync(request, metricNamesParameter, aggregationParameter, queryInterval,
+                                filter, new MetricsResponseDecoder(request.resourceId, queried))
+                                .subscribeOn(SdkContext.getRxScheduler());
+                    }
+                }, maxConcurrency);
+    }
+
+    private Observable<MetricSeries> requestAsync(final Request request,
+                                                  final String metricNamesParameter,
+                                                  final String aggregationParameter,
+                                                  final Period queryInterval,
+                                                  final String filter,
+                                                  final MetricsResponseDecoder decoder) {
+        final MonitorManagementClientImpl client = manager.inner();
+        return Observable.defer(new Func0<Observable<Response<ResponseBody>>>() {
+            @Override
+            public Observable<Response<ResponseBody>> call() {
+                return service.list(request.resourceId, request.timespan(), queryInterval, metricNamesParameter,
+                        aggregationParameter, filter, API_VERSION, client.acceptLanguage(), client.userAgent());
+            }
+        }).flatMap(new Func1<Response<ResponseBody>, Observable<MetricSeries>>() {
+            @Override
+            public Observable<MetricSeries> call(Response<ResponseBody> response) {
+                try {
+                    if (!response.isSuccessful()) {
+                        try {
+                            // Throws the error of the response the way the generated client does
+                            client.restClient().responseBuilderFactory()
+                                    .<ResponseInner, ErrorResponseException>newInstance(client.serializerAdapter())
+                                    .register(200, new TypeToken<ResponseInner>() { }.getType())
+                                    .registerError(ErrorResponseException.class)
+                                    .build(response);
+                        } catch (Throwable t) {
+                            return Observable.error(response.code() == 429
+                                    ? new ThrottledException(t, retryAfterSeconds(response))
+                                    : t);
+                        }
+                    }
+                    try (ResponseBody body = response.body()) {
+                        return Observable.from(decoder.decode(body.byteStream()));
+                    }
+                } catch (Throwable t) {
+                    return Observable.error(t);
+                }
+            }
+        }).retryWhen(new Func1<Observable<? extends Throwable>, Observable<?>>() {
+            @Override
+            public Observable<?> call(Observable<? extends Throwable> errors) {
+                return errors.zipWith(Observable.range(1, MAX_THROTTLED_RETRIES + 1),
+                        new Func2<Throwable, Integer, Observable<Long>>() {
+                            @Override
+                            public Observable<Long> call(Throwable error, Integer attempt) {
+                                if (!(error instanceof ThrottledException)) {
+                                    return Observable.error(error);
+                                }
+                                if (attempt > MAX_THROTTLED_RETRIES) {
+                                    // Fails with the error of the last response
+                                    return Observable.error(error.getCause());
+                                }
+                                // Waits as long as the service asks to, or backs off exponentially
+                                int retryAfter = ((ThrottledException) error).retryAfterSeconds;
+                                long delay = retryAfter >= 0 ? retryAfter : 1L << attempt;
+                                return Observable.timer(delay, TimeUnit.SECONDS);
+                            }
+                        }).flatMap(new Func1<Observable<Long>, Observable<Long>>() {
+                            @Override
+                            public Observable<Long> call(Observable<Long> delay) {
+                                return delay;
+                            }
+                        });
+            }
+        });
+    }
+
+    private static int retryAfterSeconds(Response<ResponseBody> response) {
+        String retryAfter = response.headers().get("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Integer.parseInt(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static List<DateTime[]> windows(DateTime startTime, DateTime endTime, Period window) {
+        List<DateTime[]> windows = new ArrayList<>();
+        DateTime windowStart = startTime;
+        while (windowStart.isBefore(endTime)) {
+            DateTime windowEnd = window == null ? endTime : windowStart.plus(window);
+            if (!windowEnd.isAfter(windowStart) || windowEnd.isAfter(endTime)) {
+                windowEnd = endTime;
+            }
+            windows.add(new DateTime[] {windowStart, windowEnd});
+            windowStart = windowEnd;
+        }
+        return windows;
+    }
+
+    private static String join(List<?> values) {
+        StringBuilder builder = new StringBuilder();
+        for (Object value : values) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The request of the metrics of a resource over a window.
+     */
+    private static final class Request {
+        private final String resourceId;
+        private final DateTime startTime;
+        private final DateTime endTime;
+
+        private Request(String resourceId, DateTime startTime, DateTime endTime) {
+            this.resourceId = resourceId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        private String timespan() {
+            return String.format("%s/%s",
+                    startTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()),
+                    endTime.withZone(DateTimeZone.UTC).toString(ISODateTimeFormat.dateTime()));
+        }
+    }
+
+    /**
+     * The error of a request throttled by the service, wrapping the error of the response.
+     */
+    private static final class ThrottledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int retryAfterSeconds;
+
+        private ThrottledException(Throwable cause, int retryAfterSeconds) {
+            super("The metrics request was throttled", cause);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.monitor.AggregationType;
+import com.microsoft.azure.management.monitor.MetricSeries;
+import com.microsoft.azure.management.monitor.Unit;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a metrics response straight into series of primitive arrays, without binding the response
+ * to ResponseInner and a MetricValue per value.
+ */
+@LangDefinition
+final class MetricsResponseDecoder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final DateTimeFormatter TIMESTAMP_PARSER = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String resourceId;
+    private final boolean[] queried = new boolean[AggregationType.values().length];
+
+    /**
+     * Creates a decoder.
+     *
+     * @param resourceId the id of the resource the responses are for
+     * @param aggregations the queried aggregations, the other aggregations are skipped
+     */
+    MetricsResponseDecoder(String resourceId, Collection<AggregationType> aggregations) {
+        this.resourceId = resourceId;
+        for (AggregationType aggregation : aggregations) {
+            this.queried[aggregation.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Decodes a response.
+     *
+     * @param inputStream the response body
+     * @return the series of the response
+     * @throws IOException if the response cannot be read or is malformed
+     */
+    List<MetricSeries> decode(InputStream inputStream) throws IOException {
+        List<MetricSeries> series = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("value".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        decodeMetric(parser, series);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return series;
+    }
+
+    private void decodeMetric(JsonParser parser, List<MetricSeries> series) throws IOException {
+        String metricName = null;
+        Unit unit = null;
+        List<SeriesBuilder> builders = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("name".equals(field) && token == JsonToken.START_OBJECT) {
+                metricName = decodeLocalizableValue(parser);
+            } else if ("unit".equals(field) && token == JsonToken.VALUE_STRING) {
+                unit = Unit.fromString(parser.getText());
+            } else if ("timeseries".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    builders.add(decodeTimeSeries(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        for (SeriesBuilder builder : builders) {
+            series.add(builder.build(resourceId, metricName, unit));
+        }
+    }
+
+    private SeriesBuilder decodeTimeSeries(JsonParser parser) throws IOException {
+        SeriesBuilder builder = new SeriesBuilder(queried);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("metadatavalues".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    decodeMetadataValue(parser, builder);
+                }
+            } else if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    decodeValue(parser, builder);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return builder;
+    }
+
+    private static void decodeMetadataValue(JsonParser parser, SeriesBuilder builder) throws IOException {
+        String name = null;
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("name".equals(field) && token == JsonToken.START_OBJECT) {
+                name = decodeLocalizableValue(parser);
+            } else if ("value".equals(field) && token == JsonToken.VALUE_STRING) {
+                value = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (name != null) {
+            builder.metadata.put(name, value);
+        }
+    }
+
+    private void decodeValue(JsonParser parser, SeriesBuilder builder) throws IOException {
+        int index = builder.add();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("timeStamp".equals(field) && token == JsonToken.VALUE_STRING) {
+                builder.timestamps[index] = TIMESTAMP_PARSER.parseMillis(parser.getText());
+            } else if (token.isNumeric()) {
+                AggregationType aggregation = aggregation(field);
+                if (aggregation != null && queried[aggregation.ordinal()]) {
+                    builder.values[aggregation.ordinal()][index] = parser.getDoubleValue();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static String decodeLocalizableValue(JsonParser parser) throws IOException {
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("value".equals(field) && token == JsonToken.VALUE_STRING) {
+                value = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static AggregationType aggregation(String field) {
+        switch (field) {
+            case "average":
+                return AggregationType.AVERAGE;
+            case "minimum":
+                return AggregationType.MINIMUM;
+            case "maximum":
+                return AggregationType.MAXIMUM;
+            case "total":
+                return AggregationType.TOTAL;
+            case "count":
+                return AggregationType.COUNT;
+            default:
+                return null;
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Malformed metrics response, expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * The growable arrays of a time series being decoded.
+     */
+    private static final class SeriesBuilder {
+        private final Map<String, String> metadata = new LinkedHashMap<>();
+        private long[] timestamps = new long[INITIAL_CAPACITY];
+        private final double[][] values;
+        private int size;
+
+        private SeriesBuilder(boolean[] queried) {
+            this.values = new double[queried.length][];
+            for (int i = 0; i < queried.length; i++) {
+                if (queried[i]) {
+                    this.values[i] = new double[INITIAL_CAPACITY];
+                    Arrays.fill(this.values[i], Double.NaN);
+                }
+            }
+        }
+
+        /**
+         * @return the index of a new value
+         */
+        private int add() {
+            if (size == timestamps.length) {
+                int capacity = size * 2;
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                for (int i = 0; i < values.length; i++) {
+                    if (values[i] != null) {
+                        values[i] = Arrays.copyOf(values[i], capacity);
+                        Arrays.fill(values[i], size, capacity, Double.NaN);
+                    }
+                }
+            }
+            return size++;
+        }
+
+        private MetricSeries build(String resourceId, String metricName, Unit unit) {
+            return new MetricSeriesImpl(resourceId, metricName, unit,
+                    metadata.isEmpty() ? Collections.<String, String>emptyMap() : Collections.unmodifiableMap(metadata),
+                    size, timestamps, values);
+        }
+    }
+}
@@ -17,11 +17,12 @@ import com.microsoft.azure.management.monitor.ActivityLogs;
 import com.microsoft.azure.management.monitor.AlertRules;
 import com.microsoft.azure.management.monitor.DiagnosticSettings;
 import com.microsoft.azure.management.monitor.MetricDefinitions;
+import com.microsoft.azure.management.monitor.MetricsBatchQuery;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -55,7 +56,7 @@ public final class MonitorManager extends Manager<MonitorManager, MonitorManagem
         return new MonitorManager(new RestClient.Builder()
             .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
             .withCredentials(credentials)
-            .withSerializerAdapter(new AzureJacksonAdapter())
+            .withSerializerAdapter(Utils.newJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
             .withInterceptor(new ProviderRegistrationInterceptor(credentials))
             .build(), subscriptionId);
@@ -137,6 +138,16 @@ public final class MonitorManager extends Manager<MonitorManager, MonitorManagem
         return this.alerts;
     }
 
+    /**
+     * Starts a query of metrics over many resources.
+     *
+     * @return the query
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public MetricsBatchQuery metricsBatchQuery() {
+        return new MetricsBatchQueryImpl(this);
+    }
+
     /**
     * The implementation for Configurable interface.
     */
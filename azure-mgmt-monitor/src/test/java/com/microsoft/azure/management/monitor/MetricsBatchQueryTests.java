@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor;
+
+import com.microsoft.azure.management.monitor.implementation.MonitorManager;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test MetricsBatchQuery class.
+ */
+public class MetricsBatchQueryTests {
+    private static final String VM1 = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Compute/virtualMachines/vm1";
+    private static final String VM2 = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Compute/virtualMachines/vm2";
+    private static final DateTime START = new DateTime(2018, 6, 1, 0, 0, DateTimeZone.UTC);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+    // The number of requests throttled first
+    private volatile int throttledRequests = 1;
+    private final Map<String, String> timespans = new ConcurrentHashMap<>();
+    private MonitorManager manager;
+
+    @Before
+    public void setup() {
+        Interceptor metricsService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                // Throttles the first requests, asking for an immediate retry
+                if (throttled.getAndIncrement() < throttledRequests) {
+                    return OfflineService.response(request, 429, "{}").newBuilder().header("Retry-After", "0").build();
+                }
+                requests.incrementAndGet();
+                String path = request.url().encodedPath();
+                String resourceId = path.substring(0, path.indexOf("/providers/microsoft.insights/metrics"));
+                String timespan = request.url().queryParameter("timespan");
+                timespans.put(resourceId + "|" + timespan, timespan);
+                DateTime windowStart = ISODateTimeFormat.dateTimeParser().withZoneUTC()
+                        .parseDateTime(timespan.substring(0, timespan.indexOf('/')));
+                double value = resourceId.endsWith("vm1") ? 1 : 3;
+                return OfflineService.response(request, 200, metrics(request.url().queryParameter("metricnames"), windowStart, value));
+            }
+        };
+        RestClient restClient = OfflineService.restClient(metricsService);
+        manager = MonitorManager.authenticate(restClient, "sub");
+    }
+
+    @Test
+    public void canQueryMetricsWindowByWindow() {
+        List<MetricSeries> series = manager.metricsBatchQuery()
+                .withResourceIds(Arrays.asList(VM1, VM2))
+                .withMetricNames("Percentage CPU")
+                .withAggregations(AggregationType.AVERAGE, AggregationType.MAXIMUM)
+                .startingFrom(START)
+                .endsBefore(START.plusHours(2))
+                .withWindow(Period.hours(1))
+                .withMaxConcurrency(2)
+                .executeAsync()
+                .toList().toBlocking().single();
+
+        // 2 resources by 2 windows, the throttled request being retried
+        Assert.assertEquals(4, series.size());
+        Assert.assertEquals(4, requests.get());
+        Assert.assertEquals(5, throttled.get());
+        Assert.assertEquals(4, timespans.size());
+        for (MetricSeries s : series) {
+            Assert.assertEquals("Percentage CPU", s.metricName());
+            Assert.assertEquals(Unit.PERCENT, s.unit());
+            Assert.assertEquals("vm", s.metadata().get("hostname"));
+            Assert.assertEquals(2, s.size());
+            Assert.assertEquals(s.timestamps()[0] + 60000, s.timestamps()[1]);
+            double expected = s.resourceId().equals(VM1) ? 1 : 3;
+            Assert.assertArrayEquals(new double[] {expected, expected}, s.values(AggregationType.AVERAGE), 0);
+            // Missing from the response
+            Assert.assertTrue(Double.isNaN(s.values(AggregationType.MAXIMUM)[0]));
+            // Not queried
+            Assert.assertNull(s.values(AggregationType.TOTAL));
+        }
+    }
+
+    @Test
+    public void canAggregateMetricsAcrossResources() {
+        List<MetricAggregate> aggregates = manager.metricsBatchQuery()
+                .withResourceIds(Arrays.asList(VM1, VM2))
+                .withMetricNames("Percentage CPU")
+                .startingFrom(START)
+                .endsBefore(START.plusHours(2))
+                .withWindow(Period.hours(1))
+                .aggregate(AggregationType.AVERAGE);
+
+        Assert.assertEquals(1, aggregates.size());
+        MetricAggregate aggregate = aggregates.get(0);
+        Assert.assertEquals("Percentage CPU", aggregate.metricName());
+        Assert.assertEquals(120, aggregate.timestamps().length);
+        Assert.assertEquals(START.getMillis(), aggregate.timestamps()[0]);
+        for (int index : new int[] {0, 1, 60, 61}) {
+            Assert.assertEquals(2, aggregate.counts()[index]);
+            Assert.assertEquals(1, aggregate.minimums()[index], 0);
+            Assert.assertEquals(3, aggregate.maximums()[index], 0);
+            Assert.assertEquals(2, aggregate.averages()[index], 0);
+            Assert.assertEquals(1, aggregate.percentiles(50)[index], 0);
+            Assert.assertEquals(3, aggregate.percentiles(100)[index], 0);
+        }
+        Assert.assertEquals(0, aggregate.counts()[2]);
+        Assert.assertTrue(Double.isNaN(aggregate.averages()[2]));
+        Assert.assertTrue(Double.isNaN(aggregate.percentiles(90)[2]));
+    }
+
+    @Test
+    public void canFailWithErrorOfThrottledResponse() {
+        throttledRequests = Integer.MAX_VALUE;
+        try {
+            manager.metricsBatchQuery()
+                    .withResourceIds(Arrays.asList(VM1))
+                    .withMetricNames("Percentage CPU")
+                    .startingFrom(START)
+                    .endsBefore(START.plusHours(1))
+                    .executeAsync()
+                    .toList().toBlocking().single();
+            Assert.fail();
+        } catch (ErrorResponseException e) {
+            Assert.assertEquals(429, e.response().code());
+        }
+        // The request, then 3 retries
+        Assert.assertEquals(4, throttled.get());
+        Assert.assertEquals(0, requests.get());
+    }
+
+    @Test
+    public void canValidateAggregateQuery() {
+        try {
+            manager.metricsBatchQuery()
+                    .withResourceIds(Arrays.asList(VM1))
+                    .withMetricNames("Percentage CPU")
+                    .endsBefore(START.plusHours(1))
+                    .aggregate(AggregationType.AVERAGE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("The start and end times of the query are required.", e.getMessage());
+        }
+        Assert.assertEquals(0, throttled.get());
+    }
+
+
+    private static String metrics(String metricName, DateTime windowStart, double value) {
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 2; i++) {
+            if (i > 0) {
+                data.append(',');
+            }
+            data.append("{\"timeStamp\":\"")
+                    .append(windowStart.plusMinutes(i).toString(ISODateTimeFormat.dateTimeNoMillis()))
+                    .append("\",\"average\":").append(value).append('}');
+        }
+        return "{\"cost\":0,\"timespan\":\"ignored\",\"interval\":\"PT1M\",\"value\":[{"
+                + "\"id\":\"ignored\",\"type\":\"Microsoft.Insights/metrics\","
+                + "\"name\":{\"value\":\"" + metricName + "\",\"localizedValue\":\"" + metricName + "\"},"
+                + "\"unit\":\"Percent\",\"timeseries\":[{"
+                + "\"metadatavalues\":[{\"name\":{\"value\":\"hostname\",\"localizedValue\":\"hostname\"},\"value\":\"vm\"}],"
+                + "\"data\":[" + data + "]}]}]}";
+    }
+}
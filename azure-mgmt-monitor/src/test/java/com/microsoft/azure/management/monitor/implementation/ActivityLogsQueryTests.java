@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.monitor.EventData;
+import com.microsoft.azure.management.monitor.EventDataPropertyName;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Scheduler;
+import rx.functions.Action1;
+import rx.observers.AssertableSubscriber;
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test class to test the sharded and follow modes of ActivityLogsImpl class.
+ */
+public class ActivityLogsQueryTests {
+    private static final DateTimeFormatter TIMESTAMPS = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    private static final Pattern TIME_FILTER = Pattern.compile("eventTimestamp ge '([^']+)' and eventTimestamp le '([^']+)'");
+    private static final DateTime START = new DateTime(2018, 6, 1, 0, 0, DateTimeZone.UTC);
+
+    // The events of the log, as id and timestamp
+    private final List<Object[]> events = new CopyOnWriteArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private MonitorManager manager;
+
+    @Before
+    public void setup() {
+        Interceptor activityLogService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                requests.incrementAndGet();
+                Matcher matcher = TIME_FILTER.matcher(request.url().queryParameter("$filter"));
+                Assert.assertTrue(matcher.find());
+                long start = TIMESTAMPS.parseMillis(matcher.group(1));
+                long end = TIMESTAMPS.parseMillis(matcher.group(2));
+                StringBuilder body = new StringBuilder("{\"value\":[");
+                boolean first = true;
+                // Reported from the latest, as the service does
+                for (int i = events.size() - 1; i >= 0; i--) {
+                    DateTime timestamp = (DateTime) events.get(i)[1];
+                    if (timestamp.getMillis() >= start && timestamp.getMillis() <= end) {
+                        if (!first) {
+                            body.append(',');
+                        }
+                        first = false;
+                        body.append("{\"eventDataId\":\"").append(events.get(i)[0])
+                                .append("\",\"eventTimestamp\":\"").append(timestamp.toString(ISODateTimeFormat.dateTime()))
+                                .append("\"}");
+                    }
+                }
+                body.append("]}");
+                return OfflineService.response(request, 200, body.toString());
+            }
+        };
+        RestClient restClient = OfflineService.restClient(activityLogService);
+        manager = MonitorManager.authenticate(restClient, "sub");
+    }
+
+    @Test
+    public void canQueryInShards() {
+        events.add(new Object[] {"a", START.plusMinutes(10)});
+        // At the boundary of the first two shards
+        events.add(new Object[] {"b", START.plusHours(1)});
+        events.add(new Object[] {"c", START.plusHours(1)});
+        events.add(new Object[] {"d", START.plusHours(2).plusMinutes(30)});
+        events.add(new Object[] {"e", START.plusHours(3).plusMinutes(59)});
+
+        List<EventData> result = manager.activityLogs().defineQuery()
+                .startingFrom(START)
+                .endsBefore(START.plusHours(4))
+                .withResponseProperties(EventDataPropertyName.OPERATIONNAME)
+                .executeInShardsAsync(Period.hours(1), 3)
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(4, requests.get());
+        Assert.assertEquals(ids("a", "b", "c", "d", "e"), ids(result));
+    }
+
+    @Test
+    public void canFollow() {
+        // Polls synchronously, at the times of a virtual clock
+        Scheduler rxScheduler = SdkContext.getRxScheduler();
+        SdkContext.setRxScheduler(Schedulers.trampoline());
+        try {
+            final TestScheduler scheduler = new TestScheduler();
+            scheduler.advanceTimeTo(START.getMillis(), TimeUnit.MILLISECONDS);
+            events.add(new Object[] {"before", START.minusMinutes(20)});
+            events.add(new Object[] {"first", START.minusMinutes(5)});
+
+            final List<String> followed = new ArrayList<>();
+            AssertableSubscriber<EventData> subscriber = new ActivityLogsImpl(manager, scheduler).defineQuery()
+                    .startingFrom(START.minusMinutes(10))
+                    .endsBefore(START.plusSeconds(3))
+                    .withAllPropertiesInResponse()
+                    .followAsync(Period.seconds(1), Period.minutes(2))
+                    .doOnNext(new Action1<EventData>() {
+                        @Override
+                        public void call(EventData eventData) {
+                            followed.add(eventData.eventDataId());
+                            if (followed.size() == 1) {
+                                // An event reported late, and an event after the first poll
+                                events.add(new Object[] {"late", START.minusMinutes(1)});
+                                events.add(new Object[] {"second", START.plusSeconds(1)});
+                            }
+                        }
+                    })
+                    .test();
+
+            Assert.assertEquals(1, requests.get());
+            Assert.assertEquals(ids("first"), followed);
+            scheduler.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+            Assert.assertEquals(1, requests.get());
+            scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+            Assert.assertEquals(2, requests.get());
+            Assert.assertEquals(ids("first", "late", "second"), followed);
+            subscriber.assertNotCompleted();
+            // The last poll reaches the end of the query
+            scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+            Assert.assertEquals(4, requests.get());
+            Assert.assertEquals(ids("first", "late", "second"), followed);
+            scheduler.advanceTimeBy(1, TimeUnit.MINUTES);
+            Assert.assertEquals(4, requests.get());
+            subscriber.assertCompleted().assertNoErrors();
+        } finally {
+            SdkContext.setRxScheduler(rxScheduler);
+        }
+    }
+
+    private static List<String> ids(String... ids) {
+        List<String> list = new ArrayList<>();
+        for (String id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    private static List<String> ids(List<EventData> events) {
+        List<String> list = new ArrayList<>();
+        for (EventData eventData : events) {
+            list.add(eventData.eventDataId());
+        }
+        return list;
+    }
+}
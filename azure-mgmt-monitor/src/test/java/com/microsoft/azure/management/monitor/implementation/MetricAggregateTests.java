@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.monitor.implementation;
+
+import com.microsoft.azure.management.monitor.AggregationType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Test class to test MetricAggregateImpl class.
+ */
+public class MetricAggregateTests {
+    private static final int RESOURCES = 10000;
+
+    @Test
+    public void canEstimatePercentilesOfManyResources() {
+        MetricAggregateImpl aggregate = new MetricAggregateImpl("Percentage CPU", AggregationType.AVERAGE, 0, 3000, 1000);
+        // Positive values at the first timestamp, values around zero at the second, none at the third
+        double[] positives = new double[RESOURCES];
+        double[] mixed = new double[RESOURCES];
+        for (int i = 0; i < RESOURCES; i++) {
+            double[][] values = new double[AggregationType.values().length][];
+            values[AggregationType.AVERAGE.ordinal()] = new double[] {i + 1, i - RESOURCES / 4, Double.NaN};
+            positives[i] = values[AggregationType.AVERAGE.ordinal()][0];
+            mixed[i] = values[AggregationType.AVERAGE.ordinal()][1];
+            aggregate.add(new MetricSeriesImpl("vm" + i, "Percentage CPU", null, Collections.<String, String>emptyMap(),
+                    3, new long[] {0, 1000, 2000}, values));
+        }
+        Arrays.sort(positives);
+        Arrays.sort(mixed);
+
+        Assert.assertArrayEquals(new int[] {RESOURCES, RESOURCES, 0}, aggregate.counts());
+        for (double percentile : new double[] {1, 10, 25, 50, 90, 99, 99.9}) {
+            int rank = (int) Math.ceil(percentile / 100 * RESOURCES);
+            double[] percentiles = aggregate.percentiles(percentile);
+            assertWithinOnePercent(positives[rank - 1], percentiles[0]);
+            assertWithinOnePercent(mixed[rank - 1], percentiles[1]);
+            Assert.assertTrue(Double.isNaN(percentiles[2]));
+        }
+        // Exact at the extremes
+        Assert.assertEquals(1, aggregate.percentiles(0)[0], 0);
+        Assert.assertEquals(RESOURCES, aggregate.percentiles(100)[0], 0);
+        Assert.assertEquals(-RESOURCES / 4, aggregate.percentiles(0)[1], 0);
+        Assert.assertEquals(RESOURCES * 3 / 4 - 1, aggregate.percentiles(100)[1], 0);
+    }
+
+    private static void assertWithinOnePercent(double expected, double actual) {
+        Assert.assertEquals(expected, actual, Math.abs(expected) * 0.01);
+    }
+}
@@ -20,6 +20,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -29,6 +30,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Beta(Beta.SinceVersion.V1_5_1)
 public interface Identities extends
         SupportsListing<Identity>,
+        SupportsListingInPages<Identity>,
         SupportsListingByResourceGroup<Identity>,
         SupportsGettingByResourceGroup<Identity>,
         SupportsGettingById<Identity>,
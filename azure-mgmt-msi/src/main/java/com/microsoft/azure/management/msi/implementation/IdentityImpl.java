@@ -10,14 +10,18 @@ import com.microsoft.azure.management.apigeneration.LangDefinition;
 import com.microsoft.azure.management.graphrbac.BuiltInRole;
 import com.microsoft.azure.management.graphrbac.RoleAssignment;
 import com.microsoft.azure.management.graphrbac.implementation.RoleAssignmentHelper;
+import com.microsoft.azure.management.graphrbac.implementation.ServicePrincipalInner;
 import com.microsoft.azure.management.msi.Identity;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.Resource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
-import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
+import com.microsoft.azure.management.resources.fluentcore.utils.WaitUntil;
+import com.microsoft.rest.RestException;
 import rx.Observable;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The implementation for Identity and its create and update interfaces.
@@ -26,6 +30,22 @@ import java.util.Objects;
 final class IdentityImpl
         extends GroupableResourceImpl<Identity, IdentityInner, IdentityImpl, MSIManager>
         implements Identity, Identity.Definition, Identity.Update {
+    private static final int PRINCIPAL_MAX_ATTEMPTS = 10;
+    private static final Func1<ServicePrincipalInner, Boolean> PRINCIPAL_EXISTS = new Func1<ServicePrincipalInner, Boolean>() {
+        @Override
+        public Boolean call(ServicePrincipalInner servicePrincipal) {
+            return servicePrincipal.objectId() != null;
+        }
+    };
+    private static final Func1<Throwable, Boolean> PRINCIPAL_NOT_FOUND = new Func1<Throwable, Boolean>() {
+        @Override
+        public Boolean call(Throwable throwable) {
+            // Not replicated to the directory yet, any other error e.g. a missing permission ends the wait
+            return throwable instanceof RestException
+                    && ((RestException) throwable).response() != null
+                    && ((RestException) throwable).response().code() == 404;
+        }
+    };
 
     private RoleAssignmentHelper roleAssignmentHelper;
 
@@ -121,13 +141,34 @@ final class IdentityImpl
                 .map(innerToFluentMap(this))
                 .flatMap(new Func1<Identity, Observable<Identity>>() {
                     @Override
-                    public Observable<Identity> call(Identity identity) {
+                    public Observable<Identity> call(final Identity identity) {
                         // Often getting 'Principal xxx does not exist in the directory yyy'
                         // error when attempting to create role (access) assignments just
-                        // after identity creation, so delaying here for some time before
-                        // proceeding with next operation.
+                        // after identity creation, so waiting here until the principal is
+                        // visible in the directory before proceeding with next operation.
                         //
-                        return SdkContext.delayedEmitAsync(identity, 30 * 1000);
+                        if (identity.principalId() == null) {
+                            return Observable.just(identity);
+                        }
+                        return WaitUntil.polling(new Func0<Observable<ServicePrincipalInner>>() {
+                            @Override
+                            public Observable<ServicePrincipalInner> call() {
+                                return manager().graphRbacManager().inner().servicePrincipals()
+                                        .getAsync(identity.principalId());
+                            }
+                        })
+                                .until(PRINCIPAL_EXISTS)
+                                .withDelays(1, 8, TimeUnit.SECONDS)
+                                .withMaxAttempts(PRINCIPAL_MAX_ATTEMPTS)
+                                .withTimeout(2, TimeUnit.MINUTES)
+                                .ignoringErrors(PRINCIPAL_NOT_FOUND)
+                                .continueOnTimeout()
+                                .toObservable()
+                                .toCompletable()
+                                // The probe is best effort, the directory being unreachable or the caller
+                                // not being allowed to read it delays nothing
+                                .onErrorComplete()
+                                .andThen(Observable.just(identity));
                     }
                 });
     }
@@ -17,15 +17,17 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Az
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Entry point to Azure Managed Service Identity (MSI) resource management.
  */
 @Beta // TODO Add since v1.5 param
 public final class MSIManager extends Manager<MSIManager, ManagedServiceIdentityClientImpl> {
-    private final GraphRbacManager rbacManager;
+    private GraphRbacManager rbacManager;
+    private final RestClient restClient;
 
     private Identities identities;
 
@@ -49,7 +51,7 @@ public final class MSIManager extends Manager<MSIManager, ManagedServiceIdentity
         return new MSIManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -92,7 +94,7 @@ public final class MSIManager extends Manager<MSIManager, ManagedServiceIdentity
 
     private MSIManager(RestClient restClient, String subscriptionId) {
         super(restClient, subscriptionId, new ManagedServiceIdentityClientImpl(restClient).withSubscriptionId(subscriptionId));
-        rbacManager = GraphRbacManager.authenticate(restClient, ((AzureTokenCredentials) (restClient.credentials())).domain());
+        this.restClient = restClient;
     }
 
     /**
@@ -111,6 +113,15 @@ public final class MSIManager extends Manager<MSIManager, ManagedServiceIdentity
      */
     @Beta(Beta.SinceVersion.V1_5_1)
     public GraphRbacManager graphRbacManager() {
-        return this.rbacManager;
+        if (rbacManager == null) {
+            final String tenantId = ((AzureTokenCredentials) (restClient.credentials())).domain();
+            rbacManager = sharedManager(GraphRbacManager.class, tenantId, new Func0<GraphRbacManager>() {
+                @Override
+                public GraphRbacManager call() {
+                    return GraphRbacManager.authenticate(restClient, tenantId);
+                }
+            });
+        }
+        return rbacManager;
     }
 }
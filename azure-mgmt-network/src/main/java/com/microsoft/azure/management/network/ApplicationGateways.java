@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 import rx.Observable;
@@ -31,6 +32,7 @@ import rx.Observable;
 public interface ApplicationGateways extends
     SupportsCreating<ApplicationGateway.DefinitionStages.Blank>,
     SupportsListing<ApplicationGateway>,
+    SupportsListingInPages<ApplicationGateway>,
     SupportsListingByResourceGroup<ApplicationGateway>,
     SupportsGettingByResourceGroup<ApplicationGateway>,
     SupportsGettingById<ApplicationGateway>,
@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -30,6 +31,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface ApplicationSecurityGroups extends
         SupportsCreating<ApplicationSecurityGroup.DefinitionStages.Blank>,
         SupportsListing<ApplicationSecurityGroup>,
+        SupportsListingInPages<ApplicationSecurityGroup>,
         SupportsListingByResourceGroup<ApplicationSecurityGroup>,
         SupportsGettingByResourceGroup<ApplicationSecurityGroup>,
         SupportsGettingById<ApplicationSecurityGroup>,
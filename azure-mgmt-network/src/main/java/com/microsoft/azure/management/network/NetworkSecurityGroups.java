@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -28,6 +29,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface NetworkSecurityGroups extends
     SupportsCreating<NetworkSecurityGroup.DefinitionStages.Blank>,
     SupportsListing<NetworkSecurityGroup>,
+    SupportsListingInPages<NetworkSecurityGroup>,
     SupportsListingByResourceGroup<NetworkSecurityGroup>,
     SupportsGettingByResourceGroup<NetworkSecurityGroup>,
     SupportsGettingById<NetworkSecurityGroup>,
@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 /**
@@ -28,6 +29,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Beta
 public interface NetworkWatchers extends
         SupportsListing<NetworkWatcher>,
+        SupportsListingInPages<NetworkWatcher>,
         SupportsCreating<NetworkWatcher.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<NetworkWatcher>,
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -28,6 +29,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface Networks extends
     SupportsCreating<Network.DefinitionStages.Blank>,
     SupportsListing<Network>,
+    SupportsListingInPages<Network>,
     SupportsListingByResourceGroup<Network>,
     SupportsGettingByResourceGroup<Network>,
     SupportsGettingById<Network>,
@@ -6,9 +6,12 @@
 
 package com.microsoft.azure.management.network;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.network.model.HasPrivateIPAddress;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasSubnet;
+import rx.Observable;
 
 import java.util.Collection;
 import java.util.List;
@@ -57,4 +60,13 @@ public interface NicIPConfigurationBase extends HasSubnet, HasPrivateIPAddress {
      * @return the application gateway backends associated with this network IP configuration
      */
     Collection<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackends();
+
+    /**
+     * Lists the application gateway backends associated with this network IP configuration,
+     * each referenced application gateway is fetched once.
+     *
+     * @return an observable that emits the application gateway backends
+     */
+    @Beta(SinceVersion.V1_15_0)
+    Observable<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackendsAsync();
 }
@@ -18,6 +18,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -27,6 +28,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 @Fluent()
 public interface PublicIPAddresses extends
     SupportsListing<PublicIPAddress>,
+    SupportsListingInPages<PublicIPAddress>,
     SupportsCreating<PublicIPAddress.DefinitionStages.Blank>,
     SupportsDeletingById,
     SupportsListingByResourceGroup<PublicIPAddress>,
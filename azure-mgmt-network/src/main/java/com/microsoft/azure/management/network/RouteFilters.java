@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 
 
@@ -30,6 +31,7 @@ import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 public interface RouteFilters extends
         SupportsCreating<RouteFilter.DefinitionStages.Blank>,
         SupportsListing<RouteFilter>,
+        SupportsListingInPages<RouteFilter>,
         SupportsListingByResourceGroup<RouteFilter>,
         SupportsGettingByResourceGroup<RouteFilter>,
         SupportsGettingById<RouteFilter>,
@@ -35,22 +35,37 @@ import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager;
+import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.functions.Func2;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Entry point to Azure network management.
  */
 public final class NetworkManager extends Manager<NetworkManager, NetworkManagementClientImpl> {
+    /**
+     * The maximum number of parent resources fetched concurrently when resolving references.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 8;
+    /**
+     * The minimum number of parent resources in a single resource group to list them instead of
+     * fetching them one by one.
+     */
+    private static final int MIN_PARENTS_TO_LIST = 20;
 
     // Collections
     private PublicIPAddresses publicIPAddresses;
@@ -91,7 +106,7 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
         return new NetworkManager(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -333,45 +348,155 @@ public final class NetworkManager extends Manager<NetworkManager, NetworkManagem
 
     // Internal utility function
     List<Subnet> listAssociatedSubnets(List<SubnetInner> subnetRefs) {
-        final Map<String, Network> networks = new HashMap<>();
-        final List<Subnet> subnets = new ArrayList<>();
+        return Collections.unmodifiableList(listAssociatedSubnetsAsync(subnetRefs).toList().toBlocking().single());
+    }
 
+    // Internal utility function
+    Observable<Subnet> listAssociatedSubnetsAsync(List<SubnetInner> subnetRefs) {
+        List<String> subnetIds = new ArrayList<>();
         if (subnetRefs != null) {
             for (SubnetInner subnetRef : subnetRefs) {
-                String networkId = ResourceUtils.parentResourceIdFromResourceId(subnetRef.id());
-                Network network = networks.get(networkId.toLowerCase());
-                if (network == null) {
-                    network = this.networks().getById(networkId);
-                    networks.put(networkId.toLowerCase(), network);
-                }
-
-                String subnetName = ResourceUtils.nameFromResourceId(subnetRef.id());
-                subnets.add(network.subnets().get(subnetName));
+                subnetIds.add(subnetRef.id());
             }
         }
-
-        return Collections.unmodifiableList(subnets);
+        return resolveChildReferencesAsync(subnetIds,
+                new Func1<String, Observable<Network>>() {
+                    @Override
+                    public Observable<Network> call(String networkId) {
+                        return networks().getByIdAsync(networkId);
+                    }
+                },
+                null,
+                new Func2<Network, String, Subnet>() {
+                    @Override
+                    public Subnet call(Network network, String subnetName) {
+                        return network.subnets().get(subnetName);
+                    }
+                });
     }
 
     // Internal utility function
     Collection<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackends(List<ApplicationGatewayBackendAddressPoolInner> backendRefs) {
-        final Map<String, ApplicationGateway> appGateways = new HashMap<>();
-        final List<ApplicationGatewayBackend> backends = new ArrayList<>();
+        return Collections.unmodifiableCollection(listAssociatedApplicationGatewayBackendsAsync(backendRefs).toList().toBlocking().single());
+    }
 
+    // Internal utility function
+    Observable<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackendsAsync(List<ApplicationGatewayBackendAddressPoolInner> backendRefs) {
+        List<String> backendIds = new ArrayList<>();
         if (backendRefs != null) {
             for (ApplicationGatewayBackendAddressPoolInner backendRef : backendRefs) {
-                String appGatewayId = ResourceUtils.parentResourceIdFromResourceId(backendRef.id());
-                ApplicationGateway appGateway = appGateways.get(appGatewayId.toLowerCase());
-                if (appGateway == null) {
-                    appGateway = this.applicationGateways().getById(appGatewayId);
-                    appGateways.put(appGatewayId.toLowerCase(), appGateway);
-                }
-
-                String backendName = ResourceUtils.nameFromResourceId(backendRef.id());
-                backends.add(appGateway.backends().get(backendName));
+                backendIds.add(backendRef.id());
             }
         }
+        return resolveChildReferencesAsync(backendIds,
+                new Func1<String, Observable<ApplicationGateway>>() {
+                    @Override
+                    public Observable<ApplicationGateway> call(String appGatewayId) {
+                        return applicationGateways().getByIdAsync(appGatewayId);
+                    }
+                },
+                null,
+                new Func2<ApplicationGateway, String, ApplicationGatewayBackend>() {
+                    @Override
+                    public ApplicationGatewayBackend call(ApplicationGateway appGateway, String backendName) {
+                        return appGateway.backends().get(backendName);
+                    }
+                });
+    }
+
+    /**
+     * Resolves references to child resources, e.g. subnets, by fetching their parent resources.
+     * <p>
+     * Each distinct parent is fetched once, the parents are fetched concurrently. When the
+     * parents belong to a single resource group and are numerous, they are listed instead.
+     * The references to missing parents or children are ignored.
+     *
+     * @param childIds the ids of the child resources
+     * @param getParentById the function fetching a parent by id
+     * @param listParentsByResourceGroup the function listing the parents in a resource group, null if not supported
+     * @param getChildByName the function returning a child of a parent by name
+     * @param <ParentT> the parent resource type
+     * @param <ChildT> the child resource type
+     * @return an observable that emits the child resources in the order of the references
+     */
+    <ParentT extends HasId, ChildT> Observable<ChildT> resolveChildReferencesAsync(
+            final List<String> childIds,
+            final Func1<String, Observable<ParentT>> getParentById,
+            final Func1<String, Observable<ParentT>> listParentsByResourceGroup,
+            final Func2<ParentT, String, ChildT> getChildByName) {
+        final Map<String, String> parentIds = new LinkedHashMap<>();
+        final Set<String> resourceGroupNames = new HashSet<>();
+        for (String childId : childIds) {
+            String parentId = ResourceUtils.parentResourceIdFromResourceId(childId);
+            if (parentId != null) {
+                parentIds.put(parentId.toLowerCase(), parentId);
+                resourceGroupNames.add(ResourceUtils.groupFromResourceId(parentId).toLowerCase());
+            }
+        }
+        if (parentIds.isEmpty()) {
+            return Observable.empty();
+        }
+
+        Observable<ParentT> parents;
+        if (listParentsByResourceGroup != null
+                && resourceGroupNames.size() == 1
+                && parentIds.size() >= MIN_PARENTS_TO_LIST) {
+            String resourceGroupName = ResourceUtils.groupFromResourceId(parentIds.values().iterator().next());
+            parents = listParentsByResourceGroup.call(resourceGroupName)
+                    .filter(new Func1<ParentT, Boolean>() {
+                        @Override
+                        public Boolean call(ParentT parent) {
+                            return parentIds.containsKey(parent.id().toLowerCase());
+                        }
+                    })
+                    .toList()
+                    .flatMap(new Func1<List<ParentT>, Observable<ParentT>>() {
+                        @Override
+                        public Observable<ParentT> call(List<ParentT> listedParents) {
+                            // Fetch the parents created after the listing
+                            Map<String, String> missingParentIds = new LinkedHashMap<>(parentIds);
+                            for (ParentT parent : listedParents) {
+                                missingParentIds.remove(parent.id().toLowerCase());
+                            }
+                            return Observable.from(listedParents)
+                                    .concatWith(Observable.from(missingParentIds.values())
+                                            .flatMap(getParentById, MAX_CONCURRENT_REQUESTS));
+                        }
+                    });
+        } else {
+            parents = Observable.from(parentIds.values()).flatMap(getParentById, MAX_CONCURRENT_REQUESTS);
+        }
 
-        return Collections.unmodifiableCollection(backends);
+        return parents
+                .filter(new Func1<ParentT, Boolean>() {
+                    @Override
+                    public Boolean call(ParentT parent) {
+                        return parent != null;
+                    }
+                })
+                .toMap(new Func1<ParentT, String>() {
+                    @Override
+                    public String call(ParentT parent) {
+                        return parent.id().toLowerCase();
+                    }
+                })
+                .flatMapIterable(new Func1<Map<String, ParentT>, Iterable<ChildT>>() {
+                    @Override
+                    public Iterable<ChildT> call(Map<String, ParentT> parentsById) {
+                        List<ChildT> children = new ArrayList<>();
+                        for (String childId : childIds) {
+                            String parentId = ResourceUtils.parentResourceIdFromResourceId(childId);
+                            ParentT parent = parentId == null ? null : parentsById.get(parentId.toLowerCase());
+                            if (parent == null) {
+                                continue;
+                            }
+                            ChildT child = getChildByName.call(parent, ResourceUtils.nameFromResourceId(childId));
+                            if (child != null) {
+                                children.add(child);
+                            }
+                        }
+                        return children;
+                    }
+                });
     }
 }
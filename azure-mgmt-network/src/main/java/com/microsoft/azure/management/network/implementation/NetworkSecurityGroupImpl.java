@@ -107,6 +107,11 @@ class NetworkSecurityGroupImpl
         return this.myManager.listAssociatedSubnets(this.inner().subnets());
     }
 
+    @Override
+    public Observable<Subnet> listAssociatedSubnetsAsync() {
+        return this.myManager.listAssociatedSubnetsAsync(this.inner().subnets());
+    }
+
     // Setters (fluent)
 
     @Override
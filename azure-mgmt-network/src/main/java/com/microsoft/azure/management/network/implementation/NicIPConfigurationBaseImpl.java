@@ -22,6 +22,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import rx.Observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -127,6 +128,11 @@ abstract class NicIPConfigurationBaseImpl<ParentImplT extends ParentT, ParentT e
         return this.parent().manager().listAssociatedApplicationGatewayBackends(this.inner().applicationGatewayBackendAddressPools());
     }
 
+    @Override
+    public Observable<ApplicationGatewayBackend> listAssociatedApplicationGatewayBackendsAsync() {
+        return this.parent().manager().listAssociatedApplicationGatewayBackendsAsync(this.inner().applicationGatewayBackendAddressPools());
+    }
+
     @Override
     public List<LoadBalancerBackend> listAssociatedLoadBalancerBackends() {
         final List<BackendAddressPoolInner> backendRefs = this.inner().loadBalancerBackendAddressPools();
@@ -86,6 +86,11 @@ class RouteTableImpl
         return this.myManager.listAssociatedSubnets(this.inner().subnets());
     }
 
+    @Override
+    public Observable<Subnet> listAssociatedSubnetsAsync() {
+        return this.myManager.listAssociatedSubnetsAsync(this.inner().subnets());
+    }
+
     // Setters (fluent)
 
     @Override
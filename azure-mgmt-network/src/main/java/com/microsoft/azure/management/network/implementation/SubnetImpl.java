@@ -15,8 +15,10 @@ import com.microsoft.azure.management.network.ServiceEndpointPropertiesFormat;
 import com.microsoft.azure.management.network.ServiceEndpointType;
 import com.microsoft.azure.management.network.Subnet;
 import com.microsoft.azure.management.resources.fluentcore.arm.Region;
-import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ChildResourceImpl;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.functions.Func2;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -25,7 +27,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 
 /**
@@ -212,42 +213,37 @@ class SubnetImpl
 
     @Override
     public Collection<NicIPConfiguration> listNetworkInterfaceIPConfigurations() {
-        Collection<NicIPConfiguration> ipConfigs = new ArrayList<>();
-        Map<String, NetworkInterface> nics = new TreeMap<>();
-        List<IPConfigurationInner> ipConfigRefs = this.inner().ipConfigurations();
-        if (ipConfigRefs == null) {
-            return ipConfigs;
-        }
-
-        for (IPConfigurationInner ipConfigRef : ipConfigRefs) {
-            String nicID = ResourceUtils.parentResourceIdFromResourceId(ipConfigRef.id());
-            String ipConfigName = ResourceUtils.nameFromResourceId(ipConfigRef.id());
-            // Check if NIC already cached
-            NetworkInterface nic = nics.get(nicID.toLowerCase());
-            if (nic == null) {
-                //  NIC not previously found, so ask Azure for it
-                nic = this.parent().manager().networkInterfaces().getById(nicID);
-            }
-
-            if (nic == null) {
-                // NIC doesn't exist so ignore this bad reference
-                continue;
-            }
-
-            // Cache the NIC
-            nics.put(nic.id().toLowerCase(), nic);
+        return Collections.unmodifiableCollection(listNetworkInterfaceIPConfigurationsAsync().toList().toBlocking().single());
+    }
 
-            // Get the IP config
-            NicIPConfiguration ipConfig = nic.ipConfigurations().get(ipConfigName);
-            if (ipConfig == null) {
-                // IP config not found, so ignore this bad reference
-                continue;
+    @Override
+    public Observable<NicIPConfiguration> listNetworkInterfaceIPConfigurationsAsync() {
+        List<String> ipConfigIds = new ArrayList<>();
+        if (this.inner().ipConfigurations() != null) {
+            for (IPConfigurationInner ipConfigRef : this.inner().ipConfigurations()) {
+                ipConfigIds.add(ipConfigRef.id());
             }
-
-            ipConfigs.add(ipConfig);
         }
-
-        return Collections.unmodifiableCollection(ipConfigs);
+        final NetworkManager manager = this.parent().manager();
+        return manager.resolveChildReferencesAsync(ipConfigIds,
+                new Func1<String, Observable<NetworkInterface>>() {
+                    @Override
+                    public Observable<NetworkInterface> call(String nicId) {
+                        return manager.networkInterfaces().getByIdAsync(nicId);
+                    }
+                },
+                new Func1<String, Observable<NetworkInterface>>() {
+                    @Override
+                    public Observable<NetworkInterface> call(String resourceGroupName) {
+                        return manager.networkInterfaces().listByResourceGroupAsync(resourceGroupName);
+                    }
+                },
+                new Func2<NetworkInterface, String, NicIPConfiguration>() {
+                    @Override
+                    public NicIPConfiguration call(NetworkInterface nic, String ipConfigName) {
+                        return nic.ipConfigurations().get(ipConfigName);
+                    }
+                });
     }
 
     @Override
@@ -7,9 +7,12 @@ package com.microsoft.azure.management.network.model;
 
 import java.util.List;
 
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
 import com.microsoft.azure.management.apigeneration.Fluent;
 import com.microsoft.azure.management.apigeneration.Method;
 import com.microsoft.azure.management.network.Subnet;
+import rx.Observable;
 
 /**
  * An interface representing a model's ability to reference a list of associated subnets.
@@ -21,4 +24,13 @@ public interface HasAssociatedSubnets  {
      */
     @Method
     List<Subnet> listAssociatedSubnets();
+
+    /**
+     * Lists the subnets associated with this resource, each referenced network is fetched once.
+     *
+     * @return an observable that emits the subnets associated with this resource
+     */
+    @Beta(SinceVersion.V1_15_0)
+    @Method
+    Observable<Subnet> listAssociatedSubnetsAsync();
 }
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.network.implementation;
+
+import com.microsoft.azure.management.network.ApplicationGatewayBackend;
+import com.microsoft.azure.management.network.NetworkInterface;
+import com.microsoft.azure.management.network.NicIPConfiguration;
+import com.microsoft.azure.management.network.Subnet;
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Test class to test the resolution of references to child resources by NetworkManager class.
+ */
+public class NetworkManagerTests {
+    private static final String RG = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/";
+    private static final String NICS = RG + "networkInterfaces";
+
+    private NetworkManager manager;
+    // The resources served, by lower case path
+    private final Map<String, String> resources = new ConcurrentHashMap<>();
+    // The requests received, as lower case path
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+
+    @Before
+    public void setup() {
+        Interceptor networkService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                String path = request.url().encodedPath().toLowerCase();
+                requests.add(path);
+                String resource = resources.get(path);
+                if (resource == null) {
+                    return OfflineService.response(request, 404, "{\"error\":{\"code\":\"ResourceNotFound\",\"message\":\"Not found\"}}");
+                }
+                return OfflineService.response(request, 200, resource);
+            }
+        };
+        RestClient restClient = OfflineService.restClient(networkService);
+        manager = NetworkManager.authenticate(restClient, "sub");
+    }
+
+    @Test
+    public void canResolveSubnetsOncePerNetwork() {
+        addNetwork("vnet1", "default", "backend");
+        addNetwork("vnet2", "default");
+
+        List<SubnetInner> subnetRefs = new ArrayList<>();
+        for (String subnetId : Arrays.asList(
+                RG + "virtualNetworks/vnet2/subnets/default",
+                RG + "virtualNetworks/vnet1/subnets/backend",
+                RG + "virtualNetworks/deleted/subnets/default",
+                RG + "virtualNetworks/VNET1/subnets/default",
+                RG + "virtualNetworks/vnet1/subnets/deleted")) {
+            subnetRefs.add((SubnetInner) new SubnetInner().withId(subnetId));
+        }
+        List<Subnet> subnets = manager.listAssociatedSubnetsAsync(subnetRefs).toList().toBlocking().single();
+
+        // In the order of the references, the missing networks and subnets skipped
+        Assert.assertEquals(3, subnets.size());
+        Assert.assertEquals("vnet2/default", subnets.get(0).parent().name() + "/" + subnets.get(0).name());
+        Assert.assertEquals("vnet1/backend", subnets.get(1).parent().name() + "/" + subnets.get(1).name());
+        Assert.assertEquals("vnet1/default", subnets.get(2).parent().name() + "/" + subnets.get(2).name());
+        // Each network fetched once
+        Assert.assertEquals(3, requests.size());
+        Assert.assertEquals(1, Collections.frequency(requests, (RG + "virtualNetworks/vnet1").toLowerCase()));
+
+        requests.clear();
+        Assert.assertTrue(manager.listAssociatedSubnetsAsync(null).toList().toBlocking().single().isEmpty());
+        Assert.assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void canFetchFewNetworkInterfacesById() {
+        Subnet subnet = subnetWithNetworkInterfaces(19);
+
+        List<NicIPConfiguration> ipConfigs = subnet.listNetworkInterfaceIPConfigurationsAsync().toList().toBlocking().single();
+
+        assertIpConfigs(ipConfigs, 19);
+        Assert.assertEquals(19, requests.size());
+        Assert.assertFalse(requests.contains(NICS.toLowerCase()));
+    }
+
+    @Test
+    public void canListManyNetworkInterfaces() {
+        Subnet subnet = subnetWithNetworkInterfaces(25);
+        // Created after the listing, then fetched by id
+        String listing = resources.remove(NICS.toLowerCase());
+        resources.put(NICS.toLowerCase(), listing.replace("," + nic(24), ""));
+        // Deleted since
+        resources.remove((NICS + "/nic23").toLowerCase());
+        resources.put(NICS.toLowerCase(), resources.get(NICS.toLowerCase()).replace("," + nic(23), ""));
+
+        List<NicIPConfiguration> ipConfigs = subnet.listNetworkInterfaceIPConfigurationsAsync().toList().toBlocking().single();
+
+        Assert.assertEquals(24, ipConfigs.size());
+        for (int i = 0; i < 23; i++) {
+            Assert.assertEquals("nic" + i, ipConfigs.get(i).parent().name());
+        }
+        Assert.assertEquals("nic24", ipConfigs.get(23).parent().name());
+        // Listed once, the network interfaces missing from the listing fetched by id
+        Assert.assertEquals(3, requests.size());
+        Assert.assertTrue(requests.contains(NICS.toLowerCase()));
+        Assert.assertTrue(requests.contains((NICS + "/nic23").toLowerCase()));
+        Assert.assertTrue(requests.contains((NICS + "/nic24").toLowerCase()));
+    }
+
+    @Test
+    public void canResolveApplicationGatewayBackendsOncePerGateway() {
+        addApplicationGateway("agw1", "pool1", "pool2");
+        addApplicationGateway("agw2", "pool1");
+        String agws = RG + "applicationGateways/";
+        resources.put((NICS + "/nic").toLowerCase(), "{\"id\":\"" + NICS + "/nic\",\"name\":\"nic\",\"location\":\"westus\","
+                + "\"properties\":{\"ipConfigurations\":[{\"id\":\"" + NICS + "/nic/ipConfigurations/ipconfig1\",\"name\":\"ipconfig1\","
+                + "\"properties\":{\"applicationGatewayBackendAddressPools\":["
+                + "{\"id\":\"" + agws + "agw2/backendAddressPools/pool1\"},"
+                + "{\"id\":\"" + agws + "agw1/backendAddressPools/pool2\"},"
+                + "{\"id\":\"" + agws + "deleted/backendAddressPools/pool1\"},"
+                + "{\"id\":\"" + agws + "agw1/backendAddressPools/pool1\"}]}}]}}");
+        NetworkInterface nic = manager.networkInterfaces().getById(NICS + "/nic");
+        requests.clear();
+
+        List<ApplicationGatewayBackend> backends = nic.primaryIPConfiguration()
+                .listAssociatedApplicationGatewayBackendsAsync().toList().toBlocking().single();
+
+        Assert.assertEquals(3, backends.size());
+        Assert.assertEquals("agw2/pool1", backends.get(0).parent().name() + "/" + backends.get(0).name());
+        Assert.assertEquals("agw1/pool2", backends.get(1).parent().name() + "/" + backends.get(1).name());
+        Assert.assertEquals("agw1/pool1", backends.get(2).parent().name() + "/" + backends.get(2).name());
+        Assert.assertEquals(3, requests.size());
+    }
+
+    private Subnet subnetWithNetworkInterfaces(int count) {
+        StringBuilder ipConfigRefs = new StringBuilder();
+        StringBuilder listing = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ipConfigRefs.append(i == 0 ? "" : ",").append("{\"id\":\"").append(NICS).append("/nic").append(i)
+                    .append("/ipConfigurations/ipconfig1\"}");
+            resources.put((NICS + "/nic" + i).toLowerCase(), nic(i));
+            // Listed in reverse order
+            listing.insert(0, "," + nic(i));
+        }
+        // A network interface of the resource group in another subnet
+        listing.insert(0, nic(1000));
+        resources.put(NICS.toLowerCase(), "{\"value\":[" + listing + "]}");
+        resources.put((RG + "virtualNetworks/vnet").toLowerCase(), "{\"id\":\"" + RG + "virtualNetworks/vnet\",\"name\":\"vnet\","
+                + "\"location\":\"westus\",\"properties\":{\"addressSpace\":{\"addressPrefixes\":[\"10.0.0.0/16\"]},"
+                + "\"subnets\":[{\"id\":\"" + RG + "virtualNetworks/vnet/subnets/default\",\"name\":\"default\","
+                + "\"properties\":{\"addressPrefix\":\"10.0.0.0/24\",\"ipConfigurations\":[" + ipConfigRefs + "]}}]}}");
+        Subnet subnet = manager.networks().getById(RG + "virtualNetworks/vnet").subnets().get("default");
+        requests.clear();
+        return subnet;
+    }
+
+    private static void assertIpConfigs(List<NicIPConfiguration> ipConfigs, int count) {
+        Assert.assertEquals(count, ipConfigs.size());
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals("nic" + i, ipConfigs.get(i).parent().name());
+            Assert.assertEquals("ipconfig1", ipConfigs.get(i).name());
+        }
+    }
+
+    private static String nic(int i) {
+        return "{\"id\":\"" + NICS + "/nic" + i + "\",\"name\":\"nic" + i + "\",\"location\":\"westus\","
+                + "\"properties\":{\"ipConfigurations\":[{\"id\":\"" + NICS + "/nic" + i + "/ipConfigurations/ipconfig1\","
+                + "\"name\":\"ipconfig1\",\"properties\":{\"privateIPAllocationMethod\":\"Dynamic\"}}]}}";
+    }
+
+    private void addNetwork(String name, String... subnetNames) {
+        String id = RG + "virtualNetworks/" + name;
+        StringBuilder subnets = new StringBuilder();
+        for (String subnetName : subnetNames) {
+            subnets.append(subnets.length() == 0 ? "" : ",").append("{\"id\":\"").append(id).append("/subnets/").append(subnetName)
+                    .append("\",\"name\":\"").append(subnetName).append("\",\"properties\":{\"addressPrefix\":\"10.0.0.0/24\"}}");
+        }
+        resources.put(id.toLowerCase(), "{\"id\":\"" + id + "\",\"name\":\"" + name + "\",\"location\":\"westus\","
+                + "\"properties\":{\"addressSpace\":{\"addressPrefixes\":[\"10.0.0.0/16\"]},\"subnets\":[" + subnets + "]}}");
+    }
+
+    private void addApplicationGateway(String name, String... poolNames) {
+        String id = RG + "applicationGateways/" + name;
+        StringBuilder pools = new StringBuilder();
+        for (String poolName : poolNames) {
+            pools.append(pools.length() == 0 ? "" : ",").append("{\"id\":\"").append(id).append("/backendAddressPools/").append(poolName)
+                    .append("\",\"name\":\"").append(poolName).append("\",\"properties\":{}}");
+        }
+        resources.put(id.toLowerCase(), "{\"id\":\"" + id + "\",\"name\":\"" + name + "\",\"location\":\"westus\","
+                + "\"properties\":{\"backendAddressPools\":[" + pools + "]}}");
+    }
+}
@@ -22,6 +22,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import rx.Observable;
 
@@ -32,6 +33,7 @@ import rx.Observable;
 public interface RedisCaches extends
         SupportsCreating<RedisCache.DefinitionStages.Blank>,
         SupportsListing<RedisCache>,
+        SupportsListingInPages<RedisCache>,
         SupportsListingByResourceGroup<RedisCache>,
         SupportsGettingByResourceGroup<RedisCache>,
         SupportsGettingById<RedisCache>,
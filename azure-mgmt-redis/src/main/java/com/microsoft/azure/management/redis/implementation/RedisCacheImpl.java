@@ -32,12 +32,13 @@ import com.microsoft.azure.management.redis.TlsVersion;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasId;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
-import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import com.microsoft.azure.management.resources.fluentcore.utils.WaitUntil;
 import org.joda.time.Period;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Action1;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 import java.util.ArrayList;
@@ -45,6 +46,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation for Redis Cache and its parent interfaces.
@@ -61,6 +63,17 @@ class RedisCacheImpl
             RedisCachePremium,
             RedisCache.Definition,
             RedisCache.Update {
+    private static final long POLLING_INITIAL_DELAY_IN_SECONDS = 5;
+    private static final long POLLING_MAX_DELAY_IN_SECONDS = 30;
+    private static final Func1<RedisResourceInner, Boolean> IS_PROVISIONED = new Func1<RedisResourceInner, Boolean>() {
+        @Override
+        public Boolean call(RedisResourceInner innerResource) {
+            return innerResource != null
+                    && innerResource.provisioningState() != null
+                    && innerResource.provisioningState().toString().equalsIgnoreCase(ProvisioningState.SUCCEEDED.toString());
+        }
+    };
+
     private RedisAccessKeys cachedAccessKeys;
     private RedisCreateParameters createParameters;
     private RedisUpdateParameters updateParameters;
@@ -590,17 +603,33 @@ class RedisCacheImpl
         final RedisCacheImpl self = this;
         return this.manager().inner().redis().updateAsync(resourceGroupName(), name(), updateParameters)
                 .map(innerToFluentMap(this))
-                .doOnNext(new Action1<RedisCache>() {
+                .flatMap(new Func1<RedisCache, Observable<RedisCache>>() {
                     @Override
-                    public void call(RedisCache redisCache) {
-                        while (!redisCache.provisioningState().equalsIgnoreCase("Succeeded")) {
-                            SdkContext.sleep(30 * 1000);
-
-                            RedisResourceInner innerResource = self.manager().inner().redis().getByResourceGroup(resourceGroupName(), name());
-                            ((RedisCacheImpl) redisCache).setInner(innerResource);
-                            self.setInner(innerResource);
-                            self.patchScheduleAdded = false;
-                        }
+                    public Observable<RedisCache> call(final RedisCache redisCache) {
+                        return WaitUntil.polling(new Func0<Observable<RedisResourceInner>>() {
+                            @Override
+                            public Observable<RedisResourceInner> call() {
+                                return self.manager().inner().redis().getByResourceGroupAsync(resourceGroupName(), name())
+                                        .doOnNext(new Action1<RedisResourceInner>() {
+                                            @Override
+                                            public void call(RedisResourceInner innerResource) {
+                                                ((RedisCacheImpl) redisCache).setInner(innerResource);
+                                                self.setInner(innerResource);
+                                                self.patchScheduleAdded = false;
+                                            }
+                                        });
+                            }
+                        })
+                                .until(IS_PROVISIONED)
+                                .startingWith(redisCache.inner())
+                                .withDelays(POLLING_INITIAL_DELAY_IN_SECONDS, POLLING_MAX_DELAY_IN_SECONDS, TimeUnit.SECONDS)
+                                .toObservable()
+                                .map(new Func1<RedisResourceInner, RedisCache>() {
+                                    @Override
+                                    public RedisCache call(RedisResourceInner innerResource) {
+                                        return redisCache;
+                                    }
+                                });
                     }
                 })
                 .flatMap(new Func1<RedisCache, Observable<RedisCache>>() {
@@ -662,20 +691,33 @@ class RedisCacheImpl
                 this.name(),
                 linkedServerName);
 
-        RedisResourceInner innerLinkedResource = null;
-        RedisResourceInner innerResource = null;
-        while (innerLinkedResource == null
-                || innerLinkedResource.provisioningState() != ProvisioningState.SUCCEEDED
-                || innerResource == null
-                || innerResource.provisioningState() != ProvisioningState.SUCCEEDED) {
-            SdkContext.sleep(30 * 1000);
-
-            innerLinkedResource = this.manager().inner().redis().getByResourceGroup(
-                    ResourceUtils.groupFromResourceId(linkedServer.id()),
-                    ResourceUtils.nameFromResourceId(linkedServer.id()));
-
-            innerResource = this.manager().inner().redis().getByResourceGroup(resourceGroupName(), name());
-        }
+        final RedisInner redisClient = this.manager().inner().redis();
+        final String linkedResourceGroupName = ResourceUtils.groupFromResourceId(linkedServer.id());
+        final String linkedName = ResourceUtils.nameFromResourceId(linkedServer.id());
+        WaitUntil.polling(new Func0<Observable<List<RedisResourceInner>>>() {
+            @Override
+            public Observable<List<RedisResourceInner>> call() {
+                return Observable.concat(
+                        redisClient.getByResourceGroupAsync(linkedResourceGroupName, linkedName),
+                        redisClient.getByResourceGroupAsync(resourceGroupName(), name()))
+                        .toList();
+            }
+        })
+                .until(new Func1<List<RedisResourceInner>, Boolean>() {
+                    @Override
+                    public Boolean call(List<RedisResourceInner> innerResources) {
+                        for (RedisResourceInner innerResource : innerResources) {
+                            if (!IS_PROVISIONED.call(innerResource)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                })
+                .withDelays(POLLING_INITIAL_DELAY_IN_SECONDS, POLLING_MAX_DELAY_IN_SECONDS, TimeUnit.SECONDS)
+                .toObservable()
+                .toCompletable()
+                .await();
     }
 
     @Override
@@ -14,6 +14,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.implementation.ResourceManager;
 import com.microsoft.rest.ServiceCallback;
 import com.microsoft.rest.ServiceFuture;
@@ -27,6 +28,7 @@ import java.util.List;
 @Fluent
 public interface GenericResources extends
         SupportsListing<GenericResource>,
+        SupportsListingInPages<GenericResource>,
         SupportsListingByResourceGroup<GenericResource>,
         SupportsListingInResourceGroupByTag<GenericResource>,
         SupportsGettingById<GenericResource>,
@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.resources.fluentcore.arm;
 
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingPolicy;
 import com.microsoft.rest.LogLevel;
 import okhttp3.Authenticator;
 import okhttp3.ConnectionPool;
@@ -120,4 +121,13 @@ public interface AzureConfigurable<T extends AzureConfigurable<T>> {
      * @return the configurable object itself for chaining
      */
     T withProxyAuthenticator(Authenticator proxyAuthenticator);
+
+    /**
+     * Sets the policy used to pace the requests sent to Azure Resource Manager. By default
+     * a token bucket policy shared by all the clients in the process is used.
+     *
+     * @param throttlingPolicy the throttling policy to use
+     * @return the configurable object itself for chaining
+     */
+    T withThrottlingPolicy(ThrottlingPolicy throttlingPolicy);
 }
@@ -6,55 +6,61 @@
 
 package com.microsoft.azure.management.resources.fluentcore.arm;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
  * Base implementation for expandable, single string enums.
+ * <p>
+ * The values of each enum type are kept in their own table, where they are looked up by name ignoring case,
+ * without allocating.
  * @param <T> a specific expandable enum type
  */
 public abstract class ExpandableStringEnum<T extends ExpandableStringEnum<T>> {
-    private static ConcurrentMap<String, ? extends ExpandableStringEnum<?>> valuesByName = null;
+    // The values by enum type, a new table being published when a value is added to it
+    private static final ConcurrentMap<Class<?>, NameTable<?>> VALUES_BY_TYPE = new ConcurrentHashMap<>();
 
     private String name;
     private Class<T> clazz;
 
-    private static String uniqueKey(Class<?> clazz, String name) {
-        if (clazz != null) {
-            return (clazz.getName() + "#" + name).toLowerCase();
-        } else {
+    @SuppressWarnings("unchecked")
+    private static <T> NameTable<T> table(Class<T> clazz) {
+        if (clazz == null) {
             throw new IllegalArgumentException();
         }
+        NameTable<T> table = (NameTable<T>) VALUES_BY_TYPE.get(clazz);
+        return table != null ? table : NameTable.<T>empty();
     }
 
     @SuppressWarnings("unchecked")
     protected T withNameValue(String name, T value, Class<T> clazz) {
-        if (valuesByName == null) {
-            valuesByName = new ConcurrentHashMap<String, T>();
-        }
         this.name = name;
         this.clazz = clazz;
-        ((ConcurrentMap<String, T>) valuesByName).put(uniqueKey(clazz, name), value);
+        if (name != null) {
+            synchronized (VALUES_BY_TYPE) {
+                VALUES_BY_TYPE.put(clazz, table(clazz).with(name, value));
+            }
+        }
         return (T) this;
     }
 
-    @SuppressWarnings("unchecked")
     protected static <T extends ExpandableStringEnum<T>> T fromString(String name, Class<T> clazz) {
         if (name == null) {
             return null;
-        } else if (valuesByName != null) {
-            T value = (T) valuesByName.get(uniqueKey(clazz, name));
-            if (value != null) {
-                return value;
-            }
+        }
+        T value = table(clazz).get(name);
+        if (value != null) {
+            return value;
         }
 
         try {
-            T value = clazz.newInstance();
-            return value.withNameValue(name, value, clazz);
+            // Created outside of the lock, as creating the first value of a type initializes the type
+            T newValue = clazz.newInstance();
+            synchronized (VALUES_BY_TYPE) {
+                value = table(clazz).get(name);
+                return value != null ? value : newValue.withNameValue(name, newValue, clazz);
+            }
         } catch (InstantiationException e) {
             return null;
         } catch (IllegalAccessException e) {
@@ -62,19 +68,8 @@ public abstract class ExpandableStringEnum<T extends ExpandableStringEnum<T>> {
         }
     }
 
-    @SuppressWarnings("unchecked")
     protected static <T extends ExpandableStringEnum<T>> Collection<T> values(Class<T> clazz) {
-        // Make a copy of all values
-        Collection<? extends ExpandableStringEnum<?>> values = new ArrayList<>(valuesByName.values());
-
-        Collection<T> list = new HashSet<T>();
-        for (ExpandableStringEnum<?> value : values) {
-            if (value.getClass().isAssignableFrom(clazz)) {
-                list.add((T) value);
-            }
-        }
-
-        return list;
+        return table(clazz).values();
     }
 
     @Override
@@ -84,7 +79,16 @@ public abstract class ExpandableStringEnum<T extends ExpandableStringEnum<T>> {
 
     @Override
     public int hashCode() {
-        return uniqueKey(this.clazz, this.name).hashCode();
+        if (this.clazz == null) {
+            throw new IllegalArgumentException();
+        }
+        int h = this.clazz.getName().hashCode();
+        if (this.name != null) {
+            for (int i = 0; i < this.name.length(); i++) {
+                h = 31 * h + Character.toLowerCase(this.name.charAt(i));
+            }
+        }
+        return h;
     }
 
     @SuppressWarnings("unchecked")
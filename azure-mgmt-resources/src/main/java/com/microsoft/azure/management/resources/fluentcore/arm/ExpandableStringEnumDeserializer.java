@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+
+/**
+ * Custom deserializer for expandable string enums, both the fluent ones and the ones of the inner models.
+ * (Internal use only)
+ * <p>
+ * The known values of an enum type are looked up from the characters of the JSON string, ignoring case,
+ * so that deserializing a known value neither allocates nor calls the creator of the type by reflection.
+ */
+public final class ExpandableStringEnumDeserializer extends StdDeserializer<Object> {
+    private static final long serialVersionUID = 1L;
+    // The maximum number of values of a type looked up without calling its creator
+    private static final int MAX_VALUES = 1024;
+
+    private final transient Method fromString;
+    private transient volatile NameTable<Object> values;
+
+    private ExpandableStringEnumDeserializer(Class<?> type, Method fromString, NameTable<Object> values) {
+        super(type);
+        this.fromString = fromString;
+        this.values = values;
+    }
+
+    /**
+     * Gets a module wrapping this deserializer as an adapter for the Jackson
+     * ObjectMapper.
+     *
+     * @return a simple module to be plugged onto Jackson ObjectMapper.
+     */
+    public static SimpleModule getModule() {
+        SimpleModule module = new SimpleModule();
+        module.setDeserializers(new SimpleDeserializers() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType type,
+                                                            DeserializationConfig config,
+                                                            BeanDescription beanDesc) {
+                return forType(type.getRawClass());
+            }
+        });
+        return module;
+    }
+
+    /**
+     * @return the deserializer of an enum type, null if the type is not an expandable string enum
+     */
+    private static ExpandableStringEnumDeserializer forType(Class<?> type) {
+        if (!(ExpandableStringEnum.class.isAssignableFrom(type)
+                || com.microsoft.rest.ExpandableStringEnum.class.isAssignableFrom(type))
+                || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Method fromString = type.getMethod("fromString", String.class);
+            Method valuesMethod = type.getMethod("values");
+            if (!Modifier.isStatic(fromString.getModifiers()) || !Modifier.isStatic(valuesMethod.getModifiers())) {
+                return null;
+            }
+            // Calling values() initializes the type, registering its static values
+            NameTable<Object> values = NameTable.empty();
+            for (Object value : (Collection<?>) valuesMethod.invoke(null)) {
+                values = values.with(value.toString(), value);
+            }
+            return new ExpandableStringEnumDeserializer(type, fromString, values);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            Object value = values.get(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        } else if (!parser.getCurrentToken().isScalarValue()) {
+            return context.handleUnexpectedToken(handledType(), parser);
+        }
+
+        String name = parser.getValueAsString();
+        Object value;
+        try {
+            value = fromString.invoke(null, name);
+        } catch (IllegalAccessException e) {
+            throw new IOException(e);
+        } catch (InvocationTargetException e) {
+            throw new IOException(e.getCause());
+        }
+        if (value != null) {
+            synchronized (this) {
+                if (values.size() < MAX_VALUES) {
+                    values = values.with(name, value);
+                }
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An open addressing table of values looked up by name, ignoring case.
+ * <p>
+ * Names are looked up from their characters without allocating. Adding a value creates a new table,
+ * the tables never changing as seen through their own values. The new table shares the arrays of the
+ * table it is added to while they have room, so that adding a value takes constant time on average;
+ * values are therefore added to the latest table only, by one thread at a time, while any thread
+ * can look up values.
+ *
+ * @param <T> the type of the values
+ */
+final class NameTable<T> {
+    @SuppressWarnings("unchecked")
+    private static final NameTable<Object> EMPTY = new NameTable<>(new Entry[1], new Entry[0], 0);
+
+    // The entries by slot, the slot of a name being the first free one from its hash
+    private final Entry<T>[] slots;
+    // The entries in the order they were added, the first size ones being in this table
+    private final Entry<T>[] entries;
+    private final int size;
+    private final List<T> values;
+
+    private NameTable(Entry<T>[] slots, final Entry<T>[] entries, final int size) {
+        this.slots = slots;
+        this.entries = entries;
+        this.size = size;
+        this.values = new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                if (index >= size) {
+                    throw new IndexOutOfBoundsException(Integer.toString(index));
+                }
+                return entries[index].value;
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * @param <T> the type of the values
+     * @return the table without any value
+     */
+    @SuppressWarnings("unchecked")
+    static <T> NameTable<T> empty() {
+        return (NameTable<T>) EMPTY;
+    }
+
+    /**
+     * @return the values of the table, in the order they were added
+     */
+    List<T> values() {
+        return values;
+    }
+
+    /**
+     * @param name the name
+     * @return the value of the name, ignoring case, or null if the table does not contain the name
+     */
+    T get(String name) {
+        int length = name.length();
+        int mask = slots.length - 1;
+        for (int slot = spread(hash(name)) & mask;; slot = (slot + 1) & mask) {
+            Entry<T> candidate = slots[slot];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.name.length() == length && candidate.name.regionMatches(true, 0, name, 0, length)) {
+                return candidate.value;
+            }
+        }
+    }
+
+    /**
+     * @param chars the characters containing the name
+     * @param offset the offset of the name in the characters
+     * @param length the length of the name
+     * @return the value of the name, ignoring case, or null if the table does not contain the name
+     */
+    T get(char[] chars, int offset, int length) {
+        int h = 0;
+        for (int i = offset; i < offset + length; i++) {
+            h = 31 * h + fold(chars[i]);
+        }
+        int mask = slots.length - 1;
+        for (int slot = spread(h) & mask;; slot = (slot + 1) & mask) {
+            Entry<T> candidate = slots[slot];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.name.length() == length && matches(candidate.name, chars, offset)) {
+                return candidate.value;
+            }
+        }
+    }
+
+    /**
+     * Creates a table with an additional value, replacing the value of the same name if any.
+     * <p>
+     * To be called on the latest table only, by one thread at a time.
+     *
+     * @param name the name
+     * @param value the value
+     * @return the new table
+     */
+    NameTable<T> with(String name, T value) {
+        Entry<T> entry = new Entry<>(name, value);
+        if (get(name) != null) {
+            // Rebuilt without the value replaced, which is rare
+            List<Entry<T>> kept = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                if (!entries[i].name.equalsIgnoreCase(name)) {
+                    kept.add(entries[i]);
+                }
+            }
+            kept.add(entry);
+            @SuppressWarnings("unchecked")
+            Entry<T>[] newEntries = kept.toArray(new Entry[0]);
+            return build(Arrays.copyOf(newEntries, capacity(newEntries.length)), newEntries.length);
+        }
+        if (size == entries.length) {
+            Entry<T>[] newEntries = Arrays.copyOf(entries, capacity(size + 1));
+            newEntries[size] = entry;
+            return build(newEntries, size + 1);
+        }
+        // Added in place, the tables before this one not containing the entry in their values
+        entries[size] = entry;
+        insert(slots, entry);
+        return new NameTable<>(slots, entries, size + 1);
+    }
+
+    /**
+     * @return the number of values in the table
+     */
+    int size() {
+        return size;
+    }
+
+    private static <T> NameTable<T> build(Entry<T>[] entries, int size) {
+        // At most half full once all the entries are added
+        @SuppressWarnings("unchecked")
+        Entry<T>[] slots = new Entry[Integer.highestOneBit(entries.length) * 2];
+        for (int i = 0; i < size; i++) {
+            insert(slots, entries[i]);
+        }
+        return new NameTable<>(slots, entries, size);
+    }
+
+    private static <T> void insert(Entry<T>[] slots, Entry<T> entry) {
+        int mask = slots.length - 1;
+        int slot = spread(hash(entry.name)) & mask;
+        while (slots[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry;
+    }
+
+    private static int capacity(int size) {
+        return Math.max(4, Integer.highestOneBit(size) * 2);
+    }
+
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + fold(name.charAt(i));
+        }
+        return h;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset) {
+        for (int i = 0; i < candidate.length(); i++) {
+            char c1 = candidate.charAt(i);
+            char c2 = chars[offset + i];
+            if (c1 != c2 && fold(c1) != fold(c2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds the case of a character the same way as {@link String#regionMatches(boolean, int, String, int, int)}.
+     */
+    private static int fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A name and its value, safely published to the threads looking up names by its final fields.
+     */
+    private static final class Entry<T> {
+        private final String name;
+        private final T value;
+
+        private Entry(String name, T value) {
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
@@ -8,101 +8,97 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 
 import com.microsoft.azure.management.apigeneration.LangDefinition;
 import java.security.InvalidParameterException;
-import org.apache.commons.lang3.StringUtils;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Instantiate itself from a resource id, and give easy access to resource information like subscription, resourceGroup,
  * resource name.
+ * <p>
+ * The id is parsed once into the offsets of its segments, the parts of the id are only extracted when accessed.
+ * Resource IDs are compared case insensitively, so that a ResourceId can be used as a key in hash based collections.
  */
 @LangDefinition
 public final class ResourceId {
+    // Format of id:
+    // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
+    //  0             1                2              3                   4         5                                                        N-2            N-1
+    private static final int SUBSCRIPTION_ID_INDEX = 1;
+    private static final int RESOURCE_GROUP_NAME_INDEX = 3;
+    private static final int PROVIDER_NAMESPACE_INDEX = 5;
+    private static final int TOP_LEVEL_SEGMENT_COUNT = 8;
 
-    private String subscriptionId = null;
-    private String resourceGroupName = null;
-    private String name = null;
-    private String providerNamespace = null;
-    private String resourceType = null;
-    private String id = null;
-    private String parentId = null;
+    // Namespaces and resource types are shared by many IDs, only a bounded number of them is pooled
+    private static final int MAX_POOLED_SEGMENTS = 4096;
+    private static final ConcurrentMap<String, String> SEGMENT_POOL = new ConcurrentHashMap<>();
+
+    // The ID this ID has been parsed from, the same for an ID and its parents
+    private final String source;
+    // The offsets of the segments in the source, segment i spans from starts[i] to starts[i + 1] - 1
+    private final int[] starts;
+    // The number of segments of this ID, fewer than in the source for a parent
+    private final int count;
+    private String id;
+    private String name;
+    private String resourceType;
+    private String fullResourceType;
+    private ResourceId parent;
+    private int hash;
 
     private static String badIdErrorText(String id) {
         return String.format("The specified ID `%s` is not a valid Azure resource ID.", id);
     }
 
     private ResourceId(final String id) {
+        this.source = id;
+        this.id = id;
         if (id == null) {
             // Protect against NPEs from null IDs, preserving legacy behavior for null IDs
+            this.starts = null;
+            this.count = 0;
             return;
-        } else {
-            // Skip the first '/' if any, and then split using '/'
-            String[] splits = (id.startsWith("/")) ? id.substring(1).split("/") : id.split("/");
-            if (splits.length % 2 == 1) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            }
-
-            // Save the ID itself
-            this.id = id;
-
-            // Format of id:
-            // /subscriptions/<subscriptionId>/resourceGroups/<resourceGroupName>/providers/<providerNamespace>(/<parentResourceType>/<parentName>)*/<resourceType>/<name>
-            //  0             1                2              3                   4         5                                                        N-2            N-1
+        }
 
-            // Extract resource type and name
-            if (splits.length < 2) {
-                throw new InvalidParameterException(badIdErrorText(id));
-            } else {
-                this.name = splits[splits.length - 1];
-                this.resourceType = splits[splits.length - 2];
+        // Skip the first '/' if any, and then split using '/', ignoring the trailing empty segments
+        int begin = id.startsWith("/") ? 1 : 0;
+        int end = id.length();
+        while (end > begin && id.charAt(end - 1) == '/') {
+            end--;
+        }
+        int segmentCount = 1;
+        for (int i = begin; i < end; i++) {
+            if (id.charAt(i) == '/') {
+                segmentCount++;
             }
-
-            // Extract parent ID
-            if (splits.length < 10) {
-                this.parentId = null;
-            } else {
-                String[] parentSplits = new String[splits.length - 2];
-                System.arraycopy(splits, 0, parentSplits, 0, splits.length - 2);
-                this.parentId = "/" + StringUtils.join(parentSplits, "/");
+        }
+        if (end == begin || segmentCount % 2 == 1) {
+            throw new InvalidParameterException(badIdErrorText(id));
+        }
+        this.starts = new int[segmentCount + 1];
+        int segment = 0;
+        this.starts[segment++] = begin;
+        for (int i = begin; i < end; i++) {
+            if (id.charAt(i) == '/') {
+                this.starts[segment++] = i + 1;
             }
+        }
+        this.starts[segmentCount] = end + 1;
+        this.count = segmentCount;
 
-            for (int i = 0; i < splits.length && i < 6; i++) {
-                switch (i) {
-                case 0:
-                    // Ensure "subscriptions"
-                    if (!splits[i].equalsIgnoreCase("subscriptions")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 1:
-                    // Extract subscription ID
-                    this.subscriptionId = splits[i];
-                    break;
-                case 2:
-                    // Ensure "resourceGroups"
-                    if (!splits[i].equalsIgnoreCase("resourceGroups")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 3:
-                    // Extract resource group name
-                    this.resourceGroupName = splits[i];
-                    break;
-                case 4:
-                    // Ensure "providers"
-                    if (!splits[i].equalsIgnoreCase("providers")) {
-                        throw new InvalidParameterException(badIdErrorText(id));
-                    }
-                    break;
-                case 5:
-                    // Extract provider namespace
-                    this.providerNamespace = splits[i];
-                    break;
-                default:
-                    break;
-                }
-            }
+        // Ensure "subscriptions", "resourceGroups" and "providers" where present
+        if (!segmentEquals(0, "subscriptions")
+                || (count > 2 && !segmentEquals(2, "resourceGroups"))
+                || (count > 4 && !segmentEquals(4, "providers"))) {
+            throw new InvalidParameterException(badIdErrorText(id));
         }
     }
 
+    private ResourceId(ResourceId child) {
+        this.source = child.source;
+        this.starts = child.starts;
+        this.count = child.count - 2;
+    }
+
     /**
      * Returns parsed ResourceId object for a given resource id.
      * @param id of the resource
@@ -116,63 +112,150 @@ public final class ResourceId {
      * @return subscriptionId of the resource.
      */
     public String subscriptionId() {
-        return this.subscriptionId;
+        return count > SUBSCRIPTION_ID_INDEX ? segment(SUBSCRIPTION_ID_INDEX) : null;
     }
 
     /**
      * @return resourceGroupName of the resource.
      */
     public String resourceGroupName() {
-        return this.resourceGroupName;
+        return count > RESOURCE_GROUP_NAME_INDEX ? segment(RESOURCE_GROUP_NAME_INDEX) : null;
     }
 
     /**
      * @return name of the resource.
      */
     public String name() {
-        return this.name;
+        if (name == null && count > 0) {
+            name = segment(count - 1);
+        }
+        return name;
     }
 
     /**
      * @return parent resource id of the resource if any, otherwise null.
      */
     public ResourceId parent() {
-        if (this.id == null || this.parentId == null) {
+        if (count <= TOP_LEVEL_SEGMENT_COUNT) {
             return null;
-        } else {
-            return fromString(this.parentId);
         }
+        if (parent == null) {
+            parent = new ResourceId(this);
+        }
+        return parent;
     }
 
     /**
      * @return name of the provider.
      */
     public String providerNamespace() {
-        return this.providerNamespace;
+        return count > PROVIDER_NAMESPACE_INDEX ? pooledSegment(PROVIDER_NAMESPACE_INDEX) : null;
     }
 
     /**
      * @return type of the resource.
      */
     public String resourceType() {
-        return this.resourceType;
+        if (resourceType == null && count > 0) {
+            resourceType = pooledSegment(count - 2);
+        }
+        return resourceType;
     }
 
     /**
      * @return full type of the resource.
      */
     public String fullResourceType() {
-        if (this.parentId == null) {
-            return this.providerNamespace + "/" + this.resourceType;
-        } else {
-            return this.parent().fullResourceType() + "/" + this.resourceType;
+        if (fullResourceType == null && count > 0) {
+            if (count <= TOP_LEVEL_SEGMENT_COUNT) {
+                fullResourceType = this.providerNamespace() + "/" + this.resourceType();
+            } else {
+                // The namespace followed by the types of the ancestors and of the resource
+                StringBuilder builder = new StringBuilder(this.providerNamespace());
+                for (int i = PROVIDER_NAMESPACE_INDEX + 1; i < count; i += 2) {
+                    builder.append('/').append(source, starts[i], starts[i + 1] - 1);
+                }
+                fullResourceType = builder.toString();
+            }
         }
+        return fullResourceType;
     }
 
     /**
      * @return the id of the resource.
      */
     public String id() {
+        if (id == null && count > 0) {
+            // The ID of a parent, always starting with a '/'
+            int end = starts[count] - 1;
+            id = starts[0] == 1 ? source.substring(0, end) : "/" + source.substring(0, end);
+        }
         return id;
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ResourceId)) {
+            return false;
+        }
+        ResourceId that = (ResourceId) other;
+        if (this.count == 0 || that.count == 0) {
+            return this.count == that.count;
+        }
+        int length = this.length();
+        return length == that.length()
+                && this.source.regionMatches(true, this.starts[0], that.source, that.starts[0], length);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && count > 0) {
+            int end = starts[0] + length();
+            for (int i = starts[0]; i < end; i++) {
+                h = 31 * h + Character.toLowerCase(Character.toUpperCase(source.charAt(i)));
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return id();
+    }
+
+    /**
+     * @return the length of the ID without its leading and trailing '/'
+     */
+    private int length() {
+        return starts[count] - 1 - starts[0];
+    }
+
+    private String segment(int index) {
+        return source.substring(starts[index], starts[index + 1] - 1);
+    }
+
+    private String pooledSegment(int index) {
+        String segment = segment(index);
+        String pooled = SEGMENT_POOL.get(segment);
+        if (pooled == null) {
+            if (SEGMENT_POOL.size() >= MAX_POOLED_SEGMENTS) {
+                return segment;
+            }
+            pooled = SEGMENT_POOL.putIfAbsent(segment, segment);
+            if (pooled == null) {
+                pooled = segment;
+            }
+        }
+        return pooled;
+    }
+
+    private boolean segmentEquals(int index, String value) {
+        int length = starts[index + 1] - 1 - starts[index];
+        return length == value.length() && source.regionMatches(true, starts[index], value, 0, length);
+    }
 }
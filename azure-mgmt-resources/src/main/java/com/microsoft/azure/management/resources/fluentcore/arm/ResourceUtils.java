@@ -9,9 +9,6 @@ package com.microsoft.azure.management.resources.fluentcore.arm;
 import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.ProviderResourceType;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * Utility methods for Azure resource IDs.
  */
@@ -66,12 +63,8 @@ public final class ResourceUtils {
         if (id == null) {
             return null;
         }
-        ResourceId resourceId = ResourceId.fromString(id);
-        if (resourceId != null && resourceId.parent() != null) {
-            return ResourceId.fromString(id).parent().id();
-        }
-
-        return null;
+        ResourceId parent = ResourceId.fromString(id).parent();
+        return parent != null ? parent.id() : null;
     }
 
     /**
@@ -105,11 +98,12 @@ public final class ResourceUtils {
         if (id == null) {
             return null;
         }
-        String[] paths = id.split("/providers/" + resourceProviderFromResourceId(id) + "/", 2);
-        if (paths.length == 1) {
+        String providerPath = "/providers/" + resourceProviderFromResourceId(id) + "/";
+        int index = id.indexOf(providerPath);
+        if (index < 0) {
             return "";
         } else {
-            return paths[1];
+            return id.substring(index + providerPath.length());
         }
     }
 
@@ -125,13 +119,26 @@ public final class ResourceUtils {
         if (id == null || identifier == null) {
             return id;
         }
-        Pattern pattern = Pattern.compile(identifier + "/[-\\w._]+");
-        Matcher matcher = pattern.matcher(id);
-        if (matcher.find()) {
-            return matcher.group().split("/")[1];
-        } else {
-            return null;
+        // The first "<identifier>/<value>" in the ID, the value made of letters, digits and '-', '.', '_'
+        String prefix = identifier + "/";
+        int index = id.indexOf(prefix);
+        while (index >= 0) {
+            int start = index + prefix.length();
+            int end = start;
+            while (end < id.length() && isNameCharacter(id.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                return id.substring(start, end);
+            }
+            index = id.indexOf(prefix, index + 1);
         }
+        return null;
+    }
+
+    private static boolean isNameCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_';
     }
 
     /**
@@ -7,7 +7,9 @@ package com.microsoft.azure.management.resources.fluentcore.arm.collection.imple
 
 import com.microsoft.azure.management.resources.fluentcore.arm.models.ExternalChildResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.ExternalChildResourceImpl;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskExecutionPolicy;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import rx.Observable;
 import rx.exceptions.CompositeException;
 import rx.functions.Action0;
@@ -142,6 +144,7 @@ public abstract class ExternalChildResourceCollectionImpl<
             items.add(item);
         }
 
+        final int maxConcurrency = maxConcurrency();
         final List<Throwable> exceptionsList = Collections.synchronizedList(new ArrayList<Throwable>());
         Observable<FluentModelTImpl> deleteStream = Observable.from(items)
                 .filter(new Func1<FluentModelTImpl, Boolean>() {
@@ -173,7 +176,7 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     }
                                 });
                     }
-                });
+                }, maxConcurrency);
 
         Observable<FluentModelTImpl> createStream = Observable.from(items)
                 .filter(new Func1<FluentModelTImpl, Boolean>() {
@@ -206,7 +209,7 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     }
                                 });
                     }
-                });
+                }, maxConcurrency);
 
         Observable<FluentModelTImpl> updateStream = Observable.from(items)
                 .filter(new Func1<FluentModelTImpl, Boolean>() {
@@ -238,7 +241,7 @@ public abstract class ExternalChildResourceCollectionImpl<
                                     }
                                 });
                     }
-                });
+                }, maxConcurrency);
 
         final PublishSubject<FluentModelTImpl> aggregatedErrorStream = PublishSubject.create();
         Observable<FluentModelTImpl> operationsStream = Observable.merge(deleteStream,
@@ -285,6 +288,18 @@ public abstract class ExternalChildResourceCollectionImpl<
     }
 
 
+    /**
+     * @return the maximum number of child resources committed concurrently by {@link this#commitAsync()}
+     * for each of the delete, create and update operations
+     */
+    protected int maxConcurrency() {
+        TaskExecutionPolicy policy = SdkContext.getTaskExecutionPolicy();
+        if (policy == null) {
+            return Integer.MAX_VALUE;
+        }
+        return policy.maxConcurrency();
+    }
+
     /**
      * Finds a child resource with the given key.
      *
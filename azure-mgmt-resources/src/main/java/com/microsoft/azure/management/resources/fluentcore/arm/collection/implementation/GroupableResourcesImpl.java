@@ -15,11 +15,14 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Ma
 import com.microsoft.azure.management.resources.fluentcore.arm.models.GroupableResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.HasManager;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import com.microsoft.rest.ServiceFuture;
 import com.microsoft.rest.ServiceCallback;
 import rx.Completable;
 import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
 import rx.functions.Func1;
 
 /**
@@ -97,7 +100,19 @@ public abstract class GroupableResourcesImpl<
 
     @Override
     public Completable deleteByResourceGroupAsync(String groupName, String name) {
-        return this.deleteInnerAsync(groupName, name).subscribeOn(SdkContext.getRxScheduler());
+        final ResourceCache cache = this.manager().resourceCache();
+        if (cache == null) {
+            return this.deleteInnerAsync(groupName, name).subscribeOn(SdkContext.getRxScheduler());
+        }
+        final String key = cacheKey(groupName, name);
+        return this.deleteInnerAsync(groupName, name)
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        cache.invalidateKey(key);
+                    }
+                })
+                .subscribeOn(SdkContext.getRxScheduler());
     }
 
     @Override
@@ -112,7 +127,7 @@ public abstract class GroupableResourcesImpl<
 
     @Override
     public Observable<T> getByResourceGroupAsync(String resourceGroupName, String name) {
-        return this.getInnerAsync(resourceGroupName, name).map(new Func1<InnerT, T>() {
+        return this.getCachedInnerAsync(resourceGroupName, name).map(new Func1<InnerT, T>() {
             @Override
             public T call(InnerT innerT) {
                 return wrapModel(innerT);
@@ -125,6 +140,40 @@ public abstract class GroupableResourcesImpl<
         return ServiceFuture.fromBody(getByResourceGroupAsync(resourceGroupName, name), callback);
     }
 
+    /**
+     * Gets the inner resource from the cache of the manager, or from the service if caching is
+     * not enabled or the resource is not cached.
+     *
+     * @param resourceGroupName the resource group name
+     * @param name the resource name
+     * @return an observable that emits the inner resource
+     */
+    protected Observable<InnerT> getCachedInnerAsync(final String resourceGroupName, final String name) {
+        ResourceCache cache = this.manager().resourceCache();
+        if (cache == null) {
+            return this.getInnerAsync(resourceGroupName, name);
+        }
+        return cache.getAsync(cacheKey(resourceGroupName, name), new Func0<Observable<InnerT>>() {
+            @Override
+            public Observable<InnerT> call() {
+                return getInnerAsync(resourceGroupName, name);
+            }
+        });
+    }
+
+    /**
+     * @param resourceGroupName the resource group name
+     * @param name the resource name
+     * @return the key looking the resource up in the cache of the manager, unique across the collections;
+     * the cached resource itself is keyed by its resource ID
+     */
+    protected String cacheKey(String resourceGroupName, String name) {
+        return this.getClass().getName()
+                + ":/subscriptions/" + this.manager().subscriptionId()
+                + "/resourceGroups/" + resourceGroupName
+                + "/" + name;
+    }
+
     protected abstract Observable<InnerT> getInnerAsync(String resourceGroupName, String name);
 
     protected abstract Completable deleteInnerAsync(String resourceGroupName, String name);
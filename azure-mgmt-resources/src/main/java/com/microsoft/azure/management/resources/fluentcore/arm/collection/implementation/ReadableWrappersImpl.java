@@ -70,6 +70,10 @@ public abstract class ReadableWrappersImpl<
         return wrapModelAsync(convertPageToInnerAsync(innerPage));
     }
 
+    protected Observable<Page<T>> wrapPagesAsync(Observable<Page<InnerT>> innerPages) {
+        return converter.convertPagesAsync(innerPages);
+    }
+
     protected Observable<T> wrapListAsync(Observable<List<InnerT>> innerList) {
         return wrapModelAsync(convertListToInnerAsync(innerList));
     }
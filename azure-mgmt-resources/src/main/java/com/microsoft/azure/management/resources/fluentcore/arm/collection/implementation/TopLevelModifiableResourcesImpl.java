@@ -5,6 +5,7 @@
  */
 package com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.Resource;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
@@ -20,10 +21,13 @@ import com.microsoft.azure.management.resources.fluentcore.collection.InnerSuppo
 import com.microsoft.azure.management.resources.fluentcore.collection.InnerSupportsGet;
 import com.microsoft.azure.management.resources.fluentcore.collection.InnerSupportsListing;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.resources.fluentcore.utils.RXMapper;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
 import rx.Completable;
 import rx.Observable;
+import rx.functions.Action0;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,6 +56,7 @@ public abstract class TopLevelModifiableResourcesImpl<
         HasManager<ManagerT>,
         HasInner<InnerCollectionT>,
         SupportsListing<T>,
+        SupportsListingInPages<T>,
         SupportsListingByResourceGroup<T>,
         SupportsBatchDeletion {
 
@@ -80,11 +85,20 @@ public abstract class TopLevelModifiableResourcesImpl<
             return Observable.empty();
         }
 
+        final ResourceCache cache = this.manager().resourceCache();
         Collection<Observable<String>> observables = new ArrayList<>();
         for (String id : ids) {
             final String resourceGroupName = ResourceUtils.groupFromResourceId(id);
             final String name = ResourceUtils.nameFromResourceId(id);
             Observable<String> o = RXMapper.map(this.inner().deleteAsync(resourceGroupName, name), id);
+            if (cache != null) {
+                o = o.doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        cache.invalidateKey(cacheKey(resourceGroupName, name));
+                    }
+                });
+            }
             observables.add(o);
         }
 
@@ -108,6 +122,11 @@ public abstract class TopLevelModifiableResourcesImpl<
         return wrapPageAsync(inner().listAsync());
     }
 
+    @Override
+    public Observable<Page<T>> listPagesAsync() {
+        return wrapPagesAsync(inner().listAsync());
+    }
+
     @Override
     public Observable<T> listByResourceGroupAsync(String resourceGroupName) {
         return wrapPageAsync(inner().listByResourceGroupAsync(resourceGroupName));
@@ -12,7 +12,8 @@ import com.microsoft.azure.credentials.AzureTokenCredentials;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingPolicy;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.LogLevel;
 import com.microsoft.rest.RestClient;
 import okhttp3.Authenticator;
@@ -33,10 +34,11 @@ import java.util.concurrent.TimeUnit;
 public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         implements AzureConfigurable<T> {
     protected RestClient.Builder restClientBuilder;
+    protected ThrottlingPolicy throttlingPolicy;
 
     protected AzureConfigurableImpl() {
         this.restClientBuilder = new RestClient.Builder()
-            .withSerializerAdapter(new AzureJacksonAdapter())
+            .withSerializerAdapter(Utils.newJacksonAdapter())
             .withResponseBuilderFactory(new AzureResponseBuilder.Factory());
     }
 
@@ -124,12 +126,19 @@ public class AzureConfigurableImpl<T extends AzureConfigurable<T>>
         return (T) this;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public T withThrottlingPolicy(ThrottlingPolicy throttlingPolicy) {
+        this.throttlingPolicy = throttlingPolicy;
+        return (T) this;
+    }
+
     protected RestClient buildRestClient(AzureTokenCredentials credentials, AzureEnvironment.Endpoint endpoint) {
         RestClient client =  restClientBuilder
                 .withBaseUrl(credentials.environment(), endpoint)
                 .withCredentials(credentials)
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
-                .withInterceptor(new ResourceManagerThrottlingInterceptor())
+                .withInterceptor(new ResourceManagerThrottlingInterceptor(throttlingPolicy))
                 .build();
         if (client.httpClient().proxy() != null) {
             credentials.withProxy(client.httpClient().proxy());
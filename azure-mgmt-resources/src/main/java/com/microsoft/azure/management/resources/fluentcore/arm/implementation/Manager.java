@@ -7,6 +7,7 @@
 package com.microsoft.azure.management.resources.fluentcore.arm.implementation;
 
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -27,4 +28,19 @@ public abstract class Manager<T, InnerT> extends ManagerBase implements HasInner
     public InnerT inner() {
         return this.innerManagementClient;
     }
+
+    /**
+     * Enables caching of the resources read through this manager. The resources expired are revalidated
+     * with conditional requests once a
+     * {@link com.microsoft.azure.management.resources.fluentcore.utils.ResourceCacheInterceptor} of the
+     * cache is added to the REST client of this manager.
+     *
+     * @param resourceCache the cache, null to disable caching
+     * @return the manager
+     */
+    @SuppressWarnings("unchecked")
+    public T withResourceCache(ResourceCache resourceCache) {
+        this.setResourceCache(resourceCache);
+        return (T) this;
+    }
 }
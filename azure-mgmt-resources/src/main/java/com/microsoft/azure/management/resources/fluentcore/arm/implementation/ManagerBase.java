@@ -6,21 +6,24 @@
 
 package com.microsoft.azure.management.resources.fluentcore.arm.implementation;
 
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
 import com.microsoft.azure.management.resources.implementation.ResourceManager;
 import com.microsoft.rest.RestClient;
+import rx.functions.Func0;
 
 /**
  * Base class for Azure resource managers.
  */
 public abstract class ManagerBase {
 
-    private ResourceManager resourceManager;
+    private volatile ResourceManager resourceManager;
+    private final RestClient restClient;
     private final String subscriptionId;
+    private volatile ResourceCache resourceCache;
+    private volatile ManagerRegistry managerRegistry;
 
     protected ManagerBase(RestClient restClient, String subscriptionId) {
-        if (restClient != null) {
-            this.resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
-        }
+        this.restClient = restClient;
         this.subscriptionId = subscriptionId;
     }
 
@@ -39,6 +42,70 @@ public abstract class ManagerBase {
      * @return the {@link ResourceManager} associated with this manager
      */
     public ResourceManager resourceManager() {
+        if (this.resourceManager == null && this.restClient != null) {
+            this.resourceManager = sharedManager(ResourceManager.class, new Func0<ResourceManager>() {
+                @Override
+                public ResourceManager call() {
+                    return ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+                }
+            });
+        }
         return this.resourceManager;
     }
+
+    protected final void setResourceCache(ResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+    }
+
+    /**
+     * @return the cache of the resources read through this manager, null if caching is not enabled
+     */
+    public ResourceCache resourceCache() {
+        return this.resourceCache;
+    }
+
+    /**
+     * Sets the registry of the managers sharing the REST client and subscription of this manager.
+     * (Internal use only)
+     *
+     * @param managerRegistry the registry
+     */
+    public final void setManagerRegistry(ManagerRegistry managerRegistry) {
+        this.managerRegistry = managerRegistry;
+    }
+
+    /**
+     * Gets a manager shared with the other managers of the registry, creating it on first use.
+     *
+     * @param type the manager type
+     * @param factory the function creating the manager
+     * @param <T> the manager type
+     * @return the manager
+     */
+    protected final <T> T sharedManager(Class<T> type, Func0<T> factory) {
+        return sharedManager(type, null, factory);
+    }
+
+    /**
+     * Gets a manager shared with the other managers of the registry, creating it on first use.
+     *
+     * @param type the manager type
+     * @param qualifier the value distinguishing managers of the same type, null if there is a
+     *                  single manager of the type
+     * @param factory the function creating the manager
+     * @param <T> the manager type
+     * @return the manager
+     */
+    protected final <T> T sharedManager(Class<T> type, String qualifier, Func0<T> factory) {
+        ManagerRegistry registry = this.managerRegistry;
+        if (registry == null) {
+            synchronized (this) {
+                if (this.managerRegistry == null) {
+                    this.managerRegistry = new ManagerRegistry();
+                }
+                registry = this.managerRegistry;
+            }
+        }
+        return registry.get(type, qualifier, factory);
+    }
 }
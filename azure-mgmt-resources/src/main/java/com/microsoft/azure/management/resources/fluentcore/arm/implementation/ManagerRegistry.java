@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm.implementation;
+
+import rx.functions.Func0;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Type representing the managers sharing a REST client and a subscription.
+ * <p>
+ * A manager is created on first use and shared afterwards, so that the managers depending on the
+ * same service, for instance the compute and app service managers both depending on the storage
+ * manager, use a single instance of it.
+ * (Internal use only)
+ */
+public final class ManagerRegistry {
+    private final ConcurrentMap<String, Object> managers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Func0<?>> factories = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a manager, creating it on first use.
+     *
+     * @param type the manager type
+     * @param factory the function creating the manager
+     * @param <T> the manager type
+     * @return the manager
+     */
+    public <T> T get(Class<T> type, Func0<T> factory) {
+        return get(type, null, factory);
+    }
+
+    /**
+     * Gets a manager, creating it on first use.
+     *
+     * @param type the manager type
+     * @param qualifier the value distinguishing managers of the same type, e.g. the tenant of a
+     *                  tenant level manager, null if there is a single manager of the type
+     * @param factory the function creating the manager
+     * @param <T> the manager type
+     * @return the manager
+     */
+    public <T> T get(Class<T> type, String qualifier, Func0<T> factory) {
+        String key = key(type, qualifier);
+        Object manager = managers.get(key);
+        if (manager == null) {
+            synchronized (this) {
+                manager = managers.get(key);
+                if (manager == null) {
+                    Func0<?> registeredFactory = factories.get(key);
+                    T created = type.cast(registeredFactory != null ? registeredFactory.call() : factory.call());
+                    if (created instanceof ManagerBase) {
+                        ((ManagerBase) created).setManagerRegistry(this);
+                    }
+                    managers.put(key, created);
+                    manager = created;
+                }
+            }
+        }
+        return type.cast(manager);
+    }
+
+    /**
+     * Registers the function creating a manager, used instead of the functions given to
+     * {@link #get(Class, String, Func0)}, e.g. to share a manager that also exists outside the registry.
+     *
+     * @param type the manager type
+     * @param qualifier the value distinguishing managers of the same type, null if there is a
+     *                  single manager of the type
+     * @param factory the function creating the manager
+     * @param <T> the manager type
+     * @return the registry
+     */
+    public <T> ManagerRegistry register(Class<T> type, String qualifier, Func0<T> factory) {
+        factories.put(key(type, qualifier), factory);
+        return this;
+    }
+
+    private static String key(Class<?> type, String qualifier) {
+        return qualifier == null ? type.getName() : type.getName() + "/" + qualifier;
+    }
+}
@@ -13,6 +13,7 @@ import com.microsoft.azure.management.resources.fluentcore.arm.implementation.Ma
 import com.microsoft.azure.management.resources.fluentcore.arm.models.GroupableResource;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.Resource;
 import com.microsoft.azure.management.resources.fluentcore.model.Creatable;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
 
 /**
  * The implementation for {@link GroupableResource}.
@@ -72,6 +73,14 @@ public abstract class GroupableResourceImpl<
         }
     }
 
+    @Override
+    protected void onCreatedOrUpdated() {
+        ResourceCache cache = this.myManager.resourceCache();
+        if (cache != null) {
+            cache.invalidate(this.id());
+        }
+    }
+
     /****************************************
      * withGroup implementations.
      ****************************************/
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.collection;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.apigeneration.LangDefinition.MethodConversion;
+import rx.Observable;
+
+/**
+ * Provides access to listing Azure resources of a specific type in a subscription, page by page.
+ * <p>
+ * Unlike {@link SupportsListing#list()}, the pages are not retained once consumed, so that listing
+ * a large number of resources does not require keeping all of them in memory.
+ * <p>
+ * (Note: this interface is not intended to be implemented by user code)
+ *
+ * @param <T> the fluent type of the resource
+ */
+@LangDefinition(ContainerName = "CollectionActions", MethodConversionType = MethodConversion.OnlyMethod)
+@Beta(SinceVersion.V1_15_0)
+public interface SupportsListingInPages<T> {
+    /**
+     * Lists all the resources of the specified type in the currently selected subscription, page by page.
+     * <p>
+     * The pages are fetched as they are requested by the subscriber, the next page being fetched while
+     * the current one is processed.
+     *
+     * @return an observable that emits the pages of resources
+     */
+    Observable<Page<T>> listPagesAsync();
+}
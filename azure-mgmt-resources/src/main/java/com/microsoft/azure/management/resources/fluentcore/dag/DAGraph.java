@@ -8,10 +8,17 @@ package com.microsoft.azure.management.resources.fluentcore.dag;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
@@ -33,6 +40,11 @@ public class DAGraph<DataT, NodeT extends DAGNode<DataT, NodeT>> extends Graph<D
      * depends on this graph's root.
      */
     protected List<DAGraph<DataT, NodeT>> parentDAGs;
+    /**
+     * the immediate dependency graphs of this graph. The nodes of the dependency graphs are
+     * linked into {@link this#nodeTable} on demand rather than copied on each merge.
+     */
+    private final List<DAGraph<DataT, NodeT>> dependencyDAGs;
     /**
      * to perform topological sort on the graph. During sorting queue contains the nodes which
      * are ready to invoke.
@@ -46,6 +58,8 @@ public class DAGraph<DataT, NodeT extends DAGNode<DataT, NodeT>> extends Graph<D
      */
     public DAGraph(NodeT rootNode) {
         this.parentDAGs = new ArrayList<>();
+        this.dependencyDAGs = new ArrayList<>();
+        this.nodeTable = new NodeTable();
         this.rootNode = rootNode;
         this.queue = new ConcurrentLinkedQueue<>();
         this.rootNode.setPreparer(true);
@@ -95,18 +109,18 @@ public class DAGraph<DataT, NodeT extends DAGNode<DataT, NodeT>> extends Graph<D
 
     /**
      * Mark root of this DAG depends on given DAG's root.
+     * <p>
+     * The node table of the given DAG is not copied, it is linked and materialized in the node
+     * table of this DAG and it's ancestors when they are first accessed.
      *
      * @param dependencyGraph the dependency DAG
      */
     public void addDependencyGraph(DAGraph<DataT, NodeT> dependencyGraph) {
+        checkNoCycle(dependencyGraph);
         this.rootNode.addDependency(dependencyGraph.rootNode.key());
-        Map<String, NodeT> sourceNodeTable = dependencyGraph.nodeTable;
-        Map<String, NodeT> targetNodeTable = this.nodeTable;
-        this.merge(sourceNodeTable, targetNodeTable);
+        this.dependencyDAGs.add(dependencyGraph);
         dependencyGraph.parentDAGs.add(this);
-        if (this.hasParents()) {
-            this.bubbleUpNodeTable(this, new LinkedList<String>());
-        }
+        this.invalidateNodeTables();
     }
 
     /**
@@ -221,7 +235,7 @@ public class DAGraph<DataT, NodeT extends DAGNode<DataT, NodeT>> extends Graph<D
             @Override
             public  void visitEdge(String fromKey, String toKey, EdgeType edgeType) {
                 if (edgeType == EdgeType.BACK) {
-                    throw new IllegalStateException("Detected circular dependency: " + findPath(fromKey, toKey));
+                    throw new IllegalStateException("Detected circular dependency: " + findPath(toKey, fromKey) + " -> " + toKey);
                 }
             }
         });
@@ -244,33 +258,128 @@ public class DAGraph<DataT, NodeT extends DAGNode<DataT, NodeT>> extends Graph<D
     }
 
     /**
-     * Copies entries in the source map to target map.
+     * Ensures that adding the given DAG as a dependency of this DAG does not introduce a cycle,
+     * i.e. this DAG is not reachable from the given DAG.
      *
-     * @param source source map
-     * @param target target map
+     * @param dependencyGraph the dependency DAG to be added
      */
-    private void merge(Map<String, NodeT> source, Map<String, NodeT> target) {
-        for (Map.Entry<String, NodeT> entry : source.entrySet()) {
-            String key = entry.getKey();
-            if (!target.containsKey(key)) {
-                target.put(key, entry.getValue());
+    private void checkNoCycle(DAGraph<DataT, NodeT> dependencyGraph) {
+        // Walk the ancestors of this DAG, remembering for each the dependency DAG it was reached from
+        //
+        Map<DAGraph<DataT, NodeT>, DAGraph<DataT, NodeT>> reachedFrom = new IdentityHashMap<>();
+        Deque<DAGraph<DataT, NodeT>> pending = new ArrayDeque<>();
+        reachedFrom.put(this, this);
+        pending.add(this);
+        while (!pending.isEmpty()) {
+            DAGraph<DataT, NodeT> current = pending.poll();
+            if (current == dependencyGraph) {
+                LinkedList<String> path = new LinkedList<>();
+                path.add(this.rootNode.key());
+                while (current != this) {
+                    path.add(current.rootNode.key());
+                    current = reachedFrom.get(current);
+                }
+                path.add(this.rootNode.key());
+                throw new IllegalStateException("Detected circular dependency: " + StringUtils.join(path, " -> "));
+            }
+            for (DAGraph<DataT, NodeT> parentDAG : current.parentDAGs) {
+                if (!reachedFrom.containsKey(parentDAG)) {
+                    reachedFrom.put(parentDAG, current);
+                    pending.add(parentDAG);
+                }
             }
         }
     }
 
     /**
-     * Propagates node table of given DAG to all of it ancestors.
+     * Discards the materialized node tables of this DAG and all of it's ancestors.
      */
-    private void bubbleUpNodeTable(DAGraph<DataT, NodeT> from, LinkedList<String> path) {
-        if (path.contains(from.rootNode.key())) {
-            path.push(from.rootNode.key()); // For better error message
-            throw new IllegalStateException("Detected circular dependency: " + StringUtils.join(path, " -> "));
+    private void invalidateNodeTables() {
+        Set<DAGraph<DataT, NodeT>> invalidated = Collections.newSetFromMap(new IdentityHashMap<DAGraph<DataT, NodeT>, Boolean>());
+        Deque<DAGraph<DataT, NodeT>> pending = new ArrayDeque<>();
+        pending.add(this);
+        while (!pending.isEmpty()) {
+            DAGraph<DataT, NodeT> current = pending.poll();
+            if (invalidated.add(current)) {
+                ((NodeTable) current.nodeTable).materialized = null;
+                pending.addAll(current.parentDAGs);
+            }
         }
-        path.push(from.rootNode.key());
-        for (DAGraph<DataT, NodeT> to : from.parentDAGs) {
-            this.merge(from.nodeTable, to.nodeTable);
-            this.bubbleUpNodeTable(to, path);
+    }
+
+    /**
+     * The node table of a DAG.
+     * <p>
+     * The table holds the nodes added directly to the DAG and links to the tables of the dependency
+     * DAGs. The union of them is materialized on first access and cached until the structure of the
+     * DAG or one of it's descendants changes, hence merging DAGs costs O(1) and materializing the
+     * table of a DAG costs O(V) in the number of nodes reachable from it.
+     */
+    private final class NodeTable extends AbstractMap<String, NodeT> {
+        /**
+         * the nodes added directly to the DAG.
+         */
+        private final Map<String, NodeT> ownNodes = new TreeMap<>();
+        /**
+         * the union of the own nodes and the nodes in the dependency DAGs, null if not materialized.
+         */
+        private volatile Map<String, NodeT> materialized;
+
+        @Override
+        public NodeT put(String key, NodeT node) {
+            NodeT previous = this.ownNodes.put(key, node);
+            invalidateNodeTables();
+            return previous;
+        }
+
+        @Override
+        public NodeT get(Object key) {
+            return materialize().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return materialize().containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return materialize().size();
+        }
+
+        @Override
+        public Set<Entry<String, NodeT>> entrySet() {
+            return Collections.unmodifiableMap(materialize()).entrySet();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, NodeT> materialize() {
+            Map<String, NodeT> table = this.materialized;
+            if (table != null) {
+                return table;
+            }
+            synchronized (this) {
+                if (this.materialized == null) {
+                    table = new TreeMap<>();
+                    Set<DAGraph<DataT, NodeT>> visited = Collections.newSetFromMap(new IdentityHashMap<DAGraph<DataT, NodeT>, Boolean>());
+                    Deque<DAGraph<DataT, NodeT>> pending = new ArrayDeque<>();
+                    pending.add(DAGraph.this);
+                    while (!pending.isEmpty()) {
+                        DAGraph<DataT, NodeT> current = pending.poll();
+                        if (!visited.add(current)) {
+                            continue;
+                        }
+                        for (Entry<String, NodeT> entry : ((NodeTable) current.nodeTable).ownNodes.entrySet()) {
+                            if (!table.containsKey(entry.getKey())) {
+                                table.put(entry.getKey(), entry.getValue());
+                            }
+                        }
+                        pending.addAll(current.dependencyDAGs);
+                    }
+                    this.materialized = table;
+                }
+                return this.materialized;
+            }
         }
-        path.pop();
     }
 }
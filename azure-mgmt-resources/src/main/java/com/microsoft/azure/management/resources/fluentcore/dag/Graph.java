@@ -6,11 +6,15 @@
 
 package com.microsoft.azure.management.resources.fluentcore.dag;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 
 /**
@@ -22,46 +26,40 @@ import java.util.TreeMap;
  * @param <NodeT> the type of the nodes in the graph
  */
 public class Graph<DataT, NodeT extends Node<DataT, NodeT>> {
+    private static final byte UNVISITED = 0;
+    private static final byte VISITING = 1;
+    private static final byte PROCESSED = 2;
+
     /**
      * the nodes in the graph.
      */
     protected Map<String, NodeT> nodeTable;
     /**
-     * to track the already visited node while performing DFS.
-     */
-    private Set<String> visited;
-    /**
-     * to generate node entry and exit time while performing DFS.
+     * the nodes indexed by their position in the current DFS, null outside a DFS.
      */
-    private Integer time;
+    private List<NodeT> indexedNodes;
     /**
-     * to track the entry time to each node while performing DFS.
+     * the index of each node while performing DFS.
      */
-    private Map<String, Integer> entryTime;
+    private Map<String, Integer> nodeIndexes;
     /**
-     * to track the exit time from each node while performing DFS.
+     * to track the state (unvisited, visiting, processed) of each node while performing DFS.
      */
-    private Map<String, Integer> exitTime;
+    private byte[] state;
     /**
-     * to track the immediate parent node of each node while performing DFS.
+     * to track the entry time to each node while performing DFS.
      */
-    private Map<String, String> parent;
+    private int[] entryTime;
     /**
-     * to track already processed node while performing DFS.
+     * to track the index of the immediate parent node of each node while performing DFS.
      */
-    private Set<String> processed;
+    private int[] parent;
 
     /**
      * Creates a directed graph.
      */
     public Graph() {
         this.nodeTable = new TreeMap<>();
-        this.visited = new HashSet<>();
-        this.time = 0;
-        this.entryTime = new HashMap<>();
-        this.exitTime = new HashMap<>();
-        this.parent = new HashMap<>();
-        this.processed = new HashSet<>();
     }
 
     /**
@@ -85,80 +83,133 @@ public class Graph<DataT, NodeT extends Node<DataT, NodeT>> {
      * Perform DFS visit in this graph.
      * <p>
      * The directed graph will be traversed in DFS order and the visitor will be notified as
-     * search explores each node and edge.
+     * search explores each node and edge. The search uses an explicit stack, hence the depth
+     * of the graph is not limited by the thread's stack size.
      *
      * @param visitor the graph visitor
      */
     public void visit(Visitor visitor) {
-        for (Map.Entry<String, NodeT> item : nodeTable.entrySet()) {
-            if (!visited.contains(item.getKey())) {
-                this.dfs(visitor, item.getValue());
+        final int count = nodeTable.size();
+        this.indexedNodes = new ArrayList<>(count);
+        this.nodeIndexes = new HashMap<>(count * 2);
+        for (NodeT node : nodeTable.values()) {
+            this.nodeIndexes.put(node.key(), this.indexedNodes.size());
+            this.indexedNodes.add(node);
+        }
+        // Adjacency of node i is children[firstChild[i]] .. children[firstChild[i + 1] - 1]
+        //
+        int[] firstChild = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            firstChild[i + 1] = firstChild[i] + this.indexedNodes.get(i).children().size();
+        }
+        int[] children = new int[firstChild[count]];
+        for (int i = 0; i < count; i++) {
+            int position = firstChild[i];
+            for (String childKey : this.indexedNodes.get(i).children()) {
+                Integer childIndex = this.nodeIndexes.get(childKey);
+                if (childIndex == null) {
+                    throw new IllegalStateException("Internal Error: Unable to locate the node '" + childKey + "'");
+                }
+                children[position++] = childIndex;
             }
         }
-        visited.clear();
-        time = 0;
-        entryTime.clear();
-        exitTime.clear();
-        parent.clear();
-        processed.clear();
-    }
-
-    private void dfs(Visitor visitor, Node<DataT, NodeT> node) {
-        visitor.visitNode(node);
-
-        String fromKey = node.key();
-        visited.add(fromKey);
-        time++;
-        entryTime.put(fromKey, time);
-        for (String toKey : node.children()) {
-            if (!visited.contains(toKey)) {
-                parent.put(toKey, fromKey);
-                visitor.visitEdge(fromKey, toKey, edgeType(fromKey, toKey));
-                this.dfs(visitor, this.nodeTable.get(toKey));
-            } else {
-                visitor.visitEdge(fromKey, toKey, edgeType(fromKey, toKey));
+        this.state = new byte[count];
+        this.entryTime = new int[count];
+        this.parent = new int[count];
+        Arrays.fill(this.parent, -1);
+        try {
+            int[] stack = new int[count];
+            int[] cursor = new int[count];
+            int time = 0;
+            for (int i = 0; i < count; i++) {
+                if (state[i] != UNVISITED) {
+                    continue;
+                }
+                int top = 0;
+                stack[top] = i;
+                cursor[i] = firstChild[i];
+                time = enter(visitor, i, time);
+                while (top >= 0) {
+                    int from = stack[top];
+                    if (cursor[from] < firstChild[from + 1]) {
+                        int to = children[cursor[from]++];
+                        if (state[to] == UNVISITED) {
+                            parent[to] = from;
+                            visitor.visitEdge(keyAt(from), keyAt(to), edgeType(from, to));
+                            cursor[to] = firstChild[to];
+                            stack[++top] = to;
+                            time = enter(visitor, to, time);
+                        } else {
+                            visitor.visitEdge(keyAt(from), keyAt(to), edgeType(from, to));
+                        }
+                    } else {
+                        state[from] = PROCESSED;
+                        top--;
+                    }
+                }
             }
+        } finally {
+            this.indexedNodes = null;
+            this.nodeIndexes = null;
+            this.state = null;
+            this.entryTime = null;
+            this.parent = null;
         }
-        time++;
-        exitTime.put(fromKey, time);
-        processed.add(fromKey);
     }
 
-    private EdgeType edgeType(String fromKey, String toKey) {
-        if (parent.containsKey(toKey) && parent.get(toKey).equals(fromKey)) {
+    @SuppressWarnings("unchecked")
+    private int enter(Visitor visitor, int index, int time) {
+        visitor.visitNode(this.indexedNodes.get(index));
+        state[index] = VISITING;
+        entryTime[index] = ++time;
+        return time;
+    }
+
+    private String keyAt(int index) {
+        return this.indexedNodes.get(index).key();
+    }
+
+    private EdgeType edgeType(int from, int to) {
+        if (parent[to] == from) {
             return EdgeType.TREE;
         }
 
-        if (visited.contains(toKey) && !processed.contains(toKey)) {
+        if (state[to] == VISITING) {
             return EdgeType.BACK;
         }
 
-        if (processed.contains(toKey) && entryTime.containsKey(toKey) && entryTime.containsKey(fromKey)) {
-            if (entryTime.get(toKey) > entryTime.get(fromKey)) {
+        if (state[to] == PROCESSED) {
+            if (entryTime[to] > entryTime[from]) {
                 return EdgeType.FORWARD;
             }
 
-            if (entryTime.get(toKey) < entryTime.get(fromKey)) {
+            if (entryTime[to] < entryTime[from]) {
                 return EdgeType.CROSS;
             }
         }
 
-        throw new IllegalStateException("Internal Error: Unable to locate the edge type {" + fromKey + ", " + toKey + "}");
+        throw new IllegalStateException("Internal Error: Unable to locate the edge type {" + keyAt(from) + ", " + keyAt(to) + "}");
     }
 
     /**
      * Find the path.
+     * <p>
+     * This method can be called only from a visitor while performing DFS.
      *
      * @param start key of first node in the path
      * @param end key of last node in the path
      * @return string containing the nodes keys in the path separated by arrow symbol
      */
     protected String findPath(String start, String end) {
-        if (start.equals(end)) {
-            return start;
-        } else {
-            return findPath(start, parent.get(end)) + " -> " + end;
+        LinkedList<String> path = new LinkedList<>();
+        int startIndex = this.nodeIndexes.get(start);
+        int index = this.nodeIndexes.get(end);
+        while (index != startIndex && index != -1) {
+            path.addFirst(keyAt(index));
+            index = parent[index];
         }
+        path.addFirst(start);
+        return StringUtils.join(path, " -> ");
     }
 
     /**
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type representing the policy that limits the number of tasks invoked concurrently during
+ * an invocation of a {@link TaskGroup}.
+ * <p>
+ * The limits apply to the tasks of one invocation: the global limit bounds all the tasks in flight,
+ * the per resource provider and per resource type limits bound the tasks whose {@link TaskItem}
+ * implements {@link HasResourceType}. Ready tasks exceeding a limit are queued and invoked
+ * critical path first, i.e. the tasks with the longest chain of dependents are invoked first.
+ */
+public final class TaskExecutionPolicy {
+    /**
+     * The maximum number of tasks in flight.
+     */
+    private int maxConcurrency = Integer.MAX_VALUE;
+    /**
+     * The maximum number of tasks in flight per resource provider namespace (lower case).
+     */
+    private final Map<String, Integer> maxConcurrencyPerResourceProvider = new ConcurrentHashMap<>();
+    /**
+     * The maximum number of tasks in flight per full resource type (lower case).
+     */
+    private final Map<String, Integer> maxConcurrencyPerResourceType = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the maximum number of tasks that can be in flight at any time.
+     *
+     * @param maxConcurrency the maximum number of tasks in flight
+     * @return the policy
+     */
+    public TaskExecutionPolicy withMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = validate(maxConcurrency);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks operating on resources of the given provider that can be
+     * in flight at any time.
+     *
+     * @param resourceProvider the resource provider namespace e.g. "Microsoft.Compute"
+     * @param maxConcurrency the maximum number of tasks in flight for the provider
+     * @return the policy
+     */
+    public TaskExecutionPolicy withMaxConcurrencyPerResourceProvider(String resourceProvider, int maxConcurrency) {
+        this.maxConcurrencyPerResourceProvider.put(resourceProvider.toLowerCase(Locale.ROOT), validate(maxConcurrency));
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of tasks operating on resources of the given type that can be
+     * in flight at any time.
+     *
+     * @param resourceType the full resource type e.g. "Microsoft.Compute/virtualMachines"
+     * @param maxConcurrency the maximum number of tasks in flight for the resource type
+     * @return the policy
+     */
+    public TaskExecutionPolicy withMaxConcurrencyPerResourceType(String resourceType, int maxConcurrency) {
+        this.maxConcurrencyPerResourceType.put(resourceType.toLowerCase(Locale.ROOT), validate(maxConcurrency));
+        return this;
+    }
+
+    /**
+     * @return the maximum number of tasks that can be in flight at any time
+     */
+    public int maxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * Gets the maximum number of tasks operating on resources of the given provider that can be
+     * in flight at any time.
+     *
+     * @param resourceProvider the resource provider namespace
+     * @return the limit, or null if the provider is not limited
+     */
+    public Integer maxConcurrencyPerResourceProvider(String resourceProvider) {
+        if (resourceProvider == null) {
+            return null;
+        }
+        return this.maxConcurrencyPerResourceProvider.get(resourceProvider.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Gets the maximum number of tasks operating on resources of the given type that can be
+     * in flight at any time.
+     *
+     * @param resourceType the full resource type
+     * @return the limit, or null if the resource type is not limited
+     */
+    public Integer maxConcurrencyPerResourceType(String resourceType) {
+        if (resourceType == null) {
+            return null;
+        }
+        return this.maxConcurrencyPerResourceType.get(resourceType.toLowerCase(Locale.ROOT));
+    }
+
+    private static int validate(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        return maxConcurrency;
+    }
+
+    /**
+     * An interface representing a {@link TaskItem} that knows the type of the Azure resource it operates on.
+     */
+    public interface HasResourceType {
+        /**
+         * @return the full resource type e.g. "Microsoft.Compute/virtualMachines", null if not known
+         */
+        String resourceType();
+    }
+}
@@ -7,6 +7,7 @@
 package com.microsoft.azure.management.resources.fluentcore.dag;
 
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
 import rx.Completable;
 import rx.Observable;
 import rx.functions.Func0;
@@ -14,6 +15,7 @@ import rx.functions.Func1;
 import rx.schedulers.Schedulers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +72,12 @@ public class TaskGroup
      * for post run.
      */
     protected ProxyTaskGroupWrapper proxyTaskGroupWrapper;
+    /**
+     * The priority of each task entry in the group, computed only when the tasks are invoked under
+     * a {@link TaskExecutionPolicy}. The priority of an entry is the length of the longest path from
+     * the entry to the root, so that the entries on the critical path are invoked first.
+     */
+    private Map<String, Integer> taskPriorities;
 
     /**
      * Creates TaskGroup.
@@ -282,6 +290,9 @@ public class TaskGroup
             //
             this.runBeforeGroupInvoke(skipBeforeGroupInvoke);
         }
+        if (context.executionPolicy() != null) {
+            this.taskPriorities = this.computeTaskPriorities();
+        }
         // Runs the ready tasks concurrently
         //
         return this.invokeReadyTasksAsync(context);
@@ -337,6 +348,37 @@ public class TaskGroup
         return entries;
     }
 
+    /**
+     * Computes the priority of each task entry in this task group, the priority of an entry is
+     * the length of the longest path from the entry to the root entry.
+     *
+     * @return map from entry key to priority
+     */
+    private Map<String, Integer> computeTaskPriorities() {
+        List<TaskGroupEntry<TaskItem>> entries = this.entriesSnapshot();
+        super.prepareForEnumeration();
+        Map<String, Integer> priorities = new HashMap<>();
+        // Entries are in topological order (dependencies first), walking them in reverse
+        // order ensures the priority of an entry is final before it is propagated to its
+        // dependencies.
+        //
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            TaskGroupEntry<TaskItem> entry = entries.get(i);
+            Integer priority = priorities.get(entry.key());
+            if (priority == null) {
+                priority = 0;
+                priorities.put(entry.key(), priority);
+            }
+            for (String dependencyKey : entry.dependencyKeys()) {
+                Integer dependencyPriority = priorities.get(dependencyKey);
+                if (dependencyPriority == null || dependencyPriority < priority + 1) {
+                    priorities.put(dependencyKey, priority + 1);
+                }
+            }
+        }
+        return priorities;
+    }
+
     /**
      * Invokes the ready tasks.
      *
@@ -393,6 +435,13 @@ public class TaskGroup
                     boolean ignoreCachedResult = isRootEntry(entry) || (entry.proxy() != null && isRootEntry(entry.proxy()));
 
                     Observable<Indexable> taskObservable = entry.invokeTaskAsync(ignoreCachedResult, context);
+                    TaskScheduler taskScheduler = context.taskScheduler();
+                    if (taskScheduler != null) {
+                        Integer priority = taskPriorities == null ? null : taskPriorities.get(entry.key());
+                        taskObservable = taskScheduler.schedule(entry.data(),
+                                priority == null ? 0 : priority,
+                                taskObservable);
+                    }
                     Func1<Indexable, Observable<Indexable>> onResult = new Func1<Indexable, Observable<Indexable>>() {
                         @Override
                         public Observable<Indexable> call(final Indexable taskResult) {
@@ -582,6 +631,8 @@ public class TaskGroup
         private final Map<String, Object> properties;
         private final TaskGroup taskGroup;
         private TaskGroupTerminateOnErrorStrategy terminateOnErrorStrategy;
+        private TaskExecutionPolicy executionPolicy;
+        private TaskScheduler taskScheduler;
 
         /**
          * Creates InvocationContext instance.
@@ -624,6 +675,45 @@ public class TaskGroup
             return this.terminateOnErrorStrategy;
         }
 
+        /**
+         * Sets the policy limiting the number of tasks invoked concurrently.
+         *
+         * @param executionPolicy the execution policy
+         * @return the context
+         */
+        public InvocationContext withExecutionPolicy(TaskExecutionPolicy executionPolicy) {
+            if (this.executionPolicy != null) {
+                throw new IllegalStateException("Execution policy is already set, it is immutable for a specific context");
+            }
+            this.executionPolicy = executionPolicy;
+            return this;
+        }
+
+        /**
+         * @return the policy limiting the number of tasks invoked concurrently during the current invocation
+         * of the TaskGroup, null if the number of tasks is not limited.
+         */
+        public TaskExecutionPolicy executionPolicy() {
+            if (this.executionPolicy == null) {
+                return SdkContext.getTaskExecutionPolicy();
+            }
+            return this.executionPolicy;
+        }
+
+        /**
+         * @return the scheduler enforcing the execution policy for the current invocation of the TaskGroup,
+         * null if there is no execution policy.
+         */
+        synchronized TaskScheduler taskScheduler() {
+            if (this.taskScheduler == null) {
+                TaskExecutionPolicy policy = this.executionPolicy();
+                if (policy != null) {
+                    this.taskScheduler = new TaskScheduler(policy);
+                }
+            }
+            return this.taskScheduler;
+        }
+
         /**
          * Put a key-value in the context.
          *
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Type that gates the invocation of tasks in a {@link TaskGroup} based on the limits of
+ * a {@link TaskExecutionPolicy}.
+ * <p>
+ * The scheduler never blocks: a task exceeding a limit is queued and subscribed once another
+ * task completes. Queued tasks are ordered by priority, then by arrival.
+ */
+final class TaskScheduler {
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+
+    private final TaskExecutionPolicy policy;
+    private final PriorityQueue<ScheduledTask> pendingTasks;
+    private final Map<String, Integer> inFlightPerKey = new HashMap<>();
+    private int inFlight;
+    private long sequence;
+
+    /**
+     * Creates TaskScheduler.
+     *
+     * @param policy the policy providing the limits
+     */
+    TaskScheduler(TaskExecutionPolicy policy) {
+        this.policy = policy;
+        this.pendingTasks = new PriorityQueue<>(11, new Comparator<ScheduledTask>() {
+            @Override
+            public int compare(ScheduledTask left, ScheduledTask right) {
+                if (left.priority != right.priority) {
+                    return left.priority > right.priority ? -1 : 1;
+                }
+                return Long.compare(left.sequence, right.sequence);
+            }
+        });
+    }
+
+    /**
+     * Gates the given task observable.
+     *
+     * @param taskItem the task item the observable invokes
+     * @param priority the priority of the task, the tasks with higher priority are invoked first
+     * @param task the observable performing the work of the task upon subscription
+     * @return an observable that subscribes to the task once the limits allow it
+     */
+    Observable<Indexable> schedule(final TaskItem taskItem, final int priority, final Observable<Indexable> task) {
+        return Observable.create(new Observable.OnSubscribe<Indexable>() {
+            @Override
+            public void call(final Subscriber<? super Indexable> subscriber) {
+                final ScheduledTask scheduledTask = new ScheduledTask(taskItem, priority, task, subscriber);
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        cancel(scheduledTask);
+                    }
+                }));
+                synchronized (TaskScheduler.this) {
+                    scheduledTask.sequence = sequence++;
+                    pendingTasks.add(scheduledTask);
+                }
+                drain();
+            }
+        });
+    }
+
+    /**
+     * Starts the queued tasks allowed by the limits.
+     */
+    private void drain() {
+        List<ScheduledTask> tasksToStart = new ArrayList<>();
+        synchronized (this) {
+            List<ScheduledTask> blockedTasks = new ArrayList<>();
+            while (inFlight < policy.maxConcurrency() && !pendingTasks.isEmpty()) {
+                ScheduledTask scheduledTask = pendingTasks.poll();
+                if (scheduledTask.state.get() != PENDING) {
+                    continue;
+                }
+                if (canStart(scheduledTask)) {
+                    if (acquire(scheduledTask)) {
+                        tasksToStart.add(scheduledTask);
+                    }
+                } else {
+                    blockedTasks.add(scheduledTask);
+                }
+            }
+            pendingTasks.addAll(blockedTasks);
+        }
+        for (ScheduledTask scheduledTask : tasksToStart) {
+            scheduledTask.start();
+        }
+    }
+
+    private boolean canStart(ScheduledTask scheduledTask) {
+        return isBelowLimit(scheduledTask.providerKey, policy.maxConcurrencyPerResourceProvider(scheduledTask.resourceProvider))
+                && isBelowLimit(scheduledTask.typeKey, policy.maxConcurrencyPerResourceType(scheduledTask.resourceType));
+    }
+
+    private boolean isBelowLimit(String key, Integer limit) {
+        if (key == null || limit == null) {
+            return true;
+        }
+        Integer count = inFlightPerKey.get(key);
+        return count == null || count < limit;
+    }
+
+    private boolean acquire(ScheduledTask scheduledTask) {
+        if (!scheduledTask.state.compareAndSet(PENDING, RUNNING)) {
+            return false;
+        }
+        inFlight++;
+        increment(scheduledTask.providerKey, 1);
+        increment(scheduledTask.typeKey, 1);
+        return true;
+    }
+
+    private void increment(String key, int delta) {
+        if (key == null) {
+            return;
+        }
+        Integer count = inFlightPerKey.get(key);
+        int newCount = (count == null ? 0 : count) + delta;
+        if (newCount <= 0) {
+            inFlightPerKey.remove(key);
+        } else {
+            inFlightPerKey.put(key, newCount);
+        }
+    }
+
+    /**
+     * Releases the slot held by a running task, or removes a pending task from the queue.
+     *
+     * @param scheduledTask the task
+     */
+    private void cancel(ScheduledTask scheduledTask) {
+        if (scheduledTask.state.compareAndSet(PENDING, DONE)) {
+            synchronized (this) {
+                pendingTasks.remove(scheduledTask);
+            }
+        } else if (scheduledTask.state.compareAndSet(RUNNING, DONE)) {
+            synchronized (this) {
+                inFlight--;
+                increment(scheduledTask.providerKey, -1);
+                increment(scheduledTask.typeKey, -1);
+            }
+            drain();
+        }
+    }
+
+    /**
+     * A task waiting for or holding a slot in the scheduler.
+     */
+    private final class ScheduledTask {
+        private final int priority;
+        private final Observable<Indexable> task;
+        private final Subscriber<? super Indexable> subscriber;
+        private final String resourceProvider;
+        private final String resourceType;
+        private final String providerKey;
+        private final String typeKey;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long sequence;
+
+        ScheduledTask(TaskItem taskItem, int priority, Observable<Indexable> task, Subscriber<? super Indexable> subscriber) {
+            this.priority = priority;
+            this.task = task;
+            this.subscriber = subscriber;
+            String type = null;
+            if (taskItem instanceof TaskExecutionPolicy.HasResourceType) {
+                type = ((TaskExecutionPolicy.HasResourceType) taskItem).resourceType();
+            }
+            if (type != null) {
+                this.resourceType = type;
+                int index = type.indexOf('/');
+                this.resourceProvider = index > 0 ? type.substring(0, index) : type;
+                this.typeKey = "type:" + type.toLowerCase(Locale.ROOT);
+                this.providerKey = "provider:" + this.resourceProvider.toLowerCase(Locale.ROOT);
+            } else {
+                this.resourceType = null;
+                this.resourceProvider = null;
+                this.typeKey = null;
+                this.providerKey = null;
+            }
+        }
+
+        void start() {
+            subscriber.add(task.subscribe(new Subscriber<Indexable>() {
+                @Override
+                public void onNext(Indexable indexable) {
+                    subscriber.onNext(indexable);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    cancel(ScheduledTask.this);
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onCompleted() {
+                    cancel(ScheduledTask.this);
+                    subscriber.onCompleted();
+                }
+            }));
+        }
+    }
+}
@@ -300,6 +300,13 @@ public abstract class CreatableUpdatableImpl<
         };
     }
 
+    /**
+     * Invoked once the resource is created or updated. The types extending from this type can
+     * override this method to drop any state cached about the resource.
+     */
+    protected void onCreatedOrUpdated() {
+    }
+
     @Override
     public Completable afterPostRunAsync(boolean isGroupFaulted) {
         // The types extending from this type can override this method and perform
@@ -6,6 +6,8 @@
 
 package com.microsoft.azure.management.resources.fluentcore.model.implementation;
 
+import com.microsoft.azure.management.resources.fluentcore.arm.models.Resource;
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskExecutionPolicy;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskGroup;
 import com.microsoft.azure.management.resources.fluentcore.dag.TaskItem;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
@@ -21,7 +23,7 @@ import rx.functions.Func1;
  *
  * @param <ResourceT> the type of the resource that this task creates or update
  */
-public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
+public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem, TaskExecutionPolicy.HasResourceType {
     /**
      * the underlying instance that can create and update the resource.
      */
@@ -53,36 +55,26 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
 
     @Override
     public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
-        if (this.resourceCreatorUpdater.isInCreateMode()) {
-            return this.resourceCreatorUpdater.createResourceAsync()
-                    .subscribeOn(SdkContext.getRxScheduler())
-                    .doOnNext(new Action1<ResourceT>() {
-                        @Override
-                        public void call(ResourceT resourceT) {
-                            resource = resourceT;
+        Observable<ResourceT> resourceObservable = this.resourceCreatorUpdater.isInCreateMode()
+                ? this.resourceCreatorUpdater.createResourceAsync()
+                : this.resourceCreatorUpdater.updateResourceAsync();
+        return resourceObservable
+                .subscribeOn(SdkContext.getRxScheduler())
+                .doOnNext(new Action1<ResourceT>() {
+                    @Override
+                    public void call(ResourceT resourceT) {
+                        resource = resourceT;
+                        if (resourceCreatorUpdater instanceof CreatableUpdatableImpl) {
+                            ((CreatableUpdatableImpl<?, ?, ?>) resourceCreatorUpdater).onCreatedOrUpdated();
                         }
-                    }).map(new Func1<ResourceT, Indexable>() {
-                        @Override
-                        public Indexable call(ResourceT resourceT) {
-                            return resourceT;
-                        }
-                    });
-        } else {
-            return this.resourceCreatorUpdater.updateResourceAsync()
-                    .subscribeOn(SdkContext.getRxScheduler())
-                    .doOnNext(new Action1<ResourceT>() {
-                        @Override
-                        public void call(ResourceT resourceT) {
-                            resource = resourceT;
-                        }
-                    })
-                    .map(new Func1<ResourceT, Indexable>() {
-                        @Override
-                        public Indexable call(ResourceT resourceT) {
-                            return resourceT;
-                        }
-                    });
-        }
+                    }
+                })
+                .map(new Func1<ResourceT, Indexable>() {
+                    @Override
+                    public Indexable call(ResourceT resourceT) {
+                        return resourceT;
+                    }
+                });
     }
 
     @Override
@@ -95,6 +87,17 @@ public class CreateUpdateTask<ResourceT extends Indexable> implements TaskItem {
         return this.resourceCreatorUpdater.isHot();
     }
 
+    @Override
+    public String resourceType() {
+        if (this.resourceCreatorUpdater instanceof TaskExecutionPolicy.HasResourceType) {
+            return ((TaskExecutionPolicy.HasResourceType) this.resourceCreatorUpdater).resourceType();
+        }
+        if (this.resourceCreatorUpdater instanceof Resource) {
+            return ((Resource) this.resourceCreatorUpdater).type();
+        }
+        return null;
+    }
+
 
     /**
      * Represents a type that know how to create or update a resource of type {@link T}.
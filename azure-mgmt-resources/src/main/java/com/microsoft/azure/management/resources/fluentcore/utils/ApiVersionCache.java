@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.apigeneration.Beta;
+import com.microsoft.azure.management.apigeneration.Beta.SinceVersion;
+import com.microsoft.azure.management.resources.Provider;
+import com.microsoft.azure.management.resources.ProviderResourceType;
+import com.microsoft.azure.management.resources.Providers;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type representing a cache of the API versions of resource types, resolving the API version to use
+ * for a resource id the way {@link com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils#defaultApiVersion}
+ * does, without downloading the metadata of the resource provider for each resolution.
+ * <p>
+ * The metadata of a resource provider is downloaded once and indexed by resource type, then served
+ * from the index until it is older than the time to live or refreshed. Concurrent resolutions for the
+ * same resource provider share a single request. An API version pinned for a resource type takes
+ * precedence over the metadata of the resource provider.
+ */
+@Beta(SinceVersion.V1_15_0)
+public final class ApiVersionCache {
+    private final Providers providers;
+    private final Map<String, ProviderIndex> indexes = new HashMap<>();
+    private final Map<String, Observable<ProviderIndex>> inFlight = new HashMap<>();
+    private final Map<String, String> pinnedApiVersions = new HashMap<>();
+    private long timeToLiveInNanos = TimeUnit.HOURS.toNanos(1);
+    private long generation;
+    private long loadCount;
+
+    /**
+     * Creates a cache of the API versions of resource types.
+     *
+     * @param providers the resource providers to download the metadata from
+     */
+    public ApiVersionCache(Providers providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * Sets the duration the metadata of a resource provider is served from the cache before being
+     * downloaded again. The default is one hour.
+     *
+     * @param timeToLive the duration
+     * @param unit the unit of the duration
+     * @return the cache
+     */
+    public ApiVersionCache withTimeToLive(long timeToLive, TimeUnit unit) {
+        synchronized (this) {
+            this.timeToLiveInNanos = unit.toNanos(timeToLive);
+        }
+        return this;
+    }
+
+    /**
+     * Pins the API version of a resource type, used for the resources of that type regardless of
+     * the metadata of the resource provider.
+     *
+     * @param providerNamespace the namespace of the resource provider, e.g. Microsoft.Web
+     * @param resourceType the resource type as listed by the resource provider, e.g. sites or sites/config
+     * @param apiVersion the API version
+     * @return the cache
+     */
+    public ApiVersionCache withPinnedApiVersion(String providerNamespace, String resourceType, String apiVersion) {
+        synchronized (this) {
+            this.pinnedApiVersions.put(normalize(providerNamespace + "/" + resourceType), apiVersion);
+        }
+        return this;
+    }
+
+    /**
+     * Removes the API version pinned for a resource type.
+     *
+     * @param providerNamespace the namespace of the resource provider
+     * @param resourceType the resource type as listed by the resource provider
+     * @return the cache
+     */
+    public ApiVersionCache withoutPinnedApiVersion(String providerNamespace, String resourceType) {
+        synchronized (this) {
+            this.pinnedApiVersions.remove(normalize(providerNamespace + "/" + resourceType));
+        }
+        return this;
+    }
+
+    /**
+     * Discards the metadata of a resource provider, downloaded again on the next resolution.
+     *
+     * @param providerNamespace the namespace of the resource provider
+     */
+    public void refresh(String providerNamespace) {
+        String key = normalize(providerNamespace);
+        synchronized (this) {
+            generation++;
+            indexes.remove(key);
+            inFlight.remove(key);
+        }
+    }
+
+    /**
+     * Discards the metadata of all the resource providers.
+     */
+    public void refreshAll() {
+        synchronized (this) {
+            generation++;
+            indexes.clear();
+            inFlight.clear();
+        }
+    }
+
+    /**
+     * @return the number of downloads of the metadata of resource providers
+     */
+    public synchronized long loadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Resolves the API version to use for a resource.
+     *
+     * @param resourceId the resource id
+     * @return the API version
+     */
+    public String resolve(String resourceId) {
+        return resolveAsync(resourceId).toBlocking().single();
+    }
+
+    /**
+     * Resolves the API version to use for a resource.
+     *
+     * @param resourceId the resource id
+     * @return an observable that emits the API version
+     */
+    public Observable<String> resolveAsync(String resourceId) {
+        final ResourceId id = ResourceId.fromString(resourceId);
+        final String namespace = normalize(id.providerNamespace());
+        return Observable.defer(new Func0<Observable<String>>() {
+            @Override
+            public Observable<String> call() {
+                Observable<ProviderIndex> source;
+                synchronized (ApiVersionCache.this) {
+                    ProviderIndex index = indexes.get(namespace);
+                    if (index != null && System.nanoTime() - index.loadedAt < timeToLiveInNanos) {
+                        return Observable.just(resolve(index, namespace, id));
+                    }
+                    source = inFlight.get(namespace);
+                    if (source == null) {
+                        loadCount++;
+                        source = load(namespace, id.providerNamespace());
+                        inFlight.put(namespace, source);
+                    }
+                }
+                return source.map(new Func1<ProviderIndex, String>() {
+                    @Override
+                    public String call(ProviderIndex index) {
+                        synchronized (ApiVersionCache.this) {
+                            return resolve(index, namespace, id);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private Observable<ProviderIndex> load(final String namespace, String providerNamespace) {
+        final long loadGeneration = generation;
+        final AtomicReference<Observable<ProviderIndex>> self = new AtomicReference<>();
+        Observable<ProviderIndex> source = providers.getByNameAsync(providerNamespace)
+                .map(new Func1<Provider, ProviderIndex>() {
+                    @Override
+                    public ProviderIndex call(Provider provider) {
+                        ProviderIndex index = new ProviderIndex(provider.resourceTypes());
+                        store(namespace, index, loadGeneration);
+                        return index;
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        synchronized (ApiVersionCache.this) {
+                            if (inFlight.get(namespace) == self.get()) {
+                                inFlight.remove(namespace);
+                            }
+                        }
+                    }
+                })
+                .cache();
+        self.set(source);
+        return source;
+    }
+
+    private synchronized void store(String namespace, ProviderIndex index, long loadGeneration) {
+        if (loadGeneration != generation) {
+            // The cache was refreshed while the metadata was being downloaded
+            return;
+        }
+        index.loadedAt = System.nanoTime();
+        indexes.put(namespace, index);
+    }
+
+    /**
+     * Resolves the API version of a resource: pinned or listed for the exact type of the resource,
+     * then listed for a resource type having the type of the resource as a child type, then resolved
+     * for the parent of the resource.
+     */
+    private String resolve(ProviderIndex index, String namespace, ResourceId id) {
+        for (ResourceId current = id; current != null; current = current.parent()) {
+            String fullType = normalize(current.fullResourceType());
+            // The resource type without the namespace, e.g. sites/config
+            String type = fullType.substring(Math.min(fullType.length(), namespace.length() + 1));
+            String apiVersion = pinnedApiVersions.get(fullType);
+            if (apiVersion == null) {
+                apiVersion = index.exactTypes.get(type);
+            }
+            if (apiVersion == null) {
+                String lastType = normalize(current.resourceType());
+                apiVersion = index.exactTypes.get(lastType);
+                if (apiVersion == null) {
+                    apiVersion = index.childTypes.get(lastType);
+                }
+            }
+            if (apiVersion != null) {
+                return apiVersion;
+            }
+        }
+        // Not guaranteed to work, as for ResourceUtils.defaultApiVersion
+        return index.fallback;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The API versions of the resource types of a resource provider, indexed by type and by the
+     * segments of child types, the first resource type listed winning as in a linear scan.
+     */
+    private static final class ProviderIndex {
+        private final Map<String, String> exactTypes = new HashMap<>();
+        private final Map<String, String> childTypes = new HashMap<>();
+        private final String fallback;
+        private long loadedAt;
+
+        private ProviderIndex(List<ProviderResourceType> resourceTypes) {
+            String first = null;
+            if (resourceTypes != null) {
+                for (ProviderResourceType resourceType : resourceTypes) {
+                    if (resourceType.resourceType() == null
+                            || resourceType.apiVersions() == null
+                            || resourceType.apiVersions().isEmpty()) {
+                        continue;
+                    }
+                    String apiVersion = resourceType.apiVersions().get(0);
+                    if (first == null) {
+                        first = apiVersion;
+                    }
+                    String type = normalize(resourceType.resourceType());
+                    putIfAbsent(exactTypes, type, apiVersion);
+                    // The sub-paths following a '/', e.g. config for sites/config
+                    for (int start = type.indexOf('/'); start >= 0; start = type.indexOf('/', start + 1)) {
+                        for (int end = type.indexOf('/', start + 1); end >= 0; end = type.indexOf('/', end + 1)) {
+                            putIfAbsent(childTypes, type.substring(start + 1, end), apiVersion);
+                        }
+                        putIfAbsent(childTypes, type.substring(start + 1), apiVersion);
+                    }
+                }
+            }
+            this.fallback = first;
+        }
+
+        private static void putIfAbsent(Map<String, String> map, String key, String value) {
+            if (!map.containsKey(key)) {
+                map.put(key, value);
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
 import rx.Observable;
+import rx.Scheduler;
 import rx.schedulers.Schedulers;
 
 import java.util.concurrent.TimeUnit;
@@ -37,4 +38,18 @@ public class DelayProvider {
     public <T> Observable<T>  delayedEmitAsync(T event, int milliseconds) {
         return Observable.just(event).delay(milliseconds, TimeUnit.MILLISECONDS, Schedulers.immediate());
     }
+
+    /**
+     * Creates an observable that emits the given item on the given scheduler after the specified
+     * time in milliseconds, without blocking the subscribing thread.
+     *
+     * @param event the event to emit
+     * @param milliseconds the delay in milliseconds
+     * @param scheduler the scheduler on which the event is emitted
+     * @param <T> the type of event
+     * @return delayed observable
+     */
+    public <T> Observable<T> delayedEmitAsync(T event, long milliseconds, Scheduler scheduler) {
+        return Observable.just(event).delay(milliseconds, TimeUnit.MILLISECONDS, scheduler);
+    }
 }
@@ -15,6 +15,8 @@ import rx.functions.Func1;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * The base class for converting {@link PagedList} of one type of resource to
@@ -77,6 +79,57 @@ public abstract class PagedListConverter<U, V> {
         };
     }
 
+    /**
+     * Converts a stream of pages, page by page.
+     * <p>
+     * The pages are fetched and converted on the SDK scheduler as the returned observable is
+     * consumed: while the subscriber processes a page, only the next page is fetched and converted,
+     * so that the memory used is bounded by two pages whatever the number of items listed.
+     *
+     * @param uPages the pages to convert from
+     * @return the converted pages
+     */
+    public Observable<Page<V>> convertPagesAsync(Observable<Page<U>> uPages) {
+        return uPages
+                .subscribeOn(SdkContext.getRxScheduler())
+                // one page at a time, the next page is requested once the converted page is taken by the subscriber
+                .flatMap(new Func1<Page<U>, Observable<Page<V>>>() {
+                    @Override
+                    public Observable<Page<V>> call(Page<U> uPage) {
+                        return convertPageAsync(uPage);
+                    }
+                }, 1)
+                // hands the page over to the subscriber so that the next page is prefetched while it is processed
+                .observeOn(SdkContext.getRxScheduler(), 1);
+    }
+
+    private Observable<Page<V>> convertPageAsync(final Page<U> uPage) {
+        List<U> items = uPage.items() == null ? Collections.<U>emptyList() : uPage.items();
+        return Observable.from(items)
+                .filter(new Func1<U, Boolean>() {
+                    @Override
+                    public Boolean call(U u) {
+                        return filter(u);
+                    }
+                })
+                .concatMap(new Func1<U, Observable<V>>() {
+                    @Override
+                    public Observable<V> call(U u) {
+                        return typeConvertAsync(u);
+                    }
+                })
+                .toList()
+                .map(new Func1<List<V>, Page<V>>() {
+                    @Override
+                    public Page<V> call(List<V> items) {
+                        PageImpl<V> vPage = new PageImpl<>();
+                        vPage.setNextPageLink(uPage.nextPageLink());
+                        vPage.setItems(items);
+                        return vPage;
+                    }
+                });
+    }
+
     private void loadConvertedList(final Page<U> uPage, final Page<V> vPage) {
         Observable.from(uPage.items())
                 .filter(new Func1<U, Boolean>() {
@@ -0,0 +1,440 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.ProxyResource;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import okhttp3.MediaType;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type representing a read-through cache of Azure resources, shared by the resource collections
+ * of a manager.
+ * <p>
+ * The cache is opt-in, it is enabled on a manager through
+ * {@link com.microsoft.azure.management.resources.fluentcore.arm.implementation.Manager#withResourceCache(ResourceCache)}.
+ * Once enabled, getting a resource by id or by resource group returns the cached resource as long
+ * as it is not older than the time to live. The resources created, updated or deleted through the
+ * manager are evicted from the cache. Concurrent gets of the same resource share a single request.
+ * <p>
+ * The cache stores a serialized snapshot of the resources, every get returns a distinct copy that
+ * can be modified without affecting the cache. The snapshots are keyed by resource ID, a resource
+ * fetched through different collection keys is stored once and evicted at once.
+ * <p>
+ * Once a {@link ResourceCacheInterceptor} of the cache is added to the REST client of the manager,
+ * the resources expired are revalidated rather than fetched again: the request sends the ETag last
+ * received with If-None-Match, and a 304 Not Modified response is answered with the body last
+ * received.
+ */
+public final class ResourceCache {
+    // The snapshots, in least recently used order
+    private final Map<ResourceId, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // The resource ID each collection key resolved to when last fetched
+    private final Map<String, ResourceId> resourceIds = new HashMap<>();
+    private final Map<String, Observable<Entry>> inFlight = new HashMap<>();
+    // The ETag and body last received for each resource, kept once the snapshot expires
+    private final Map<ResourceId, Validator> validators = new LinkedHashMap<>(16, 0.75f, true);
+    // The generation at which each resource or key was last invalidated while fetching, a resource
+    // fetched since an earlier generation is not stored. Cleared once no fetch is running.
+    private final Map<ResourceId, Long> invalidatedIds = new HashMap<>();
+    private final Map<String, Long> invalidatedKeys = new HashMap<>();
+    private int maxSize = 1024;
+    private long timeToLiveInNanos = TimeUnit.MINUTES.toNanos(1);
+    private long generation;
+    private long invalidatedAllAt = -1;
+    private int fetchCount;
+    private long hitCount;
+    private long missCount;
+    private long revalidationCount;
+
+    /**
+     * Sets the maximum number of resources in the cache, the least recently used resources are
+     * evicted first. The default is 1024.
+     *
+     * @param maxSize the maximum number of resources
+     * @return the cache
+     */
+    public ResourceCache withMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        synchronized (this) {
+            this.maxSize = maxSize;
+            trim();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the duration a resource is served from the cache before being fetched again.
+     * The default is one minute.
+     *
+     * @param timeToLive the duration
+     * @param unit the unit of the duration
+     * @return the cache
+     */
+    public ResourceCache withTimeToLive(long timeToLive, TimeUnit unit) {
+        synchronized (this) {
+            this.timeToLiveInNanos = unit.toNanos(timeToLive);
+        }
+        return this;
+    }
+
+    /**
+     * Evicts a resource from the cache.
+     *
+     * @param resourceId the resource id
+     */
+    public void invalidate(String resourceId) {
+        ResourceId id = parse(resourceId);
+        if (id == null) {
+            return;
+        }
+        synchronized (this) {
+            remove(id);
+            validators.remove(id);
+            if (fetchCount > 0) {
+                invalidatedIds.put(id, ++generation);
+            }
+        }
+    }
+
+    /**
+     * Evicts all the resources from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            entries.clear();
+            resourceIds.clear();
+            inFlight.clear();
+            validators.clear();
+            invalidatedIds.clear();
+            invalidatedKeys.clear();
+            invalidatedAllAt = ++generation;
+        }
+    }
+
+    /**
+     * @return the number of resources in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of gets served from the cache
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of gets that required a request
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of requests answered with the body last received, once revalidated by a 304 response
+     */
+    public synchronized long revalidationCount() {
+        return revalidationCount;
+    }
+
+    /**
+     * Gets a resource from the cache, fetching it if it is not cached or expired.
+     * (Internal use only)
+     *
+     * @param key the key of the resource in the collection it is fetched from
+     * @param fetcher the function returning an observable that emits the inner resource
+     * @param <InnerT> the inner resource type
+     * @return an observable that emits a copy of the inner resource
+     */
+    public <InnerT> Observable<InnerT> getAsync(final String key, final Func0<Observable<InnerT>> fetcher) {
+        final String normalizedKey = normalize(key);
+        return Observable.defer(new Func0<Observable<InnerT>>() {
+            @Override
+            public Observable<InnerT> call() {
+                Observable<Entry> source;
+                synchronized (ResourceCache.this) {
+                    ResourceId id = resourceIds.get(normalizedKey);
+                    Entry entry = id == null ? null : entries.get(id);
+                    if (entry != null && System.nanoTime() - entry.storedAt < timeToLiveInNanos) {
+                        hitCount++;
+                        source = Observable.just(entry);
+                    } else {
+                        if (entry != null) {
+                            remove(id);
+                        }
+                        source = inFlight.get(normalizedKey);
+                        if (source == null) {
+                            missCount++;
+                            source = fetch(normalizedKey, fetcher);
+                            inFlight.put(normalizedKey, source);
+                        }
+                    }
+                }
+                return source.map(new Func1<Entry, InnerT>() {
+                    @Override
+                    public InnerT call(Entry entry) {
+                        return entry.copy();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Evicts a resource from the cache by its key.
+     * (Internal use only)
+     *
+     * @param key the key of the resource in the collection it is fetched from
+     */
+    public void invalidateKey(String key) {
+        String normalizedKey = normalize(key);
+        synchronized (this) {
+            ResourceId id = resourceIds.get(normalizedKey);
+            if (id != null) {
+                remove(id);
+                validators.remove(id);
+            }
+            inFlight.remove(normalizedKey);
+            if (fetchCount > 0) {
+                invalidatedKeys.put(normalizedKey, ++generation);
+            }
+        }
+    }
+
+    /**
+     * Gets the ETag and body last received for a resource.
+     *
+     * @param resourceId the resource id
+     * @param url the URL of the request, the validator of a request to another URL, e.g. with
+     *            another API version, not being returned
+     * @return the validator, null if none
+     */
+    synchronized Validator validator(ResourceId resourceId, String url) {
+        Validator validator = validators.get(resourceId);
+        return validator == null || !validator.url.equals(url) ? null : validator;
+    }
+
+    /**
+     * Stores the ETag and body received for a resource.
+     *
+     * @param resourceId the resource id
+     * @param validator the validator
+     */
+    synchronized void storeValidator(ResourceId resourceId, Validator validator) {
+        validators.put(resourceId, validator);
+        Iterator<Validator> iterator = validators.values().iterator();
+        while (validators.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the ETag and body received for a resource, e.g. once modified.
+     *
+     * @param resourceId the resource id
+     */
+    synchronized void removeValidator(ResourceId resourceId) {
+        validators.remove(resourceId);
+    }
+
+    synchronized void revalidated() {
+        revalidationCount++;
+    }
+
+    private <InnerT> Observable<Entry> fetch(final String key, Func0<Observable<InnerT>> fetcher) {
+        final long fetchGeneration = generation;
+        fetchCount++;
+        final AtomicReference<Observable<Entry>> self = new AtomicReference<>();
+        Observable<Entry> source = fetcher.call()
+                .map(new Func1<InnerT, Entry>() {
+                    @Override
+                    public Entry call(InnerT inner) {
+                        Entry entry = Entry.of(inner);
+                        if (entry.resourceId != null) {
+                            store(key, entry, fetchGeneration);
+                        }
+                        return entry;
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        synchronized (ResourceCache.this) {
+                            if (inFlight.get(key) == self.get()) {
+                                inFlight.remove(key);
+                            }
+                            if (--fetchCount == 0) {
+                                invalidatedIds.clear();
+                                invalidatedKeys.clear();
+                            }
+                        }
+                    }
+                })
+                .cache();
+        self.set(source);
+        return source;
+    }
+
+    private synchronized void store(String key, Entry entry, long fetchGeneration) {
+        if (isInvalidatedSince(invalidatedIds.get(entry.resourceId), fetchGeneration)
+                || isInvalidatedSince(invalidatedKeys.get(key), fetchGeneration)
+                || invalidatedAllAt > fetchGeneration) {
+            // The resource was invalidated while being fetched
+            return;
+        }
+        ResourceId previousId = resourceIds.get(key);
+        if (previousId != null && !previousId.equals(entry.resourceId)) {
+            // The key now resolves to another resource, e.g. re-created with a different id casing
+            remove(previousId);
+        }
+        Entry previous = entries.get(entry.resourceId);
+        if (previous != null) {
+            entry.keys.addAll(previous.keys);
+        }
+        if (!entry.keys.contains(key)) {
+            entry.keys.add(key);
+        }
+        entry.storedAt = System.nanoTime();
+        entries.put(entry.resourceId, entry);
+        resourceIds.put(key, entry.resourceId);
+        trim();
+    }
+
+    private void remove(ResourceId id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            for (String key : entry.keys) {
+                resourceIds.remove(key);
+            }
+        }
+    }
+
+    private void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            for (String key : entry.keys) {
+                resourceIds.remove(key);
+            }
+        }
+    }
+
+    private static boolean isInvalidatedSince(Long invalidatedAt, long fetchGeneration) {
+        return invalidatedAt != null && invalidatedAt > fetchGeneration;
+    }
+
+    static ResourceId parse(String resourceId) {
+        if (resourceId == null) {
+            return null;
+        }
+        try {
+            return ResourceId.fromString(resourceId);
+        } catch (InvalidParameterException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The ETag and body of a resource, as received for a request.
+     */
+    static final class Validator {
+        private final String url;
+        private final String etag;
+        private final MediaType contentType;
+        private final byte[] body;
+
+        Validator(String url, String etag, MediaType contentType, byte[] body) {
+            this.url = url;
+            this.etag = etag;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        String etag() {
+            return etag;
+        }
+
+        MediaType contentType() {
+            return contentType;
+        }
+
+        byte[] body() {
+            return body;
+        }
+    }
+
+    /**
+     * A cached snapshot of an inner resource.
+     */
+    private static final class Entry {
+        private final Class<?> type;
+        private final String json;
+        private final ResourceId resourceId;
+        private final Object uncachedInner;
+        // The collection keys resolving to the resource
+        private final List<String> keys = new ArrayList<>(1);
+        private long storedAt;
+
+        private Entry(Class<?> type, String json, ResourceId resourceId, Object uncachedInner) {
+            this.type = type;
+            this.json = json;
+            this.resourceId = resourceId;
+            this.uncachedInner = uncachedInner;
+        }
+
+        static Entry of(Object inner) {
+            ResourceId resourceId = inner instanceof ProxyResource ? parse(((ProxyResource) inner).id()) : null;
+            if (resourceId == null) {
+                // Resources without an id are not cached, but still returned to the caller
+                return new Entry(null, null, null, inner);
+            }
+            try {
+                return new Entry(inner.getClass(), SnapshotSerializer.serialize(inner), resourceId, null);
+            } catch (IOException e) {
+                return new Entry(null, null, null, inner);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <InnerT> InnerT copy() {
+            if (json == null) {
+                return (InnerT) uncachedInner;
+            }
+            try {
+                return (InnerT) SnapshotSerializer.deserialize(json, type);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to copy the cached resource " + resourceId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * An interceptor revalidating the resources of a {@link ResourceCache} with conditional requests.
+ * <p>
+ * The ETag and body of the resources read are kept by the cache. A later read of the same resource,
+ * e.g. once expired from the cache, sends the ETag with If-None-Match; a 304 Not Modified response
+ * is answered with the body kept, as a 200 response. A resource modified through the client is
+ * read again unconditionally.
+ */
+public final class ResourceCacheInterceptor implements Interceptor {
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MATCH = "If-Match";
+    private static final String ETAG = "ETag";
+
+    private final ResourceCache cache;
+
+    /**
+     * Initialize an interceptor revalidating the resources of a cache.
+     * @param cache the cache of the manager the REST client is used by
+     */
+    public ResourceCacheInterceptor(ResourceCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        ResourceId resourceId = ResourceCache.parse(path(request.url()));
+        if (resourceId == null) {
+            return chain.proceed(request);
+        }
+        if (!"GET".equalsIgnoreCase(request.method())) {
+            cache.removeValidator(resourceId);
+            return chain.proceed(request);
+        }
+        if (request.header(IF_NONE_MATCH) != null || request.header(IF_MATCH) != null) {
+            return chain.proceed(request);
+        }
+        String url = request.url().toString();
+        ResourceCache.Validator validator = cache.validator(resourceId, url);
+        if (validator == null) {
+            return store(resourceId, url, chain.proceed(request));
+        }
+        Response response = chain.proceed(request.newBuilder().header(IF_NONE_MATCH, validator.etag()).build());
+        if (response.code() != 304) {
+            return store(resourceId, url, response);
+        }
+        response.close();
+        cache.revalidated();
+        return response.newBuilder()
+                .code(200)
+                .message("OK")
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(validator.contentType(), validator.body()))
+                .build();
+    }
+
+    private Response store(ResourceId resourceId, String url, Response response) throws IOException {
+        String etag = response.header(ETAG);
+        if (response.code() != 200 || etag == null || response.body() == null) {
+            cache.removeValidator(resourceId);
+            return response;
+        }
+        ResponseBody body = response.body();
+        byte[] content = body.bytes();
+        cache.storeValidator(resourceId, new ResourceCache.Validator(url, etag, body.contentType(), content));
+        return response.newBuilder().body(ResponseBody.create(body.contentType(), content)).build();
+    }
+
+    private static String path(HttpUrl url) {
+        StringBuilder path = new StringBuilder();
+        for (String segment : url.pathSegments()) {
+            path.append('/').append(segment);
+        }
+        return path.toString();
+    }
+}
@@ -8,6 +8,7 @@ package com.microsoft.azure.management.resources.fluentcore.utils;
 
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import okhttp3.Interceptor;
+import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
@@ -15,10 +16,7 @@ import okio.BufferedSource;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 /**
@@ -26,82 +24,108 @@ import java.util.regex.Pattern;
  * <p>
  * For each subscription and tenant, Azure Resource Manager limits read requests to 15,000 per hour and
  *   write requests to 1,200 per hour. These limits apply to each Azure Resource Manager instance.
+ * <p>
+ * Requests are paced by a {@link ThrottlingPolicy}: each request only waits for its own reserved
+ *   delay, so a throttled request never holds up the other requests sent to the same subscription.
  */
 public class ResourceManagerThrottlingInterceptor implements Interceptor {
     private static final String LOGGING_HEADER = "x-ms-logging-context";
-    private static final ConcurrentMap<String, ReentrantLock> REENTRANT_LOCK_MAP = new ConcurrentHashMap<>();
+    private static final ThrottlingPolicy DEFAULT_THROTTLING_POLICY = new TokenBucketThrottlingPolicy();
+    private static final Pattern RETRY_AFTER_MINUTES_PATTERN =
+        Pattern.compile("try again after '([0-9]*)' minutes", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RETRY_AFTER_SECONDS_PATTERN =
+        Pattern.compile("try again after '([0-9]*)' seconds", Pattern.CASE_INSENSITIVE);
+
+    private final ThrottlingPolicy throttlingPolicy;
+
+    /**
+     * Creates an interceptor sharing the process wide default throttling policy.
+     */
+    public ResourceManagerThrottlingInterceptor() {
+        this(DEFAULT_THROTTLING_POLICY);
+    }
+
+    /**
+     * Creates an interceptor using the given throttling policy.
+     *
+     * @param throttlingPolicy the policy pacing the requests
+     */
+    public ResourceManagerThrottlingInterceptor(ThrottlingPolicy throttlingPolicy) {
+        this.throttlingPolicy = throttlingPolicy == null ? DEFAULT_THROTTLING_POLICY : throttlingPolicy;
+    }
+
+    /**
+     * @return the throttling policy used by this interceptor
+     */
+    public ThrottlingPolicy throttlingPolicy() {
+        return this.throttlingPolicy;
+    }
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        // Gate control
-        String subscriptionId = ResourceUtils.extractFromResourceId(chain.request().url().url().getPath(), "subscriptions");
+        Request request = chain.request();
+        String subscriptionId = ResourceUtils.extractFromResourceId(request.url().url().getPath(), "subscriptions");
         if (subscriptionId == null) {
             subscriptionId = "global";
         }
-        REENTRANT_LOCK_MAP.putIfAbsent(subscriptionId, new ReentrantLock());
-        try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                }
-            }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
-        }
-        Response response = chain.proceed(chain.request());
+        boolean isWrite = !"GET".equals(request.method()) && !"HEAD".equals(request.method());
+
+        delay(throttlingPolicy.reserve(subscriptionId, isWrite));
+        Response response = chain.proceed(request);
+        throttlingPolicy.onResponse(subscriptionId, isWrite, response);
         if (response.code() != 429) {
             return response;
         }
 
-        try {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                if (REENTRANT_LOCK_MAP.get(subscriptionId).isLocked()) {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).wait();
-                    return chain.proceed(chain.request());
-                } else {
-                    REENTRANT_LOCK_MAP.get(subscriptionId).lock();
-                }
+        int retryAfter = retryAfterSeconds(response);
+        throttlingPolicy.onThrottled(subscriptionId, isWrite, retryAfter > 0 ? TimeUnit.SECONDS.toMillis(retryAfter) + 100 : 0);
+        if (retryAfter > 0) {
+            String context = request.header(LOGGING_HEADER);
+            if (context == null) {
+                context = "";
             }
-        } catch (InterruptedException e) {
-            throw new IOException(e);
+            LoggerFactory.getLogger(context)
+                .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
+        }
+        if (response.body() != null) {
+            response.body().close();
         }
+        delay(throttlingPolicy.reserve(subscriptionId, isWrite));
+        response = chain.proceed(request);
+        throttlingPolicy.onResponse(subscriptionId, isWrite, response);
+        return response;
+    }
 
-        try {
-            String retryAfterHeader = response.header("Retry-After");
-            int retryAfter = 0;
-            if (retryAfterHeader != null) {
-                retryAfter = Integer.parseInt(retryAfterHeader);
+    private int retryAfterSeconds(Response response) throws IOException {
+        String retryAfterHeader = response.header("Retry-After");
+        int retryAfter = 0;
+        if (retryAfterHeader != null) {
+            try {
+                retryAfter = Integer.parseInt(retryAfterHeader.trim());
+            } catch (NumberFormatException e) {
+                retryAfter = 0;
             }
-            if (retryAfter <= 0) {
-                Pattern pattern = Pattern.compile("try again after '([0-9]*)' minutes", Pattern.CASE_INSENSITIVE);
-                Matcher matcher = pattern.matcher(content(response.body()));
+        }
+        if (retryAfter <= 0) {
+            String content = content(response.body());
+            if (content != null) {
+                Matcher matcher = RETRY_AFTER_MINUTES_PATTERN.matcher(content);
                 if (matcher.find()) {
                     retryAfter = (int) TimeUnit.MINUTES.toSeconds(Integer.parseInt(matcher.group(1)));
                 } else {
-                    pattern = Pattern.compile("try again after '([0-9]*)' seconds", Pattern.CASE_INSENSITIVE);
-                    matcher = pattern.matcher(content(response.body()));
+                    matcher = RETRY_AFTER_SECONDS_PATTERN.matcher(content);
                     if (matcher.find()) {
                         retryAfter = Integer.parseInt(matcher.group(1));
                     }
                 }
             }
-            if (retryAfter > 0) {
-                String context = chain.request().header(LOGGING_HEADER);
-                if (context == null) {
-                    context = "";
-                }
-                LoggerFactory.getLogger(context)
-                    .info("Azure Resource Manager read/write per hour limit reached. Will retry in: " + retryAfter + " seconds");
-                SdkContext.sleep((int) (TimeUnit.SECONDS.toMillis(retryAfter) + 100));
-            }
-            return chain.proceed(chain.request());
-        } catch (Throwable t) {
-            throw new IOException(t);
-        } finally {
-            synchronized (REENTRANT_LOCK_MAP.get(subscriptionId)) {
-                REENTRANT_LOCK_MAP.get(subscriptionId).unlock();
-                REENTRANT_LOCK_MAP.get(subscriptionId).notifyAll();
-            }
+        }
+        return retryAfter;
+    }
+
+    private static void delay(long milliseconds) {
+        if (milliseconds > 0) {
+            SdkContext.sleep((int) Math.min(milliseconds, Integer.MAX_VALUE));
         }
     }
 
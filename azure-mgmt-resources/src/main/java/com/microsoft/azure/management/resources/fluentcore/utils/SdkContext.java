@@ -6,6 +6,7 @@
 
 package com.microsoft.azure.management.resources.fluentcore.utils;
 
+import com.microsoft.azure.management.resources.fluentcore.dag.TaskExecutionPolicy;
 import rx.Observable;
 import rx.Scheduler;
 import rx.schedulers.Schedulers;
@@ -17,6 +18,7 @@ public class SdkContext {
     private static ResourceNamerFactory resourceNamerFactory = new ResourceNamerFactory();
     private static DelayProvider delayProvider = new DelayProvider();
     private static Scheduler rxScheduler = Schedulers.io();
+    private static TaskExecutionPolicy taskExecutionPolicy;
 
     /**
      * Function to override the ResourceNamerFactory.
@@ -102,6 +104,19 @@ public class SdkContext {
         return delayProvider.delayedEmitAsync(event, milliseconds);
     }
 
+    /**
+     * Wrapper delayed emission on a scheduler, based on delayProvider.
+     *
+     * @param event the event to emit
+     * @param milliseconds the delay in milliseconds
+     * @param scheduler the scheduler on which the event is emitted
+     * @param <T> the type of event
+     * @return delayed observable
+     */
+    public static <T> Observable<T> delayedEmitAsync(T event, long milliseconds, Scheduler scheduler) {
+        return delayProvider.delayedEmitAsync(event, milliseconds, scheduler);
+    }
+
     /**
      * Gets the current Rx Scheduler for the SDK framework.
      * @return current rx scheduler.
@@ -117,4 +132,22 @@ public class SdkContext {
     public static void setRxScheduler(Scheduler rxScheduler) {
         SdkContext.rxScheduler = rxScheduler;
     }
+
+    /**
+     * Gets the default policy limiting the number of tasks invoked concurrently when a
+     * group of resources is created or updated.
+     * @return the default task execution policy, null if the number of tasks is not limited.
+     */
+    public static TaskExecutionPolicy getTaskExecutionPolicy() {
+        return taskExecutionPolicy;
+    }
+
+    /**
+     * Sets the default policy limiting the number of tasks invoked concurrently when a
+     * group of resources is created or updated, by default the number of tasks is not limited.
+     * @param taskExecutionPolicy the task execution policy to be used in SDK framework, null to remove limits.
+     */
+    public static void setTaskExecutionPolicy(TaskExecutionPolicy taskExecutionPolicy) {
+        SdkContext.taskExecutionPolicy = taskExecutionPolicy;
+    }
 }
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.microsoft.azure.management.resources.fluentcore.arm.ExpandableStringEnumDeserializer;
+import com.microsoft.rest.serializer.FlatteningDeserializer;
+import com.microsoft.rest.serializer.FlatteningSerializer;
+import com.microsoft.rest.serializer.JacksonAdapter;
+
+import java.io.IOException;
+
+/**
+ * Serializer to snapshot inner models, e.g. to keep them in memory or on disk.
+ * (Internal use only)
+ * <p>
+ * Unlike the serializer used on the wire, it keeps the read-only properties such as the id
+ * of a resource, so that a deserialized snapshot is identical to the original model.
+ */
+public final class SnapshotSerializer {
+    private static final ObjectMapper MAPPER = new SnapshotAdapter().snapshotMapper();
+
+    private SnapshotSerializer() {
+    }
+
+    /**
+     * @return the mapper used to serialize and deserialize the snapshots
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * Serializes an inner model.
+     *
+     * @param inner the inner model
+     * @return the snapshot of the inner model
+     * @throws IOException if the inner model cannot be serialized
+     */
+    public static String serialize(Object inner) throws IOException {
+        return MAPPER.writeValueAsString(inner);
+    }
+
+    /**
+     * Deserializes a snapshot of an inner model.
+     *
+     * @param snapshot the snapshot
+     * @param type the type of the inner model
+     * @param <T> the type of the inner model
+     * @return the inner model
+     * @throws IOException if the snapshot cannot be deserialized
+     */
+    public static <T> T deserialize(String snapshot, Class<T> type) throws IOException {
+        return MAPPER.readValue(snapshot, type);
+    }
+
+    /**
+     * The adapter providing access to the mapper settings used on the wire.
+     */
+    private static final class SnapshotAdapter extends JacksonAdapter {
+        ObjectMapper snapshotMapper() {
+            ObjectMapper simpleMapper = simpleMapper().copy()
+                    .setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+                        @Override
+                        public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                            return JsonProperty.Access.AUTO;
+                        }
+                    });
+            return simpleMapper.copy()
+                    .registerModule(FlatteningSerializer.getModule(simpleMapper))
+                    .registerModule(FlatteningDeserializer.getModule(simpleMapper))
+                    .registerModule(ExpandableStringEnumDeserializer.getModule());
+        }
+    }
+}
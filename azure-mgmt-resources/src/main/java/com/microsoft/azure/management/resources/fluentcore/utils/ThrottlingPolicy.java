@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import okhttp3.Response;
+
+/**
+ * Type representing the policy used by {@link ResourceManagerThrottlingInterceptor} to pace
+ * requests sent to Azure Resource Manager.
+ * <p>
+ * A policy never blocks: it only computes how long a request should be delayed, so that
+ * concurrent requests are spread out in advance instead of waiting on each other.
+ */
+public interface ThrottlingPolicy {
+    /**
+     * Reserves a slot for a request that is about to be sent.
+     *
+     * @param subscriptionId the subscription the request is targeting, "global" if none
+     * @param isWrite true if the request is a write request, false for a read request
+     * @return the time in milliseconds the request should be delayed before it is sent
+     */
+    long reserve(String subscriptionId, boolean isWrite);
+
+    /**
+     * Notifies the policy about a response received from Azure Resource Manager, so that
+     * it can adjust its state based on the rate limit headers.
+     *
+     * @param subscriptionId the subscription the request was targeting, "global" if none
+     * @param isWrite true if the request was a write request, false for a read request
+     * @param response the response received
+     */
+    void onResponse(String subscriptionId, boolean isWrite, Response response);
+
+    /**
+     * Notifies the policy that Azure Resource Manager throttled a request.
+     *
+     * @param subscriptionId the subscription the request was targeting, "global" if none
+     * @param isWrite true if the request was a write request, false for a read request
+     * @param retryAfterMillis the time in milliseconds after which requests may be sent again
+     */
+    void onThrottled(String subscriptionId, boolean isWrite, long retryAfterMillis);
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import okhttp3.Response;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ThrottlingPolicy} keeping one token bucket per subscription for read requests
+ * and one for write requests.
+ * <p>
+ * Buckets refill continuously at the hourly limit of Azure Resource Manager and are
+ * re-calibrated from the x-ms-ratelimit-remaining-subscription-reads/writes headers. When a
+ * bucket runs dry, each further request reserves a future token, so the requests are spread
+ * over time rather than all being sent and rejected with 429.
+ */
+public class TokenBucketThrottlingPolicy implements ThrottlingPolicy {
+    /**
+     * The default number of read requests per hour for a subscription.
+     */
+    public static final int DEFAULT_READS_PER_HOUR = 15000;
+    /**
+     * The default number of write requests per hour for a subscription.
+     */
+    public static final int DEFAULT_WRITES_PER_HOUR = 1200;
+
+    private static final String REMAINING_READS_HEADER = "x-ms-ratelimit-remaining-subscription-reads";
+    private static final String REMAINING_WRITES_HEADER = "x-ms-ratelimit-remaining-subscription-writes";
+
+    private final int readsPerHour;
+    private final int writesPerHour;
+    private final ConcurrentMap<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a policy using the default Azure Resource Manager limits.
+     */
+    public TokenBucketThrottlingPolicy() {
+        this(DEFAULT_READS_PER_HOUR, DEFAULT_WRITES_PER_HOUR);
+    }
+
+    /**
+     * Creates a policy using the given limits.
+     *
+     * @param readsPerHour the number of read requests allowed per hour for a subscription
+     * @param writesPerHour the number of write requests allowed per hour for a subscription
+     */
+    public TokenBucketThrottlingPolicy(int readsPerHour, int writesPerHour) {
+        if (readsPerHour <= 0 || writesPerHour <= 0) {
+            throw new IllegalArgumentException("readsPerHour and writesPerHour must be positive");
+        }
+        this.readsPerHour = readsPerHour;
+        this.writesPerHour = writesPerHour;
+    }
+
+    @Override
+    public long reserve(String subscriptionId, boolean isWrite) {
+        return bucket(subscriptionId, isWrite).reserve(currentTimeMillis());
+    }
+
+    @Override
+    public void onResponse(String subscriptionId, boolean isWrite, Response response) {
+        String remaining = response.header(isWrite ? REMAINING_WRITES_HEADER : REMAINING_READS_HEADER);
+        if (remaining == null) {
+            return;
+        }
+        try {
+            bucket(subscriptionId, isWrite).calibrate(Long.parseLong(remaining.trim()), currentTimeMillis());
+        } catch (NumberFormatException e) {
+            // Ignore malformed header, the bucket keeps its own estimate
+        }
+    }
+
+    @Override
+    public void onThrottled(String subscriptionId, boolean isWrite, long retryAfterMillis) {
+        bucket(subscriptionId, isWrite).pause(retryAfterMillis, currentTimeMillis());
+    }
+
+    /**
+     * @return the current time in milliseconds used to refill the buckets
+     */
+    protected long currentTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private TokenBucket bucket(String subscriptionId, boolean isWrite) {
+        ConcurrentMap<String, TokenBucket> buckets = isWrite ? writeBuckets : readBuckets;
+        TokenBucket bucket = buckets.get(subscriptionId);
+        if (bucket == null) {
+            TokenBucket newBucket = new TokenBucket(isWrite ? writesPerHour : readsPerHour, currentTimeMillis());
+            bucket = buckets.putIfAbsent(subscriptionId, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * A token bucket whose token count may go negative; a negative count represents
+     * tokens already reserved by requests waiting for the bucket to refill.
+     */
+    private static class TokenBucket {
+        private final double capacity;
+        private final double millisPerToken;
+        private double tokens;
+        private long lastRefill;
+        private long pausedUntil;
+
+        TokenBucket(int requestsPerHour, long now) {
+            this.capacity = requestsPerHour;
+            this.millisPerToken = TimeUnit.HOURS.toMillis(1) / (double) requestsPerHour;
+            this.tokens = requestsPerHour;
+            this.lastRefill = now;
+        }
+
+        synchronized long reserve(long now) {
+            refill(now);
+            tokens -= 1;
+            long delay = Math.max(0, pausedUntil - now);
+            if (tokens < 0) {
+                delay = Math.max(delay, (long) Math.ceil(-tokens * millisPerToken));
+            }
+            return delay;
+        }
+
+        synchronized void calibrate(long remaining, long now) {
+            refill(now);
+            if (remaining < tokens) {
+                tokens = remaining;
+            }
+        }
+
+        synchronized void pause(long retryAfterMillis, long now) {
+            refill(now);
+            pausedUntil = Math.max(pausedUntil, now + retryAfterMillis);
+            if (tokens > 0) {
+                tokens = 0;
+            }
+        }
+
+        private void refill(long now) {
+            if (now > lastRefill) {
+                tokens = Math.min(capacity, tokens + (now - lastRefill) / millisPerToken);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -9,9 +9,11 @@ package com.microsoft.azure.management.resources.fluentcore.utils;
 import com.google.common.primitives.Ints;
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.resources.fluentcore.arm.ExpandableStringEnumDeserializer;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
 import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
 import com.microsoft.azure.management.resources.implementation.PageImpl;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import okhttp3.ResponseBody;
 import retrofit2.Retrofit;
 import retrofit2.http.GET;
@@ -224,6 +226,18 @@ public final class Utils {
                 resourceId.resourceGroupName());
     }
 
+    /**
+     * Creates the serializer adapter of the management clients, which in addition to the Azure serialization
+     * deserializes the known values of expandable string enums without reflection.
+     *
+     * @return the serializer adapter
+     */
+    public static AzureJacksonAdapter newJacksonAdapter() {
+        AzureJacksonAdapter adapter = new AzureJacksonAdapter();
+        adapter.serializer().registerModule(ExpandableStringEnumDeserializer.getModule());
+        return adapter;
+    }
+
     private Utils() {
     }
 }
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.utils;
+
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Type to wait, without blocking a thread, until a condition over a periodically re-fetched value holds.
+ * <p>
+ * The value is fetched right away, then with an exponential backoff with jitter between the fetches,
+ * until the condition holds, the maximum number of attempts is reached or the timeout elapses.
+ * Unsubscribing from the observable returned by {@link #toObservable()} cancels the wait.
+ * <pre>{@code
+ * WaitUntil.polling(fetchInnerFunc)
+ *     .until(isProvisionedFunc)
+ *     .withTimeout(10, TimeUnit.MINUTES)
+ *     .toObservable();
+ * }</pre>
+ *
+ * @param <T> the type of the polled value
+ */
+public final class WaitUntil<T> {
+    private static final double JITTER = 0.2;
+
+    private final Func0<Observable<T>> fetcher;
+    private Func1<? super T, Boolean> condition;
+    private T initialValue;
+    private boolean hasInitialValue;
+    private long initialDelayInMillis = 1000;
+    private long maxDelayInMillis = 30 * 1000;
+    private long timeoutInMillis = Long.MAX_VALUE;
+    private int maxAttempts = Integer.MAX_VALUE;
+    private boolean continueOnTimeout;
+    private Func1<? super Throwable, Boolean> ignoredErrors;
+
+    private WaitUntil(Func0<Observable<T>> fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Creates a wait re-fetching the value with the given function.
+     *
+     * @param fetcher the function returning an observable that emits the current value
+     * @param <T> the type of the polled value
+     * @return the wait
+     */
+    public static <T> WaitUntil<T> polling(Func0<Observable<T>> fetcher) {
+        return new WaitUntil<>(fetcher);
+    }
+
+    /**
+     * Specifies the condition ending the wait.
+     *
+     * @param condition the condition over the fetched value
+     * @return the wait
+     */
+    public WaitUntil<T> until(Func1<? super T, Boolean> condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    /**
+     * Specifies an already known value, checked against the condition before the first fetch.
+     * <p>
+     * When the initial value does not satisfy the condition, the first fetch happens after the
+     * initial delay.
+     *
+     * @param initialValue the current value
+     * @return the wait
+     */
+    public WaitUntil<T> startingWith(T initialValue) {
+        this.initialValue = initialValue;
+        this.hasInitialValue = true;
+        return this;
+    }
+
+    /**
+     * Specifies the delays between the fetches, the delay doubles after each fetch up to the maximum.
+     *
+     * @param initialDelay the delay after the first fetch
+     * @param maxDelay the maximum delay between two fetches
+     * @param unit the unit of the delays
+     * @return the wait
+     */
+    public WaitUntil<T> withDelays(long initialDelay, long maxDelay, TimeUnit unit) {
+        this.initialDelayInMillis = unit.toMillis(initialDelay);
+        this.maxDelayInMillis = Math.max(this.initialDelayInMillis, unit.toMillis(maxDelay));
+        return this;
+    }
+
+    /**
+     * Specifies the maximum duration of the wait.
+     *
+     * @param timeout the maximum duration
+     * @param unit the unit of the duration
+     * @return the wait
+     */
+    public WaitUntil<T> withTimeout(long timeout, TimeUnit unit) {
+        this.timeoutInMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Specifies the maximum number of fetches.
+     *
+     * @param maxAttempts the maximum number of fetches
+     * @return the wait
+     */
+    public WaitUntil<T> withMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Specifies that the wait completes normally, emitting the last fetched value if any, when the
+     * timeout elapses or the maximum number of attempts is reached. By default the wait fails
+     * with {@link TimeoutException}.
+     *
+     * @return the wait
+     */
+    public WaitUntil<T> continueOnTimeout() {
+        this.continueOnTimeout = true;
+        return this;
+    }
+
+    /**
+     * Specifies that a failed fetch is considered as a value that does not satisfy the condition.
+     * By default the wait fails with the error of the fetch.
+     *
+     * @return the wait
+     */
+    public WaitUntil<T> ignoringErrors() {
+        return this.ignoringErrors(new Func1<Throwable, Boolean>() {
+            @Override
+            public Boolean call(Throwable throwable) {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Specifies that a fetch failed with an error satisfying the filter, e.g. a not found error while
+     * the value is being provisioned, is considered as a value that does not satisfy the condition.
+     * The wait fails with any other error of the fetch.
+     *
+     * @param filter the filter of the errors to ignore
+     * @return the wait
+     */
+    public WaitUntil<T> ignoringErrors(Func1<? super Throwable, Boolean> filter) {
+        this.ignoredErrors = filter;
+        return this;
+    }
+
+    /**
+     * @return an observable that emits the value satisfying the condition and completes
+     */
+    public Observable<T> toObservable() {
+        if (this.condition == null) {
+            throw new IllegalStateException("The condition to wait for is not specified");
+        }
+        return Observable.defer(new Func0<Observable<T>>() {
+            @Override
+            public Observable<T> call() {
+                long deadline = timeoutInMillis == Long.MAX_VALUE
+                        ? Long.MAX_VALUE
+                        : System.currentTimeMillis() + timeoutInMillis;
+                AtomicReference<T> lastValue = new AtomicReference<>();
+                if (hasInitialValue) {
+                    lastValue.set(initialValue);
+                    if (isSatisfied(initialValue)) {
+                        return Observable.just(initialValue);
+                    }
+                    return scheduleAttempt(0, initialDelayInMillis, deadline, lastValue);
+                }
+                return attempt(0, initialDelayInMillis, deadline, lastValue);
+            }
+        });
+    }
+
+    private Observable<T> attempt(final int attempt, final long delayInMillis, final long deadline, final AtomicReference<T> lastValue) {
+        Observable<Boolean> satisfied = fetcher.call()
+                .lastOrDefault(null)
+                .map(new Func1<T, Boolean>() {
+                    @Override
+                    public Boolean call(T value) {
+                        lastValue.set(value);
+                        return isSatisfied(value);
+                    }
+                });
+        if (ignoredErrors != null) {
+            satisfied = satisfied.onErrorResumeNext(new Func1<Throwable, Observable<Boolean>>() {
+                @Override
+                public Observable<Boolean> call(Throwable throwable) {
+                    Boolean ignored = ignoredErrors.call(throwable);
+                    return ignored != null && ignored ? Observable.just(false) : Observable.<Boolean>error(throwable);
+                }
+            });
+        }
+        return satisfied.flatMap(new Func1<Boolean, Observable<T>>() {
+            @Override
+            public Observable<T> call(Boolean isSatisfied) {
+                if (isSatisfied) {
+                    return Observable.just(lastValue.get());
+                }
+                if (attempt + 1 >= maxAttempts) {
+                    return timedOut(lastValue);
+                }
+                return scheduleAttempt(attempt + 1, delayInMillis, deadline, lastValue);
+            }
+        });
+    }
+
+    private Observable<T> scheduleAttempt(final int attempt, final long delayInMillis, final long deadline, final AtomicReference<T> lastValue) {
+        final long delay = jitter(delayInMillis);
+        if (deadline != Long.MAX_VALUE && System.currentTimeMillis() + delay > deadline) {
+            return timedOut(lastValue);
+        }
+        return SdkContext.delayedEmitAsync(attempt, delay, SdkContext.getRxScheduler())
+                .flatMap(new Func1<Integer, Observable<T>>() {
+                    @Override
+                    public Observable<T> call(Integer attempt) {
+                        return attempt(attempt, Math.min(delayInMillis * 2, maxDelayInMillis), deadline, lastValue);
+                    }
+                });
+    }
+
+    private Observable<T> timedOut(AtomicReference<T> lastValue) {
+        if (continueOnTimeout) {
+            T value = lastValue.get();
+            return value == null ? Observable.<T>empty() : Observable.just(value);
+        }
+        return Observable.error(new TimeoutException("The condition was not satisfied in the allowed time"));
+    }
+
+    private boolean isSatisfied(T value) {
+        if (value == null) {
+            return false;
+        }
+        Boolean result = this.condition.call(value);
+        return result != null && result;
+    }
+
+    private static long jitter(long delayInMillis) {
+        double factor = 1 - JITTER + 2 * JITTER * ThreadLocalRandom.current().nextDouble();
+        return (long) (delayInMillis * factor);
+    }
+}
@@ -8,7 +8,6 @@ package com.microsoft.azure.management.resources.implementation;
 
 import com.microsoft.azure.management.resources.GenericResource;
 import com.microsoft.azure.management.resources.Plan;
-import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.models.implementation.GroupableResourceImpl;
 import com.microsoft.azure.management.resources.fluentcore.utils.SdkContext;
@@ -139,24 +138,24 @@ final class GenericResourceImpl
         Observable<String> observable = Observable.just(apiVersion);
         if (apiVersion == null) {
             final ResourceManagementClientImpl serviceClient = this.manager().inner();
-            observable = this.manager().providers().getByNameAsync(resourceProviderNamespace)
-                    .map(new Func1<Provider, String>() {
+            String id;
+            if (!isInCreateMode()) {
+                id = inner().id();
+            } else {
+                id = ResourceUtils.constructResourceId(
+                        serviceClient.subscriptionId(),
+                        resourceGroupName(),
+                        resourceProviderNamespace(),
+                        resourceType(),
+                        name(),
+                        parentResourcePath());
+            }
+            observable = this.manager().apiVersionCache().resolveAsync(id)
+                    .map(new Func1<String, String>() {
                         @Override
-                        public String call(Provider provider) {
-                            String id;
-                            if (!isInCreateMode()) {
-                                id = inner().id();
-                            } else {
-                                id = ResourceUtils.constructResourceId(
-                                        serviceClient.subscriptionId(),
-                                        resourceGroupName(),
-                                        resourceProviderNamespace(),
-                                        resourceType(),
-                                        name(),
-                                        parentResourcePath());
-                            }
-                            self.apiVersion = ResourceUtils.defaultApiVersion(id, provider);
-                            return self.apiVersion;
+                        public String call(String apiVersion) {
+                            self.apiVersion = apiVersion;
+                            return apiVersion;
                         }
                     });
         }
@@ -6,10 +6,10 @@
 
 package com.microsoft.azure.management.resources.implementation;
 
+import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.resources.GenericResource;
 import com.microsoft.azure.management.resources.GenericResources;
-import com.microsoft.azure.management.resources.Provider;
 import com.microsoft.azure.management.resources.ResourceGroup;
 import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
 import com.microsoft.azure.management.resources.fluentcore.arm.collection.implementation.GroupableResourcesImpl;
@@ -87,8 +87,7 @@ final class GenericResourcesImpl
 
     @Override
     public GenericResource getById(String id) {
-        Provider provider = this.manager().providers().getByName(ResourceUtils.resourceProviderFromResourceId(id));
-        String apiVersion = ResourceUtils.defaultApiVersion(id, provider);
+        String apiVersion = this.manager().apiVersionCache().resolve(id);
         return wrapModel(this.inner().getById(id, apiVersion)).withApiVersion(apiVersion);
     }
 
@@ -222,13 +221,7 @@ final class GenericResourcesImpl
     }
 
     private Observable<String> getApiVersionFromId(final String id) {
-        return this.manager().providers().getByNameAsync(ResourceUtils.resourceProviderFromResourceId(id))
-                .map(new Func1<Provider, String>() {
-                    @Override
-                    public String call(Provider provider) {
-                        return ResourceUtils.defaultApiVersion(id, provider);
-                    }
-                });
+        return this.manager().apiVersionCache().resolveAsync(id);
     }
 
     @Override
@@ -236,6 +229,11 @@ final class GenericResourcesImpl
         return wrapPageAsync(this.inner().listAsync());
     }
 
+    @Override
+    public Observable<Page<GenericResource>> listPagesAsync() {
+        return wrapPagesAsync(this.inner().listAsync());
+    }
+
     @Override
     public Observable<GenericResource> listByResourceGroupAsync(String resourceGroupName) {
         return wrapPageAsync(this.manager().inner().resources().listByResourceGroupAsync(resourceGroupName));
@@ -22,9 +22,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerBase;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
+import com.microsoft.azure.management.resources.fluentcore.utils.ApiVersionCache;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.rest.RestClient;
 
 /**
@@ -43,6 +44,7 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
     private Providers providers;
     private PolicyDefinitions policyDefinitions;
     private PolicyAssignments policyAssignments;
+    private ApiVersionCache apiVersionCache;
 
     /**
      * Creates an instance of ResourceManager that exposes resource management API entry points.
@@ -54,7 +56,7 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
         return new AuthenticatedImpl(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -241,6 +243,16 @@ public final class ResourceManager extends ManagerBase implements HasInner<Resou
         return policyAssignments;
     }
 
+    /**
+     * @return the cache of the API versions of resource types, shared by the generic resources of this manager
+     */
+    public synchronized ApiVersionCache apiVersionCache() {
+        if (apiVersionCache == null) {
+            apiVersionCache = new ApiVersionCache(providers());
+        }
+        return apiVersionCache;
+    }
+
     @Override
     public ResourceManagementClientImpl inner() {
         return this.resourceManagementClient;
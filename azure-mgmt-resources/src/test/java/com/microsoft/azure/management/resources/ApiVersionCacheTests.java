@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.azure.management.resources.fluentcore.arm.ResourceUtils;
+import com.microsoft.azure.management.resources.fluentcore.utils.ApiVersionCache;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test ApiVersionCache class.
+ */
+public class ApiVersionCacheTests {
+    private static final String PROVIDER = "{\"id\":\"/subscriptions/sub/providers/Microsoft.Web\",\"namespace\":\"Microsoft.Web\","
+            + "\"registrationState\":\"Registered\",\"resourceTypes\":["
+            + "{\"resourceType\":\"sites\",\"apiVersions\":[\"2018-02-01\",\"2016-08-01\"]},"
+            + "{\"resourceType\":\"sites/config\",\"apiVersions\":[\"2018-02-01-config\"]},"
+            + "{\"resourceType\":\"serverFarms\",\"apiVersions\":[\"2018-02-01-farms\"]}]}";
+    private static final String SITE = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/sites/site1";
+    private static final String CONFIG = SITE + "/config/web";
+    private static final String SLOT = SITE + "/slots/staging";
+    private static final String FARM = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/serverfarms/farm1";
+    private static final String UNKNOWN = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Web/unknowns/unknown1";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private ResourceManager resourceManager;
+
+    @Before
+    public void setup() {
+        Interceptor providersService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                requests.incrementAndGet();
+                Assert.assertTrue(chain.request().url().encodedPath().endsWith("/providers/Microsoft.Web"));
+                try {
+                    // Slow enough for concurrent resolutions to overlap
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return OfflineService.response(chain.request(), 200, PROVIDER);
+            }
+        };
+        RestClient restClient = OfflineService.restClient(providersService);
+        resourceManager = ResourceManager.authenticate(restClient).withSubscription("sub");
+    }
+
+    @Test
+    public void canResolveLikeDefaultApiVersion() {
+        ApiVersionCache cache = resourceManager.apiVersionCache();
+        Assert.assertEquals("2018-02-01", cache.resolve(SITE));
+        Assert.assertEquals("2018-02-01-config", cache.resolve(CONFIG));
+        Assert.assertEquals("2018-02-01", cache.resolve(SLOT));
+        Assert.assertEquals("2018-02-01-farms", cache.resolve(FARM));
+        Assert.assertEquals("2018-02-01", cache.resolve(UNKNOWN));
+
+        Provider provider = resourceManager.providers().getByName("Microsoft.Web");
+        for (String id : new String[] {SITE, CONFIG, SLOT, FARM, UNKNOWN}) {
+            Assert.assertEquals(ResourceUtils.defaultApiVersion(id, provider), cache.resolve(id));
+        }
+        Assert.assertEquals(1, cache.loadCount());
+    }
+
+    @Test
+    public void canShareLoads() {
+        ApiVersionCache cache = resourceManager.apiVersionCache();
+        List<String> apiVersions = Observable.merge(
+                cache.resolveAsync(SITE).subscribeOn(Schedulers.io()),
+                cache.resolveAsync(CONFIG).subscribeOn(Schedulers.io()),
+                cache.resolveAsync(FARM).subscribeOn(Schedulers.io()))
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(3, apiVersions.size());
+        Assert.assertEquals(1, requests.get());
+        Assert.assertEquals(1, cache.loadCount());
+        Assert.assertSame(cache, resourceManager.apiVersionCache());
+    }
+
+    @Test
+    public void canPinAndRefresh() {
+        ApiVersionCache cache = resourceManager.apiVersionCache()
+                .withPinnedApiVersion("Microsoft.Web", "sites", "2015-08-01");
+        Assert.assertEquals("2015-08-01", cache.resolve(SITE));
+        Assert.assertEquals("2015-08-01", cache.resolve(SLOT));
+        Assert.assertEquals("2018-02-01-config", cache.resolve(CONFIG));
+        Assert.assertEquals(1, requests.get());
+
+        cache.withoutPinnedApiVersion("Microsoft.Web", "sites");
+        Assert.assertEquals("2018-02-01", cache.resolve(SITE));
+        Assert.assertEquals(1, requests.get());
+
+        cache.refresh("microsoft.web");
+        cache.resolve(SITE);
+        Assert.assertEquals(2, requests.get());
+
+        cache.withTimeToLive(0, TimeUnit.SECONDS);
+        cache.resolve(SITE);
+        Assert.assertEquals(3, requests.get());
+    }
+}
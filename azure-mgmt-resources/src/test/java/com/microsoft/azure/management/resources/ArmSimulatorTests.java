@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.management.resources.core.ArmSimulator;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test class to test ArmSimulator class.
+ */
+public class ArmSimulatorTests {
+    private static final String GROUPS = "/subscriptions/00000000-0000-0000-0000-000000000000/resourcegroups/";
+
+    private File recordFolder;
+    private ArmSimulator simulator;
+
+    @Before
+    public void setup() throws IOException {
+        recordFolder = File.createTempFile("session-records", "");
+        Assert.assertTrue(recordFolder.delete() && recordFolder.mkdir());
+        writeRecords("canGetGroups", record("rg1", "westus"), record("rg1", "eastus"));
+        writeRecords("canGetOtherGroups", record("rg2", "northeurope"));
+    }
+
+    @After
+    public void cleanup() {
+        if (simulator != null) {
+            simulator.stop();
+        }
+        for (File file : recordFolder.listFiles()) {
+            file.delete();
+        }
+        recordFolder.delete();
+    }
+
+    @Test
+    public void canPlayBackRecordsInOrder() throws IOException {
+        simulator = new ArmSimulator(recordFolder).start(0);
+        RestClient restClient = new RestClient.Builder()
+                .withBaseUrl(simulator.url() + "/")
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                .build();
+        ResourceManager resourceManager = ResourceManager.authenticate(restClient)
+                .withSubscription("00000000-0000-0000-0000-000000000000");
+
+        Assert.assertEquals("westus", resourceManager.resourceGroups().getByName("rg1").regionName());
+        Assert.assertEquals("eastus", resourceManager.resourceGroups().getByName("rg1").regionName());
+        Assert.assertEquals("northeurope", resourceManager.resourceGroups().getByName("rg2").regionName());
+        Assert.assertEquals(3, simulator.servedCount());
+
+        OkHttpClient client = new OkHttpClient();
+        Response response = client.newCall(get("rg1", null)).execute();
+        Assert.assertEquals(404, response.code());
+        Assert.assertTrue(response.body().string().contains("RecordNotFound"));
+        Assert.assertEquals(1, simulator.unmatchedCount());
+    }
+
+    @Test
+    public void canPlayBackSessionsRepeatedly() throws IOException {
+        simulator = new ArmSimulator(recordFolder)
+                .withRepeat(true)
+                .withTextReplacementRule("westus", "westus2")
+                .start(0);
+        OkHttpClient client = new OkHttpClient();
+        for (int i = 0; i < 3; i++) {
+            Response first = client.newCall(get("rg1", "canGetGroups")).execute();
+            Assert.assertEquals(200, first.code());
+            String body = first.body().string();
+            Assert.assertTrue(body.contains("westus2"));
+            // Recorded against another server
+            Assert.assertTrue(body.contains(simulator.url() + GROUPS + "rg1"));
+            Assert.assertTrue(client.newCall(get("rg1", "canGetGroups")).execute().body().string().contains("eastus"));
+        }
+        // Recorded for another session only
+        Assert.assertEquals(404, client.newCall(get("rg2", "canGetGroups")).execute().code());
+        Assert.assertEquals(6, simulator.servedCount());
+    }
+
+    private Request get(String resourceGroupName, String session) {
+        Request.Builder builder = new Request.Builder()
+                .url(simulator.url() + GROUPS + resourceGroupName + "?api-version=2017-05-10");
+        if (session != null) {
+            builder.header(ArmSimulator.SESSION_HEADER, session);
+        }
+        return builder.build();
+    }
+
+    private static String record(String resourceGroupName, String location) {
+        String id = GROUPS + resourceGroupName;
+        return "{\"Method\":\"GET\",\"Uri\":\"http://localhost:1234" + id + "?api-version=2017-05-10\","
+                + "\"Headers\":{},\"Response\":{\"StatusCode\":\"200\",\"content-type\":\"application/json; charset=utf-8\","
+                + "\"Body\":\"{\\\"id\\\":\\\"" + id + "\\\",\\\"name\\\":\\\"" + resourceGroupName
+                + "\\\",\\\"location\\\":\\\"" + location + "\\\",\\\"properties\\\":{\\\"provisioningState\\\":\\\"Succeeded\\\"},"
+                + "\\\"managedBy\\\":\\\"http://localhost:1234" + id + "\\\"}\"}}";
+    }
+
+    private void writeRecords(String session, String... records) throws IOException {
+        StringBuilder json = new StringBuilder("{\"networkCallRecords\":[");
+        for (int i = 0; i < records.length; i++) {
+            json.append(i == 0 ? "" : ",").append(records[i]);
+        }
+        json.append("],\"variables\":[]}");
+        try (OutputStream out = new FileOutputStream(new File(recordFolder, session + ".json"))) {
+            out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
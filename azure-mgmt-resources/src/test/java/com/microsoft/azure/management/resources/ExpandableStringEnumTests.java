@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.CountryIsoCode;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import com.microsoft.azure.management.resources.implementation.PolicyDefinitionInner;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Test class to test ExpandableStringEnum class.
+ */
+public class ExpandableStringEnumTests {
+    @Test
+    public void canLookUpValuesIgnoringCase() {
+        Assert.assertSame(CountryIsoCode.UNITED_STATES, CountryIsoCode.fromString("us"));
+        Assert.assertSame(CountryIsoCode.UNITED_STATES, CountryIsoCode.fromString("US"));
+
+        CountryIsoCode newCode = CountryIsoCode.fromString("ExpandableStringEnumTests");
+        Assert.assertEquals("ExpandableStringEnumTests", newCode.toString());
+        Assert.assertSame(newCode, CountryIsoCode.fromString("EXPANDABLESTRINGENUMTESTS"));
+        Assert.assertTrue(CountryIsoCode.values().contains(newCode));
+        Assert.assertNull(CountryIsoCode.fromString(null));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotModifyValues() {
+        Collection<CountryIsoCode> values = CountryIsoCode.values();
+        Assert.assertTrue(values.contains(CountryIsoCode.UNITED_STATES));
+        values.clear();
+    }
+
+    @Test
+    public void canDeserializeKnownAndNewValues() throws IOException {
+        AzureJacksonAdapter adapter = Utils.newJacksonAdapter();
+
+        Assert.assertSame(CountryIsoCode.GERMANY, adapter.deserialize("\"de\"", CountryIsoCode.class));
+        List<CountryIsoCode> codes = adapter.deserialize("[\"DE\", \"NewIsoCode\", \"newisocode\"]",
+                adapter.serializer().getTypeFactory().constructCollectionType(List.class, CountryIsoCode.class));
+        Assert.assertSame(CountryIsoCode.GERMANY, codes.get(0));
+        Assert.assertEquals("NewIsoCode", codes.get(1).toString());
+        Assert.assertSame(codes.get(1), codes.get(2));
+
+        PolicyDefinitionInner definition = adapter.deserialize(
+                "{\"properties\":{\"policyType\":\"builtin\"}}", PolicyDefinitionInner.class);
+        Assert.assertSame(PolicyType.BUILT_IN, definition.policyType());
+        definition = adapter.deserialize("{\"properties\":{\"policyType\":null}}", PolicyDefinitionInner.class);
+        Assert.assertNull(definition.policyType());
+        Assert.assertEquals("\"Custom\"", adapter.serialize(PolicyType.CUSTOM));
+    }
+}
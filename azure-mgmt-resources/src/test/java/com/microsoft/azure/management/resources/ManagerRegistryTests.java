@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.functions.Func0;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test ManagerRegistry class.
+ */
+public class ManagerRegistryTests {
+    @Test
+    public void canCreateManagersOnce() {
+        ManagerRegistry registry = new ManagerRegistry();
+        AtomicInteger creations = new AtomicInteger();
+
+        StringBuilder first = registry.get(StringBuilder.class, factory("first", creations));
+        StringBuilder second = registry.get(StringBuilder.class, factory("second", creations));
+        StringBuilder qualified = registry.get(StringBuilder.class, "tenant", factory("qualified", creations));
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals("first", second.toString());
+        Assert.assertEquals("qualified", qualified.toString());
+        Assert.assertEquals(2, creations.get());
+    }
+
+    @Test
+    public void canUseRegisteredFactory() {
+        ManagerRegistry registry = new ManagerRegistry();
+        AtomicInteger creations = new AtomicInteger();
+        registry.register(StringBuilder.class, "tenant", factory("registered", creations));
+        Assert.assertEquals(0, creations.get());
+
+        StringBuilder manager = registry.get(StringBuilder.class, "tenant", factory("default", creations));
+        Assert.assertEquals("registered", manager.toString());
+        Assert.assertEquals(1, creations.get());
+    }
+
+    private static Func0<StringBuilder> factory(final String value, final AtomicInteger creations) {
+        return new Func0<StringBuilder>() {
+            @Override
+            public StringBuilder call() {
+                creations.incrementAndGet();
+                return new StringBuilder(value);
+            }
+        };
+    }
+}
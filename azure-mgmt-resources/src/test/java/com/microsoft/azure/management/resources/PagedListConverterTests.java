@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.Page;
+import com.microsoft.azure.management.resources.fluentcore.utils.PagedListConverter;
+import com.microsoft.azure.management.resources.implementation.PageImpl;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test PagedListConverter class.
+ */
+public class PagedListConverterTests {
+    private static final int PAGE_COUNT = 5;
+
+    @Test
+    public void canConvertPages() {
+        List<Page<Integer>> pages = converter()
+                .convertPagesAsync(pages(0))
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(PAGE_COUNT, pages.size());
+        Assert.assertEquals(Arrays.asList(0, 10), pages.get(0).items());
+        Assert.assertEquals("1", pages.get(0).nextPageLink());
+        Assert.assertEquals(Arrays.asList(120, 130), pages.get(PAGE_COUNT - 1).items());
+        Assert.assertNull(pages.get(PAGE_COUNT - 1).nextPageLink());
+    }
+
+    @Test
+    public void canPrefetchOnlyTheNextPage() {
+        final AtomicInteger fetched = new AtomicInteger();
+        final AtomicInteger consumed = new AtomicInteger();
+        Observable<Page<String>> source = pages(0).doOnNext(new Action1<Page<String>>() {
+            @Override
+            public void call(Page<String> page) {
+                fetched.incrementAndGet();
+            }
+        });
+        converter().convertPagesAsync(source).toBlocking().forEach(new Action1<Page<Integer>>() {
+            @Override
+            public void call(Page<Integer> page) {
+                int index = consumed.getAndIncrement();
+                if (index < PAGE_COUNT - 1) {
+                    // the next page is fetched while this one is processed
+                    long deadline = System.currentTimeMillis() + 5000;
+                    while (fetched.get() < index + 2 && System.currentTimeMillis() < deadline) {
+                        Thread.yield();
+                    }
+                }
+                Assert.assertEquals(Math.min(index + 2, PAGE_COUNT), fetched.get());
+            }
+        });
+        Assert.assertEquals(PAGE_COUNT, consumed.get());
+    }
+
+    private static PagedListConverter<String, Integer> converter() {
+        return new PagedListConverter<String, Integer>() {
+            @Override
+            public Observable<Integer> typeConvertAsync(String s) {
+                return Observable.just(Integer.parseInt(s) * 10);
+            }
+
+            @Override
+            protected boolean filter(String s) {
+                // drops one item per page
+                return Integer.parseInt(s) % 3 != 2;
+            }
+        };
+    }
+
+    /**
+     * Emits the pages from the given index on, fetching a page only once the previous one has been
+     * emitted, the same way as the generated list methods.
+     */
+    private static Observable<Page<String>> pages(final int index) {
+        return Observable.defer(new Func0<Observable<Page<String>>>() {
+            @Override
+            public Observable<Page<String>> call() {
+                List<String> items = new ArrayList<>();
+                for (int i = index * 3; i < index * 3 + 3; i++) {
+                    items.add(Integer.toString(i));
+                }
+                PageImpl<String> page = new PageImpl<>();
+                page.setItems(items);
+                page.setNextPageLink(index < PAGE_COUNT - 1 ? Integer.toString(index + 1) : null);
+                return Observable.<Page<String>>just(page);
+            }
+        }).concatMap(new Func1<Page<String>, Observable<Page<String>>>() {
+            @Override
+            public Observable<Page<String>> call(Page<String> page) {
+                if (page.nextPageLink() == null) {
+                    return Observable.just(page);
+                }
+                return Observable.just(page).concatWith(pages(index + 1));
+            }
+        });
+    }
+}
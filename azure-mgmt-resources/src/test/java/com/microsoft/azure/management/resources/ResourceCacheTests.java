@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCache;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceCacheInterceptor;
+import com.microsoft.azure.management.resources.implementation.GenericResourceInner;
+import com.microsoft.azure.management.resources.implementation.ResourceManager;
+import com.microsoft.azure.management.resources.implementation.ResourcesInner;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.observers.AssertableSubscriber;
+import rx.subjects.PublishSubject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class to test ResourceCache class.
+ */
+public class ResourceCacheTests {
+    private static final String VNET_ID = "/subscriptions/sub/resourceGroups/rg/providers/Microsoft.Network/virtualNetworks/vnet1";
+
+    @Test
+    public void canServeRepeatedGetsFromCache() {
+        ResourceCache cache = new ResourceCache();
+        AtomicInteger fetches = new AtomicInteger();
+
+        GenericResourceInner first = cache.getAsync("key", fetcher(VNET_ID, fetches)).toBlocking().single();
+        first.withKind("modified");
+        GenericResourceInner second = cache.getAsync("KEY", fetcher(VNET_ID, fetches)).toBlocking().single();
+
+        Assert.assertEquals(1, fetches.get());
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(VNET_ID, second.id());
+        Assert.assertEquals("original", second.kind());
+        Assert.assertEquals(1, cache.hitCount());
+        Assert.assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void canShareConcurrentFetches() {
+        ResourceCache cache = new ResourceCache();
+        final AtomicInteger fetches = new AtomicInteger();
+        final Func0<Observable<GenericResourceInner>> slowFetcher = new Func0<Observable<GenericResourceInner>>() {
+            @Override
+            public Observable<GenericResourceInner> call() {
+                return fetcher(VNET_ID, fetches).call().delay(100, TimeUnit.MILLISECONDS);
+            }
+        };
+
+        List<GenericResourceInner> results = Observable.merge(
+                cache.getAsync("key", slowFetcher),
+                cache.getAsync("key", slowFetcher),
+                cache.getAsync("key", slowFetcher))
+                .toList().toBlocking().single();
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void canInvalidateAndEvictResources() {
+        ResourceCache cache = new ResourceCache().withMaxSize(2);
+        AtomicInteger fetches = new AtomicInteger();
+
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        cache.invalidate(VNET_ID.toUpperCase());
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        Assert.assertEquals(2, fetches.get());
+
+        cache.getAsync("key2", fetcher(VNET_ID + "2", fetches)).toBlocking().single();
+        cache.getAsync("key3", fetcher(VNET_ID + "3", fetches)).toBlocking().single();
+        Assert.assertEquals(2, cache.size());
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        Assert.assertEquals(5, fetches.get());
+
+        cache.withTimeToLive(0, TimeUnit.MILLISECONDS);
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        Assert.assertEquals(6, fetches.get());
+    }
+
+    @Test
+    public void canShareEntriesAcrossKeys() {
+        ResourceCache cache = new ResourceCache();
+        AtomicInteger fetches = new AtomicInteger();
+
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        cache.getAsync("key2", fetcher(VNET_ID.toUpperCase(), fetches)).toBlocking().single();
+        Assert.assertEquals(1, cache.size());
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        cache.getAsync("key2", fetcher(VNET_ID, fetches)).toBlocking().single();
+        Assert.assertEquals(2, fetches.get());
+
+        // Evicted for both keys
+        cache.invalidate(VNET_ID);
+        Assert.assertEquals(0, cache.size());
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        cache.getAsync("key2", fetcher(VNET_ID, fetches)).toBlocking().single();
+        Assert.assertEquals(4, fetches.get());
+
+        // Ids that are not resource ids are ignored
+        cache.invalidate("not-a-resource-id");
+        cache.invalidate(null);
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void canSkipStoringResourcesInvalidatedWhileFetched() {
+        ResourceCache cache = new ResourceCache();
+        AtomicInteger fetches = new AtomicInteger();
+        PublishSubject<GenericResourceInner> vnet1 = PublishSubject.create();
+        PublishSubject<GenericResourceInner> vnet2 = PublishSubject.create();
+
+        AssertableSubscriber<GenericResourceInner> first = cache.getAsync("key1", subject(vnet1)).test();
+        AssertableSubscriber<GenericResourceInner> second = cache.getAsync("key2", subject(vnet2)).test();
+        cache.invalidate(VNET_ID);
+        vnet1.onNext(fetcher(VNET_ID, fetches).call().toBlocking().single());
+        vnet1.onCompleted();
+        vnet2.onNext(fetcher(VNET_ID + "2", fetches).call().toBlocking().single());
+        vnet2.onCompleted();
+
+        first.assertValueCount(1).assertCompleted();
+        second.assertValueCount(1).assertCompleted();
+        // Only the resource invalidated is fetched again
+        Assert.assertEquals(1, cache.size());
+        cache.getAsync("key1", fetcher(VNET_ID, fetches)).toBlocking().single();
+        cache.getAsync("key2", fetcher(VNET_ID + "2", fetches)).toBlocking().single();
+        Assert.assertEquals(3, fetches.get());
+
+        // Invalidated by key, e.g. once deleted
+        PublishSubject<GenericResourceInner> vnet3 = PublishSubject.create();
+        cache.getAsync("key3", subject(vnet3)).test();
+        cache.invalidateKey("KEY3");
+        vnet3.onNext(fetcher(VNET_ID + "3", fetches).call().toBlocking().single());
+        vnet3.onCompleted();
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void canSkipCachingMissingResources() {
+        ResourceCache cache = new ResourceCache();
+        final AtomicInteger fetches = new AtomicInteger();
+        Func0<Observable<GenericResourceInner>> emptyFetcher = new Func0<Observable<GenericResourceInner>>() {
+            @Override
+            public Observable<GenericResourceInner> call() {
+                fetches.incrementAndGet();
+                return Observable.just(null);
+            }
+        };
+
+        Assert.assertNull(cache.getAsync("key", emptyFetcher).toBlocking().single());
+        Assert.assertNull(cache.getAsync("key", emptyFetcher).toBlocking().single());
+        Assert.assertEquals(2, fetches.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void canRevalidateExpiredResources() {
+        final ResourceCache cache = new ResourceCache().withTimeToLive(0, TimeUnit.MILLISECONDS);
+        final AtomicReference<String> etag = new AtomicReference<>("\"1\"");
+        final List<String> conditions = new ArrayList<>();
+        Interceptor resourceService = new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) {
+                Request request = chain.request();
+                String condition = request.header("If-None-Match");
+                conditions.add(request.method() + " " + condition);
+                if (etag.get().equals(condition)) {
+                    return OfflineService.response(request, 304, "");
+                }
+                String kind = request.method().equals("GET") ? etag.get() : "\"updated\"";
+                String body = "{\"id\":\"" + VNET_ID + "\",\"name\":\"vnet1\",\"kind\":" + kind + "}";
+                return OfflineService.response(request, 200, body).newBuilder().header("ETag", etag.get()).build();
+            }
+        };
+        RestClient restClient = OfflineService.restClient(new ResourceCacheInterceptor(cache), resourceService);
+        final ResourcesInner resources = ResourceManager.authenticate(restClient).withSubscription("sub").inner().resources();
+        Func0<Observable<GenericResourceInner>> fetcher = new Func0<Observable<GenericResourceInner>>() {
+            @Override
+            public Observable<GenericResourceInner> call() {
+                return resources.getByIdAsync(VNET_ID, "2018-02-01");
+            }
+        };
+
+        Assert.assertEquals("1", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        // Not modified
+        Assert.assertEquals("1", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        Assert.assertEquals(1, cache.revalidationCount());
+        // Modified
+        etag.set("\"2\"");
+        Assert.assertEquals("2", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        Assert.assertEquals("2", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        Assert.assertEquals(2, cache.revalidationCount());
+        // Fetched unconditionally once updated or invalidated
+        resources.updateById(VNET_ID, "2018-02-01", (GenericResourceInner) new GenericResourceInner().withLocation("westus"));
+        Assert.assertEquals("2", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        cache.invalidate(VNET_ID);
+        Assert.assertEquals("2", cache.getAsync("key", fetcher).toBlocking().single().kind());
+        Assert.assertEquals(2, cache.revalidationCount());
+        Assert.assertEquals(Arrays.asList("GET null", "GET \"1\"", "GET \"1\"", "GET \"2\"",
+                "PATCH null", "GET null", "GET null"), conditions);
+    }
+
+    private static Func0<Observable<GenericResourceInner>> subject(final PublishSubject<GenericResourceInner> subject) {
+        return new Func0<Observable<GenericResourceInner>>() {
+            @Override
+            public Observable<GenericResourceInner> call() {
+                return subject;
+            }
+        };
+    }
+
+    private static Func0<Observable<GenericResourceInner>> fetcher(final String id, final AtomicInteger fetches) {
+        return new Func0<Observable<GenericResourceInner>>() {
+            @Override
+            public Observable<GenericResourceInner> call() {
+                return Observable.fromCallable(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        fetches.incrementAndGet();
+                        return "{\"id\":\"" + id + "\",\"name\":\"vnet1\",\"kind\":\"original\"}";
+                    }
+                }).map(new Func1<String, GenericResourceInner>() {
+                    @Override
+                    public GenericResourceInner call(String json) {
+                        try {
+                            return new AzureJacksonAdapter().deserialize(json, GenericResourceInner.class);
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+            }
+        };
+    }
+}
@@ -10,6 +10,10 @@ import com.microsoft.azure.management.resources.fluentcore.arm.ResourceId;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.security.InvalidParameterException;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Test class to test ResourceId class.
  */
@@ -75,4 +79,60 @@ public class ResourceIdTests {
         Assert.assertEquals(resourceId.parent().parent().resourceType(), "applicationGateways");
         Assert.assertEquals(resourceId.parent().parent().fullResourceType(), "Microsoft.Network/applicationGateways");
     }
+
+    @Test
+    public void resourceIdsAreComparedCaseInsensitively() {
+        ResourceId resourceId = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something");
+        ResourceId sameResourceId = ResourceId.fromString("subscriptions/9657AB5D-4A4A-4FD2-AE7A-4CD9FBD030EF/resourcegroups/RESOURCEGROUPNAME/providers/microsoft.network/applicationgateways/something/");
+        ResourceId otherResourceId = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/other");
+
+        Assert.assertEquals(resourceId, sameResourceId);
+        Assert.assertEquals(resourceId.hashCode(), sameResourceId.hashCode());
+        Assert.assertNotEquals(resourceId, otherResourceId);
+
+        Set<ResourceId> resourceIds = new HashSet<>();
+        resourceIds.add(resourceId);
+        Assert.assertTrue(resourceIds.contains(sameResourceId));
+        Assert.assertFalse(resourceIds.contains(otherResourceId));
+
+        ResourceId childResourceId = ResourceId.fromString(resourceId.id() + "/someChildType/childName");
+        Assert.assertEquals(resourceId, childResourceId.parent());
+        Assert.assertEquals(resourceId.hashCode(), childResourceId.parent().hashCode());
+    }
+
+    @Test
+    public void resourceIdPartsAreShared() {
+        ResourceId resourceId = ResourceId.fromString("subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something/someChildType/childName");
+        ResourceId otherResourceId = ResourceId.fromString("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/otherGroupName/providers/Microsoft.Network/applicationGateways/other");
+
+        Assert.assertSame(resourceId.parent(), resourceId.parent());
+        Assert.assertEquals("/subscriptions/9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef/resourceGroups/resourceGroupName/providers/Microsoft.Network/applicationGateways/something", resourceId.parent().id());
+        Assert.assertSame(resourceId.providerNamespace(), otherResourceId.providerNamespace());
+        Assert.assertSame(resourceId.parent().resourceType(), otherResourceId.resourceType());
+    }
+
+    @Test
+    public void invalidResourceIdsAreRejected() {
+        String[] invalidIds = {
+            "",
+            "/",
+            "/subscriptions",
+            "/subscriptions/sub1/resourceGroups",
+            "/subscriptions//resourceGroups/rg1/providers",
+            "/subscription/sub1",
+            "/subscriptions/sub1/resourceGroup/rg1",
+            "/subscriptions/sub1/resourceGroups/rg1/provider/Microsoft.Network"
+        };
+        for (String invalidId : invalidIds) {
+            try {
+                ResourceId.fromString(invalidId);
+                Assert.fail("Expected " + invalidId + " to be rejected");
+            } catch (InvalidParameterException e) {
+                // expected
+            }
+        }
+        Assert.assertNull(ResourceId.fromString(null).name());
+        Assert.assertEquals("sub1", ResourceId.fromString("/subscriptions/sub1").subscriptionId());
+        Assert.assertNull(ResourceId.fromString("/subscriptions/sub1").resourceGroupName());
+    }
 }
@@ -41,6 +41,18 @@ public class ResourceUtilsTests {
         Assert.assertEquals("providers/provider1/bars/bar1", ResourceUtils.relativePathFromResourceId("subscriptions/123/resourceGroups/foo/providers/Microsoft.Bar/providers/provider1/bars/bar1"));
     }
 
+    @Test
+    public void canExtractFromResourceId() {
+        String id = "/subscriptions/123/resourceGroups/foo/providers/Microsoft.Bar/bars/bar1/bazs/baz-1.a_b";
+        Assert.assertEquals("123", ResourceUtils.extractFromResourceId(id, "subscriptions"));
+        Assert.assertEquals("bar1", ResourceUtils.extractFromResourceId(id, "bars"));
+        Assert.assertEquals("baz-1.a_b", ResourceUtils.extractFromResourceId(id, "bazs"));
+        Assert.assertEquals("foo", ResourceUtils.extractFromResourceId("/subscriptions//resourceGroups/foo", "resourceGroups"));
+        Assert.assertNull(ResourceUtils.extractFromResourceId(id, "quxs"));
+        Assert.assertNull(ResourceUtils.extractFromResourceId("/subscriptions/", "subscriptions"));
+        Assert.assertEquals(id, ResourceUtils.extractFromResourceId(id, null));
+    }
+
     @Test
     public void canDownloadFile() throws Exception {
         Retrofit retrofit = new Retrofit.Builder().baseUrl("http://microsoft.com").addCallAdapterFactory(RxJavaCallAdapterFactory.create()).build();
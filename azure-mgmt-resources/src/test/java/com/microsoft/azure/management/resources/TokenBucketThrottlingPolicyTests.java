@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.core.OfflineService;
+import com.microsoft.azure.management.resources.fluentcore.utils.TokenBucketThrottlingPolicy;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class to test TokenBucketThrottlingPolicy class.
+ */
+public class TokenBucketThrottlingPolicyTests {
+    private static final String SUBSCRIPTION = "9657ab5d-4a4a-4fd2-ae7a-4cd9fbd030ef";
+
+    @Test
+    public void canSpreadRequestsWhenBucketIsEmpty() {
+        ManualClockPolicy policy = new ManualClockPolicy(3600, 2);
+        Assert.assertEquals(0, policy.reserve(SUBSCRIPTION, true));
+        Assert.assertEquals(0, policy.reserve(SUBSCRIPTION, true));
+        // Write bucket refills one token every 30 minutes
+        Assert.assertEquals(TimeUnit.MINUTES.toMillis(30), policy.reserve(SUBSCRIPTION, true));
+        Assert.assertEquals(TimeUnit.MINUTES.toMillis(60), policy.reserve(SUBSCRIPTION, true));
+        // Reads and other subscriptions are not affected
+        Assert.assertEquals(0, policy.reserve(SUBSCRIPTION, false));
+        Assert.assertEquals(0, policy.reserve("global", true));
+
+        policy.now += TimeUnit.MINUTES.toMillis(60);
+        Assert.assertEquals(TimeUnit.MINUTES.toMillis(30), policy.reserve(SUBSCRIPTION, true));
+    }
+
+    @Test
+    public void canCalibrateFromRemainingHeaders() {
+        ManualClockPolicy policy = new ManualClockPolicy(3600, 1200);
+        policy.onResponse(SUBSCRIPTION, false, response(200, "x-ms-ratelimit-remaining-subscription-reads", "1"));
+        Assert.assertEquals(0, policy.reserve(SUBSCRIPTION, false));
+        // Read bucket refills one token every second
+        Assert.assertEquals(1000, policy.reserve(SUBSCRIPTION, false));
+        // Write header does not change the read bucket
+        policy.onResponse(SUBSCRIPTION, true, response(200, "x-ms-ratelimit-remaining-subscription-writes", "0"));
+        Assert.assertEquals(2000, policy.reserve(SUBSCRIPTION, false));
+    }
+
+    @Test
+    public void canPauseWhenThrottled() {
+        ManualClockPolicy policy = new ManualClockPolicy(3600, 1200);
+        policy.onThrottled(SUBSCRIPTION, false, 10000);
+        Assert.assertEquals(10000, policy.reserve(SUBSCRIPTION, false));
+        Assert.assertEquals(10000, policy.reserve(SUBSCRIPTION, false));
+        policy.now += 10000;
+        Assert.assertEquals(0, policy.reserve(SUBSCRIPTION, false));
+    }
+
+    private static Response response(int code, String header, String value) {
+        Request request = new Request.Builder().url(OfflineService.BASE_URL + "subscriptions/" + SUBSCRIPTION).build();
+        return OfflineService.response(request, code, "{}").newBuilder().header(header, value).build();
+    }
+
+    private static class ManualClockPolicy extends TokenBucketThrottlingPolicy {
+        private long now = 1000;
+
+        ManualClockPolicy(int readsPerHour, int writesPerHour) {
+            super(readsPerHour, writesPerHour);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources;
+
+import com.microsoft.azure.management.resources.fluentcore.utils.WaitUntil;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class to test WaitUntil class.
+ */
+public class WaitUntilTests {
+    private static final Func1<Integer, Boolean> AT_LEAST_THREE = new Func1<Integer, Boolean>() {
+        @Override
+        public Boolean call(Integer value) {
+            return value >= 3;
+        }
+    };
+
+    @Test
+    public void canPollUntilConditionIsSatisfied() {
+        final AtomicInteger fetches = new AtomicInteger();
+        Integer result = WaitUntil.polling(counter(fetches))
+                .until(AT_LEAST_THREE)
+                .withDelays(1, 4, TimeUnit.MILLISECONDS)
+                .toObservable()
+                .toBlocking().single();
+        Assert.assertEquals(3, result.intValue());
+        Assert.assertEquals(3, fetches.get());
+    }
+
+    @Test
+    public void canSkipFetchWhenInitialValueSatisfiesCondition() {
+        final AtomicInteger fetches = new AtomicInteger();
+        Integer result = WaitUntil.polling(counter(fetches))
+                .until(AT_LEAST_THREE)
+                .startingWith(5)
+                .toObservable()
+                .toBlocking().single();
+        Assert.assertEquals(5, result.intValue());
+        Assert.assertEquals(0, fetches.get());
+    }
+
+    @Test
+    public void canTimeOutAfterMaxAttempts() {
+        final AtomicInteger fetches = new AtomicInteger();
+        try {
+            WaitUntil.polling(counter(fetches))
+                    .until(AT_LEAST_THREE)
+                    .withDelays(1, 1, TimeUnit.MILLISECONDS)
+                    .withMaxAttempts(2)
+                    .toObservable()
+                    .toBlocking().single();
+            Assert.fail("Expected TimeoutException");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        Assert.assertEquals(2, fetches.get());
+
+        Integer last = WaitUntil.polling(counter(fetches))
+                .until(AT_LEAST_THREE)
+                .withDelays(1, 1, TimeUnit.MILLISECONDS)
+                .withTimeout(1, TimeUnit.MINUTES)
+                .withMaxAttempts(1)
+                .continueOnTimeout()
+                .toObservable()
+                .toBlocking().single();
+        Assert.assertEquals(3, last.intValue());
+    }
+
+    @Test
+    public void canIgnoreFetchErrors() {
+        final AtomicInteger fetches = new AtomicInteger();
+        Integer result = WaitUntil.polling(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                int value = fetches.incrementAndGet();
+                if (value < 3) {
+                    return Observable.error(new IOException("not visible yet"));
+                }
+                return Observable.just(value);
+            }
+        })
+                .until(AT_LEAST_THREE)
+                .withDelays(1, 1, TimeUnit.MILLISECONDS)
+                .ignoringErrors()
+                .toObservable()
+                .toBlocking().single();
+        Assert.assertEquals(3, result.intValue());
+    }
+
+    @Test
+    public void canFailOnErrorsNotIgnored() {
+        final AtomicInteger fetches = new AtomicInteger();
+        try {
+            WaitUntil.polling(new Func0<Observable<Integer>>() {
+                @Override
+                public Observable<Integer> call() {
+                    return fetches.incrementAndGet() < 2
+                            ? Observable.<Integer>error(new IOException("not visible yet"))
+                            : Observable.<Integer>error(new IllegalStateException("forbidden"));
+                }
+            })
+                    .until(AT_LEAST_THREE)
+                    .withDelays(1, 1, TimeUnit.MILLISECONDS)
+                    .ignoringErrors(new Func1<Throwable, Boolean>() {
+                        @Override
+                        public Boolean call(Throwable throwable) {
+                            return throwable instanceof IOException;
+                        }
+                    })
+                    .continueOnTimeout()
+                    .toObservable()
+                    .toBlocking().single();
+            Assert.fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("forbidden", e.getMessage());
+        }
+        Assert.assertEquals(2, fetches.get());
+    }
+
+    private static Func0<Observable<Integer>> counter(final AtomicInteger fetches) {
+        return new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.just(fetches.incrementAndGet());
+            }
+        };
+    }
+}
@@ -0,0 +1,303 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.core;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A standalone HTTP server playing back the session records of the tests, to run the SDK against
+ * a simulated Azure Resource Manager outside of JUnit, e.g. to load test it offline.
+ * <p>
+ * A request is answered with the first remaining record with the same method, path and query, the
+ * host being ignored. A request with the {@link #SESSION_HEADER} header is answered from the record
+ * file of that session only, otherwise from the record files of all the sessions. The record files
+ * of a session are only loaded by the first request for that session. A request without a record
+ * left is answered with a 404 error.
+ */
+public class ArmSimulator {
+    /**
+     * The header naming the session, i.e. the test, whose record file answers a request.
+     */
+    public static final String SESSION_HEADER = "x-ms-playback-session";
+
+    private static final String ALL_SESSIONS = "";
+    // Headers describing the recorded transfer rather than the response, set by the server itself
+    private static final Set<String> TRANSFER_HEADERS = new HashSet<>(Arrays.asList(
+            "statuscode", "body", "content-length", "transfer-encoding", "connection", "content-encoding"));
+
+    private final List<File> recordFolders;
+    private final TextReplacementRules textReplacementRules = new TextReplacementRules();
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong servedCount = new AtomicLong();
+    private final AtomicLong unmatchedCount = new AtomicLong();
+    private boolean repeat;
+    private int threads = Runtime.getRuntime().availableProcessors() * 2;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a simulator playing back the record files of folders.
+     *
+     * @param recordFolders the folders of the record files, e.g. src/test/resources/session-records
+     */
+    public ArmSimulator(File... recordFolders) {
+        this.recordFolders = Arrays.asList(recordFolders);
+    }
+
+    /**
+     * Adds a text replacement rule applied to the recorded responses. The URLs of the recording
+     * server, e.g. in the Location headers, are replaced with the URL of the simulator.
+     *
+     * @param regex the regex to replace
+     * @param replacement the replacement
+     * @return the simulator
+     */
+    public ArmSimulator withTextReplacementRule(String regex, String replacement) {
+        textReplacementRules.add(regex, replacement);
+        return this;
+    }
+
+    /**
+     * Plays back the records any number of times, each record being queued again after the other
+     * records for the same request once played back. Records are played back once by default.
+     *
+     * @param repeat true to play back the records any number of times
+     * @return the simulator
+     */
+    public ArmSimulator withRepeat(boolean repeat) {
+        this.repeat = repeat;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads answering requests, twice the number of processors by default.
+     *
+     * @param threads the number of threads
+     * @return the simulator
+     */
+    public ArmSimulator withThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Starts the simulator on the loopback interface.
+     *
+     * @param port the port, or 0 for any free port
+     * @return the simulator
+     * @throws IOException if the port cannot be bound
+     */
+    public ArmSimulator start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        textReplacementRules.add("http://localhost:[0-9]+", url());
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    playback(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops the simulator.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * @return the URL of the simulator, e.g. http://localhost:11080
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return the number of requests answered with a record
+     */
+    public long servedCount() {
+        return servedCount.get();
+    }
+
+    /**
+     * @return the number of requests answered with a 404 error, without a record left
+     */
+    public long unmatchedCount() {
+        return unmatchedCount.get();
+    }
+
+    private void playback(HttpExchange exchange) throws IOException {
+        // Drained so that the connection can be reused
+        InputStream requestBody = exchange.getRequestBody();
+        byte[] buffer = new byte[8192];
+        while (requestBody.read(buffer) != -1) {
+            continue;
+        }
+
+        String method = exchange.getRequestMethod();
+        String url = exchange.getRequestURI().toString();
+        String sessionName = exchange.getRequestHeaders().getFirst(SESSION_HEADER);
+        NetworkCallRecord record = session(sessionName == null ? ALL_SESSIONS : sessionName).take(method, url);
+        if (record == null) {
+            unmatchedCount.incrementAndGet();
+            String message = "{\"error\":{\"code\":\"RecordNotFound\",\"message\":\"No record left for "
+                    + method + " " + url.replace("\"", "\\\"") + "\"}}";
+            send(exchange, 404, "application/json; charset=utf-8", message);
+            return;
+        }
+        servedCount.incrementAndGet();
+
+        Headers headers = exchange.getResponseHeaders();
+        for (Map.Entry<String, String> entry : record.Response.entrySet()) {
+            if (entry.getValue() != null && !TRANSFER_HEADERS.contains(entry.getKey().toLowerCase())) {
+                headers.add(entry.getKey(), entry.getValue());
+            }
+        }
+        int statusCode = Integer.parseInt(record.Response.get("StatusCode"));
+        String contentType = headers.containsKey("Content-Type") ? null : "application/json; charset=utf-8";
+        send(exchange, statusCode, contentType, record.Response.get("Body"));
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, String contentType, String body) throws IOException {
+        if (body == null || statusCode == 204 || statusCode == 304 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private PlaybackRecords session(String name) throws IOException {
+        Session session = sessions.get(name);
+        if (session == null) {
+            Session newSession = new Session(name);
+            session = sessions.putIfAbsent(name, newSession);
+            if (session == null) {
+                session = newSession;
+            }
+        }
+        return session.records();
+    }
+
+    /**
+     * The records of a session, loaded by the first request for the session.
+     */
+    private final class Session {
+        private final String name;
+        private volatile PlaybackRecords records;
+
+        private Session(String name) {
+            this.name = name;
+        }
+
+        private PlaybackRecords records() throws IOException {
+            PlaybackRecords result = records;
+            if (result == null) {
+                synchronized (this) {
+                    result = records;
+                    if (result == null) {
+                        result = new PlaybackRecords(repeat);
+                        for (File recordFile : recordFiles(name)) {
+                            result.load(recordFile, textReplacementRules);
+                        }
+                        records = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private List<File> recordFiles(final String sessionName) {
+        List<File> recordFiles = new ArrayList<>();
+        for (File folder : recordFolders) {
+            File[] files = folder.listFiles(new FilenameFilter() {
+                @Override
+                public boolean accept(File dir, String name) {
+                    return ALL_SESSIONS.equals(sessionName)
+                            ? name.endsWith(".json")
+                            : name.equals(sessionName + ".json");
+                }
+            });
+            if (files != null) {
+                Arrays.sort(files);
+                recordFiles.addAll(Arrays.asList(files));
+            }
+        }
+        return recordFiles;
+    }
+
+    /**
+     * Runs a simulator playing back the records any number of times, until the process is stopped.
+     *
+     * @param args the port, then the folders of the record files
+     * @throws IOException if the simulator cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: ArmSimulator <port> <record folder>...");
+            return;
+        }
+        File[] recordFolders = new File[args.length - 1];
+        for (int i = 1; i < args.length; i++) {
+            recordFolders[i - 1] = new File(args[i]);
+        }
+        final ArmSimulator simulator = new ArmSimulator(recordFolders)
+                .withRepeat(true)
+                .start(Integer.parseInt(args[0]));
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                System.out.println(String.format("Served %d requests, %d unmatched",
+                        simulator.servedCount(), simulator.unmatchedCount()));
+                simulator.stop();
+            }
+        });
+        System.out.println("Playing back the session records at " + simulator.url());
+    }
+}
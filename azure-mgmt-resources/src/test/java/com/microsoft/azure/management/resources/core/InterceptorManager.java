@@ -21,7 +21,6 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
@@ -34,12 +33,15 @@ public class InterceptorManager {
     private final static String RECORD_FOLDER = "session-records/";
     private static final String BODY_LOGGING = "x-ms-body-logging";
 
-    private Map<String, String> textReplacementRules = new HashMap<>();
+    private final TextReplacementRules textReplacementRules = new TextReplacementRules();
     // Stores a map of all the HTTP properties in a session
     // A state machine ensuring a test is always reset before another one is setup
 
     protected RecordedData recordedData;
 
+    // The records of recordedData indexed for playback
+    private PlaybackRecords playbackRecords;
+
     private final String testName;
 
     private final TestBase.TestMode testMode;
@@ -50,7 +52,7 @@ public class InterceptorManager {
     }
 
     public void addTextReplacementRule(String regex, String replacement) {
-        textReplacementRules.put(regex, replacement);
+        textReplacementRules.add(regex, replacement);
     }
 
     // factory method
@@ -160,22 +162,12 @@ public class InterceptorManager {
         String incomingUrl = applyReplacementRule(request.url().toString());
         String incomingMethod = request.method();
 
-        incomingUrl = removeHost(incomingUrl);
-        NetworkCallRecord networkCallRecord = null;
-        synchronized (recordedData) {
-            for (Iterator<NetworkCallRecord> iterator = recordedData.getNetworkCallRecords().iterator(); iterator.hasNext(); ) {
-                NetworkCallRecord record = iterator.next();
-                if (record.Method.equalsIgnoreCase(incomingMethod) && removeHost(record.Uri).equalsIgnoreCase(incomingUrl)) {
-                    networkCallRecord = record;
-                    iterator.remove();
-                    break;
-                }
-            }
-        }
+        NetworkCallRecord networkCallRecord = playbackRecords.take(incomingMethod, incomingUrl);
 
         if (networkCallRecord == null) {
+            incomingUrl = removeHost(incomingUrl);
             System.out.println("NOT FOUND - " + incomingMethod + " " + incomingUrl);
-            System.out.println("Remaining records " + recordedData.getNetworkCallRecords().size());
+            System.out.println("Remaining records " + playbackRecords.size());
             throw new IOException("==> Unexpected request: " + incomingMethod + " " + incomingUrl);
         }
 
@@ -189,23 +181,13 @@ public class InterceptorManager {
 
         for (Map.Entry<String, String> pair : networkCallRecord.Response.entrySet()) {
             if (!pair.getKey().equals("StatusCode") && !pair.getKey().equals("Body") && !pair.getKey().equals("Content-Length")) {
-                String rawHeader = pair.getValue();
-                for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-                    if (rule.getValue() != null) {
-                        rawHeader = rawHeader.replaceAll(rule.getKey(), rule.getValue());
-                    }
-                }
+                String rawHeader = textReplacementRules.apply(pair.getValue());
                 responseBuilder.addHeader(pair.getKey(), rawHeader);
             }
         }
 
-        String rawBody = networkCallRecord.Response.get("Body");
+        String rawBody = textReplacementRules.apply(networkCallRecord.Response.get("Body"));
         if (rawBody != null) {
-            for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-                if (rule.getValue() != null) {
-                    rawBody = rawBody.replaceAll(rule.getKey(), rule.getValue());
-                }
-            }
 
             String rawContentType = networkCallRecord.Response.get("content-type");
             String contentType =  rawContentType == null
@@ -271,7 +253,12 @@ public class InterceptorManager {
         ObjectMapper mapper = new ObjectMapper();
         mapper.enable(SerializationFeature.INDENT_OUTPUT);
         recordedData = mapper.readValue(recordFile, RecordedData.class);
-        System.out.println("Total records " + recordedData.getNetworkCallRecords().size());
+        playbackRecords = new PlaybackRecords();
+        for (NetworkCallRecord record : recordedData.getNetworkCallRecords()) {
+            playbackRecords.add(record);
+        }
+        recordedData.getNetworkCallRecords().clear();
+        System.out.println("Total records " + playbackRecords.size());
     }
 
     private void writeDataToFile() throws IOException {
@@ -294,12 +281,7 @@ public class InterceptorManager {
     }
 
     private String applyReplacementRule(String text) {
-        for (Map.Entry<String, String> rule : textReplacementRules.entrySet()) {
-            if (rule.getValue() != null) {
-                text = text.replaceAll(rule.getKey(), rule.getValue());
-            }
-        }
-        return text;
+        return textReplacementRules.apply(text);
     }
 
     private String removeHost(String url) {
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.core;
+
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.serializer.AzureJacksonAdapter;
+import com.microsoft.rest.RestClient;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * The fixture of the tests running the SDK offline, their requests being answered in process by a
+ * fake service, an interceptor returning canned responses, rather than sent to Azure.
+ */
+public final class OfflineService {
+    /**
+     * The base URL of the clients, never reached.
+     */
+    public static final String BASE_URL = "https://management.azure.com/";
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private OfflineService() {
+    }
+
+    /**
+     * Creates a client sending its requests to fake services.
+     *
+     * @param services the interceptors answering the requests, none for a client never sending requests
+     * @return the client
+     */
+    public static RestClient restClient(Interceptor... services) {
+        RestClient.Builder builder = new RestClient.Builder()
+                .withBaseUrl(BASE_URL)
+                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withResponseBuilderFactory(new AzureResponseBuilder.Factory());
+        for (Interceptor service : services) {
+            builder.withInterceptor(service);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a JSON response.
+     *
+     * @param request the request answered
+     * @param code the status code
+     * @param body the JSON body
+     * @return the response
+     */
+    public static Response response(Request request, int code, String body) {
+        return response(request, code, JSON, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a response.
+     *
+     * @param request the request answered
+     * @param code the status code
+     * @param contentType the content type of the body
+     * @param body the body
+     * @return the response
+     */
+    public static Response response(Request request, int code, MediaType contentType, byte[] body) {
+        return response(request, code, ResponseBody.create(contentType, body));
+    }
+
+    /**
+     * Creates a response.
+     *
+     * @param request the request answered
+     * @param code the status code
+     * @param body the body
+     * @return the response
+     */
+    public static Response response(Request request, int code, ResponseBody body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message(code < 400 ? "OK" : "Error")
+                .body(body)
+                .build();
+    }
+
+    /**
+     * Creates a stub of an interface, e.g. a resource, whose methods return fixed results.
+     *
+     * @param type the interface
+     * @param results the results by method name, the other methods throwing UnsupportedOperationException
+     * @param <T> the type of the interface
+     * @return the stub
+     */
+    public static <T> T stub(Class<T> type, final Map<String, ?> results) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                if (!results.containsKey(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                return results.get(method.getName());
+            }
+        }));
+    }
+}
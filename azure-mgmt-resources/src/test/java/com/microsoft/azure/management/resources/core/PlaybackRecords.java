@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The network call records of playback sessions, indexed by method and URL without the host, each
+ * request taking the first remaining record of its key in recording order.
+ */
+public class PlaybackRecords {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ConcurrentMap<String, Queue<NetworkCallRecord>> records = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final boolean repeat;
+
+    /**
+     * Creates an index where a record is taken by a single request.
+     */
+    public PlaybackRecords() {
+        this(false);
+    }
+
+    /**
+     * Creates an index of records.
+     *
+     * @param repeat true for a record taken by a request to be queued again after the other records
+     *               of its key, so that the records can be played back any number of times
+     */
+    public PlaybackRecords(boolean repeat) {
+        this.repeat = repeat;
+    }
+
+    /**
+     * Adds a record.
+     *
+     * @param record the record
+     */
+    public void add(NetworkCallRecord record) {
+        String key = key(record.Method, record.Uri);
+        Queue<NetworkCallRecord> queue = records.get(key);
+        if (queue == null) {
+            Queue<NetworkCallRecord> newQueue = new ConcurrentLinkedQueue<>();
+            queue = records.putIfAbsent(key, newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+        queue.add(record);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Takes the first remaining record for a request.
+     *
+     * @param method the method of the request
+     * @param url the URL of the request
+     * @return the record, or null if there is none left
+     */
+    public NetworkCallRecord take(String method, String url) {
+        Queue<NetworkCallRecord> queue = records.get(key(method, url));
+        if (queue == null) {
+            return null;
+        }
+        NetworkCallRecord record = queue.poll();
+        if (record != null) {
+            if (repeat) {
+                queue.add(record);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+        return record;
+    }
+
+    /**
+     * @return the number of remaining records
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Adds the network call records of a session record file, parsed one record at a time from the
+     * file mapped in memory rather than read into a {@link RecordedData} first.
+     *
+     * @param recordFile the session record file
+     * @return the number of records added
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public int load(File recordFile) throws IOException {
+        return load(recordFile, null);
+    }
+
+    /**
+     * Adds the network call records of a session record file, applying text replacement rules to the
+     * recorded responses once while loading rather than on every playback.
+     *
+     * @param recordFile the session record file
+     * @param rules the rules to apply to the headers and bodies of the responses, or null
+     * @return the number of records added
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public int load(File recordFile, TextReplacementRules rules) throws IOException {
+        int count = 0;
+        try (RandomAccessFile file = new RandomAccessFile(recordFile, "r");
+             FileChannel channel = file.getChannel();
+             JsonParser parser = MAPPER.getFactory().createParser(
+                     new ByteBufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a session record file: " + recordFile);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("networkCallRecords".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        NetworkCallRecord record = parser.readValueAs(NetworkCallRecord.class);
+                        if (record.Method != null && record.Uri != null && record.Response != null) {
+                            if (rules != null) {
+                                for (Map.Entry<String, String> entry : record.Response.entrySet()) {
+                                    entry.setValue(rules.apply(entry.getValue()));
+                                }
+                            }
+                            add(record);
+                            count++;
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes the key of a request: the method, and the path and query of the URL, both ignoring case.
+     *
+     * @param method the method
+     * @param url the URL, with or without the scheme and host
+     * @return the key
+     */
+    static String key(String method, String url) {
+        URI uri = URI.create(url);
+        return (method + " " + uri.getPath() + "?" + uri.getQuery()).toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -8,6 +8,7 @@ package com.microsoft.azure.management.resources.core;
 
 import com.microsoft.azure.management.resources.fluentcore.utils.DelayProvider;
 import rx.Observable;
+import rx.Scheduler;
 
 public class TestDelayProvider extends DelayProvider {
     private boolean isLiveMode;
@@ -30,4 +31,13 @@ public class TestDelayProvider extends DelayProvider {
         }
     }
 
+    @Override
+    public <T> Observable<T> delayedEmitAsync(T event, long milliseconds, Scheduler scheduler) {
+        if (isLiveMode) {
+            return super.delayedEmitAsync(event, milliseconds, scheduler);
+        } else {
+            return Observable.just(event);
+        }
+    }
+
 }
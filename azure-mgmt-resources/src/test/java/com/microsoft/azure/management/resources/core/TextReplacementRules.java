@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The text replacement rules applied to recorded requests and responses, each regex compiled once
+ * when the rule is added rather than on every replacement.
+ */
+public class TextReplacementRules {
+    // Keyed by regex, iterated in the same order as the rules were before being compiled
+    private final Map<String, Rule> rules = new HashMap<>();
+
+    /**
+     * Adds a rule, replacing the rule with the same regex if any.
+     *
+     * @param regex the regex to replace
+     * @param replacement the replacement, the rule being ignored if null
+     */
+    public synchronized void add(String regex, String replacement) {
+        rules.put(regex, new Rule(Pattern.compile(regex), replacement));
+    }
+
+    /**
+     * Applies the rules to a text.
+     *
+     * @param text the text
+     * @return the text with all the rules applied
+     */
+    public String apply(String text) {
+        if (text == null) {
+            return null;
+        }
+        Rule[] snapshot;
+        synchronized (this) {
+            snapshot = rules.values().toArray(new Rule[rules.size()]);
+        }
+        for (Rule rule : snapshot) {
+            if (rule.replacement != null) {
+                Matcher matcher = rule.pattern.matcher(text);
+                // Most rules do not match most texts, which then need not be copied
+                if (matcher.find()) {
+                    text = matcher.replaceAll(rule.replacement);
+                }
+            }
+        }
+        return text;
+    }
+
+    private static final class Rule {
+        private final Pattern pattern;
+        private final String replacement;
+
+        private Rule(Pattern pattern, String replacement) {
+            this.pattern = pattern;
+            this.replacement = replacement;
+        }
+    }
+}
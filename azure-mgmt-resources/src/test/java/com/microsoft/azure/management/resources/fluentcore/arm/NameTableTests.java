@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.arm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test class to test NameTable class.
+ */
+public class NameTableTests {
+    private static final int VALUES = 10000;
+
+    @Test
+    public void canAddValuesIncrementally() {
+        NameTable<Integer> table = NameTable.empty();
+        NameTable<Integer> firstHalf = null;
+        for (int i = 0; i < VALUES; i++) {
+            table = table.with("Value" + i, i);
+            if (i == VALUES / 2 - 1) {
+                firstHalf = table;
+            }
+        }
+
+        Assert.assertEquals(VALUES, table.size());
+        for (int i = 0; i < VALUES; i++) {
+            Assert.assertEquals(Integer.valueOf(i), table.get("VALUE" + i));
+            Assert.assertEquals(Integer.valueOf(i), table.values().get(i));
+        }
+        char[] chars = "[value42]".toCharArray();
+        Assert.assertEquals(Integer.valueOf(42), table.get(chars, 1, 7));
+        Assert.assertNull(table.get("Value" + VALUES));
+        // The tables added to keep their values
+        Assert.assertEquals(VALUES / 2, firstHalf.size());
+        Assert.assertEquals(VALUES / 2, firstHalf.values().size());
+        Assert.assertEquals(Integer.valueOf(VALUES / 2 - 1), firstHalf.values().get(VALUES / 2 - 1));
+        Assert.assertEquals(0, NameTable.empty().size());
+        Assert.assertNull(NameTable.<Integer>empty().get("Value0"));
+    }
+
+    @Test
+    public void canReplaceValues() {
+        NameTable<Integer> table = NameTable.<Integer>empty().with("a", 1).with("b", 2).with("c", 3);
+        NameTable<Integer> replaced = table.with("B", 4);
+
+        Assert.assertEquals(Arrays.asList(1, 3, 4), replaced.values());
+        Assert.assertEquals(Integer.valueOf(4), replaced.get("b"));
+        Assert.assertEquals(Arrays.asList(1, 2, 3), table.values());
+        Assert.assertEquals(Integer.valueOf(2), table.get("b"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotModifyValues() {
+        NameTable.<Integer>empty().with("a", 1).values().clear();
+    }
+}
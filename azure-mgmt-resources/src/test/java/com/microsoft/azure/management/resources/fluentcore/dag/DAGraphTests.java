@@ -463,6 +463,83 @@ public class DAGraphTests {
         assertExactMatch(nodeE_G41_noUpdate.owner().nodeTable.keySet(), new String[] {"E", "D", "G"});
     }
 
+    @Test
+    public void testDeepGraphEnumeration() {
+        // [N9999] ---> [N9998] ---> ... ---> [N0]
+        //
+        final int count = 10000;
+        DAGraph<String, ItemHolder> graph = createGraph(nodeKey(0));
+        for (int i = 1; i < count; i++) {
+            DAGraph<String, ItemHolder> dependent = createGraph(nodeKey(i));
+            dependent.addDependencyGraph(graph);
+            graph = dependent;
+        }
+
+        graph.prepareForEnumeration();
+        int i = 0;
+        ItemHolder nextNode = graph.getNext();
+        while (nextNode != null) {
+            Assert.assertEquals(nodeKey(i), nextNode.key());
+            graph.reportCompletion(nextNode);
+            nextNode = graph.getNext();
+            i++;
+        }
+        Assert.assertEquals(count, i);
+    }
+
+    @Test
+    public void testWideGraphEnumeration() {
+        // [Root] ---> [Vm_i] ---> [Nic_i] ---> [Ip_i], each Nic_i also depends on a shared [Vnet]
+        //
+        final int count = 2500;
+        DAGraph<String, ItemHolder> root = createGraph("Root");
+        DAGraph<String, ItemHolder> vnet = createGraph("Vnet");
+        for (int i = 0; i < count; i++) {
+            DAGraph<String, ItemHolder> vm = createGraph("Vm" + nodeKey(i));
+            DAGraph<String, ItemHolder> nic = createGraph("Nic" + nodeKey(i));
+            nic.addDependencyGraph(createGraph("Ip" + nodeKey(i)));
+            nic.addDependencyGraph(vnet);
+            vm.addDependencyGraph(nic);
+            root.addDependencyGraph(vm);
+        }
+
+        root.prepareForEnumeration();
+        int enumerated = 0;
+        ItemHolder nextNode = root.getNext();
+        while (nextNode != null) {
+            root.reportCompletion(nextNode);
+            nextNode = root.getNext();
+            enumerated++;
+        }
+
+        Assert.assertEquals(3 * count + 2, enumerated);
+    }
+
+    @Test
+    public void testCircularDependencyDetectionOnPrepare() {
+        // [A] ---> [B] ---> [C] ---> [B]
+        //
+        ItemHolder nodeA = new ItemHolder("A", "dataA");
+        ItemHolder nodeB = new ItemHolder("B", "dataB");
+        ItemHolder nodeC = new ItemHolder("C", "dataC");
+        nodeA.addDependency("B");
+        nodeB.addDependency("C");
+        nodeC.addDependency("B");
+        DAGraph<String, ItemHolder> dag = new DAGraph<>(nodeA);
+        dag.addNode(nodeB);
+        dag.addNode(nodeC);
+        try {
+            dag.prepareForEnumeration();
+            Assert.fail("Expected exception is not thrown");
+        } catch (IllegalStateException exception) {
+            Assert.assertEquals("Detected circular dependency: B -> C -> B", exception.getMessage());
+        }
+    }
+
+    private static String nodeKey(int i) {
+        return String.format("N%05d", i);
+    }
+
     private DAGraph<String, ItemHolder> createGraph(String resourceName) {
         ItemHolder node = new ItemHolder(resourceName, "data" + resourceName);
         DAGraph<String, ItemHolder> graph = new DAGraph<>(node);
@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management.resources.fluentcore.dag;
+
+import com.microsoft.azure.management.resources.fluentcore.model.Indexable;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Completable;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func0;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TaskExecutionPolicyTests {
+    @Test
+    public void canLimitConcurrentTasks() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<String> invoked = Collections.synchronizedList(new ArrayList<String>());
+
+        TaskGroup root = new TaskGroup("root", new CountingTaskItem("root", null, inFlight, maxInFlight, invoked));
+        for (int i = 0; i < 10; i++) {
+            String key = "item" + i;
+            root.addDependencyTaskGroup(new TaskGroup(key, new CountingTaskItem(key, null, inFlight, maxInFlight, invoked)));
+        }
+
+        TaskGroup.InvocationContext context = root.newInvocationContext()
+                .withExecutionPolicy(new TaskExecutionPolicy().withMaxConcurrency(3));
+        root.invokeAsync(context).toBlocking().subscribe();
+
+        Assert.assertEquals(11, invoked.size());
+        Assert.assertTrue(maxInFlight.get() <= 3);
+        Assert.assertTrue(maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void canLimitConcurrentTasksPerResourceType() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final AtomicInteger vmInFlight = new AtomicInteger();
+        final AtomicInteger maxVmInFlight = new AtomicInteger();
+        final List<String> invoked = Collections.synchronizedList(new ArrayList<String>());
+
+        TaskGroup root = new TaskGroup("root", new CountingTaskItem("root", null, inFlight, maxInFlight, invoked));
+        for (int i = 0; i < 6; i++) {
+            String key = "vm" + i;
+            root.addDependencyTaskGroup(new TaskGroup(key,
+                    new CountingTaskItem(key, "Microsoft.Compute/virtualMachines", vmInFlight, maxVmInFlight, invoked)));
+        }
+        for (int i = 0; i < 6; i++) {
+            String key = "nic" + i;
+            root.addDependencyTaskGroup(new TaskGroup(key,
+                    new CountingTaskItem(key, "Microsoft.Network/networkInterfaces", inFlight, maxInFlight, invoked)));
+        }
+
+        TaskGroup.InvocationContext context = root.newInvocationContext()
+                .withExecutionPolicy(new TaskExecutionPolicy()
+                        .withMaxConcurrencyPerResourceType("microsoft.compute/virtualMachines", 1));
+        root.invokeAsync(context).toBlocking().subscribe();
+
+        Assert.assertEquals(13, invoked.size());
+        Assert.assertEquals(1, maxVmInFlight.get());
+        Assert.assertTrue(maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void canInvokeCriticalPathFirst() {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final List<String> invoked = Collections.synchronizedList(new ArrayList<String>());
+
+        /**
+         *   [root]---->[L1]
+         *     |------->[L2]
+         *     |------->[L3]
+         *     |------->[X1]---->[X2]
+         */
+        TaskGroup root = new TaskGroup("root", new CountingTaskItem("root", null, inFlight, maxInFlight, invoked));
+        root.addDependencyTaskGroup(new TaskGroup("L1", new CountingTaskItem("L1", null, inFlight, maxInFlight, invoked)));
+        root.addDependencyTaskGroup(new TaskGroup("L2", new CountingTaskItem("L2", null, inFlight, maxInFlight, invoked)));
+        root.addDependencyTaskGroup(new TaskGroup("L3", new CountingTaskItem("L3", null, inFlight, maxInFlight, invoked)));
+        TaskGroup x1 = new TaskGroup("X1", new CountingTaskItem("X1", null, inFlight, maxInFlight, invoked));
+        x1.addDependencyTaskGroup(new TaskGroup("X2", new CountingTaskItem("X2", null, inFlight, maxInFlight, invoked)));
+        root.addDependencyTaskGroup(x1);
+
+        TaskGroup.InvocationContext context = root.newInvocationContext()
+                .withExecutionPolicy(new TaskExecutionPolicy().withMaxConcurrency(1));
+        root.invokeAsync(context).toBlocking().subscribe();
+
+        Assert.assertEquals(6, invoked.size());
+        Assert.assertEquals(1, maxInFlight.get());
+        // The first ready task starts right away, X2 has the highest priority among the queued ones
+        Assert.assertTrue(invoked.indexOf("X2") <= 1);
+        Assert.assertEquals("root", invoked.get(5));
+    }
+
+    /**
+     * A task item that tracks the number of concurrent invocations.
+     */
+    private static class CountingTaskItem implements TaskItem, TaskExecutionPolicy.HasResourceType {
+        private final String key;
+        private final String resourceType;
+        private final AtomicInteger inFlight;
+        private final AtomicInteger maxInFlight;
+        private final List<String> invoked;
+        private Indexable result;
+
+        CountingTaskItem(String key, String resourceType, AtomicInteger inFlight, AtomicInteger maxInFlight, List<String> invoked) {
+            this.key = key;
+            this.resourceType = resourceType;
+            this.inFlight = inFlight;
+            this.maxInFlight = maxInFlight;
+            this.invoked = invoked;
+        }
+
+        @Override
+        public String resourceType() {
+            return this.resourceType;
+        }
+
+        @Override
+        public Indexable result() {
+            return this.result;
+        }
+
+        @Override
+        public void beforeGroupInvoke() {
+        }
+
+        @Override
+        public boolean isHot() {
+            return false;
+        }
+
+        @Override
+        public Observable<Indexable> invokeAsync(TaskGroup.InvocationContext context) {
+            return Observable.defer(new Func0<Observable<Indexable>>() {
+                @Override
+                public Observable<Indexable> call() {
+                    invoked.add(key);
+                    int current = inFlight.incrementAndGet();
+                    synchronized (maxInFlight) {
+                        if (current > maxInFlight.get()) {
+                            maxInFlight.set(current);
+                        }
+                    }
+                    return Observable.timer(50, TimeUnit.MILLISECONDS)
+                            .map(new Func1<Long, Indexable>() {
+                                @Override
+                                public Indexable call(Long aLong) {
+                                    result = new VoidIndexable(key);
+                                    return result;
+                                }
+                            })
+                            .doOnTerminate(new Action0() {
+                                @Override
+                                public void call() {
+                                    inFlight.decrementAndGet();
+                                }
+                            });
+                }
+            });
+        }
+
+        @Override
+        public Completable invokeAfterPostRunAsync(boolean isGroupFaulted) {
+            return Completable.complete();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.servicebus.implementation.NamespacesInner;
 import com.microsoft.azure.management.servicebus.implementation.ServiceBusManager;
@@ -32,6 +33,7 @@ public interface ServiceBusNamespaces extends
         SupportsBatchCreation<ServiceBusNamespace>,
         SupportsBatchDeletion,
         SupportsListing<ServiceBusNamespace>,
+        SupportsListingInPages<ServiceBusNamespace>,
         SupportsListingByResourceGroup<ServiceBusNamespace>,
         SupportsGettingByResourceGroup<ServiceBusNamespace>,
         SupportsGettingById<ServiceBusNamespace>,
@@ -19,6 +19,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.sql.implementation.ServersInner;
 import com.microsoft.azure.management.sql.implementation.SqlServerManager;
@@ -33,6 +34,7 @@ import java.util.List;
 public interface SqlServers extends
         SupportsCreating<SqlServer.DefinitionStages.Blank>,
         SupportsListing<SqlServer>,
+        SupportsListingInPages<SqlServer>,
         SupportsListingByResourceGroup<SqlServer>,
         SupportsGettingByResourceGroup<SqlServer>,
         SupportsGettingById<SqlServer>,
@@ -17,6 +17,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.storage.implementation.StorageAccountsInner;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
@@ -30,6 +31,7 @@ import rx.Observable;
 @Fluent
 public interface StorageAccounts extends
         SupportsListing<StorageAccount>,
+        SupportsListingInPages<StorageAccount>,
         SupportsCreating<StorageAccount.DefinitionStages.Blank>,
         SupportsDeletingById,
         SupportsListingByResourceGroup<StorageAccount>,
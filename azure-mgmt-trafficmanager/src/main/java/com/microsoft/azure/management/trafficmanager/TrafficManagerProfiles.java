@@ -16,6 +16,7 @@ import com.microsoft.azure.management.resources.fluentcore.collection.SupportsBa
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsCreating;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsDeletingById;
 import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListing;
+import com.microsoft.azure.management.resources.fluentcore.collection.SupportsListingInPages;
 import com.microsoft.azure.management.resources.fluentcore.model.HasInner;
 import com.microsoft.azure.management.trafficmanager.implementation.ProfilesInner;
 import com.microsoft.azure.management.trafficmanager.implementation.TrafficManager;
@@ -30,6 +31,7 @@ import rx.Observable;
 public interface TrafficManagerProfiles extends
         SupportsCreating<TrafficManagerProfile.DefinitionStages.Blank>,
         SupportsListing<TrafficManagerProfile>,
+        SupportsListingInPages<TrafficManagerProfile>,
         SupportsListingByResourceGroup<TrafficManagerProfile>,
         SupportsGettingByResourceGroup<TrafficManagerProfile>,
         SupportsGettingById<TrafficManagerProfile>,
@@ -31,6 +31,7 @@ import com.microsoft.azure.management.compute.Galleries;
 import com.microsoft.azure.management.compute.GalleryImageVersions;
 import com.microsoft.azure.management.compute.GalleryImages;
 import com.microsoft.azure.management.compute.Snapshots;
+import com.microsoft.azure.management.compute.VirtualMachine;
 import com.microsoft.azure.management.compute.VirtualMachineCustomImages;
 import com.microsoft.azure.management.compute.VirtualMachineImages;
 import com.microsoft.azure.management.compute.VirtualMachineScaleSets;
@@ -95,14 +96,18 @@ import com.microsoft.azure.management.resources.GenericResources;
 import com.microsoft.azure.management.resources.PolicyAssignments;
 import com.microsoft.azure.management.resources.PolicyDefinitions;
 import com.microsoft.azure.management.resources.Providers;
+import com.microsoft.azure.management.resources.ResourceGroup;
 import com.microsoft.azure.management.resources.ResourceGroups;
 import com.microsoft.azure.management.resources.Subscription;
 import com.microsoft.azure.management.resources.Subscriptions;
 import com.microsoft.azure.management.resources.Tenants;
 import com.microsoft.azure.management.resources.fluentcore.arm.AzureConfigurable;
 import com.microsoft.azure.management.resources.fluentcore.arm.implementation.AzureConfigurableImpl;
+import com.microsoft.azure.management.resources.fluentcore.arm.implementation.ManagerRegistry;
 import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
 import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingPolicy;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
 import com.microsoft.azure.management.resources.implementation.ResourceManager;
 import com.microsoft.azure.management.search.SearchServices;
 import com.microsoft.azure.management.search.implementation.SearchServiceManager;
@@ -116,41 +121,24 @@ import com.microsoft.azure.management.storage.Usages;
 import com.microsoft.azure.management.storage.implementation.StorageManager;
 import com.microsoft.azure.management.trafficmanager.TrafficManagerProfiles;
 import com.microsoft.azure.management.trafficmanager.implementation.TrafficManager;
-import com.microsoft.azure.serializer.AzureJacksonAdapter;
 import com.microsoft.rest.RestClient;
+import rx.Observable;
+import rx.functions.Func0;
+import rx.functions.Func1;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * The entry point for accessing resource management APIs in Azure.
  */
 public final class Azure {
-    private final ResourceManager resourceManager;
-    private final StorageManager storageManager;
-    private final ComputeManager computeManager;
-    private final NetworkManager networkManager;
-    private final KeyVaultManager keyVaultManager;
-    private final BatchManager batchManager;
-    private final BatchAIManager batchAIManager;
-    private final TrafficManager trafficManager;
-    private final RedisManager redisManager;
-    private final CdnManager cdnManager;
-    private final DnsZoneManager dnsZoneManager;
-    private final AppServiceManager appServiceManager;
-    private final SqlServerManager sqlServerManager;
-    private final ServiceBusManager serviceBusManager;
-    private final ContainerInstanceManager containerInstanceManager;
-    private final ContainerRegistryManager containerRegistryManager;
-    private final ContainerServiceManager containerServiceManager;
-    private final SearchServiceManager searchServiceManager;
-    private final CosmosDBManager cosmosDBManager;
-    private final AuthorizationManager authorizationManager;
-    private final MSIManager msiManager;
-    private final MonitorManager monitorManager;
-    private final EventHubManager eventHubManager;
+    private final RestClient restClient;
     private final String subscriptionId;
+    private final String tenantId;
     private final Authenticated authenticated;
+    private final ManagerRegistry managers;
 
     /**
      * Authenticate to Azure using an Azure credentials object.
@@ -162,7 +150,7 @@ public final class Azure {
         return new AuthenticatedImpl(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -190,7 +178,7 @@ public final class Azure {
         return new AuthenticatedImpl(new RestClient.Builder()
                 .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
                 .withCredentials(credentials)
-                .withSerializerAdapter(new AzureJacksonAdapter())
+                .withSerializerAdapter(Utils.newJacksonAdapter())
                 .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
                 .withInterceptor(new ProviderRegistrationInterceptor(credentials))
                 .withInterceptor(new ResourceManagerThrottlingInterceptor())
@@ -225,6 +213,109 @@ public final class Azure {
         return new ConfigurableImpl();
     }
 
+    /**
+     * @return a client managing many subscriptions, possibly from different tenants, over a single HTTP stack
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public static Fleet fleet() {
+        return new FleetImpl();
+    }
+
+    /**
+     * Entry point to the management of many subscriptions.
+     * <p>
+     * The clients of the subscriptions share one connection pool, dispatcher and throttling state,
+     * and the clients of the subscriptions of a tenant share its credentials and therefore its tokens.
+     */
+    @Beta(SinceVersion.V1_15_0)
+    public interface Fleet {
+        /**
+         * Specifies the policy pacing the requests sent to each subscription of the fleet, the default
+         * is the process wide policy also used by {@link Azure#authenticate(AzureTokenCredentials)}.
+         * <p>
+         * The policy must be set before adding any tenant.
+         *
+         * @param throttlingPolicy the throttling policy
+         * @return the fleet
+         * @throws IllegalStateException if a tenant has already been added to the fleet
+         */
+        Fleet withThrottlingPolicy(ThrottlingPolicy throttlingPolicy);
+
+        /**
+         * Specifies the maximum number of subscriptions queried concurrently by the fan-out methods, the default is 8.
+         *
+         * @param maxConcurrency the maximum number of concurrent subscriptions
+         * @return the fleet
+         */
+        Fleet withMaxConcurrency(int maxConcurrency);
+
+        /**
+         * Adds a tenant to the fleet.
+         *
+         * @param credentials the credentials to access the tenant with, the tenant is the domain of the credentials
+         * @return the fleet
+         */
+        Fleet withTenant(AzureTokenCredentials credentials);
+
+        /**
+         * Adds a subscription to the fleet.
+         *
+         * @param tenantId the tenant of the subscription, already added with {@link #withTenant(AzureTokenCredentials)}
+         * @param subscriptionId the subscription ID
+         * @return the fleet
+         */
+        Fleet withSubscription(String tenantId, String subscriptionId);
+
+        /**
+         * Adds all the subscriptions accessible from the tenants of the fleet.
+         *
+         * @return the fleet
+         */
+        Fleet discoverSubscriptions();
+
+        /**
+         * Adds all the subscriptions accessible from the tenants of the fleet asynchronously.
+         *
+         * @return an observable that emits the IDs of the subscriptions found
+         */
+        Observable<String> discoverSubscriptionsAsync();
+
+        /**
+         * @return the IDs of the subscriptions in the fleet, in the order they were added
+         */
+        Set<String> subscriptionIds();
+
+        /**
+         * Gets the client of a subscription of the fleet.
+         *
+         * @param subscriptionId the subscription ID
+         * @return the client, created on first use
+         */
+        Azure subscription(String subscriptionId);
+
+        /**
+         * Applies a function to the client of every subscription of the fleet, with bounded concurrency.
+         * <p>
+         * The failure of a subscription does not stop the others, the errors are reported once all the
+         * subscriptions have been processed.
+         *
+         * @param function the function returning the items of a subscription
+         * @param <T> the type of the items
+         * @return an observable that emits the items of all the subscriptions
+         */
+        <T> Observable<T> forEachSubscriptionAsync(Func1<Azure, Observable<T>> function);
+
+        /**
+         * @return an observable that emits the virtual machines of all the subscriptions
+         */
+        Observable<VirtualMachine> listVirtualMachinesAsync();
+
+        /**
+         * @return an observable that emits the resource groups of all the subscriptions
+         */
+        Observable<ResourceGroup> listResourceGroupsAsync();
+    }
+
     /**
      * The interface allowing configurations to be made on the client.
      */
@@ -323,17 +414,23 @@ public final class Azure {
     private static final class AuthenticatedImpl implements Authenticated {
         private final RestClient restClient;
         private final ResourceManager.Authenticated resourceManagerAuthenticated;
-        private final GraphRbacManager graphRbacManager;
+        private GraphRbacManager graphRbacManager;
         private String defaultSubscription;
         private String tenantId;
 
         private AuthenticatedImpl(RestClient restClient, String tenantId) {
             this.resourceManagerAuthenticated = ResourceManager.authenticate(restClient);
-            this.graphRbacManager = GraphRbacManager.authenticate(restClient, tenantId);
             this.restClient = restClient;
             this.tenantId = tenantId;
         }
 
+        private synchronized GraphRbacManager graphRbacManager() {
+            if (graphRbacManager == null) {
+                graphRbacManager = GraphRbacManager.authenticate(restClient, tenantId);
+            }
+            return graphRbacManager;
+        }
+
         private AuthenticatedImpl withDefaultSubscription(String subscriptionId) {
             this.defaultSubscription = subscriptionId;
             return this;
@@ -356,32 +453,32 @@ public final class Azure {
 
         @Override
         public ActiveDirectoryUsers activeDirectoryUsers() {
-            return graphRbacManager.users();
+            return graphRbacManager().users();
         }
 
         @Override
         public ActiveDirectoryGroups activeDirectoryGroups() {
-            return graphRbacManager.groups();
+            return graphRbacManager().groups();
         }
 
         @Override
         public ServicePrincipals servicePrincipals() {
-            return graphRbacManager.servicePrincipals();
+            return graphRbacManager().servicePrincipals();
         }
 
         @Override
         public ActiveDirectoryApplications activeDirectoryApplications() {
-            return graphRbacManager.applications();
+            return graphRbacManager().applications();
         }
 
         @Override
         public RoleDefinitions roleDefinitions() {
-            return graphRbacManager.roleDefinitions();
+            return graphRbacManager().roleDefinitions();
         }
 
         @Override
         public RoleAssignments roleAssignments() {
-            return graphRbacManager.roleAssignments();
+            return graphRbacManager().roleAssignments();
         }
 
         @Override
@@ -405,31 +502,21 @@ public final class Azure {
     }
 
     private Azure(RestClient restClient, String subscriptionId, String tenantId, Authenticated authenticated) {
-        this.resourceManager = ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
-        this.storageManager = StorageManager.authenticate(restClient, subscriptionId);
-        this.computeManager = ComputeManager.authenticate(restClient, subscriptionId);
-        this.networkManager = NetworkManager.authenticate(restClient, subscriptionId);
-        this.keyVaultManager = KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
-        this.batchManager = BatchManager.authenticate(restClient, subscriptionId);
-        this.batchAIManager = BatchAIManager.authenticate(restClient, subscriptionId);
-        this.trafficManager = TrafficManager.authenticate(restClient, subscriptionId);
-        this.redisManager = RedisManager.authenticate(restClient, subscriptionId);
-        this.cdnManager = CdnManager.authenticate(restClient, subscriptionId);
-        this.dnsZoneManager = DnsZoneManager.authenticate(restClient, subscriptionId);
-        this.appServiceManager = AppServiceManager.authenticate(restClient, tenantId, subscriptionId);
-        this.sqlServerManager = SqlServerManager.authenticate(restClient, tenantId, subscriptionId);
-        this.serviceBusManager = ServiceBusManager.authenticate(restClient, subscriptionId);
-        this.containerInstanceManager = ContainerInstanceManager.authenticate(restClient, subscriptionId);
-        this.containerRegistryManager = ContainerRegistryManager.authenticate(restClient, subscriptionId);
-        this.containerServiceManager = ContainerServiceManager.authenticate(restClient, subscriptionId);
-        this.cosmosDBManager = CosmosDBManager.authenticate(restClient, subscriptionId);
-        this.searchServiceManager = SearchServiceManager.authenticate(restClient, subscriptionId);
-        this.authorizationManager = AuthorizationManager.authenticate(restClient, subscriptionId);
-        this.msiManager = MSIManager.authenticate(restClient, subscriptionId);
-        this.monitorManager = MonitorManager.authenticate(restClient, subscriptionId);
-        this.eventHubManager = EventHubManager.authenticate(restClient, subscriptionId);
+        this.restClient = restClient;
         this.subscriptionId = subscriptionId;
+        this.tenantId = tenantId;
         this.authenticated = authenticated;
+        // The managers are created on first use, the ones depending on other managers share them through the registry
+        this.managers = new ManagerRegistry();
+        if (authenticated instanceof AuthenticatedImpl) {
+            final AuthenticatedImpl authenticatedImpl = (AuthenticatedImpl) authenticated;
+            this.managers.register(GraphRbacManager.class, tenantId, new Func0<GraphRbacManager>() {
+                @Override
+                public GraphRbacManager call() {
+                    return authenticatedImpl.graphRbacManager();
+                }
+            });
+        }
     }
 
     /**
@@ -457,147 +544,147 @@ public final class Azure {
      * @return entry point to managing resource groups
      */
     public ResourceGroups resourceGroups() {
-        return this.resourceManager.resourceGroups();
+        return resourceManager().resourceGroups();
     }
 
     /**
      * @return entry point to managing deployments
      */
     public Deployments deployments() {
-        return this.resourceManager.deployments();
+        return resourceManager().deployments();
     }
 
     /**
      * @return entry point to managing generic resources
      */
     public GenericResources genericResources() {
-        return resourceManager.genericResources();
+        return resourceManager().genericResources();
     }
 
     /**
      * @return entry point to managing management locks
      */
     public ManagementLocks managementLocks() {
-        return this.authorizationManager.managementLocks();
+        return authorizationManager().managementLocks();
     }
 
     /**
      * @return entry point to managing features
      */
     public Features features() {
-        return resourceManager.features();
+        return resourceManager().features();
     }
 
     /**
      * @return entry point to managing resource providers
      */
     public Providers providers() {
-        return resourceManager.providers();
+        return resourceManager().providers();
     }
 
     /**
      * @return entry point to managing policy definitions.
      */
     public PolicyDefinitions policyDefinitions() {
-        return resourceManager.policyDefinitions();
+        return resourceManager().policyDefinitions();
     }
 
     /**
      * @return entry point to managing policy assignments.
      */
     public PolicyAssignments policyAssignments() {
-        return resourceManager.policyAssignments();
+        return resourceManager().policyAssignments();
     }
 
     /**
      * @return entry point to managing storage accounts
      */
     public StorageAccounts storageAccounts() {
-        return storageManager.storageAccounts();
+        return storageManager().storageAccounts();
     }
 
     /**
      * @return entry point to managing storage account usages
      */
     public Usages storageUsages() {
-        return storageManager.usages();
+        return storageManager().usages();
     }
 
     /**
      * @return entry point to managing storage service SKUs
      */
     public StorageSkus storageSkus() {
-        return storageManager.storageSkus();
+        return storageManager().storageSkus();
     }
 
     /**
      * @return entry point to managing availability sets
      */
     public AvailabilitySets availabilitySets() {
-        return computeManager.availabilitySets();
+        return computeManager().availabilitySets();
     }
 
     /**
      * @return entry point to managing virtual networks
      */
     public Networks networks() {
-        return networkManager.networks();
+        return networkManager().networks();
     }
 
     /**
      * @return entry point to managing route tables
      */
     public RouteTables routeTables() {
-        return networkManager.routeTables();
+        return networkManager().routeTables();
     }
 
     /**
      * @return entry point to managing load balancers
      */
     public LoadBalancers loadBalancers() {
-        return networkManager.loadBalancers();
+        return networkManager().loadBalancers();
     }
 
     /**
      * @return entry point to managing application gateways
      */
     public ApplicationGateways applicationGateways() {
-        return networkManager.applicationGateways();
+        return networkManager().applicationGateways();
     }
 
     /**
      * @return entry point to managing network security groups
      */
     public NetworkSecurityGroups networkSecurityGroups() {
-        return networkManager.networkSecurityGroups();
+        return networkManager().networkSecurityGroups();
     }
 
     /**
      * @return entry point to managing network resource usages
      */
     public NetworkUsages networkUsages() {
-        return networkManager.usages();
+        return networkManager().usages();
     }
 
     /**
      * @return entry point to managing network watchers
      */
     public NetworkWatchers networkWatchers() {
-        return networkManager.networkWatchers();
+        return networkManager().networkWatchers();
     }
 
     /**
      * @return entry point to managing virtual network gateways
      */
     public VirtualNetworkGateways virtualNetworkGateways() {
-        return networkManager.virtualNetworkGateways();
+        return networkManager().virtualNetworkGateways();
     }
 
     /**
      * @return entry point to managing local network gateways
      */
     public LocalNetworkGateways localNetworkGateways() {
-        return networkManager.localNetworkGateways();
+        return networkManager().localNetworkGateways();
     }
 
     /**
@@ -605,7 +692,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public ExpressRouteCircuits expressRouteCircuits() {
-        return networkManager.expressRouteCircuits();
+        return networkManager().expressRouteCircuits();
     }
 
     /**
@@ -613,7 +700,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_11_0)
     public ExpressRouteCrossConnections expressRouteCrossConnections() {
-        return networkManager.expressRouteCrossConnections();
+        return networkManager().expressRouteCrossConnections();
     }
 
     /**
@@ -621,7 +708,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public ApplicationSecurityGroups applicationSecurityGroups() {
-        return networkManager.applicationSecurityGroups();
+        return networkManager().applicationSecurityGroups();
     }
 
     /**
@@ -629,7 +716,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public RouteFilters routeFilters() {
-        return networkManager.routeFilters();
+        return networkManager().routeFilters();
     }
 
     /**
@@ -637,91 +724,91 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_10_0)
     public DdosProtectionPlans ddosProtectionPlans() {
-        return networkManager.ddosProtectionPlans();
+        return networkManager().ddosProtectionPlans();
     }
 
     /**
      * @return entry point to managing virtual machines
      */
     public VirtualMachines virtualMachines() {
-        return computeManager.virtualMachines();
+        return computeManager().virtualMachines();
     }
 
     /**
      * @return entry point to managing virtual machine scale sets.
      */
     public VirtualMachineScaleSets virtualMachineScaleSets() {
-        return computeManager.virtualMachineScaleSets();
+        return computeManager().virtualMachineScaleSets();
     }
 
     /**
      * @return entry point to managing virtual machine images
      */
     public VirtualMachineImages virtualMachineImages() {
-        return computeManager.virtualMachineImages();
+        return computeManager().virtualMachineImages();
     }
 
     /**
      * @return entry point to managing virtual machine custom images
      */
     public VirtualMachineCustomImages virtualMachineCustomImages() {
-        return computeManager.virtualMachineCustomImages();
+        return computeManager().virtualMachineCustomImages();
     }
 
     /**
      * @return entry point to managing managed disks
      */
     public Disks disks() {
-        return computeManager.disks();
+        return computeManager().disks();
     }
 
     /**
      * @return entry point to managing managed snapshots
      */
     public Snapshots snapshots() {
-        return computeManager.snapshots();
+        return computeManager().snapshots();
     }
 
     /**
      * @return the compute service SKU management API entry point
      */
     public ComputeSkus computeSkus() {
-        return computeManager.computeSkus();
+        return computeManager().computeSkus();
     }
 
     /**
      * @return entry point to managing public IP addresses
      */
     public PublicIPAddresses publicIPAddresses() {
-        return this.networkManager.publicIPAddresses();
+        return networkManager().publicIPAddresses();
     }
 
     /**
      * @return entry point to managing network interfaces
      */
     public NetworkInterfaces networkInterfaces() {
-        return this.networkManager.networkInterfaces();
+        return networkManager().networkInterfaces();
     }
 
     /**
      * @return entry point to managing compute resource usages
      */
     public ComputeUsages computeUsages() {
-        return computeManager.usages();
+        return computeManager().usages();
     }
 
     /**
      * @return entry point to managing key vaults
      */
     public Vaults vaults() {
-        return this.keyVaultManager.vaults();
+        return keyVaultManager().vaults();
     }
 
     /**
      * @return entry point to managing batch accounts.
      */
     public BatchAccounts batchAccounts() {
-        return batchManager.batchAccounts();
+        return batchManager().batchAccounts();
     }
 
     /**
@@ -729,7 +816,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_12_0)
     public BatchAIWorkspaces batchAIWorkspaces() {
-        return batchAIManager.workspaces();
+        return batchAIManager().workspaces();
     }
 
     /**
@@ -737,35 +824,35 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_12_0)
     public BatchAIUsages batchAIUsages() {
-        return batchAIManager.usages();
+        return batchAIManager().usages();
     }
 
     /**
      * @return entry point to managing traffic manager profiles.
      */
     public TrafficManagerProfiles trafficManagerProfiles() {
-        return trafficManager.profiles();
+        return trafficManager().profiles();
     }
 
     /**
      * @return entry point to managing Redis Caches.
      */
     public RedisCaches redisCaches() {
-        return redisManager.redisCaches();
+        return redisManager().redisCaches();
     }
 
     /**
      * @return entry point to managing cdn manager profiles.
      */
     public CdnProfiles cdnProfiles() {
-        return cdnManager.profiles();
+        return cdnManager().profiles();
     }
 
     /**
      * @return entry point to managing DNS zones.
      */
     public DnsZones dnsZones() {
-        return dnsZoneManager.zones();
+        return dnsZoneManager().zones();
     }
 
     /**
@@ -773,7 +860,7 @@ public final class Azure {
      */
     @Beta
     public WebApps webApps() {
-        return appServiceManager.webApps();
+        return appServiceManager().webApps();
     }
 
     /**
@@ -781,14 +868,14 @@ public final class Azure {
      */
     @Beta
     public AppServiceManager appServices() {
-        return appServiceManager;
+        return appServiceManager();
     }
 
     /**
      * @return entry point to managing Sql server.
      */
     public SqlServers sqlServers() {
-        return sqlServerManager.sqlServers();
+        return sqlServerManager().sqlServers();
     }
 
     /**
@@ -796,7 +883,7 @@ public final class Azure {
      */
     @Beta
     public ServiceBusNamespaces serviceBusNamespaces() {
-        return serviceBusManager.namespaces();
+        return serviceBusManager().namespaces();
     }
 
     /**
@@ -805,7 +892,7 @@ public final class Azure {
     // TODO: To be revisited in the future
     //@Beta(SinceVersion.V1_1_0)
     //public ServiceBusOperations serviceBusOperations() {
-    //    return serviceBusManager.operations();
+    //    return serviceBusManager().operations();
     //}
 
     /**
@@ -813,7 +900,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public ContainerServices containerServices() {
-        return containerServiceManager.containerServices();
+        return containerServiceManager().containerServices();
     }
 
     /**
@@ -821,7 +908,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_4_0)
     public KubernetesClusters kubernetesClusters() {
-        return containerServiceManager.kubernetesClusters();
+        return containerServiceManager().kubernetesClusters();
     }
 
     /**
@@ -829,7 +916,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_3_0)
     public ContainerGroups containerGroups() {
-        return containerInstanceManager.containerGroups();
+        return containerInstanceManager().containerGroups();
     }
 
     /**
@@ -837,7 +924,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_1_0)
     public Registries containerRegistries() {
-        return containerRegistryManager.containerRegistries();
+        return containerRegistryManager().containerRegistries();
     }
 
     /**
@@ -845,7 +932,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_2_0)
     public CosmosDBAccounts cosmosDBAccounts() {
-        return cosmosDBManager.databaseAccounts();
+        return cosmosDBManager().databaseAccounts();
     }
 
     /**
@@ -853,7 +940,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_2_0)
     public SearchServices searchServices() {
-        return searchServiceManager.searchServices();
+        return searchServiceManager().searchServices();
     }
 
     /**
@@ -861,7 +948,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_5_1)
     public Identities identities() {
-        return msiManager.identities();
+        return msiManager().identities();
     }
 
     /**
@@ -877,7 +964,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_6_0)
     public ActivityLogs activityLogs() {
-        return this.monitorManager.activityLogs();
+        return monitorManager().activityLogs();
     }
 
     /**
@@ -885,7 +972,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_6_0)
     public MetricDefinitions metricDefinitions() {
-        return this.monitorManager.metricDefinitions();
+        return monitorManager().metricDefinitions();
     }
 
     /**
@@ -893,7 +980,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_8_0)
     public DiagnosticSettings diagnosticSettings() {
-        return this.monitorManager.diagnosticSettings();
+        return monitorManager().diagnosticSettings();
     }
 
     /**
@@ -901,7 +988,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_9_0)
     public ActionGroups actionGroups() {
-        return this.monitorManager.actionGroups();
+        return monitorManager().actionGroups();
     }
 
     /**
@@ -909,7 +996,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_15_0)
     public AlertRules alertRules() {
-        return this.monitorManager.alertRules();
+        return monitorManager().alertRules();
     }
 
     /**
@@ -917,7 +1004,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubNamespaces eventHubNamespaces() {
-        return this.eventHubManager.namespaces();
+        return eventHubManager().namespaces();
     }
 
     /**
@@ -925,7 +1012,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubs eventHubs() {
-        return this.eventHubManager.eventHubs();
+        return eventHubManager().eventHubs();
     }
 
     /**
@@ -933,7 +1020,7 @@ public final class Azure {
      */
     @Beta(SinceVersion.V1_7_0)
     public EventHubDisasterRecoveryPairings eventHubDisasterRecoveryPairings() {
-        return this.eventHubManager.eventHubDisasterRecoveryPairings();
+        return eventHubManager().eventHubDisasterRecoveryPairings();
     }
 
     /**
@@ -941,7 +1028,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public Galleries galleries() {
-        return this.computeManager.galleries();
+        return computeManager().galleries();
     }
 
     /**
@@ -949,7 +1036,7 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public GalleryImages galleryImages() {
-        return this.computeManager.galleryImages();
+        return computeManager().galleryImages();
     }
 
     /**
@@ -957,6 +1044,213 @@ public final class Azure {
      */
     @Beta(Beta.SinceVersion.V1_15_0)
     public GalleryImageVersions galleryImageVersions() {
-        return this.computeManager.galleryImageVersions();
+        return computeManager().galleryImageVersions();
+    }
+
+    private ResourceManager resourceManager() {
+        return managers.get(ResourceManager.class, new Func0<ResourceManager>() {
+            @Override
+            public ResourceManager call() {
+                return ResourceManager.authenticate(restClient).withSubscription(subscriptionId);
+            }
+        });
+    }
+
+    private StorageManager storageManager() {
+        return managers.get(StorageManager.class, new Func0<StorageManager>() {
+            @Override
+            public StorageManager call() {
+                return StorageManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private ComputeManager computeManager() {
+        return managers.get(ComputeManager.class, new Func0<ComputeManager>() {
+            @Override
+            public ComputeManager call() {
+                return ComputeManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private NetworkManager networkManager() {
+        return managers.get(NetworkManager.class, new Func0<NetworkManager>() {
+            @Override
+            public NetworkManager call() {
+                return NetworkManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private KeyVaultManager keyVaultManager() {
+        return managers.get(KeyVaultManager.class, new Func0<KeyVaultManager>() {
+            @Override
+            public KeyVaultManager call() {
+                return KeyVaultManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        });
+    }
+
+    private BatchManager batchManager() {
+        return managers.get(BatchManager.class, new Func0<BatchManager>() {
+            @Override
+            public BatchManager call() {
+                return BatchManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private BatchAIManager batchAIManager() {
+        return managers.get(BatchAIManager.class, new Func0<BatchAIManager>() {
+            @Override
+            public BatchAIManager call() {
+                return BatchAIManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private TrafficManager trafficManager() {
+        return managers.get(TrafficManager.class, new Func0<TrafficManager>() {
+            @Override
+            public TrafficManager call() {
+                return TrafficManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private RedisManager redisManager() {
+        return managers.get(RedisManager.class, new Func0<RedisManager>() {
+            @Override
+            public RedisManager call() {
+                return RedisManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private CdnManager cdnManager() {
+        return managers.get(CdnManager.class, new Func0<CdnManager>() {
+            @Override
+            public CdnManager call() {
+                return CdnManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private DnsZoneManager dnsZoneManager() {
+        return managers.get(DnsZoneManager.class, new Func0<DnsZoneManager>() {
+            @Override
+            public DnsZoneManager call() {
+                return DnsZoneManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private AppServiceManager appServiceManager() {
+        return managers.get(AppServiceManager.class, new Func0<AppServiceManager>() {
+            @Override
+            public AppServiceManager call() {
+                return AppServiceManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        });
+    }
+
+    private SqlServerManager sqlServerManager() {
+        return managers.get(SqlServerManager.class, new Func0<SqlServerManager>() {
+            @Override
+            public SqlServerManager call() {
+                return SqlServerManager.authenticate(restClient, tenantId, subscriptionId);
+            }
+        });
+    }
+
+    private ServiceBusManager serviceBusManager() {
+        return managers.get(ServiceBusManager.class, new Func0<ServiceBusManager>() {
+            @Override
+            public ServiceBusManager call() {
+                return ServiceBusManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private ContainerInstanceManager containerInstanceManager() {
+        return managers.get(ContainerInstanceManager.class, new Func0<ContainerInstanceManager>() {
+            @Override
+            public ContainerInstanceManager call() {
+                return ContainerInstanceManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private ContainerRegistryManager containerRegistryManager() {
+        return managers.get(ContainerRegistryManager.class, new Func0<ContainerRegistryManager>() {
+            @Override
+            public ContainerRegistryManager call() {
+                return ContainerRegistryManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private ContainerServiceManager containerServiceManager() {
+        return managers.get(ContainerServiceManager.class, new Func0<ContainerServiceManager>() {
+            @Override
+            public ContainerServiceManager call() {
+                return ContainerServiceManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private SearchServiceManager searchServiceManager() {
+        return managers.get(SearchServiceManager.class, new Func0<SearchServiceManager>() {
+            @Override
+            public SearchServiceManager call() {
+                return SearchServiceManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private CosmosDBManager cosmosDBManager() {
+        return managers.get(CosmosDBManager.class, new Func0<CosmosDBManager>() {
+            @Override
+            public CosmosDBManager call() {
+                return CosmosDBManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private AuthorizationManager authorizationManager() {
+        return managers.get(AuthorizationManager.class, new Func0<AuthorizationManager>() {
+            @Override
+            public AuthorizationManager call() {
+                return AuthorizationManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private MSIManager msiManager() {
+        return managers.get(MSIManager.class, new Func0<MSIManager>() {
+            @Override
+            public MSIManager call() {
+                return MSIManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private MonitorManager monitorManager() {
+        return managers.get(MonitorManager.class, new Func0<MonitorManager>() {
+            @Override
+            public MonitorManager call() {
+                return MonitorManager.authenticate(restClient, subscriptionId);
+            }
+        });
+    }
+
+    private EventHubManager eventHubManager() {
+        return managers.get(EventHubManager.class, new Func0<EventHubManager>() {
+            @Override
+            public EventHubManager call() {
+                return EventHubManager.authenticate(restClient, subscriptionId);
+            }
+        });
     }
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.microsoft.azure.AzureEnvironment;
+import com.microsoft.azure.AzureResponseBuilder;
+import com.microsoft.azure.credentials.AzureTokenCredentials;
+import com.microsoft.azure.management.apigeneration.LangDefinition;
+import com.microsoft.azure.management.compute.VirtualMachine;
+import com.microsoft.azure.management.resources.ResourceGroup;
+import com.microsoft.azure.management.resources.Subscription;
+import com.microsoft.azure.management.resources.fluentcore.utils.ProviderRegistrationInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ResourceManagerThrottlingInterceptor;
+import com.microsoft.azure.management.resources.fluentcore.utils.ThrottlingPolicy;
+import com.microsoft.azure.management.resources.fluentcore.utils.Utils;
+import com.microsoft.rest.RestClient;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The implementation for {@link Azure.Fleet}.
+ */
+@LangDefinition
+final class FleetImpl implements Azure.Fleet {
+    private static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+    // The HTTP stack shared by the clients of all the tenants
+    private final ConnectionPool connectionPool = new ConnectionPool();
+    private final Dispatcher dispatcher = new Dispatcher();
+    private ResourceManagerThrottlingInterceptor throttlingInterceptor = new ResourceManagerThrottlingInterceptor();
+
+    private final Map<String, Tenant> tenants = new LinkedHashMap<>();
+    private final Map<String, String> subscriptionTenants = new LinkedHashMap<>();
+    private final Map<String, Azure> subscriptions = new ConcurrentHashMap<>();
+    private volatile int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    FleetImpl() {
+    }
+
+    @Override
+    public synchronized FleetImpl withThrottlingPolicy(ThrottlingPolicy throttlingPolicy) {
+        if (!tenants.isEmpty()) {
+            // The clients of the tenants already added would keep pacing their requests with the previous policy
+            throw new IllegalStateException("The throttling policy must be set before adding tenants to the fleet");
+        }
+        this.throttlingInterceptor = new ResourceManagerThrottlingInterceptor(throttlingPolicy);
+        return this;
+    }
+
+    @Override
+    public FleetImpl withMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        this.maxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    @Override
+    public synchronized FleetImpl withTenant(AzureTokenCredentials credentials) {
+        if (credentials.domain() == null) {
+            throw new IllegalArgumentException("The credentials do not specify a tenant");
+        }
+        if (!tenants.containsKey(credentials.domain())) {
+            tenants.put(credentials.domain(), new Tenant(credentials, throttlingInterceptor));
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized FleetImpl withSubscription(String tenantId, String subscriptionId) {
+        if (!tenants.containsKey(tenantId)) {
+            throw new IllegalArgumentException("Tenant " + tenantId + " has not been added to the fleet");
+        }
+        String previousTenantId = subscriptionTenants.get(subscriptionId);
+        if (previousTenantId != null && !previousTenantId.equals(tenantId)) {
+            // The subscription is now accessed from another tenant
+            subscriptions.remove(subscriptionId);
+        }
+        subscriptionTenants.put(subscriptionId, tenantId);
+        return this;
+    }
+
+    @Override
+    public FleetImpl discoverSubscriptions() {
+        discoverSubscriptionsAsync().toCompletable().await();
+        return this;
+    }
+
+    @Override
+    public Observable<String> discoverSubscriptionsAsync() {
+        final List<Tenant> tenantsToDiscover;
+        synchronized (this) {
+            tenantsToDiscover = new ArrayList<>(tenants.values());
+        }
+        return Observable.from(tenantsToDiscover)
+                .flatMap(new Func1<Tenant, Observable<String>>() {
+                    @Override
+                    public Observable<String> call(final Tenant tenant) {
+                        return tenant.authenticated().subscriptions().listAsync()
+                                .map(new Func1<Subscription, String>() {
+                                    @Override
+                                    public String call(Subscription subscription) {
+                                        return subscription.subscriptionId();
+                                    }
+                                })
+                                .doOnNext(new Action1<String>() {
+                                    @Override
+                                    public void call(String subscriptionId) {
+                                        withSubscription(tenant.id(), subscriptionId);
+                                    }
+                                });
+                    }
+                }, maxConcurrency);
+    }
+
+    @Override
+    public synchronized Set<String> subscriptionIds() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(subscriptionTenants.keySet()));
+    }
+
+    @Override
+    public Azure subscription(String subscriptionId) {
+        Azure azure = subscriptions.get(subscriptionId);
+        if (azure == null) {
+            synchronized (this) {
+                azure = subscriptions.get(subscriptionId);
+                if (azure == null) {
+                    String tenantId = subscriptionTenants.get(subscriptionId);
+                    if (tenantId == null) {
+                        throw new IllegalArgumentException("Subscription " + subscriptionId + " has not been added to the fleet");
+                    }
+                    azure = tenants.get(tenantId).authenticated().withSubscription(subscriptionId);
+                    subscriptions.put(subscriptionId, azure);
+                }
+            }
+        }
+        return azure;
+    }
+
+    @Override
+    public <T> Observable<T> forEachSubscriptionAsync(final Func1<Azure, Observable<T>> function) {
+        return Observable.mergeDelayError(Observable.from(subscriptionIds())
+                .map(new Func1<String, Observable<T>>() {
+                    @Override
+                    public Observable<T> call(final String subscriptionId) {
+                        // Defers the creation of the client to the subscription being processed
+                        return Observable.just(subscriptionId).concatMap(new Func1<String, Observable<T>>() {
+                            @Override
+                            public Observable<T> call(String id) {
+                                return function.call(subscription(id));
+                            }
+                        });
+                    }
+                }), maxConcurrency);
+    }
+
+    @Override
+    public Observable<VirtualMachine> listVirtualMachinesAsync() {
+        return forEachSubscriptionAsync(new Func1<Azure, Observable<VirtualMachine>>() {
+            @Override
+            public Observable<VirtualMachine> call(Azure azure) {
+                return azure.virtualMachines().listAsync();
+            }
+        });
+    }
+
+    @Override
+    public Observable<ResourceGroup> listResourceGroupsAsync() {
+        return forEachSubscriptionAsync(new Func1<Azure, Observable<ResourceGroup>>() {
+            @Override
+            public Observable<ResourceGroup> call(Azure azure) {
+                return azure.resourceGroups().listAsync();
+            }
+        });
+    }
+
+    /**
+     * A tenant of the fleet, whose client is shared by its subscriptions.
+     */
+    private final class Tenant {
+        private final AzureTokenCredentials credentials;
+        private final ResourceManagerThrottlingInterceptor throttlingInterceptor;
+        private Azure.Authenticated authenticated;
+
+        private Tenant(AzureTokenCredentials credentials, ResourceManagerThrottlingInterceptor throttlingInterceptor) {
+            this.credentials = credentials;
+            this.throttlingInterceptor = throttlingInterceptor;
+        }
+
+        private String id() {
+            return credentials.domain();
+        }
+
+        private synchronized Azure.Authenticated authenticated() {
+            if (authenticated == null) {
+                RestClient restClient = new RestClient.Builder()
+                        .withBaseUrl(credentials.environment(), AzureEnvironment.Endpoint.RESOURCE_MANAGER)
+                        .withCredentials(credentials)
+                        .withSerializerAdapter(Utils.newJacksonAdapter())
+                        .withResponseBuilderFactory(new AzureResponseBuilder.Factory())
+                        .withConnectionPool(connectionPool)
+                        .withDispatcher(dispatcher)
+                        .withInterceptor(new ProviderRegistrationInterceptor(credentials))
+                        .withInterceptor(throttlingInterceptor)
+                        .build();
+                authenticated = Azure.authenticate(restClient, credentials.domain());
+            }
+            return authenticated;
+        }
+    }
+}
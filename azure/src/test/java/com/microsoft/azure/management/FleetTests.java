@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.management;
+
+import com.microsoft.azure.AzureEnvironment;
+import com.microsoft.azure.credentials.ApplicationTokenCredentials;
+import com.microsoft.azure.management.resources.fluentcore.utils.TokenBucketThrottlingPolicy;
+import com.microsoft.rest.RestClient;
+import okhttp3.OkHttpClient;
+import org.junit.Assert;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class to test FleetImpl class.
+ */
+public class FleetTests {
+    private static final String TENANT_A = "00000000-0000-0000-0000-00000000000a";
+    private static final String TENANT_B = "00000000-0000-0000-0000-00000000000b";
+
+    @Test
+    public void canShareClientsAcrossSubscriptions() {
+        Azure.Fleet fleet = Azure.fleet()
+                .withTenant(credentials(TENANT_A))
+                .withTenant(credentials(TENANT_B))
+                .withSubscription(TENANT_A, "sub1")
+                .withSubscription(TENANT_B, "sub2")
+                .withSubscription(TENANT_A, "sub3");
+
+        Assert.assertEquals(Arrays.asList("sub1", "sub2", "sub3"), Arrays.asList(fleet.subscriptionIds().toArray()));
+        Azure sub1 = fleet.subscription("sub1");
+        Assert.assertSame(sub1, fleet.subscription("sub1"));
+        Assert.assertEquals("sub1", sub1.subscriptionId());
+        Assert.assertEquals("sub3", fleet.subscription("sub3").subscriptionId());
+        Assert.assertNotSame(sub1, fleet.subscription("sub2"));
+    }
+
+    @Test
+    public void canShareConnectionPoolAndDispatcherAcrossSubscriptions() {
+        Azure.Fleet fleet = Azure.fleet()
+                .withTenant(credentials(TENANT_A))
+                .withTenant(credentials(TENANT_B))
+                .withSubscription(TENANT_A, "sub1")
+                .withSubscription(TENANT_B, "sub2")
+                .withSubscription(TENANT_A, "sub3");
+
+        OkHttpClient sub1 = fleet.subscription("sub1").virtualMachines().manager().inner().restClient().httpClient();
+        List<OkHttpClient> others = Arrays.asList(
+                fleet.subscription("sub1").networks().manager().inner().restClient().httpClient(),
+                fleet.subscription("sub2").virtualMachines().manager().inner().restClient().httpClient(),
+                fleet.subscription("sub2").storageAccounts().manager().inner().restClient().httpClient(),
+                fleet.subscription("sub3").virtualMachines().manager().inner().restClient().httpClient());
+        for (OkHttpClient other : others) {
+            Assert.assertSame(sub1.connectionPool(), other.connectionPool());
+            Assert.assertSame(sub1.dispatcher(), other.dispatcher());
+        }
+
+        // The subscriptions of a tenant share its client, bound to the tenant's credentials
+        RestClient tenantA = fleet.subscription("sub1").virtualMachines().manager().inner().restClient();
+        Assert.assertSame(tenantA, fleet.subscription("sub3").virtualMachines().manager().inner().restClient());
+        Assert.assertNotSame(tenantA, fleet.subscription("sub2").virtualMachines().manager().inner().restClient());
+    }
+
+    @Test
+    public void cannotSetThrottlingPolicyAfterAddingTenant() {
+        Azure.Fleet fleet = Azure.fleet()
+                .withThrottlingPolicy(new TokenBucketThrottlingPolicy())
+                .withTenant(credentials(TENANT_A));
+        try {
+            fleet.withThrottlingPolicy(new TokenBucketThrottlingPolicy());
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("The throttling policy must be set before adding tenants to the fleet", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotAddSubscriptionOfUnknownTenant() {
+        Azure.fleet().withTenant(credentials(TENANT_A)).withSubscription(TENANT_B, "sub1");
+    }
+
+    @Test
+    public void canFanOutOverSubscriptions() {
+        Azure.Fleet fleet = Azure.fleet()
+                .withTenant(credentials(TENANT_A))
+                .withSubscription(TENANT_A, "sub1")
+                .withSubscription(TENANT_A, "sub2")
+                .withMaxConcurrency(1);
+
+        List<String> ids = fleet.forEachSubscriptionAsync(new Func1<Azure, Observable<String>>() {
+            @Override
+            public Observable<String> call(Azure azure) {
+                return Observable.just(azure.subscriptionId());
+            }
+        }).toList().toBlocking().single();
+        Assert.assertEquals(Arrays.asList("sub1", "sub2"), ids);
+    }
+
+    private static ApplicationTokenCredentials credentials(String tenantId) {
+        return new ApplicationTokenCredentials("00000000-0000-0000-0000-000000000000", tenantId, "secret", AzureEnvironment.AZURE);
+    }
+}